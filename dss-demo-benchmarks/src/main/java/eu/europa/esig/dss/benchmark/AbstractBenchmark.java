@@ -0,0 +1,83 @@
+package eu.europa.esig.dss.benchmark;
+
+import eu.europa.esig.dss.enumerations.ValidationLevel;
+import eu.europa.esig.dss.model.DSSDocument;
+import eu.europa.esig.dss.model.InMemoryDocument;
+import eu.europa.esig.dss.spi.DSSUtils;
+import eu.europa.esig.dss.spi.policy.SignaturePolicyProvider;
+import eu.europa.esig.dss.spi.validation.CertificateVerifier;
+import eu.europa.esig.dss.validation.SignedDocumentValidator;
+import eu.europa.esig.dss.validation.reports.Reports;
+import eu.europa.esig.dss.web.service.ValidationPolicyRegistry;
+import org.apache.catalina.webresources.TomcatURLStreamHandlerFactory;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Starts the offline application context once per benchmark trial
+ *
+ */
+@State(Scope.Benchmark)
+public abstract class AbstractBenchmark {
+
+	/** Signed document with time-stamps and revocation data, validated without any online access */
+	protected static final String SIGNED_DOCUMENT = "XAdESLTA.xml";
+
+	protected AnnotationConfigApplicationContext context;
+
+	@Setup(Level.Trial)
+	public void startContext() throws Exception {
+		// required to resolve the classpath references of the FOP configuration
+		TomcatURLStreamHandlerFactory.getInstance();
+		context = new AnnotationConfigApplicationContext(BenchmarkConfig.class);
+		init();
+	}
+
+	@TearDown(Level.Trial)
+	public void stopContext() {
+		context.close();
+	}
+
+	/**
+	 * Prepares the data of the benchmark, once the context is started
+	 *
+	 * @throws Exception if an error occurs
+	 */
+	protected abstract void init() throws Exception;
+
+	protected <T> T getBean(Class<T> beanClass) {
+		return context.getBean(beanClass);
+	}
+
+	protected DSSDocument getDocument(String name) throws IOException {
+		try (InputStream is = AbstractBenchmark.class.getResourceAsStream("/" + name)) {
+			if (is == null) {
+				throw new IOException(String.format("Resource '%s' not found", name));
+			}
+			return new InMemoryDocument(DSSUtils.toByteArray(is), name);
+		}
+	}
+
+	/**
+	 * Validates the document as ValidationController does, with the default validation policy
+	 *
+	 * @param document {@link DSSDocument} to validate
+	 * @param validationLevel {@link ValidationLevel}
+	 * @return {@link Reports}
+	 */
+	protected Reports validate(DSSDocument document, ValidationLevel validationLevel) {
+		SignedDocumentValidator documentValidator = SignedDocumentValidator.fromDocument(document);
+		documentValidator.setCertificateVerifier(getBean(CertificateVerifier.class));
+		documentValidator.setSignaturePolicyProvider(getBean(SignaturePolicyProvider.class));
+		documentValidator.setValidationLevel(validationLevel);
+		return documentValidator.validateDocument(getBean(ValidationPolicyRegistry.class).getDefaultValidationPolicy());
+	}
+
+}
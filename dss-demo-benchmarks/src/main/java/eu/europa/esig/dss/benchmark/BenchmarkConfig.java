@@ -0,0 +1,161 @@
+package eu.europa.esig.dss.benchmark;
+
+import eu.europa.esig.dss.asic.cades.signature.ASiCWithCAdESService;
+import eu.europa.esig.dss.asic.xades.signature.ASiCWithXAdESService;
+import eu.europa.esig.dss.cades.signature.CAdESService;
+import eu.europa.esig.dss.jades.signature.JAdESService;
+import eu.europa.esig.dss.pades.signature.PAdESService;
+import eu.europa.esig.dss.spi.policy.SignaturePolicyProvider;
+import eu.europa.esig.dss.spi.validation.CertificateVerifier;
+import eu.europa.esig.dss.spi.validation.CommonCertificateVerifier;
+import eu.europa.esig.dss.spi.x509.tsp.KeyEntityTSPSource;
+import eu.europa.esig.dss.spi.x509.tsp.TSPSource;
+import eu.europa.esig.dss.token.KeyStoreSignatureTokenConnection;
+import eu.europa.esig.dss.web.service.FOPService;
+import eu.europa.esig.dss.web.service.MetricsService;
+import eu.europa.esig.dss.web.service.RenderCache;
+import eu.europa.esig.dss.web.service.SigningService;
+import eu.europa.esig.dss.web.service.ValidationPolicyRegistry;
+import eu.europa.esig.dss.web.service.XSLTService;
+import eu.europa.esig.dss.xades.signature.XAdESService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.context.annotation.PropertySource;
+import org.springframework.core.io.ClassPathResource;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.GeneralSecurityException;
+import java.security.KeyStore;
+
+/**
+ * Offline configuration of the web application services : no CRL, OCSP or AIA source, no trusted list,
+ * and a self-signed time-stamping unit.
+ * The services under test are the ones of dss-demo-webapp, only their dependencies are defined here.
+ *
+ */
+@Configuration
+@PropertySource("classpath:benchmark.properties")
+@Import({ MetricsService.class, SigningService.class, XSLTService.class, FOPService.class })
+public class BenchmarkConfig {
+
+	@Value("${benchmark.signing.keystore.filename}")
+	private String signingKeystoreFilename;
+
+	@Value("${benchmark.signing.keystore.type}")
+	private String signingKeystoreType;
+
+	@Value("${benchmark.signing.keystore.password}")
+	private String signingKeystorePassword;
+
+	@Value("${benchmark.tsa.keystore.filename}")
+	private String tsaKeystoreFilename;
+
+	@Value("${benchmark.tsa.keystore.type}")
+	private String tsaKeystoreType;
+
+	@Value("${benchmark.tsa.keystore.password}")
+	private String tsaKeystorePassword;
+
+	@Value("${benchmark.tsa.alias}")
+	private String tsaAlias;
+
+	@Value("${benchmark.tsa.policy}")
+	private String tsaPolicy;
+
+	@Value("${default.validation.policy}")
+	private String defaultValidationPolicy;
+
+	@Value("${default.certificate.validation.policy}")
+	private String defaultCertificateValidationPolicy;
+
+	@Bean
+	public CertificateVerifier certificateVerifier() {
+		// no revocation or AIA source : nothing is fetched during the benchmarks
+		CommonCertificateVerifier certificateVerifier = new CommonCertificateVerifier();
+		certificateVerifier.setCheckRevocationForUntrustedChains(false);
+		return certificateVerifier;
+	}
+
+	@Bean
+	public TSPSource tspSource() throws IOException, GeneralSecurityException {
+		// the keystore is loaded from a stream, it is packaged within the benchmarks jar
+		KeyStore keyStore = KeyStore.getInstance(tsaKeystoreType);
+		try (InputStream is = new ClassPathResource(tsaKeystoreFilename).getInputStream()) {
+			keyStore.load(is, tsaKeystorePassword.toCharArray());
+		}
+		KeyEntityTSPSource tspSource = new KeyEntityTSPSource(keyStore, tsaAlias, tsaKeystorePassword.toCharArray());
+		tspSource.setTsaPolicy(tsaPolicy);
+		return tspSource;
+	}
+
+	@Bean
+	public SignaturePolicyProvider signaturePolicyProvider() {
+		return new SignaturePolicyProvider();
+	}
+
+	@Bean
+	public ValidationPolicyRegistry validationPolicyRegistry() {
+		return new ValidationPolicyRegistry(new ClassPathResource(defaultValidationPolicy),
+				new ClassPathResource(defaultCertificateValidationPolicy), 1);
+	}
+
+	@Bean
+	public RenderCache renderCache() {
+		// disabled, every invocation renders the report
+		return new RenderCache(0, 0);
+	}
+
+	@Bean(destroyMethod = "close")
+	public KeyStoreSignatureTokenConnection signingToken() throws IOException {
+		try (InputStream is = new ClassPathResource(signingKeystoreFilename).getInputStream()) {
+			return new KeyStoreSignatureTokenConnection(is, signingKeystoreType,
+					new KeyStore.PasswordProtection(signingKeystorePassword.toCharArray()));
+		}
+	}
+
+	@Bean
+	public CAdESService cadesService() throws IOException, GeneralSecurityException {
+		CAdESService service = new CAdESService(certificateVerifier());
+		service.setTspSource(tspSource());
+		return service;
+	}
+
+	@Bean
+	public XAdESService xadesService() throws IOException, GeneralSecurityException {
+		XAdESService service = new XAdESService(certificateVerifier());
+		service.setTspSource(tspSource());
+		return service;
+	}
+
+	@Bean
+	public PAdESService padesService() throws IOException, GeneralSecurityException {
+		PAdESService service = new PAdESService(certificateVerifier());
+		service.setTspSource(tspSource());
+		return service;
+	}
+
+	@Bean
+	public JAdESService jadesService() throws IOException, GeneralSecurityException {
+		JAdESService service = new JAdESService(certificateVerifier());
+		service.setTspSource(tspSource());
+		return service;
+	}
+
+	@Bean
+	public ASiCWithCAdESService asicWithCadesService() throws IOException, GeneralSecurityException {
+		ASiCWithCAdESService service = new ASiCWithCAdESService(certificateVerifier());
+		service.setTspSource(tspSource());
+		return service;
+	}
+
+	@Bean
+	public ASiCWithXAdESService asicWithXadesService() throws IOException, GeneralSecurityException {
+		ASiCWithXAdESService service = new ASiCWithXAdESService(certificateVerifier());
+		service.setTspSource(tspSource());
+		return service;
+	}
+
+}
@@ -0,0 +1,78 @@
+package eu.europa.esig.dss.benchmark;
+
+import eu.europa.esig.dss.enumerations.ValidationLevel;
+import eu.europa.esig.dss.validation.reports.Reports;
+import eu.europa.esig.dss.web.service.FOPService;
+import eu.europa.esig.dss.web.service.XSLTService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the rendering of the validation reports by XSLTService (HTML, SVG) and FOPService (PDF).
+ * The render cache is disabled (see {@link BenchmarkConfig}).
+ *
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class RenderingBenchmark extends AbstractBenchmark {
+
+	private XSLTService xsltService;
+
+	private FOPService fopService;
+
+	private String simpleReport;
+
+	private String detailedReport;
+
+	private String diagnosticData;
+
+	@Override
+	protected void init() throws Exception {
+		xsltService = getBean(XSLTService.class);
+		fopService = getBean(FOPService.class);
+
+		Reports reports = validate(getDocument(SIGNED_DOCUMENT), ValidationLevel.ARCHIVAL_DATA);
+		simpleReport = reports.getXmlSimpleReport();
+		detailedReport = reports.getXmlDetailedReport();
+		diagnosticData = reports.getXmlDiagnosticData();
+	}
+
+	@Benchmark
+	public String simpleReportHtml() {
+		return xsltService.generateSimpleReport(simpleReport);
+	}
+
+	@Benchmark
+	public String detailedReportHtml() {
+		return xsltService.generateDetailedReport(detailedReport);
+	}
+
+	@Benchmark
+	public void diagnosticDataSvg() throws IOException {
+		xsltService.generateSVG(diagnosticData, Writer.nullWriter());
+	}
+
+	@Benchmark
+	public void simpleReportPdf() throws Exception {
+		fopService.generateSimpleReport(simpleReport, OutputStream.nullOutputStream());
+	}
+
+	@Benchmark
+	public void detailedReportPdf() throws Exception {
+		fopService.generateDetailedReport(detailedReport, OutputStream.nullOutputStream());
+	}
+
+}
@@ -0,0 +1,62 @@
+package eu.europa.esig.dss.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import eu.europa.esig.dss.enumerations.ValidationLevel;
+import eu.europa.esig.dss.validation.reports.Reports;
+import eu.europa.esig.dss.web.config.CXFConfig;
+import eu.europa.esig.dss.ws.converter.RemoteDocumentConverter;
+import eu.europa.esig.dss.ws.dto.RemoteDocument;
+import eu.europa.esig.dss.ws.validation.dto.DataToValidateDTO;
+import eu.europa.esig.dss.ws.validation.dto.WSReportsDTO;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the JSON processing of the REST validation service, with the ObjectMapper of CXFConfig :
+ * the reading of the request (with the base64-encoded document) and the writing of the reports.
+ *
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class RestJsonBenchmark extends AbstractBenchmark {
+
+	private ObjectMapper objectMapper;
+
+	private byte[] request;
+
+	private WSReportsDTO reports;
+
+	@Override
+	protected void init() throws Exception {
+		objectMapper = new CXFConfig().objectMapper();
+
+		RemoteDocument signedDocument = RemoteDocumentConverter.toRemoteDocument(getDocument(SIGNED_DOCUMENT));
+		request = objectMapper.writeValueAsBytes(new DataToValidateDTO(signedDocument, (RemoteDocument) null, null));
+
+		Reports validationReports = validate(getDocument(SIGNED_DOCUMENT), ValidationLevel.ARCHIVAL_DATA);
+		reports = new WSReportsDTO(validationReports.getDiagnosticDataJaxb(), validationReports.getSimpleReportJaxb(),
+				validationReports.getDetailedReportJaxb(), validationReports.getEtsiValidationReportJaxb());
+	}
+
+	@Benchmark
+	public DataToValidateDTO readRequest() throws IOException {
+		return objectMapper.readValue(request, DataToValidateDTO.class);
+	}
+
+	@Benchmark
+	public byte[] writeReports() throws IOException {
+		return objectMapper.writeValueAsBytes(reports);
+	}
+
+}
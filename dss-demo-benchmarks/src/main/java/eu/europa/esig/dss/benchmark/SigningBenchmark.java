@@ -0,0 +1,123 @@
+package eu.europa.esig.dss.benchmark;
+
+import eu.europa.esig.dss.enumerations.DigestAlgorithm;
+import eu.europa.esig.dss.enumerations.MimeTypeEnum;
+import eu.europa.esig.dss.enumerations.SignatureForm;
+import eu.europa.esig.dss.enumerations.SignatureLevel;
+import eu.europa.esig.dss.enumerations.SignaturePackaging;
+import eu.europa.esig.dss.model.DSSDocument;
+import eu.europa.esig.dss.model.SignatureValue;
+import eu.europa.esig.dss.model.ToBeSigned;
+import eu.europa.esig.dss.model.x509.CertificateToken;
+import eu.europa.esig.dss.token.DSSPrivateKeyEntry;
+import eu.europa.esig.dss.token.KeyStoreSignatureTokenConnection;
+import eu.europa.esig.dss.web.config.MultipartResolverProvider;
+import eu.europa.esig.dss.web.model.SignatureDocumentForm;
+import eu.europa.esig.dss.web.service.SigningService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockMultipartFile;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@code SigningService#getDataToSign} and {@code SigningService#signDocument} for each signature form.
+ * The signature value is computed once on setup, with the signing date fixed within the certificate validity.
+ *
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class SigningBenchmark extends AbstractBenchmark {
+
+	@Param({ "CAdES", "XAdES", "PAdES", "JAdES" })
+	private SignatureForm signatureForm;
+
+	/** BASELINE_T adds a time-stamp from the offline time-stamping unit */
+	@Param({ "B", "T" })
+	private String baselineLevel;
+
+	private SigningService signingService;
+
+	private SignatureDocumentForm form;
+
+	@Override
+	protected void init() throws Exception {
+		// the form documents are read as in the web application, without any upload limit
+		MultipartResolverProvider.getInstance().setMaxFileSize(Long.MAX_VALUE);
+		MultipartResolverProvider.getInstance().setMaxInMemorySize(Long.MAX_VALUE);
+
+		signingService = getBean(SigningService.class);
+
+		KeyStoreSignatureTokenConnection signingToken = getBean(KeyStoreSignatureTokenConnection.class);
+		DSSPrivateKeyEntry privateKey = signingToken.getKeys().get(0);
+		CertificateToken signingCertificate = privateKey.getCertificate();
+
+		form = new SignatureDocumentForm();
+		form.setSignatureForm(signatureForm);
+		form.setSignatureLevel(SignatureLevel.valueOf(signatureForm.name() + "_BASELINE_" + baselineLevel));
+		form.setDigestAlgorithm(DigestAlgorithm.SHA256);
+		form.setSigningDate(getSigningDate(signingCertificate));
+		form.setCertificate(signingCertificate.getEncoded());
+		List<byte[]> certificateChain = new ArrayList<>();
+		for (CertificateToken certificateToken : privateKey.getCertificateChain()) {
+			certificateChain.add(certificateToken.getEncoded());
+		}
+		form.setCertificateChain(certificateChain);
+		form.setEncryptionAlgorithm(privateKey.getEncryptionAlgorithm());
+		setDocumentToSign(form);
+
+		ToBeSigned dataToSign = signingService.getDataToSign(form);
+		SignatureValue signatureValue = signingToken.sign(dataToSign, DigestAlgorithm.SHA256, privateKey);
+		form.setSignatureValue(signatureValue.getValue());
+	}
+
+	private void setDocumentToSign(SignatureDocumentForm form) throws Exception {
+		DSSDocument document;
+		switch (signatureForm) {
+			case XAdES:
+				document = getDocument("sample.xml");
+				form.setSignaturePackaging(SignaturePackaging.ENVELOPED);
+				break;
+			case PAdES:
+				document = getDocument("sample.pdf");
+				form.setSignaturePackaging(SignaturePackaging.ENVELOPED);
+				break;
+			default:
+				document = getDocument("sample.xml");
+				form.setSignaturePackaging(SignaturePackaging.ENVELOPING);
+				break;
+		}
+		form.setDocumentToSign(new MockMultipartFile(document.getName(), document.getName(),
+				MimeTypeEnum.BINARY.getMimeTypeString(), document.openStream()));
+	}
+
+	private Date getSigningDate(CertificateToken signingCertificate) {
+		// the same signing date for all invocations, the signature value stays valid
+		long notBefore = signingCertificate.getNotBefore().getTime();
+		long notAfter = signingCertificate.getNotAfter().getTime();
+		return new Date(notBefore + (notAfter - notBefore) / 2);
+	}
+
+	@Benchmark
+	public ToBeSigned getDataToSign() {
+		return signingService.getDataToSign(form);
+	}
+
+	@Benchmark
+	public DSSDocument signDocument() {
+		return signingService.signDocument(form);
+	}
+
+}
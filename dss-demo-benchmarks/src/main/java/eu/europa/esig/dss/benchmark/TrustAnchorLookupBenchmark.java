@@ -0,0 +1,116 @@
+package eu.europa.esig.dss.benchmark;
+
+import eu.europa.esig.dss.model.x509.CertificateToken;
+import eu.europa.esig.dss.spi.DSSASN1Utils;
+import eu.europa.esig.dss.spi.x509.CommonTrustedCertificateSource;
+import eu.europa.esig.dss.web.service.IndexedTrustedCertificateSource;
+import org.bouncycastle.asn1.x500.X500Name;
+import org.bouncycastle.cert.jcajce.JcaX509CertificateConverter;
+import org.bouncycastle.cert.jcajce.JcaX509v3CertificateBuilder;
+import org.bouncycastle.operator.jcajce.JcaContentSignerBuilder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigInteger;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.util.Date;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the issuer lookups done for each certificate while building a chain (by subject, SubjectKeyIdentifier
+ * and public key) against trust stores of growing size, with and without the trust anchor index.
+ * The trusted certificates are generated, no application context is started.
+ *
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class TrustAnchorLookupBenchmark {
+
+	@Param({ "100", "1000", "5000" })
+	private int trustStoreSize;
+
+	@Param({ "false", "true" })
+	private boolean indexed;
+
+	private CommonTrustedCertificateSource trustedCertificateSource;
+
+	private CertificateToken certificate;
+
+	private byte[] issuerSki;
+
+	private PublicKey issuerPublicKey;
+
+	@Setup(Level.Trial)
+	public void init() throws Exception {
+		KeyPairGenerator keyPairGenerator = KeyPairGenerator.getInstance("EC");
+		keyPairGenerator.initialize(256);
+
+		trustedCertificateSource = indexed ? new IndexedTrustedCertificateSource() : new CommonTrustedCertificateSource();
+		CertificateToken issuer = null;
+		X500Name issuerName = null;
+		KeyPair issuerKeyPair = null;
+		for (int i = 0; i < trustStoreSize; i++) {
+			KeyPair keyPair = keyPairGenerator.generateKeyPair();
+			X500Name name = new X500Name("CN=Benchmark CA " + i + ",O=DSS,C=EU");
+			CertificateToken ca = generate(name, keyPair.getPublic(), name, keyPair.getPrivate(), i);
+			trustedCertificateSource.addCertificate(ca);
+			if (i == trustStoreSize / 2) {
+				issuer = ca;
+				issuerName = name;
+				issuerKeyPair = keyPair;
+			}
+		}
+		if (indexed) {
+			((IndexedTrustedCertificateSource) trustedCertificateSource).buildIndex();
+		}
+
+		certificate = generate(new X500Name("CN=Benchmark signer,O=DSS,C=EU"), keyPairGenerator.generateKeyPair().getPublic(),
+				issuerName, issuerKeyPair.getPrivate(), trustStoreSize);
+		issuerSki = DSSASN1Utils.computeSkiFromCert(issuer);
+		issuerPublicKey = issuer.getPublicKey();
+	}
+
+	private CertificateToken generate(X500Name subject, PublicKey publicKey, X500Name issuer, PrivateKey issuerKey,
+									  int serialNumber) throws Exception {
+		Date notBefore = new Date();
+		Date notAfter = new Date(notBefore.getTime() + TimeUnit.DAYS.toMillis(365));
+		JcaX509v3CertificateBuilder builder = new JcaX509v3CertificateBuilder(issuer, BigInteger.valueOf(serialNumber + 1L),
+				notBefore, notAfter, subject, publicKey);
+		return new CertificateToken(new JcaX509CertificateConverter().getCertificate(
+				builder.build(new JcaContentSignerBuilder("SHA256withECDSA").build(issuerKey))));
+	}
+
+	@Benchmark
+	public Set<CertificateToken> findIssuerBySubject() {
+		return trustedCertificateSource.getBySubject(certificate.getIssuer());
+	}
+
+	@Benchmark
+	public Set<CertificateToken> findIssuerBySki() {
+		return trustedCertificateSource.getBySki(issuerSki);
+	}
+
+	@Benchmark
+	public Set<CertificateToken> findIssuerByPublicKey() {
+		return trustedCertificateSource.getByPublicKey(issuerPublicKey);
+	}
+
+}
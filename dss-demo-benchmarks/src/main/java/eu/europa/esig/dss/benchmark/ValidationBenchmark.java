@@ -0,0 +1,43 @@
+package eu.europa.esig.dss.benchmark;
+
+import eu.europa.esig.dss.enumerations.ValidationLevel;
+import eu.europa.esig.dss.model.DSSDocument;
+import eu.europa.esig.dss.validation.reports.Reports;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the validation of a XAdES-BASELINE-LTA signature at each validation level, as done by ValidationController
+ *
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class ValidationBenchmark extends AbstractBenchmark {
+
+	@Param({ "BASIC_SIGNATURES", "LONG_TERM_DATA", "ARCHIVAL_DATA" })
+	private ValidationLevel validationLevel;
+
+	private DSSDocument signedDocument;
+
+	@Override
+	protected void init() throws Exception {
+		signedDocument = getDocument(SIGNED_DOCUMENT);
+	}
+
+	@Benchmark
+	public Reports validateDocument() {
+		return validate(signedDocument, validationLevel);
+	}
+
+}
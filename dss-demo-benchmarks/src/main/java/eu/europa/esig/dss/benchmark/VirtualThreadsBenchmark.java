@@ -0,0 +1,230 @@
+package eu.europa.esig.dss.benchmark;
+
+import com.sun.net.httpserver.HttpServer;
+import eu.europa.esig.dss.enumerations.DigestAlgorithm;
+import eu.europa.esig.dss.enumerations.SignatureLevel;
+import eu.europa.esig.dss.enumerations.SignaturePackaging;
+import eu.europa.esig.dss.enumerations.ValidationLevel;
+import eu.europa.esig.dss.model.DSSDocument;
+import eu.europa.esig.dss.model.SignatureValue;
+import eu.europa.esig.dss.model.ToBeSigned;
+import eu.europa.esig.dss.model.x509.CertificateToken;
+import eu.europa.esig.dss.service.http.commons.OCSPDataLoader;
+import eu.europa.esig.dss.spi.policy.SignaturePolicyProvider;
+import eu.europa.esig.dss.spi.validation.CommonCertificateVerifier;
+import eu.europa.esig.dss.spi.x509.revocation.ocsp.OCSPSource;
+import eu.europa.esig.dss.spi.x509.revocation.ocsp.OCSPToken;
+import eu.europa.esig.dss.token.DSSPrivateKeyEntry;
+import eu.europa.esig.dss.token.KeyStoreSignatureTokenConnection;
+import eu.europa.esig.dss.validation.SignedDocumentValidator;
+import eu.europa.esig.dss.web.service.ValidationPolicyRegistry;
+import eu.europa.esig.dss.xades.XAdESSignatureParameters;
+import eu.europa.esig.dss.xades.signature.XAdESService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.util.Date;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Compares the throughput of concurrent validations run on a pool of platform threads (as the default Tomcat
+ * connector does) and on virtual threads (spring.threads.virtual.enabled = true).
+ * Each validation requests the revocation status of the signing certificate to a local stub OCSP responder,
+ * which answers after a fixed delay. The virtual mode requires a Java 21 runtime.
+ *
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 10)
+@Measurement(iterations = 5, time = 10)
+@Fork(1)
+public class VirtualThreadsBenchmark extends AbstractBenchmark {
+
+	private static final int CONCURRENT_VALIDATIONS = 1000;
+
+	/** Default maximum number of request processing threads of the embedded Tomcat */
+	private static final int PLATFORM_THREADS = 200;
+
+	/** The "unauthorized" OCSP response : the validation continues without revocation data */
+	private static final byte[] OCSP_UNAUTHORIZED_RESPONSE = new byte[] { 0x30, 0x03, 0x0A, 0x01, 0x06 };
+
+	@Param({ "platform", "virtual" })
+	private String threads;
+
+	/** Response delay of the stub OCSP responder, in milliseconds */
+	@Param({ "50" })
+	private int ocspLatency;
+
+	private HttpServer ocspResponder;
+
+	private ExecutorService ocspResponderExecutor;
+
+	private ExecutorService platformExecutor;
+
+	private Executor executor;
+
+	private CommonCertificateVerifier certificateVerifier;
+
+	private DSSDocument signedDocument;
+
+	@Override
+	protected void init() throws Exception {
+		startOcspResponder();
+
+		if ("virtual".equals(threads)) {
+			// fails on a runtime without virtual threads support
+			executor = new VirtualThreadTaskExecutor("validation-");
+		} else {
+			platformExecutor = Executors.newFixedThreadPool(PLATFORM_THREADS, new CustomizableThreadFactory("validation-"));
+			executor = platformExecutor;
+		}
+
+		OCSPDataLoader ocspDataLoader = new OCSPDataLoader();
+		// the connections pool does not limit the concurrent requests
+		ocspDataLoader.setConnectionsMaxTotal(CONCURRENT_VALIDATIONS);
+		ocspDataLoader.setConnectionsMaxPerRoute(CONCURRENT_VALIDATIONS);
+		String ocspUrl = String.format("http://localhost:%s/ocsp", ocspResponder.getAddress().getPort());
+
+		certificateVerifier = new CommonCertificateVerifier();
+		certificateVerifier.setCheckRevocationForUntrustedChains(true);
+		certificateVerifier.setOcspSource(new StubOCSPSource(ocspDataLoader, ocspUrl));
+
+		signedDocument = signDocument();
+	}
+
+	private void startOcspResponder() throws Exception {
+		// the responder shall not be the bottleneck, one thread per pending request
+		ocspResponderExecutor = Executors.newCachedThreadPool(new CustomizableThreadFactory("ocsp-responder-"));
+		ocspResponder = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), CONCURRENT_VALIDATIONS);
+		ocspResponder.setExecutor(ocspResponderExecutor);
+		ocspResponder.createContext("/ocsp", exchange -> {
+			try {
+				exchange.getRequestBody().readAllBytes();
+				Thread.sleep(ocspLatency);
+				exchange.getResponseHeaders().add("Content-Type", "application/ocsp-response");
+				exchange.sendResponseHeaders(200, OCSP_UNAUTHORIZED_RESPONSE.length);
+				try (OutputStream os = exchange.getResponseBody()) {
+					os.write(OCSP_UNAUTHORIZED_RESPONSE);
+				}
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			} finally {
+				exchange.close();
+			}
+		});
+		ocspResponder.start();
+	}
+
+	/**
+	 * Creates a XAdES-BASELINE-B signature : without embedded revocation data, the status is requested online
+	 */
+	private DSSDocument signDocument() throws Exception {
+		KeyStoreSignatureTokenConnection signingToken = getBean(KeyStoreSignatureTokenConnection.class);
+		DSSPrivateKeyEntry privateKey = signingToken.getKeys().get(0);
+
+		XAdESSignatureParameters parameters = new XAdESSignatureParameters();
+		parameters.setSignatureLevel(SignatureLevel.XAdES_BASELINE_B);
+		parameters.setSignaturePackaging(SignaturePackaging.ENVELOPED);
+		parameters.setDigestAlgorithm(DigestAlgorithm.SHA256);
+		parameters.setSigningCertificate(privateKey.getCertificate());
+		parameters.setCertificateChain(privateKey.getCertificateChain());
+		parameters.bLevel().setSigningDate(getSigningDate(privateKey.getCertificate()));
+
+		XAdESService xadesService = getBean(XAdESService.class);
+		DSSDocument document = getDocument("sample.xml");
+		ToBeSigned dataToSign = xadesService.getDataToSign(document, parameters);
+		SignatureValue signatureValue = signingToken.sign(dataToSign, DigestAlgorithm.SHA256, privateKey);
+		return xadesService.signDocument(document, parameters, signatureValue);
+	}
+
+	private Date getSigningDate(CertificateToken signingCertificate) {
+		long notBefore = signingCertificate.getNotBefore().getTime();
+		long notAfter = signingCertificate.getNotAfter().getTime();
+		return new Date(notBefore + (notAfter - notBefore) / 2);
+	}
+
+	@TearDown(Level.Trial)
+	public void stopOcspResponder() {
+		if (platformExecutor != null) {
+			platformExecutor.shutdownNow();
+		}
+		ocspResponder.stop(0);
+		ocspResponderExecutor.shutdownNow();
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(CONCURRENT_VALIDATIONS)
+	public int validateConcurrently() throws InterruptedException {
+		CountDownLatch latch = new CountDownLatch(CONCURRENT_VALIDATIONS);
+		AtomicInteger failures = new AtomicInteger();
+		for (int i = 0; i < CONCURRENT_VALIDATIONS; i++) {
+			executor.execute(() -> {
+				try {
+					validate();
+				} catch (RuntimeException e) {
+					failures.incrementAndGet();
+				} finally {
+					latch.countDown();
+				}
+			});
+		}
+		latch.await();
+		if (failures.get() > 0) {
+			throw new IllegalStateException(String.format("%s validations failed", failures.get()));
+		}
+		return CONCURRENT_VALIDATIONS;
+	}
+
+	private void validate() {
+		SignedDocumentValidator documentValidator = SignedDocumentValidator.fromDocument(signedDocument);
+		documentValidator.setCertificateVerifier(certificateVerifier);
+		documentValidator.setSignaturePolicyProvider(getBean(SignaturePolicyProvider.class));
+		documentValidator.setValidationLevel(ValidationLevel.LONG_TERM_DATA);
+		documentValidator.validateDocument(getBean(ValidationPolicyRegistry.class).getDefaultValidationPolicy());
+	}
+
+	/**
+	 * Sends the OCSP request of each certificate to the stub responder, whatever its access location
+	 */
+	private static final class StubOCSPSource implements OCSPSource {
+
+		private static final long serialVersionUID = 1L;
+
+		private final OCSPDataLoader ocspDataLoader;
+
+		private final String ocspUrl;
+
+		private StubOCSPSource(OCSPDataLoader ocspDataLoader, String ocspUrl) {
+			this.ocspDataLoader = ocspDataLoader;
+			this.ocspUrl = ocspUrl;
+		}
+
+		@Override
+		public OCSPToken getRevocationToken(CertificateToken certificateToken, CertificateToken issuerCertificateToken) {
+			// the blocking round trip is measured, the "unauthorized" response gives no token
+			ocspDataLoader.post(ocspUrl, certificateToken.getDSSId().asXmlId().getBytes());
+			return null;
+		}
+
+	}
+
+}
@@ -1,8 +1,10 @@
 package eu.europa.esig.dss.web;
 
+import eu.europa.esig.dss.enumerations.MimeType;
 import eu.europa.esig.dss.model.DSSDocument;
 import eu.europa.esig.dss.model.DSSException;
 import eu.europa.esig.dss.model.DigestDocument;
+import eu.europa.esig.dss.model.FileDocument;
 import eu.europa.esig.dss.model.InMemoryDocument;
 import eu.europa.esig.dss.model.x509.CertificateToken;
 import eu.europa.esig.dss.spi.DSSUtils;
@@ -11,7 +13,9 @@ import eu.europa.esig.dss.spi.x509.CommonCertificateSource;
 import eu.europa.esig.dss.spi.x509.tsp.TimestampToken;
 import eu.europa.esig.dss.utils.Utils;
 import eu.europa.esig.dss.web.config.MultipartResolverProvider;
+import eu.europa.esig.dss.web.model.MultipartFileDocument;
 import eu.europa.esig.dss.web.model.OriginalFile;
+import eu.europa.esig.dss.web.model.SessionMultipartFile;
 import eu.europa.esig.dss.ws.dto.TimestampDTO;
 import eu.europa.esig.dss.ws.signature.common.TimestampTokenConverter;
 import org.slf4j.Logger;
@@ -36,6 +40,17 @@ public final class WebAppUtils {
 				if (multipartFile.getSize() > MultipartResolverProvider.getInstance().getMaxFileSize()) {
 					throw new MaxUploadSizeExceededException(MultipartResolverProvider.getInstance().getMaxFileSize());
 				}
+				if (multipartFile instanceof SessionMultipartFile && ((SessionMultipartFile) multipartFile).getFile() != null) {
+					// copied to a temporary file while stored in the session
+					FileDocument fileDocument = new FileDocument(((SessionMultipartFile) multipartFile).getFile());
+					fileDocument.setName(multipartFile.getOriginalFilename());
+					fileDocument.setMimeType(MimeType.fromFileName(multipartFile.getOriginalFilename()));
+					return fileDocument;
+				}
+				if (MultipartResolverProvider.getInstance().isStreamingEnabled(multipartFile.getSize())) {
+					// avoid loading of big documents in memory
+					return new MultipartFileDocument(multipartFile);
+				}
 				return new InMemoryDocument(multipartFile.getBytes(), multipartFile.getOriginalFilename());
 			}
 		} catch (IOException e) {
@@ -75,9 +90,11 @@ public final class WebAppUtils {
 					MultipartFile completeFile = originalDocument.getCompleteFile();
 					if (completeFile != null) {
 						dssDocument = WebAppUtils.toDSSDocument(completeFile);
-						inMemorySize += completeFile.getSize();
-						if (inMemorySize > MultipartResolverProvider.getInstance().getMaxInMemorySize()) {
-							throw new MaxUploadSizeExceededException(MultipartResolverProvider.getInstance().getMaxInMemorySize());
+						if (dssDocument instanceof InMemoryDocument) {
+							inMemorySize += completeFile.getSize();
+							if (inMemorySize > MultipartResolverProvider.getInstance().getMaxInMemorySize()) {
+								throw new MaxUploadSizeExceededException(MultipartResolverProvider.getInstance().getMaxInMemorySize());
+							}
 						}
 					} else {
 						dssDocument = new DigestDocument(originalDocument.getDigestAlgorithm(),
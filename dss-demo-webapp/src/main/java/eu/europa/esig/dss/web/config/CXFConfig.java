@@ -3,14 +3,29 @@ package eu.europa.esig.dss.web.config;
 import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.module.SimpleModule;
 import com.fasterxml.jackson.databind.type.TypeFactory;
 import com.fasterxml.jackson.jakarta.rs.json.JacksonJsonProvider;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
 import com.fasterxml.jackson.module.jakarta.xmlbind.JakartaXmlBindAnnotationIntrospector;
+import eu.europa.esig.dss.utils.Utils;
 import eu.europa.esig.dss.web.exception.ExceptionRestMapper;
+import eu.europa.esig.dss.web.service.BatchValidationService;
+import eu.europa.esig.dss.web.service.ValidationJobService;
+import eu.europa.esig.dss.web.service.ValidationPolicyRegistry;
+import eu.europa.esig.dss.web.ws.MultipartDocumentsFilter;
+import eu.europa.esig.dss.web.ws.MultipartDocumentsJsonProvider;
+import eu.europa.esig.dss.web.ws.RestBatchValidationService;
+import eu.europa.esig.dss.web.ws.RemoteDocumentDeserializer;
+import eu.europa.esig.dss.web.ws.RestValidationJobService;
+import eu.europa.esig.dss.web.ws.SpooledDocumentsCleanupFilter;
 import eu.europa.esig.dss.ws.cert.validation.common.RemoteCertificateValidationService;
+import eu.europa.esig.dss.ws.cert.validation.dto.CertificateReportsDTO;
 import eu.europa.esig.dss.ws.cert.validation.rest.RestCertificateValidationServiceImpl;
 import eu.europa.esig.dss.ws.cert.validation.rest.client.RestCertificateValidationService;
 import eu.europa.esig.dss.ws.cert.validation.soap.SoapCertificateValidationServiceImpl;
+import eu.europa.esig.dss.ws.dto.RemoteDocument;
+import eu.europa.esig.dss.ws.dto.ToBeSignedDTO;
 import eu.europa.esig.dss.ws.server.signing.common.RemoteSignatureTokenConnection;
 import eu.europa.esig.dss.ws.server.signing.rest.RestSignatureTokenConnectionImpl;
 import eu.europa.esig.dss.ws.server.signing.rest.client.RestSignatureTokenConnection;
@@ -48,6 +63,7 @@ import eu.europa.esig.dss.ws.timestamp.remote.rest.client.RestTimestampService;
 import eu.europa.esig.dss.ws.timestamp.remote.soap.SoapTimestampServiceImpl;
 import eu.europa.esig.dss.ws.timestamp.remote.soap.client.SoapTimestampService;
 import eu.europa.esig.dss.ws.validation.common.RemoteDocumentValidationService;
+import eu.europa.esig.dss.ws.validation.dto.WSReportsDTO;
 import eu.europa.esig.dss.ws.validation.rest.RestDocumentValidationServiceImpl;
 import eu.europa.esig.dss.ws.validation.rest.client.RestDocumentValidationService;
 import eu.europa.esig.dss.ws.validation.soap.SoapDocumentValidationServiceImpl;
@@ -72,6 +88,7 @@ import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.ImportResource;
 
+import java.io.File;
 import java.util.Arrays;
 
 @Configuration
@@ -94,19 +111,42 @@ public class CXFConfig {
 	public static final String REST_SIGNATURE_PAdES_WITH_EXTERNAL_CMS = "/rest/signature/pades-external-cms";
 	public static final String REST_SIGNATURE_EXTERNAL_CMS = "/rest/signature/external-cms";
 	public static final String REST_VALIDATION = "/rest/validation";
+	public static final String REST_VALIDATION_BATCH = "/rest/validation/batch";
+	public static final String REST_VALIDATION_JOBS = "/rest/validation/jobs";
 	public static final String REST_CERTIFICATE_VALIDATION = "/rest/certificate-validation";
 	public static final String REST_SERVER_SIGNING = "/rest/server-signing";
 	public static final String REST_TIMESTAMP_SERVICE = "/rest/timestamp-service";
 
+	/** The JSON profile with an always indented output */
+	private static final String JSON_PROFILE_INDENTED = "indented";
+
+	private static final Class<?>[] PRECOMPUTED_SERIALIZERS = { WSReportsDTO.class, CertificateReportsDTO.class,
+			RemoteDocument.class, ToBeSignedDTO.class };
+
 	@Value("${cxf.debug:false}")
 	private boolean cxfDebug;
 
 	@Value("${cxf.mtom.enabled:true}")
 	private boolean mtomEnabled;
 
+	@Value("${rest.attachment.directory:}")
+	private String restAttachmentDirectory;
+
+	@Value("${rest.attachment.memory.threshold:1048576}")
+	private long restAttachmentMemoryThreshold;
+
+	@Value("${rest.attachment.max.size:52428800}")
+	private long restAttachmentMaxSize;
+
+	@Value("${cxf.json.profile:production}")
+	private String jsonProfile;
+
 	@Value("${dssVersion:1.0}")
 	private String dssVersion;
 
+	@Value("${batch.validation.max.document.size:52428800}")
+	private long batchValidationMaxDocumentSize;
+
 	@Autowired
 	private Bus cxf;
 
@@ -137,6 +177,15 @@ public class CXFConfig {
 	@Autowired
 	private RemoteTimestampService timestampService;
 
+	@Autowired
+	private BatchValidationService batchValidationService;
+
+	@Autowired
+	private ValidationPolicyRegistry validationPolicyRegistry;
+
+	@Autowired
+	private ValidationJobService validationJobService;
+
 	@Bean
 	public ServletRegistrationBean<CXFServlet> cxfServlet() {
 		final ServletRegistrationBean<CXFServlet> servletRegistrationBean =
@@ -355,6 +404,25 @@ public class CXFConfig {
 		return service;
 	}
 
+	@Bean
+	public RestBatchValidationService restBatchValidationService() {
+		RestBatchValidationService service = new RestBatchValidationService();
+		service.setBatchValidationService(batchValidationService);
+		service.setValidationPolicyRegistry(validationPolicyRegistry);
+		// one JSON document per line
+		service.setObjectWriter(objectMapper().writer().without(SerializationFeature.INDENT_OUTPUT));
+		service.setMaxDocumentSize(batchValidationMaxDocumentSize);
+		return service;
+	}
+
+	@Bean
+	public RestValidationJobService restValidationJobService() {
+		RestValidationJobService service = new RestValidationJobService();
+		service.setValidationJobService(validationJobService);
+		service.setValidationService(remoteValidationService);
+		return service;
+	}
+
 	@Bean
 	public RestCertificateValidationService restCertificateValidationService() {
 		RestCertificateValidationServiceImpl service = new RestCertificateValidationServiceImpl();
@@ -383,6 +451,32 @@ public class CXFConfig {
 		sfb.setAddress(REST_VALIDATION);
 		sfb.setProvider(jacksonJsonProvider());
 		sfb.setProvider(exceptionRestMapper());
+		sfb.setProvider(multipartDocumentsFilter());
+		sfb.setProvider(spooledDocumentsCleanupFilter());
+		sfb.setFeatures(Arrays.asList(createOpenApiFeature()));
+		return sfb.create();
+	}
+
+	@Bean
+	public Server createServerBatchValidationRestService() {
+		JAXRSServerFactoryBean sfb = new JAXRSServerFactoryBean();
+		sfb.setServiceBean(restBatchValidationService());
+		sfb.setAddress(REST_VALIDATION_BATCH);
+		sfb.setProvider(jacksonJsonProvider());
+		sfb.setProvider(exceptionRestMapper());
+		sfb.setFeatures(Arrays.asList(createOpenApiFeature()));
+		return sfb.create();
+	}
+
+	@Bean
+	public Server createServerValidationJobRestService() {
+		JAXRSServerFactoryBean sfb = new JAXRSServerFactoryBean();
+		sfb.setServiceBean(restValidationJobService());
+		sfb.setAddress(REST_VALIDATION_JOBS);
+		sfb.setProvider(jacksonJsonProvider());
+		sfb.setProvider(exceptionRestMapper());
+		sfb.setProvider(multipartDocumentsFilter());
+		sfb.setProvider(spooledDocumentsCleanupFilter());
 		sfb.setFeatures(Arrays.asList(createOpenApiFeature()));
 		return sfb.create();
 	}
@@ -394,6 +488,8 @@ public class CXFConfig {
 		sfb.setAddress(REST_CERTIFICATE_VALIDATION);
 		sfb.setProvider(jacksonJsonProvider());
 		sfb.setProvider(exceptionRestMapper());
+		sfb.setProvider(multipartDocumentsFilter());
+		sfb.setProvider(spooledDocumentsCleanupFilter());
 		sfb.setFeatures(Arrays.asList(createOpenApiFeature()));
 		return sfb.create();
 	}
@@ -405,6 +501,8 @@ public class CXFConfig {
 		sfb.setAddress(REST_SERVER_SIGNING);
 		sfb.setProvider(jacksonJsonProvider());
 		sfb.setProvider(exceptionRestMapper());
+		sfb.setProvider(multipartDocumentsFilter());
+		sfb.setProvider(spooledDocumentsCleanupFilter());
 		sfb.setFeatures(Arrays.asList(createOpenApiFeature()));
 		return sfb.create();
 	}
@@ -416,6 +514,8 @@ public class CXFConfig {
 		sfb.setAddress(REST_TIMESTAMP_SERVICE);
 		sfb.setProvider(jacksonJsonProvider());
 		sfb.setProvider(exceptionRestMapper());
+		sfb.setProvider(multipartDocumentsFilter());
+		sfb.setProvider(spooledDocumentsCleanupFilter());
 		sfb.setFeatures(Arrays.asList(createOpenApiFeature()));
 		return sfb.create();
 	}
@@ -427,6 +527,8 @@ public class CXFConfig {
 		sfb.setAddress(REST_SIGNATURE_ONE_DOCUMENT);
 		sfb.setProvider(jacksonJsonProvider());
 		sfb.setProvider(exceptionRestMapper());
+		sfb.setProvider(multipartDocumentsFilter());
+		sfb.setProvider(spooledDocumentsCleanupFilter());
 		sfb.setFeatures(Arrays.asList(createOpenApiFeature()));
 		return sfb.create();
 	}
@@ -438,6 +540,8 @@ public class CXFConfig {
 		sfb.setAddress(REST_SIGNATURE_MULTIPLE_DOCUMENTS);
 		sfb.setProvider(jacksonJsonProvider());
 		sfb.setProvider(exceptionRestMapper());
+		sfb.setProvider(multipartDocumentsFilter());
+		sfb.setProvider(spooledDocumentsCleanupFilter());
 		sfb.setFeatures(Arrays.asList(createOpenApiFeature()));
 		return sfb.create();
 	}
@@ -449,6 +553,8 @@ public class CXFConfig {
 		sfb.setAddress(REST_SIGNATURE_TRUSTED_LIST);
 		sfb.setProvider(jacksonJsonProvider());
 		sfb.setProvider(exceptionRestMapper());
+		sfb.setProvider(multipartDocumentsFilter());
+		sfb.setProvider(spooledDocumentsCleanupFilter());
 		sfb.setFeatures(Arrays.asList(createOpenApiFeature()));
 		return sfb.create();
 	}
@@ -460,6 +566,8 @@ public class CXFConfig {
 		sfb.setAddress(REST_SIGNATURE_PAdES_WITH_EXTERNAL_CMS);
 		sfb.setProvider(jacksonJsonProvider());
 		sfb.setProvider(exceptionRestMapper());
+		sfb.setProvider(multipartDocumentsFilter());
+		sfb.setProvider(spooledDocumentsCleanupFilter());
 		sfb.setFeatures(Arrays.asList(createOpenApiFeature()));
 		return sfb.create();
 	}
@@ -471,6 +579,8 @@ public class CXFConfig {
 		sfb.setAddress(REST_SIGNATURE_EXTERNAL_CMS);
 		sfb.setProvider(jacksonJsonProvider());
 		sfb.setProvider(exceptionRestMapper());
+		sfb.setProvider(multipartDocumentsFilter());
+		sfb.setProvider(spooledDocumentsCleanupFilter());
 		sfb.setFeatures(Arrays.asList(createOpenApiFeature()));
 		return sfb.create();
 	}
@@ -496,13 +606,42 @@ public class CXFConfig {
 
 	@Bean
 	public JacksonJsonProvider jacksonJsonProvider() {
-		JacksonJsonProvider jsonProvider = new JacksonJsonProvider();
+		MultipartDocumentsJsonProvider jsonProvider = new MultipartDocumentsJsonProvider();
 		jsonProvider.setMapper(objectMapper());
+		// the binary parts are spooled to temporary files as the base64 contents
+		if (Utils.isStringNotEmpty(restAttachmentDirectory)) {
+			jsonProvider.setAttachmentDirectory(new File(restAttachmentDirectory));
+		}
+		jsonProvider.setAttachmentMemoryThreshold((int) Math.min(Integer.MAX_VALUE, restAttachmentMemoryThreshold));
 		return jsonProvider;
 	}
+
+	/**
+	 * Allows the REST clients to send and receive the documents as binary parts of multipart requests
+	 *
+	 * @return {@link MultipartDocumentsFilter}
+	 */
+	@Bean
+	public MultipartDocumentsFilter multipartDocumentsFilter() {
+		MultipartDocumentsFilter filter = new MultipartDocumentsFilter();
+		if (Utils.isStringNotEmpty(restAttachmentDirectory)) {
+			filter.setAttachmentDirectory(restAttachmentDirectory);
+		}
+		filter.setAttachmentMemoryThreshold(restAttachmentMemoryThreshold);
+		filter.setAttachmentMaxSize(restAttachmentMaxSize);
+		return filter;
+	}
+
+	@Bean
+	public SpooledDocumentsCleanupFilter spooledDocumentsCleanupFilter() {
+		return new SpooledDocumentsCleanupFilter();
+	}
     
 	/**
-	 * ObjectMappers configures a proper way for (un)marshalling of json data
+	 * ObjectMappers configures a proper way for (un)marshalling of json data.
+	 * With the "production" JSON profile, the output is compact (indented only on demand, see
+	 * {@link MultipartDocumentsJsonProvider}), the properties are accessed through generated accessors
+	 * and the serializers of the biggest DTOs are built on startup.
 	 *
 	 * @return {@link ObjectMapper}
 	 */
@@ -512,8 +651,23 @@ public class CXFConfig {
 		// true value allows processing of {@code @IDREF}s cycle
 		JakartaXmlBindAnnotationIntrospector jai = new JakartaXmlBindAnnotationIntrospector(TypeFactory.defaultInstance());
 		objectMapper.setAnnotationIntrospector(jai);
-		objectMapper.configure(SerializationFeature.INDENT_OUTPUT, true);
 		objectMapper.configure(DeserializationFeature.WRAP_EXCEPTIONS, false);
+		// the base64 content of the big documents is decoded to temporary files
+		SimpleModule remoteDocumentModule = new SimpleModule("RemoteDocumentModule");
+		remoteDocumentModule.addDeserializer(RemoteDocument.class, new RemoteDocumentDeserializer(
+				(int) Math.min(Integer.MAX_VALUE, restAttachmentMemoryThreshold),
+				Utils.isStringNotEmpty(restAttachmentDirectory) ? new File(restAttachmentDirectory) : null,
+				restAttachmentMaxSize));
+		objectMapper.registerModule(remoteDocumentModule);
+		if (JSON_PROFILE_INDENTED.equalsIgnoreCase(jsonProfile)) {
+			objectMapper.configure(SerializationFeature.INDENT_OUTPUT, true);
+		} else {
+			objectMapper.registerModule(new BlackbirdModule());
+			for (Class<?> dtoClass : PRECOMPUTED_SERIALIZERS) {
+				// the root serializer (and the ones of its properties) is created and cached by the mapper
+				objectMapper.writerFor(dtoClass);
+			}
+		}
 		return objectMapper;
 	}
 	
@@ -0,0 +1,402 @@
+package eu.europa.esig.dss.web.config;
+
+import com.github.luben.zstd.ZstdOutputStream;
+import eu.europa.esig.dss.web.service.MetricsService;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import org.apache.commons.io.output.CloseShieldOutputStream;
+import org.apache.commons.io.output.CountingOutputStream;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Locale;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Compresses the responses with the zstd or gzip content-encoding, according to the Accept-Encoding header.
+ * The response is compressed while it is written : the first bytes are kept in memory until the threshold
+ * is reached (smaller responses are sent uncompressed with their length), or until a streamed response
+ * (e.g. application/x-ndjson) is flushed. The other flushes are ignored below the threshold.
+ * Only the responses with one of the configured content types are compressed.
+ *
+ */
+public class CompressionFilter extends OncePerRequestFilter {
+
+	private static final String ZSTD = "zstd";
+
+	private static final String GZIP = "gzip";
+
+	/** The content types of the responses streamed to the client, sent as soon as flushed */
+	private static final Collection<MediaType> STREAMED_MEDIA_TYPES = Arrays.asList(
+			MediaType.APPLICATION_NDJSON, MediaType.TEXT_EVENT_STREAM);
+
+	/** The request attribute keeping the wrapped response over the asynchronous dispatches */
+	private static final String RESPONSE_ATTRIBUTE = CompressionFilter.class.getName() + ".response";
+
+	private final MetricsService metricsService;
+
+	private final int threshold;
+
+	private final Collection<MediaType> mediaTypes;
+
+	private final int gzipLevel;
+
+	private final int zstdLevel;
+
+	/**
+	 * Default constructor
+	 *
+	 * @param metricsService {@link MetricsService} recording the original and compressed sizes
+	 * @param threshold the minimum size in bytes of a compressed response
+	 * @param mediaTypes the compressed content types
+	 * @param gzipLevel the gzip compression level (1-9)
+	 * @param zstdLevel the zstd compression level (1-22)
+	 */
+	public CompressionFilter(MetricsService metricsService, int threshold, Collection<MediaType> mediaTypes,
+							 int gzipLevel, int zstdLevel) {
+		this.metricsService = metricsService;
+		this.threshold = threshold;
+		this.mediaTypes = mediaTypes;
+		this.gzipLevel = gzipLevel;
+		this.zstdLevel = zstdLevel;
+	}
+
+	@Override
+	protected boolean shouldNotFilterAsyncDispatch() {
+		// the compression of an asynchronous response is finished on its last dispatch
+		return false;
+	}
+
+	@Override
+	protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+			throws ServletException, IOException {
+		CompressingResponse compressingResponse = (CompressingResponse) request.getAttribute(RESPONSE_ATTRIBUTE);
+		if (compressingResponse == null) {
+			String encoding = getEncoding(request.getHeader(HttpHeaders.ACCEPT_ENCODING));
+			if (encoding == null) {
+				filterChain.doFilter(request, response);
+				return;
+			}
+			compressingResponse = new CompressingResponse(response, encoding);
+			request.setAttribute(RESPONSE_ATTRIBUTE, compressingResponse);
+		}
+		try {
+			filterChain.doFilter(request, compressingResponse);
+		} finally {
+			if (!isAsyncStarted(request)) {
+				compressingResponse.finish();
+			}
+		}
+	}
+
+	/**
+	 * Gets the preferred encoding (zstd first, on equal quality)
+	 *
+	 * @param acceptEncoding the Accept-Encoding header
+	 * @return the encoding, or NULL if the response shall not be compressed
+	 */
+	static String getEncoding(String acceptEncoding) {
+		if (acceptEncoding == null) {
+			return null;
+		}
+		double zstdQuality = 0;
+		double gzipQuality = 0;
+		for (String token : acceptEncoding.split(",")) {
+			String[] parameters = token.split(";");
+			String coding = parameters[0].trim().toLowerCase(Locale.ROOT);
+			double quality = 1;
+			for (int i = 1; i < parameters.length; i++) {
+				String parameter = parameters[i].trim();
+				if (parameter.startsWith("q=")) {
+					try {
+						quality = Double.parseDouble(parameter.substring(2));
+					} catch (NumberFormatException e) {
+						quality = 0;
+					}
+				}
+			}
+			if (ZSTD.equals(coding)) {
+				zstdQuality = quality;
+			} else if (GZIP.equals(coding) || "x-gzip".equals(coding)) {
+				gzipQuality = quality;
+			}
+		}
+		if (zstdQuality > 0 && zstdQuality >= gzipQuality) {
+			return ZSTD;
+		}
+		return gzipQuality > 0 ? GZIP : null;
+	}
+
+	private boolean isCompressible(String contentType) {
+		return includes(mediaTypes, contentType);
+	}
+
+	private static boolean isStreamed(String contentType) {
+		return includes(STREAMED_MEDIA_TYPES, contentType);
+	}
+
+	private static boolean includes(Collection<MediaType> mediaTypes, String contentType) {
+		if (contentType == null) {
+			return false;
+		}
+		try {
+			MediaType mediaType = MediaType.parseMediaType(contentType);
+			for (MediaType included : mediaTypes) {
+				if (included.includes(mediaType)) {
+					return true;
+				}
+			}
+		} catch (RuntimeException e) {
+			// invalid content type
+		}
+		return false;
+	}
+
+	private OutputStream createEncoder(String encoding, OutputStream os) throws IOException {
+		if (ZSTD.equals(encoding)) {
+			return new ZstdOutputStream(os, zstdLevel);
+		}
+		// flushed with SYNC_FLUSH, for the streamed responses
+		return new GZIPOutputStream(os, 8192, true) {
+			{
+				def.setLevel(gzipLevel);
+			}
+		};
+	}
+
+	/**
+	 * The response, written through a {@link CompressingOutputStream}
+	 */
+	private class CompressingResponse extends HttpServletResponseWrapper {
+
+		private final String encoding;
+
+		private CompressingOutputStream outputStream;
+
+		private PrintWriter writer;
+
+		private CompressingResponse(HttpServletResponse response, String encoding) {
+			super(response);
+			this.encoding = encoding;
+		}
+
+		@Override
+		public ServletOutputStream getOutputStream() throws IOException {
+			if (writer != null) {
+				throw new IllegalStateException("getWriter() has already been called");
+			}
+			return getCompressingOutputStream();
+		}
+
+		@Override
+		public PrintWriter getWriter() throws IOException {
+			if (writer == null) {
+				if (outputStream != null) {
+					throw new IllegalStateException("getOutputStream() has already been called");
+				}
+				writer = new PrintWriter(new OutputStreamWriter(getCompressingOutputStream(), getCharacterEncoding()));
+			}
+			return writer;
+		}
+
+		private CompressingOutputStream getCompressingOutputStream() throws IOException {
+			if (outputStream == null) {
+				outputStream = new CompressingOutputStream(this, (HttpServletResponse) getResponse());
+			}
+			return outputStream;
+		}
+
+		@Override
+		public void setContentLength(int len) {
+			// the length is known once the response is written
+		}
+
+		@Override
+		public void setContentLengthLong(long len) {
+			// the length is known once the response is written
+		}
+
+		@Override
+		public void setHeader(String name, String value) {
+			if (!HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(name)) {
+				super.setHeader(name, value);
+			}
+		}
+
+		@Override
+		public void addHeader(String name, String value) {
+			if (!HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(name)) {
+				super.addHeader(name, value);
+			}
+		}
+
+		@Override
+		public void flushBuffer() throws IOException {
+			if (writer != null) {
+				writer.flush();
+			} else if (outputStream != null) {
+				outputStream.flush();
+			}
+			if (outputStream == null || outputStream.isStarted()) {
+				// the headers of a buffered response are sent with its length
+				super.flushBuffer();
+			}
+		}
+
+		@Override
+		public void resetBuffer() {
+			super.resetBuffer();
+			if (outputStream != null) {
+				outputStream.resetBuffer();
+			}
+		}
+
+		@Override
+		public void reset() {
+			super.reset();
+			if (outputStream != null) {
+				outputStream.resetBuffer();
+			}
+		}
+
+		private void finish() throws IOException {
+			if (writer != null) {
+				writer.flush();
+			}
+			if (outputStream != null) {
+				outputStream.finish();
+			}
+		}
+
+	}
+
+	/**
+	 * Keeps the first bytes of the response until it is decided to compress it or not
+	 */
+	private class CompressingOutputStream extends ServletOutputStream {
+
+		private final CompressingResponse compressingResponse;
+
+		private final HttpServletResponse response;
+
+		private ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+
+		private OutputStream target;
+
+		private CountingOutputStream compressedCounter;
+
+		private long originalLength;
+
+		private boolean finished;
+
+		private CompressingOutputStream(CompressingResponse compressingResponse, HttpServletResponse response) {
+			this.compressingResponse = compressingResponse;
+			this.response = response;
+		}
+
+		@Override
+		public void write(int b) throws IOException {
+			write(new byte[] { (byte) b }, 0, 1);
+		}
+
+		@Override
+		public void write(byte[] b, int off, int len) throws IOException {
+			originalLength += len;
+			if (target != null) {
+				target.write(b, off, len);
+				return;
+			}
+			buffer.write(b, off, len);
+			if (buffer.size() >= threshold) {
+				start();
+			}
+		}
+
+		@Override
+		public void flush() throws IOException {
+			if (target == null && buffer.size() > 0 && isStreamed(response.getContentType())) {
+				// a streamed response, the final size is unknown
+				start();
+			}
+			if (target != null) {
+				target.flush();
+			}
+		}
+
+		private void start() throws IOException {
+			boolean compress = response.getHeader(HttpHeaders.CONTENT_ENCODING) == null
+					&& isCompressible(response.getContentType());
+			if (compress) {
+				response.setHeader(HttpHeaders.CONTENT_ENCODING, compressingResponse.encoding);
+				response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+				compressedCounter = new CountingOutputStream(CloseShieldOutputStream.wrap(response.getOutputStream()));
+				target = createEncoder(compressingResponse.encoding, compressedCounter);
+			} else {
+				target = response.getOutputStream();
+			}
+			buffer.writeTo(target);
+			buffer = null;
+		}
+
+		private boolean isStarted() {
+			return target != null;
+		}
+
+		private void resetBuffer() {
+			if (target == null) {
+				buffer.reset();
+				originalLength = 0;
+			}
+		}
+
+		private void finish() throws IOException {
+			if (finished) {
+				return;
+			}
+			finished = true;
+			if (target == null) {
+				// smaller than the threshold, sent as is
+				response.setContentLength(buffer.size());
+				buffer.writeTo(response.getOutputStream());
+				return;
+			}
+			if (compressedCounter != null) {
+				target.close();
+				metricsService.recordCompression(compressingResponse.encoding, originalLength, compressedCounter.getByteCount());
+			}
+		}
+
+		@Override
+		public boolean isReady() {
+			try {
+				return response.getOutputStream().isReady();
+			} catch (IOException e) {
+				return false;
+			}
+		}
+
+		@Override
+		public void setWriteListener(WriteListener writeListener) {
+			try {
+				response.getOutputStream().setWriteListener(writeListener);
+			} catch (IOException e) {
+				throw new IllegalStateException(e);
+			}
+		}
+
+	}
+
+}
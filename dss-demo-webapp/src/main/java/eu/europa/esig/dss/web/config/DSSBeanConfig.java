@@ -1,6 +1,7 @@
 package eu.europa.esig.dss.web.config;
 
 import eu.europa.esig.dss.alert.ExceptionOnStatusAlert;
+import eu.europa.esig.dss.alert.LogOnStatusAlert;
 import eu.europa.esig.dss.asic.cades.signature.ASiCWithCAdESService;
 import eu.europa.esig.dss.asic.xades.signature.ASiCWithXAdESService;
 import eu.europa.esig.dss.cades.signature.CAdESService;
@@ -20,9 +21,9 @@ import eu.europa.esig.dss.service.ocsp.JdbcCacheOCSPSource;
 import eu.europa.esig.dss.service.ocsp.OnlineOCSPSource;
 import eu.europa.esig.dss.service.x509.aia.JdbcCacheAIASource;
 import eu.europa.esig.dss.spi.client.http.DSSFileLoader;
+import eu.europa.esig.dss.spi.client.http.DataLoader;
 import eu.europa.esig.dss.spi.client.http.IgnoreDataLoader;
 import eu.europa.esig.dss.spi.policy.SignaturePolicyProvider;
-import eu.europa.esig.dss.spi.tsl.TrustedListsCertificateSource;
 import eu.europa.esig.dss.spi.validation.CertificateVerifier;
 import eu.europa.esig.dss.spi.validation.CommonCertificateVerifier;
 import eu.europa.esig.dss.spi.x509.CommonTrustedCertificateSource;
@@ -30,7 +31,9 @@ import eu.europa.esig.dss.spi.x509.KeyStoreCertificateSource;
 import eu.europa.esig.dss.spi.x509.aia.AIASource;
 import eu.europa.esig.dss.spi.x509.aia.DefaultAIASource;
 import eu.europa.esig.dss.spi.x509.revocation.crl.CRLSource;
+import eu.europa.esig.dss.spi.x509.revocation.crl.CRLToken;
 import eu.europa.esig.dss.spi.x509.revocation.ocsp.OCSPSource;
+import eu.europa.esig.dss.spi.x509.revocation.ocsp.OCSPToken;
 import eu.europa.esig.dss.spi.x509.tsp.TSPSource;
 import eu.europa.esig.dss.token.KeyStoreSignatureTokenConnection;
 import eu.europa.esig.dss.tsl.function.OfficialJournalSchemeInformationURI;
@@ -40,6 +43,24 @@ import eu.europa.esig.dss.tsl.job.TLValidationJob;
 import eu.europa.esig.dss.tsl.sha2.Sha2FileCacheDataLoader;
 import eu.europa.esig.dss.tsl.source.LOTLSource;
 import eu.europa.esig.dss.utils.Utils;
+import eu.europa.esig.dss.web.service.CompressedReportStore;
+import eu.europa.esig.dss.web.service.ConditionalGetDataLoader;
+import eu.europa.esig.dss.web.service.InMemoryCacheCRLSource;
+import eu.europa.esig.dss.web.service.IndexedTrustedCertificateSource;
+import eu.europa.esig.dss.web.service.InMemoryCacheOCSPSource;
+import eu.europa.esig.dss.web.service.MeteredAIASource;
+import eu.europa.esig.dss.web.service.MeteredCRLSource;
+import eu.europa.esig.dss.web.service.MeteredDataLoader;
+import eu.europa.esig.dss.web.service.MeteredOCSPSource;
+import eu.europa.esig.dss.web.service.MeteredTLFileLoader;
+import eu.europa.esig.dss.web.service.MetricsService;
+import eu.europa.esig.dss.web.service.RenderCache;
+import eu.europa.esig.dss.web.service.RevocationPrefetcher;
+import eu.europa.esig.dss.web.service.RevocationTokenCache;
+import eu.europa.esig.dss.web.service.SwappableTrustCertificateVerifier;
+import eu.europa.esig.dss.web.service.TLLoadingStatistics;
+import eu.europa.esig.dss.web.service.TrustedListsSourceHolder;
+import eu.europa.esig.dss.web.service.ValidationPolicyRegistry;
 import eu.europa.esig.dss.ws.cert.validation.common.RemoteCertificateValidationService;
 import eu.europa.esig.dss.ws.server.signing.common.RemoteSignatureTokenConnection;
 import eu.europa.esig.dss.ws.server.signing.common.RemoteSignatureTokenConnectionImpl;
@@ -63,14 +84,17 @@ import org.springframework.context.annotation.ComponentScan;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Import;
 import org.springframework.context.annotation.ImportResource;
+import org.springframework.context.annotation.Primary;
 import org.springframework.core.io.ClassPathResource;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
 
 import java.io.File;
 import java.io.IOException;
-import java.io.InputStream;
 import java.security.KeyStore.PasswordProtection;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 @Configuration
 @ComponentScan(basePackages = { "eu.europa.esig.dss.web.job", "eu.europa.esig.dss.web.service" })
@@ -87,6 +111,24 @@ public class DSSBeanConfig {
 	@Value("${default.certificate.validation.policy}")
 	private String defaultCertificateValidationPolicy;
 
+	@Value("${validation.policy.cache.size:20}")
+	private int validationPolicyCacheSize;
+
+	@Value("${report.store.memory.max.size:67108864}")
+	private long reportStoreMemoryMaxSize;
+
+	@Value("${report.store.spill.directory:}")
+	private String reportStoreSpillDirectory;
+
+	@Value("${report.store.spill.max.size:268435456}")
+	private long reportStoreSpillMaxSize;
+
+	@Value("${render.cache.max.size:33554432}")
+	private long renderCacheMaxSize;
+
+	@Value("${render.cache.max.entry.size:4194304}")
+	private long renderCacheMaxEntrySize;
+
 	@Value("${current.lotl.url}")
 	private String lotlUrl;
 
@@ -108,6 +150,12 @@ public class DSSBeanConfig {
 	@Value("${tl.loader.trust.all}")
 	private boolean tlTrustAllStrategy;
 
+	@Value("${tl.loader.threads:8}")
+	private int tlLoaderThreads;
+
+	@Value("${tl.loader.timeout:30000}")
+	private int tlLoaderTimeout;
+
 	@Value("${tl.loader.ades.enabled}")
 	private boolean adesLotlEnabled;
 
@@ -138,6 +186,12 @@ public class DSSBeanConfig {
 	@Autowired
 	private TSPSource tspSource;
 
+	@Autowired
+	private MetricsService metricsService;
+
+	@Autowired
+	private TLLoadingStatistics tlLoadingStatistics;
+
 	@Autowired(required = false)
 	private JdbcCacheAIASource jdbcCacheAIASource;
 
@@ -162,6 +216,33 @@ public class DSSBeanConfig {
 	@Value("${cache.ocsp.max.next.update:0}")
 	private long ocspMaxNextUpdate;
 
+	@Value("${cache.crl.memory.max.entries:0}")
+	private long crlMemoryCacheMaxEntries;
+
+	@Value("${cache.crl.memory.max.size:67108864}")
+	private long crlMemoryCacheMaxSize;
+
+	@Value("${cache.ocsp.memory.max.entries:0}")
+	private long ocspMemoryCacheMaxEntries;
+
+	@Value("${cache.ocsp.memory.max.size:16777216}")
+	private long ocspMemoryCacheMaxSize;
+
+	@Value("${revocation.prefetch.working.set.size:0}")
+	private long prefetchWorkingSetSize;
+
+	@Value("${revocation.prefetch.max.idle:86400}")
+	private long prefetchMaxIdle;
+
+	@Value("${revocation.prefetch.refresh.ahead.ratio:0.8}")
+	private double prefetchRefreshAheadRatio;
+
+	@Value("${revocation.prefetch.min.recheck.delay:300}")
+	private long prefetchMinRecheckDelay;
+
+	@Value("${revocation.prefetch.max.recheck.delay:3600}")
+	private long prefetchMaxRecheckDelay;
+
 	@Value("${dataloader.connection.timeout}")
 	private int connectionTimeout;
 
@@ -222,23 +303,25 @@ public class DSSBeanConfig {
 
 	@Bean
 	public DefaultAIASource onlineAIASource() {
-		return new DefaultAIASource(dataLoader());
+		return new DefaultAIASource(meteredDataLoader(dataLoader(), "aia"));
 	}
 
 	@Bean
 	public AIASource cachedAIASource() {
 		if (jdbcCacheAIASource != null) {
 			jdbcCacheAIASource.setProxySource(onlineAIASource());
-			return jdbcCacheAIASource;
+			return new MeteredAIASource(jdbcCacheAIASource, metricsService);
 		}
-		FileCacheDataLoader fileCacheDataLoader = fileCacheDataLoader();
-		return new DefaultAIASource(fileCacheDataLoader);
+		FileCacheDataLoader fileCacheDataLoader = initFileCacheDataLoader();
+		fileCacheDataLoader.setDataLoader(meteredDataLoader(dataLoader(), "aia"));
+		fileCacheDataLoader.setCacheExpirationTime(cacheExpiration * 1000); // to millis
+		return new MeteredAIASource(new DefaultAIASource(fileCacheDataLoader), metricsService);
 	}
 
 	@Bean
 	public OnlineCRLSource onlineCRLSource() {
 		OnlineCRLSource onlineCRLSource = new OnlineCRLSource();
-		onlineCRLSource.setDataLoader(dataLoader());
+		onlineCRLSource.setDataLoader(meteredDataLoader(dataLoader(), "crl"));
 		return onlineCRLSource;
 	}
 
@@ -248,19 +331,49 @@ public class DSSBeanConfig {
 			jdbcCacheCRLSource.setProxySource(onlineCRLSource());
 			jdbcCacheCRLSource.setDefaultNextUpdateDelay(crlDefaultNextUpdate);
 			jdbcCacheCRLSource.setMaxNextUpdateDelay(crlMaxNextUpdate);
-			return jdbcCacheCRLSource;
+			return inMemoryCache(new MeteredCRLSource(jdbcCacheCRLSource, metricsService));
 		}
 		OnlineCRLSource onlineCRLSource = onlineCRLSource();
 		FileCacheDataLoader fileCacheDataLoader = initFileCacheDataLoader();
+		fileCacheDataLoader.setDataLoader(meteredDataLoader(dataLoader(), "crl"));
 		fileCacheDataLoader.setCacheExpirationTime(crlMaxNextUpdate * 1000); // to millis
 		onlineCRLSource.setDataLoader(fileCacheDataLoader);
-		return onlineCRLSource;
+		return inMemoryCache(new MeteredCRLSource(onlineCRLSource, metricsService));
+	}
+
+	@Bean
+	public RevocationTokenCache<CRLToken> crlTokenCache() {
+		RevocationTokenCache<CRLToken> crlTokenCache = new RevocationTokenCache<>(crlMemoryCacheMaxEntries,
+				crlMemoryCacheMaxSize, crlDefaultNextUpdate, crlMaxNextUpdate);
+		metricsService.bind(crlTokenCache, "crl");
+		return crlTokenCache;
+	}
+
+	@Bean
+	public RevocationPrefetcher<CRLToken> crlPrefetcher() {
+		if (jdbcCacheCRLSource == null || crlMemoryCacheMaxEntries <= 0 || prefetchWorkingSetSize <= 0) {
+			return null;
+		}
+		RevocationPrefetcher<CRLToken> crlPrefetcher = new RevocationPrefetcher<>(jdbcCacheCRLSource, crlTokenCache(),
+				prefetchWorkingSetSize, prefetchMaxIdle, prefetchRefreshAheadRatio, true);
+		crlPrefetcher.setRecheckDelays(prefetchMinRecheckDelay, prefetchMaxRecheckDelay);
+		metricsService.bind(crlPrefetcher, "crl");
+		return crlPrefetcher;
+	}
+
+	private CRLSource inMemoryCache(CRLSource crlSource) {
+		if (crlMemoryCacheMaxEntries <= 0) {
+			return crlSource;
+		}
+		InMemoryCacheCRLSource inMemoryCacheCRLSource = new InMemoryCacheCRLSource(crlSource, crlTokenCache());
+		inMemoryCacheCRLSource.setPrefetcher(crlPrefetcher());
+		return inMemoryCacheCRLSource;
 	}
 
 	@Bean
 	public OnlineOCSPSource onlineOCSPSource() {
 		OnlineOCSPSource onlineOCSPSource = new OnlineOCSPSource();
-		onlineOCSPSource.setDataLoader(ocspDataLoader());
+		onlineOCSPSource.setDataLoader(meteredDataLoader(ocspDataLoader(), "ocsp"));
 		return onlineOCSPSource;
 	}
 
@@ -270,14 +383,51 @@ public class DSSBeanConfig {
 			jdbcCacheOCSPSource.setProxySource(onlineOCSPSource());
 			jdbcCacheOCSPSource.setDefaultNextUpdateDelay(ocspDefaultNextUpdate);
 			jdbcCacheOCSPSource.setMaxNextUpdateDelay(ocspMaxNextUpdate);
-			return jdbcCacheOCSPSource;
+			return inMemoryCache(new MeteredOCSPSource(jdbcCacheOCSPSource, metricsService));
 		}
 		OnlineOCSPSource onlineOCSPSource = onlineOCSPSource();
 		FileCacheDataLoader fileCacheDataLoader = initFileCacheDataLoader();
-		fileCacheDataLoader.setDataLoader(ocspDataLoader());
+		fileCacheDataLoader.setDataLoader(meteredDataLoader(ocspDataLoader(), "ocsp"));
 		fileCacheDataLoader.setCacheExpirationTime(ocspMaxNextUpdate * 1000); // to millis
 		onlineOCSPSource.setDataLoader(fileCacheDataLoader);
-		return onlineOCSPSource;
+		return inMemoryCache(new MeteredOCSPSource(onlineOCSPSource, metricsService));
+	}
+
+	@Bean
+	public RevocationTokenCache<OCSPToken> ocspTokenCache() {
+		RevocationTokenCache<OCSPToken> ocspTokenCache = new RevocationTokenCache<>(ocspMemoryCacheMaxEntries,
+				ocspMemoryCacheMaxSize, ocspDefaultNextUpdate, ocspMaxNextUpdate);
+		metricsService.bind(ocspTokenCache, "ocsp");
+		return ocspTokenCache;
+	}
+
+	@Bean
+	public RevocationPrefetcher<OCSPToken> ocspPrefetcher() {
+		if (jdbcCacheOCSPSource == null || ocspMemoryCacheMaxEntries <= 0 || prefetchWorkingSetSize <= 0) {
+			return null;
+		}
+		RevocationPrefetcher<OCSPToken> ocspPrefetcher = new RevocationPrefetcher<>(jdbcCacheOCSPSource, ocspTokenCache(),
+				prefetchWorkingSetSize, prefetchMaxIdle, prefetchRefreshAheadRatio, false);
+		ocspPrefetcher.setRecheckDelays(prefetchMinRecheckDelay, prefetchMaxRecheckDelay);
+		metricsService.bind(ocspPrefetcher, "ocsp");
+		return ocspPrefetcher;
+	}
+
+	private OCSPSource inMemoryCache(OCSPSource ocspSource) {
+		if (ocspMemoryCacheMaxEntries <= 0) {
+			return ocspSource;
+		}
+		InMemoryCacheOCSPSource inMemoryCacheOCSPSource = new InMemoryCacheOCSPSource(ocspSource, ocspTokenCache());
+		inMemoryCacheOCSPSource.setPrefetcher(ocspPrefetcher());
+		return inMemoryCacheOCSPSource;
+	}
+
+	/**
+	 * The loaders accessing the network are metered, the requests reaching the persistent caches are counted
+	 * by the Metered*Source wrappers : the difference gives the persistent cache hit ratio
+	 */
+	private DataLoader meteredDataLoader(DataLoader dataLoader, String source) {
+		return new MeteredDataLoader(dataLoader, metricsService, source);
 	}
 
 	@Bean
@@ -287,14 +437,14 @@ public class DSSBeanConfig {
 		return signaturePolicyProvider;
 	}
 
-	@Bean(name = "european-trusted-list-certificate-source")
-	public TrustedListsCertificateSource trustedListSource() {
-		return new TrustedListsCertificateSource();
+	@Bean
+	public TrustedListsSourceHolder trustedListsSourceHolder() {
+		return new TrustedListsSourceHolder(trustedCertificateSource());
 	}
 
 	@Bean
 	public CommonTrustedCertificateSource trustedCertificateSource() {
-		CommonTrustedCertificateSource trustedCertificateSource = new CommonTrustedCertificateSource();
+		IndexedTrustedCertificateSource trustedCertificateSource = new IndexedTrustedCertificateSource();
 		if (Utils.isStringNotEmpty(trustSourceKsFilename)) {
 			try {
 				KeyStoreCertificateSource keyStore = new KeyStoreCertificateSource(
@@ -304,16 +454,30 @@ public class DSSBeanConfig {
 				throw new DSSException("Unable to load the file " + adesKeyStoreFilename, e);
 			}
 		}
+		trustedCertificateSource.buildIndex();
 		return trustedCertificateSource;
 	}
 
 	@Bean
+	@Primary
 	public CertificateVerifier certificateVerifier() {
-		CommonCertificateVerifier certificateVerifier = new CommonCertificateVerifier();
+		return createCertificateVerifier();
+	}
+
+	@Bean
+	public CertificateVerifier expiredCertificateVerifier() {
+		// allows signing with an expired certificate, with the same trusted lists generations
+		CommonCertificateVerifier certificateVerifier = createCertificateVerifier();
+		certificateVerifier.setAlertOnExpiredCertificate(new LogOnStatusAlert());
+		return certificateVerifier;
+	}
+
+	private CommonCertificateVerifier createCertificateVerifier() {
+		// the trusted sources are read from the holder, updated on each trusted lists refresh
+		CommonCertificateVerifier certificateVerifier = new SwappableTrustCertificateVerifier(trustedListsSourceHolder());
 		certificateVerifier.setCrlSource(cachedCRLSource());
 		certificateVerifier.setOcspSource(cachedOCSPSource());
 		certificateVerifier.setAIASource(cachedAIASource());
-		certificateVerifier.setTrustedCertSources(trustedListSource(), trustedCertificateSource());
 
 		// Default configs
 		certificateVerifier.setAlertOnMissingRevocationData(new ExceptionOnStatusAlert());
@@ -332,6 +496,29 @@ public class DSSBeanConfig {
 		return new ClassPathResource(defaultCertificateValidationPolicy);
 	}
 
+	@Bean
+	public ValidationPolicyRegistry validationPolicyRegistry() {
+		ValidationPolicyRegistry validationPolicyRegistry = new ValidationPolicyRegistry(defaultPolicy(),
+				defaultCertificateValidationPolicy(), validationPolicyCacheSize);
+		metricsService.bind(validationPolicyRegistry);
+		return validationPolicyRegistry;
+	}
+
+	@Bean(destroyMethod = "close")
+	public CompressedReportStore reportStore() {
+		File spillDirectory = Utils.isStringNotEmpty(reportStoreSpillDirectory) ? new File(reportStoreSpillDirectory) : null;
+		CompressedReportStore reportStore = new CompressedReportStore(reportStoreMemoryMaxSize, spillDirectory, reportStoreSpillMaxSize);
+		metricsService.bind(reportStore);
+		return reportStore;
+	}
+
+	@Bean
+	public RenderCache renderCache() {
+		RenderCache renderCache = new RenderCache(renderCacheMaxSize, renderCacheMaxEntrySize);
+		metricsService.bind(renderCache);
+		return renderCache;
+	}
+
 	@Bean
 	public CAdESService cadesService() {
 		CAdESService service = new CAdESService(certificateVerifier());
@@ -436,13 +623,7 @@ public class DSSBeanConfig {
 	public RemoteDocumentValidationService remoteValidationService() {
 		RemoteDocumentValidationService service = new RemoteDocumentValidationService();
 		service.setVerifier(certificateVerifier());
-		if (defaultPolicy() != null) {
-			try (InputStream is = defaultPolicy().getInputStream()) {
-				service.setDefaultValidationPolicy(is);
-			} catch (IOException e) {
-				LOG.error(String.format("Unable to parse policy: %s", e.getMessage()), e);
-			}
-		}
+		service.setDefaultValidationPolicy(validationPolicyRegistry().getDefaultValidationPolicy());
 		return service;
 	}
 	
@@ -450,13 +631,7 @@ public class DSSBeanConfig {
 	public RemoteCertificateValidationService remoteCertificateValidationService() {
 		RemoteCertificateValidationService service = new RemoteCertificateValidationService();
 		service.setVerifier(certificateVerifier());
-		if (defaultCertificateValidationPolicy() != null) {
-			try (InputStream is = defaultCertificateValidationPolicy().getInputStream()) {
-				service.setDefaultValidationPolicy(is);
-			} catch (IOException e) {
-				LOG.error(String.format("Unable to parse policy: %s", e.getMessage()), e);
-			}
-		}
+		service.setDefaultValidationPolicy(validationPolicyRegistry().getDefaultCertificateValidationPolicy());
 		return service;
 	}
 
@@ -501,30 +676,48 @@ public class DSSBeanConfig {
 	@Bean 
 	public TLValidationJob job() {
 		TLValidationJob job = new TLValidationJob();
-		job.setTrustedListCertificateSource(trustedListSource());
 		job.setListOfTrustedListSources(listOfTrustedListSources());
 		job.setOfflineDataLoader(offlineLoader());
 		job.setOnlineDataLoader(onlineLoader());
+		job.setExecutorService(tlLoaderExecutor());
 		return job;
 	}
 
+	/**
+	 * The trusted lists are downloaded, parsed and validated in parallel, apart from the scheduled tasks
+	 */
+	@Bean(destroyMethod = "shutdownNow")
+	public ExecutorService tlLoaderExecutor() {
+		return Executors.newFixedThreadPool(tlLoaderThreads, new CustomizableThreadFactory("tl-loader-"));
+	}
+
 	@Bean
 	public DSSFileLoader onlineLoader() {
 		FileCacheDataLoader onlineFileLoader = new FileCacheDataLoader();
 		onlineFileLoader.setCacheExpirationTime(-1);
 		onlineFileLoader.setDataLoader(tlDataLoader());
 		onlineFileLoader.setFileCacheDirectory(tlCacheDirectory());
-		return Sha2FileCacheDataLoader.initSha2DailyUpdateDataLoader(onlineFileLoader);
+		return new MeteredTLFileLoader(Sha2FileCacheDataLoader.initSha2DailyUpdateDataLoader(onlineFileLoader),
+				metricsService, tlLoadingStatistics);
 	}
 
+	/**
+	 * The trusted lists have their own loader, its timeouts bound the download of each trusted list.
+	 * Its conditional requests avoid downloading again the trusted lists not modified since the last refresh.
+	 */
 	@Bean
 	public CommonsDataLoader tlDataLoader() {
+		ConditionalGetDataLoader tlDataLoader = configureCommonsDataLoader(new ConditionalGetDataLoader());
+		tlDataLoader.setTlLoadingStatistics(tlLoadingStatistics);
+		tlDataLoader.setTimeoutConnection(tlLoaderTimeout);
+		tlDataLoader.setTimeoutConnectionRequest(tlLoaderTimeout);
+		tlDataLoader.setTimeoutSocket(tlLoaderTimeout);
+		tlDataLoader.setTimeoutResponse(tlLoaderTimeout);
 		if (tlTrustAllStrategy) {
 			LOG.info("TrustAllStrategy is enabled on TL loading.");
-			return trustAllDataLoader();
-		} else {
-			return dataLoader();
+			tlDataLoader.setTrustStrategy(TrustAllStrategy.INSTANCE);
 		}
+		return tlDataLoader;
 	}
 
 	private LOTLSource[] listOfTrustedListSources() {
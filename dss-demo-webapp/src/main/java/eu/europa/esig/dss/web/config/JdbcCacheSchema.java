@@ -0,0 +1,120 @@
+package eu.europa.esig.dss.web.config;
+
+import eu.europa.esig.dss.model.DSSException;
+import eu.europa.esig.dss.utils.Utils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Migrates the tables owned by the demonstration (the tables of the JDBC cache sources are created by DSS).
+ * The scripts {@code db/cache/V<version>__<name>.sql} are applied in order, once, and the reached
+ * version is stored in the database, so the existing data of a persistent database is kept.
+ *
+ */
+public class JdbcCacheSchema {
+
+	private static final Logger LOG = LoggerFactory.getLogger(JdbcCacheSchema.class);
+
+	private static final String VERSION_TABLE = "DSS_CACHE_SCHEMA_VERSION";
+
+	/** The migration scripts, the index + 1 being the version */
+	private static final String[] MIGRATIONS = { "db/cache/V1__hot_entries.sql" };
+
+	private final DataSource dataSource;
+
+	public JdbcCacheSchema(DataSource dataSource) {
+		this.dataSource = dataSource;
+	}
+
+	/**
+	 * Applies the missing migrations
+	 *
+	 * @throws SQLException if a migration fails (it is then rolled back)
+	 */
+	public void migrate() throws SQLException {
+		try (Connection connection = dataSource.getConnection()) {
+			try {
+				int version = getVersion(connection);
+				for (int i = version; i < MIGRATIONS.length; i++) {
+					LOG.info("Migrating the cache schema to the version {} ({})", i + 1, MIGRATIONS[i]);
+					execute(connection, readScript(MIGRATIONS[i]));
+					setVersion(connection, i + 1);
+					connection.commit();
+				}
+			} catch (SQLException | RuntimeException e) {
+				connection.rollback();
+				throw e;
+			}
+		}
+	}
+
+	/**
+	 * Drops the tables owned by the demonstration
+	 *
+	 * @throws SQLException if an error occurs
+	 */
+	public void drop() throws SQLException {
+		try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+			statement.execute("DROP TABLE IF EXISTS DSS_REVOCATION_HOT_ENTRIES");
+			statement.execute("DROP TABLE IF EXISTS " + VERSION_TABLE);
+			connection.commit();
+		}
+	}
+
+	private int getVersion(Connection connection) throws SQLException {
+		DatabaseMetaData metaData = connection.getMetaData();
+		try (ResultSet rs = metaData.getTables(null, null, VERSION_TABLE, null)) {
+			if (!rs.next()) {
+				try (Statement statement = connection.createStatement()) {
+					statement.execute("CREATE TABLE " + VERSION_TABLE + " (VERSION INTEGER NOT NULL)");
+					statement.execute("INSERT INTO " + VERSION_TABLE + " (VERSION) VALUES (0)");
+				}
+				return 0;
+			}
+		}
+		try (Statement statement = connection.createStatement();
+			 ResultSet rs = statement.executeQuery("SELECT VERSION FROM " + VERSION_TABLE)) {
+			return rs.next() ? rs.getInt(1) : 0;
+		}
+	}
+
+	private void setVersion(Connection connection, int version) throws SQLException {
+		try (PreparedStatement statement = connection.prepareStatement("UPDATE " + VERSION_TABLE + " SET VERSION = ?")) {
+			statement.setInt(1, version);
+			statement.executeUpdate();
+		}
+	}
+
+	private void execute(Connection connection, String script) throws SQLException {
+		try (Statement statement = connection.createStatement()) {
+			for (String sql : script.split(";")) {
+				if (Utils.isStringNotBlank(sql)) {
+					statement.execute(sql.trim());
+				}
+			}
+		}
+	}
+
+	private String readScript(String path) {
+		try (InputStream is = JdbcCacheSchema.class.getClassLoader().getResourceAsStream(path)) {
+			if (is == null) {
+				throw new DSSException(String.format("The migration script '%s' is not found", path));
+			}
+			return new String(Utils.toByteArray(is), StandardCharsets.UTF_8);
+		} catch (IOException e) {
+			throw new DSSException(String.format("Unable to read the migration script '%s' : %s", path, e.getMessage()), e);
+		}
+	}
+
+}
@@ -6,12 +6,15 @@ import eu.europa.esig.dss.service.x509.aia.JdbcCacheAIASource;
 import jakarta.annotation.PostConstruct;
 import jakarta.annotation.PreDestroy;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+import javax.sql.DataSource;
 import java.sql.SQLException;
 
 /**
- * This class is used to construct/destroy JDBC cache sources
+ * This class is used to construct/destroy JDBC cache sources.
+ * With a persistent database, the tables are kept on shutdown and only migrated on startup.
  *
  */
 @Component
@@ -26,6 +29,26 @@ public class JdbcInitializer {
     @Autowired(required = false)
     private JdbcCacheOCSPSource jdbcCacheOCSPSource;
 
+    @Autowired
+    private DataSource dataSource;
+
+    @Value("${datasource.jdbc.enabled:false}")
+    private boolean jdbcEnabled;
+
+    @Value("${datasource.jdbc.persistent:false}")
+    private boolean persistent;
+
+    public boolean isPersistent() {
+        return jdbcEnabled && persistent;
+    }
+
+    @PostConstruct
+    public void cacheSchemaMigration() throws SQLException {
+        if (jdbcEnabled) {
+            new JdbcCacheSchema(dataSource).migrate();
+        }
+    }
+
     @PostConstruct
     public void cachedAIASourceInitialization() throws SQLException {
         if (jdbcCacheAIASource != null) {
@@ -47,23 +70,30 @@ public class JdbcInitializer {
         }
     }
 
+    @PreDestroy
+    public void cacheSchemaClean() throws SQLException {
+        if (jdbcEnabled && !persistent) {
+            new JdbcCacheSchema(dataSource).drop();
+        }
+    }
+
     @PreDestroy
     public void cachedAIASourceClean() throws SQLException {
-        if (jdbcCacheAIASource != null) {
+        if (jdbcCacheAIASource != null && !persistent) {
             jdbcCacheAIASource.destroyTable();
         }
     }
 
     @PreDestroy
     public void cachedCRLSourceClean() throws SQLException {
-        if (jdbcCacheCRLSource != null) {
+        if (jdbcCacheCRLSource != null && !persistent) {
             jdbcCacheCRLSource.destroyTable();
         }
     }
 
     @PreDestroy
     public void cachedOCSPSourceClean() throws SQLException {
-        if (jdbcCacheOCSPSource != null) {
+        if (jdbcCacheOCSPSource != null && !persistent) {
             jdbcCacheOCSPSource.destroyTable();
         }
     }
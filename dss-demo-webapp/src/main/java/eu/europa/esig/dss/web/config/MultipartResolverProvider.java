@@ -20,6 +20,12 @@ public class MultipartResolverProvider {
      */
     private boolean resolveLazily = false;
 
+    /**
+     * Defines the file size starting from which the uploaded file is not loaded in memory,
+     * but read directly from the servlet container's storage (-1 to disable)
+     */
+    private long streamingThreshold = -1;
+
     /**
      * Singleton instance
      */
@@ -98,6 +104,34 @@ public class MultipartResolverProvider {
         this.resolveLazily = resolveLazily;
     }
 
+    /**
+     * Gets the file size starting from which the uploaded file is not loaded in memory
+     *
+     * @return streaming threshold in bytes, -1 if disabled
+     */
+    public long getStreamingThreshold() {
+        return streamingThreshold;
+    }
+
+    /**
+     * Sets the file size starting from which the uploaded file is not loaded in memory
+     *
+     * @param streamingThreshold streaming threshold in bytes (-1 to disable)
+     */
+    public void setStreamingThreshold(long streamingThreshold) {
+        this.streamingThreshold = streamingThreshold;
+    }
+
+    /**
+     * Returns whether the uploaded file of the given size should be read in a streaming way
+     *
+     * @param fileSize the uploaded file size
+     * @return TRUE if the file should not be loaded in memory, FALSE otherwise
+     */
+    public boolean isStreamingEnabled(long fileSize) {
+        return streamingThreshold > -1 && fileSize > streamingThreshold;
+    }
+
     /**
      * Creates a new multipart resolver
      *
@@ -3,16 +3,24 @@ package eu.europa.esig.dss.web.config;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
 import org.springframework.scheduling.annotation.EnableScheduling;
 import org.springframework.scheduling.annotation.SchedulingConfigurer;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
 import org.springframework.scheduling.config.ScheduledTaskRegistrar;
 
 @Configuration
 @EnableScheduling
 public class SchedulingConfig implements SchedulingConfigurer {
 
+	private static final String THREAD_NAME_PREFIX = "task-";
+
+	@Value("${spring.threads.virtual.enabled:false}")
+	private boolean virtualThreadsEnabled;
+
 	@Override
 	public void configureTasks(ScheduledTaskRegistrar taskRegistrar) {
 		taskRegistrar.setScheduler(taskExecutor());
@@ -20,7 +28,12 @@ public class SchedulingConfig implements SchedulingConfigurer {
 
 	@Bean(destroyMethod = "shutdown")
 	public ExecutorService taskExecutor() {
-		return Executors.newScheduledThreadPool(5);
+		if (virtualThreadsEnabled) {
+			// the pool threads only trigger the tasks, the jobs (e.g. trusted lists downloads) block virtual threads
+			return Executors.newScheduledThreadPool(5,
+					new VirtualThreadTaskExecutor(THREAD_NAME_PREFIX).getVirtualThreadFactory());
+		}
+		return Executors.newScheduledThreadPool(5, new CustomizableThreadFactory(THREAD_NAME_PREFIX));
 	}
 
 }
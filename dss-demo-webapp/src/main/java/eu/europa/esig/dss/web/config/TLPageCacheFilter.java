@@ -0,0 +1,111 @@
+package eu.europa.esig.dss.web.config;
+
+import eu.europa.esig.dss.utils.Utils;
+import eu.europa.esig.dss.web.service.TLSummaryIndex;
+import eu.europa.esig.dss.web.service.TLSummaryIndex.CachedPage;
+import eu.europa.esig.dss.web.service.TrustedListsSourceHolder;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.web.csrf.CsrfToken;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+
+/**
+ * Caches the rendered trusted lists pages until the next refresh, and answers the conditional requests
+ * (ETag / Last-Modified of the trusted lists generation) without rendering anything.
+ * The per-request CSRF token embedded in the pages is replaced when a cached page is served.
+ *
+ */
+public class TLPageCacheFilter extends OncePerRequestFilter {
+
+	private static final String CSRF_TOKEN_PLACEHOLDER = "__DSS_CSRF_TOKEN__";
+
+	private final TrustedListsSourceHolder trustedListsSourceHolder;
+
+	private final String samesite;
+
+	/**
+	 * Default constructor
+	 *
+	 * @param trustedListsSourceHolder {@link TrustedListsSourceHolder}
+	 * @param samesite {@link String} the SameSite attribute of the cookies (can be empty)
+	 */
+	public TLPageCacheFilter(TrustedListsSourceHolder trustedListsSourceHolder, String samesite) {
+		this.trustedListsSourceHolder = trustedListsSourceHolder;
+		this.samesite = samesite;
+	}
+
+	@Override
+	protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+			throws ServletException, IOException {
+		if (!"GET".equals(request.getMethod())) {
+			filterChain.doFilter(request, response);
+			return;
+		}
+
+		TLSummaryIndex summaryIndex = trustedListsSourceHolder.getSummaryIndex();
+		ServletWebRequest webRequest = new ServletWebRequest(request, response);
+		if (webRequest.checkNotModified(summaryIndex.getETag(), summaryIndex.getLastModified().getTime())) {
+			return;
+		}
+		response.setHeader(HttpHeaders.CACHE_CONTROL, "no-cache");
+
+		String path = request.getRequestURI();
+		CachedPage page = summaryIndex.getPage(path);
+		if (page != null) {
+			String content = new String(page.getContent(), StandardCharsets.UTF_8);
+			String csrfToken = getCsrfToken(request);
+			if (csrfToken != null) {
+				content = content.replace(CSRF_TOKEN_PLACEHOLDER, csrfToken);
+			}
+			addSameSite(response);
+			byte[] bytes = content.getBytes(StandardCharsets.UTF_8);
+			response.setContentType(page.getContentType());
+			response.setContentLength(bytes.length);
+			response.getOutputStream().write(bytes);
+			return;
+		}
+
+		ContentCachingResponseWrapper responseWrapper = new ContentCachingResponseWrapper(response);
+		filterChain.doFilter(request, responseWrapper);
+		if (responseWrapper.getStatus() == HttpServletResponse.SC_OK && responseWrapper.getContentType() != null
+				&& responseWrapper.getContentType().startsWith("text/html")) {
+			String content = new String(responseWrapper.getContentAsByteArray(), StandardCharsets.UTF_8);
+			String csrfToken = getCsrfToken(request);
+			if (csrfToken != null) {
+				content = content.replace(csrfToken, CSRF_TOKEN_PLACEHOLDER);
+			}
+			summaryIndex.putPage(path, new CachedPage(responseWrapper.getContentType(), content.getBytes(StandardCharsets.UTF_8)));
+		}
+		responseWrapper.copyBodyToResponse();
+	}
+
+	private String getCsrfToken(HttpServletRequest request) {
+		CsrfToken csrfToken = (CsrfToken) request.getAttribute(CsrfToken.class.getName());
+		return csrfToken != null ? csrfToken.getToken() : null;
+	}
+
+	/**
+	 * The cookie issued with the CSRF token gets the same SameSite attribute as on a rendered page
+	 * (see WebSecurityConfiguration)
+	 */
+	private void addSameSite(HttpServletResponse response) {
+		if (Utils.isStringNotEmpty(samesite)) {
+			Collection<String> setCookieHeaders = response.getHeaders(HttpHeaders.SET_COOKIE);
+			if (Utils.isCollectionNotEmpty(setCookieHeaders)) {
+				for (String header : setCookieHeaders) {
+					response.setHeader(HttpHeaders.SET_COOKIE, String.format("%s; SameSite=%s", header, samesite));
+				}
+			}
+		}
+	}
+
+}
@@ -1,17 +1,26 @@
 package eu.europa.esig.dss.web.config;
 
+import eu.europa.esig.dss.web.service.MetricsService;
+import eu.europa.esig.dss.web.service.TrustedListsSourceHolder;
+import jakarta.servlet.DispatcherType;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.context.MessageSource;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.ComponentScan;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.support.ReloadableResourceBundleMessageSource;
+import org.springframework.http.MediaType;
 import org.springframework.web.multipart.MultipartResolver;
 import org.springframework.web.servlet.config.annotation.DefaultServletHandlerConfigurer;
 import org.springframework.web.servlet.config.annotation.EnableWebMvc;
 import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
+import java.util.ArrayList;
+import java.util.List;
+
 @Configuration
 @EnableWebMvc
 @ComponentScan(basePackages = { "eu.europa.esig.dss.web.controller" })
@@ -26,6 +35,36 @@ public class WebConfig implements WebMvcConfigurer {
 	@Value("${multipart.resolveLazily:false}")
 	private boolean resolveLazily;
 
+	@Value("${multipart.streamingThreshold:-1}")
+	private long streamingThreshold;
+
+	@Value("${web.security.cookie.samesite}")
+	private String samesite;
+
+	@Value("${compression.enabled:true}")
+	private boolean compressionEnabled;
+
+	@Value("${compression.url.patterns:/services/*}")
+	private String[] compressionUrlPatterns;
+
+	@Value("${compression.mime.types:application/json,application/xml,text/xml,text/plain}")
+	private String[] compressionMimeTypes;
+
+	@Value("${compression.threshold:2048}")
+	private int compressionThreshold;
+
+	@Value("${compression.gzip.level:6}")
+	private int gzipLevel;
+
+	@Value("${compression.zstd.level:3}")
+	private int zstdLevel;
+
+	@Autowired
+	private TrustedListsSourceHolder trustedListsSourceHolder;
+
+	@Autowired
+	private MetricsService metricsService;
+
 	@Override
 	public void addResourceHandlers(ResourceHandlerRegistry registry) {
 		registry.addResourceHandler("/css/**").addResourceLocations("classpath:/static/css/");
@@ -45,9 +84,32 @@ public class WebConfig implements WebMvcConfigurer {
 		multipartResolverProvider.setMaxFileSize(maxFileSize);
 		multipartResolverProvider.setMaxInMemorySize(maxInMemorySize);
 		multipartResolverProvider.setResolveLazily(resolveLazily);
+		multipartResolverProvider.setStreamingThreshold(streamingThreshold);
 		return multipartResolverProvider.createMultipartResolver();
 	}
 
+	@Bean
+	public FilterRegistrationBean<TLPageCacheFilter> tlPageCacheFilter() {
+		FilterRegistrationBean<TLPageCacheFilter> registration = new FilterRegistrationBean<>(
+				new TLPageCacheFilter(trustedListsSourceHolder, samesite));
+		registration.addUrlPatterns("/tl-info", "/tl-info/*");
+		return registration;
+	}
+
+	@Bean
+	public FilterRegistrationBean<CompressionFilter> compressionFilter() {
+		List<MediaType> mediaTypes = new ArrayList<>();
+		for (String mimeType : compressionMimeTypes) {
+			mediaTypes.add(MediaType.parseMediaType(mimeType.trim()));
+		}
+		FilterRegistrationBean<CompressionFilter> registration = new FilterRegistrationBean<>(
+				new CompressionFilter(metricsService, compressionThreshold, mediaTypes, gzipLevel, zstdLevel));
+		registration.addUrlPatterns(compressionUrlPatterns);
+		registration.setDispatcherTypes(DispatcherType.REQUEST, DispatcherType.ASYNC);
+		registration.setEnabled(compressionEnabled);
+		return registration;
+	}
+
 	@Bean
 	public MessageSource messageSource() {
 		ReloadableResourceBundleMessageSource messageSource = new ReloadableResourceBundleMessageSource();
@@ -9,9 +9,12 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpHeaders;
+import org.springframework.security.authorization.AuthorizationDecision;
+import org.springframework.security.authorization.AuthorizationManager;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.access.intercept.RequestAuthorizationContext;
 import org.springframework.security.web.csrf.CookieCsrfTokenRepository;
 import org.springframework.security.web.firewall.RequestRejectedException;
 import org.springframework.security.web.firewall.RequestRejectedHandler;
@@ -21,13 +24,16 @@ import org.springframework.security.web.header.writers.StaticHeadersWriter;
 import org.springframework.security.web.header.writers.frameoptions.XFrameOptionsHeaderWriter;
 import org.springframework.security.web.header.writers.frameoptions.XFrameOptionsHeaderWriter.XFrameOptionsMode;
 import org.springframework.security.web.util.matcher.AntPathRequestMatcher;
+import org.springframework.security.web.util.matcher.IpAddressMatcher;
 import org.springframework.security.web.util.matcher.RequestMatcher;
 import org.springframework.web.servlet.HandlerInterceptor;
 import org.springframework.web.servlet.ModelAndView;
 import org.springframework.web.servlet.handler.MappedInterceptor;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
 
 @Configuration
 @EnableWebSecurity
@@ -43,12 +49,18 @@ public class WebSecurityConfiguration {
 
 	@Value("${web.strict.transport.security:}")
 	private String strictTransportSecurity;
+
+	@Value("${web.security.actuator.allowed.addresses:127.0.0.1,::1}")
+	private String[] actuatorAllowedAddresses;
 	
 	/** API urls (REST/SOAP webServices) */
 	private static final String[] API_URLS = new String[] {
 			"/services/rest/**", "/services/soap/**"
 	};
 
+	/** Actuator urls (health and Prometheus metrics) */
+	private static final String ACTUATOR_URLS = "/actuator/**";
+
 	@Bean
 	public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
 
@@ -65,7 +77,10 @@ public class WebSecurityConfiguration {
 			}
 		});
 
-		http.authorizeHttpRequests(authorizeHttpRequests -> authorizeHttpRequests.anyRequest().permitAll());
+		// the actuator endpoints are only served to the allowed clients (e.g. the Prometheus server)
+		http.authorizeHttpRequests(authorizeHttpRequests -> authorizeHttpRequests
+				.requestMatchers(new AntPathRequestMatcher(ACTUATOR_URLS)).access(actuatorAuthorizationManager())
+				.anyRequest().permitAll());
 
 		// disable CSRF for API calls (REST/SOAP webServices)
 		http.csrf(csrf -> csrf.csrfTokenRepository(CookieCsrfTokenRepository.withHttpOnlyFalse())
@@ -74,6 +89,17 @@ public class WebSecurityConfiguration {
 		return http.build();
 	}
 
+	private AuthorizationManager<RequestAuthorizationContext> actuatorAuthorizationManager() {
+		final List<IpAddressMatcher> allowedAddresses = new ArrayList<>();
+		for (String address : actuatorAllowedAddresses) {
+			if (Utils.isStringNotBlank(address)) {
+				allowedAddresses.add(new IpAddressMatcher(address.trim()));
+			}
+		}
+		return (authentication, context) -> new AuthorizationDecision(
+				allowedAddresses.stream().anyMatch(matcher -> matcher.matches(context.getRequest())));
+	}
+
 	private RequestMatcher[] getAntMatchers() {
 		RequestMatcher[] requestMatchers = new RequestMatcher[API_URLS.length];
 		for (int i = 0; i < API_URLS.length; i++) {
@@ -8,7 +8,10 @@ import eu.europa.esig.dss.spi.validation.CertificateVerifier;
 import eu.europa.esig.dss.validation.reports.AbstractReports;
 import eu.europa.esig.dss.validation.reports.CertificateReports;
 import eu.europa.esig.dss.validation.reports.Reports;
+import eu.europa.esig.dss.web.model.StoredReports;
 import eu.europa.esig.dss.web.model.TokenDTO;
+import eu.europa.esig.dss.web.service.ReportStore;
+import eu.europa.esig.dss.web.service.ValidationPolicyRegistry;
 import eu.europa.esig.dss.web.service.XSLTService;
 import eu.europa.esig.dss.web.validation.EtsiNamespaceValidationReportFacade;
 import eu.europa.esig.validationreport.jaxb.ValidationReportType;
@@ -28,7 +31,7 @@ import java.util.HashSet;
 import java.util.Set;
 import java.util.TimeZone;
 
-@SessionAttributes({ "simpleReportXml", "simpleCertificateReportXml", "detailedReportXml", "diagnosticDataXml", "diagnosticTree" })
+@SessionAttributes({ "reportId" })
 public abstract class AbstractValidationController {
 
 	private static final Logger LOG = LoggerFactory.getLogger(AbstractValidationController.class);
@@ -41,6 +44,9 @@ public abstract class AbstractValidationController {
 	protected static final String XML_DETAILED_REPORT_ATTRIBUTE = "detailedReportXml";
 	protected static final String XML_DIAGNOSTIC_DATA_ATTRIBUTE = "diagnosticDataXml";
 	protected static final String ETSI_VALIDATION_REPORT_ATTRIBUTE = "etsiValidationReport";
+
+	/** The only report related session attribute, the XML reports themselves are kept in the {@link ReportStore} */
+	protected static final String REPORT_ID_ATTRIBUTE = "reportId";
 	
 	protected static final String ALL_CERTIFICATES_ATTRIBUTE = "allCertificates";
 	protected static final String ALL_REVOCATION_DATA_ATTRIBUTE = "allRevocationData";
@@ -52,6 +58,12 @@ public abstract class AbstractValidationController {
 	@Autowired
 	protected XSLTService xsltService;
 
+	@Autowired
+	protected ValidationPolicyRegistry validationPolicyRegistry;
+
+	@Autowired
+	protected ReportStore reportStore;
+
 	@InitBinder
 	public void initBinder(WebDataBinder webDataBinder) {
 		SimpleDateFormat dateFormat = new SimpleDateFormat("yyyy-MM-dd'T'HH:mm");
@@ -62,11 +74,17 @@ public abstract class AbstractValidationController {
 
 	public void setAttributesModels(Model model, AbstractReports reports) {
 		String xmlSimpleReport = reports.getXmlSimpleReport();
+		String xmlSimpleReportForStore;
+		String xmlSimpleCertificateReportForStore;
 		if (reports instanceof CertificateReports) {
+			xmlSimpleReportForStore = Utils.EMPTY_STRING;
+			xmlSimpleCertificateReportForStore = xmlSimpleReport;
 			model.addAttribute(XML_SIMPLE_REPORT_ATTRIBUTE, Utils.EMPTY_STRING);
 			model.addAttribute(XML_SIMPLE_CERTIFICATE_REPORT_ATTRIBUTE, xmlSimpleReport);
 			model.addAttribute(SIMPLE_REPORT_ATTRIBUTE, xsltService.generateSimpleCertificateReport(xmlSimpleReport));
 		} else {
+			xmlSimpleReportForStore = xmlSimpleReport;
+			xmlSimpleCertificateReportForStore = Utils.EMPTY_STRING;
 			model.addAttribute(XML_SIMPLE_REPORT_ATTRIBUTE, xmlSimpleReport);
 			model.addAttribute(XML_SIMPLE_CERTIFICATE_REPORT_ATTRIBUTE, Utils.EMPTY_STRING);
 			model.addAttribute(SIMPLE_REPORT_ATTRIBUTE, xsltService.generateSimpleReport(xmlSimpleReport));
@@ -77,7 +95,11 @@ public abstract class AbstractValidationController {
 		model.addAttribute(DETAILED_REPORT_ATTRIBUTE, xsltService.generateDetailedReport(xmlDetailedReport));
 
 		DiagnosticData diagnosticData = reports.getDiagnosticData();
-		model.addAttribute(XML_DIAGNOSTIC_DATA_ATTRIBUTE, reports.getXmlDiagnosticData());
+		String xmlDiagnosticData = reports.getXmlDiagnosticData();
+		model.addAttribute(XML_DIAGNOSTIC_DATA_ATTRIBUTE, xmlDiagnosticData);
+
+		storeReports(model, new StoredReports(xmlSimpleReportForStore, xmlSimpleCertificateReportForStore,
+				xmlDetailedReport, xmlDiagnosticData));
 
 		if (reports instanceof Reports) {
 			Reports sigReports = (Reports) reports;
@@ -98,6 +120,15 @@ public abstract class AbstractValidationController {
 		model.addAttribute(ALL_TIMESTAMPS_ATTRIBUTE, buildTokenDtos(diagnosticData.getTimestampList()));
 	}
 
+	private void storeReports(Model model, StoredReports storedReports) {
+		// the reports of the previous validation within the same session are not reachable anymore
+		Object previousReportId = model.getAttribute(REPORT_ID_ATTRIBUTE);
+		if (previousReportId instanceof String) {
+			reportStore.remove((String) previousReportId);
+		}
+		model.addAttribute(REPORT_ID_ATTRIBUTE, reportStore.store(storedReports));
+	}
+
 	private Set<TokenDTO> buildTokenDtos(Collection<? extends AbstractTokenProxy> abstractTokens) {
 		Set<TokenDTO> tokenDtos = new HashSet<>();
 		for (AbstractTokenProxy token : abstractTokens) {
@@ -13,15 +13,12 @@ import eu.europa.esig.dss.validation.CertificateValidator;
 import eu.europa.esig.dss.validation.identifier.UserFriendlyIdentifierProvider;
 import eu.europa.esig.dss.validation.reports.CertificateReports;
 import eu.europa.esig.dss.web.WebAppUtils;
-import eu.europa.esig.dss.web.exception.InternalServerException;
 import eu.europa.esig.dss.web.model.CertificateForm;
 import eu.europa.esig.dss.web.model.CertificateValidationForm;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.core.io.Resource;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.validation.BindingResult;
@@ -32,8 +29,6 @@ import org.springframework.web.bind.annotation.ModelAttribute;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestMethod;
 
-import java.io.IOException;
-import java.io.InputStream;
 import java.util.Calendar;
 import java.util.Date;
 import java.util.List;
@@ -51,9 +46,6 @@ public class CertificateValidationController extends AbstractValidationControlle
 	private static final String[] ALLOWED_FIELDS = { "certificateForm.certificateFile", "certificateForm.certificateBase64", "certificateChainFiles",
 			"validationTime", "timezoneDifference", "includeCertificateTokens", "includeRevocationTokens", "includeUserFriendlyIdentifiers" };
 
-	@Autowired
-	private Resource defaultCertificateValidationPolicy;
-	
 	@InitBinder
 	public void setAllowedFields(WebDataBinder webDataBinder) {
 		webDataBinder.setAllowedFields(ALLOWED_FIELDS);
@@ -100,16 +92,7 @@ public class CertificateValidationController extends AbstractValidationControlle
 		}
 		certificateValidator.setLocale(locale);
 
-		CertificateReports reports;
-		if (defaultCertificateValidationPolicy != null) {
-			try (InputStream is = defaultCertificateValidationPolicy.getInputStream()) {
-				reports = certificateValidator.validate(is);
-			} catch (IOException e) {
-				throw new InternalServerException(String.format("Unable to parse policy: %s", e.getMessage()), e);
-			}
-		} else {
-			throw new IllegalStateException("Validation policy is not correctly initialized!");
-		}
+		CertificateReports reports = certificateValidator.validate(validationPolicyRegistry.getDefaultCertificateValidationPolicy());
 
 		// reports.print();
 
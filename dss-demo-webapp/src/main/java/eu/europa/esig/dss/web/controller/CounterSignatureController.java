@@ -22,6 +22,7 @@ import eu.europa.esig.dss.web.model.CounterSignatureForm;
 import eu.europa.esig.dss.web.model.CounterSignatureHelperResponse;
 import eu.europa.esig.dss.web.model.DataToSignParams;
 import eu.europa.esig.dss.web.model.GetDataToSignResponse;
+import eu.europa.esig.dss.web.model.SessionUploadedFiles;
 import eu.europa.esig.dss.web.model.SignDocumentResponse;
 import eu.europa.esig.dss.web.model.SignResponse;
 import eu.europa.esig.dss.web.service.SigningService;
@@ -115,6 +116,8 @@ public class CounterSignatureController {
 			}
 			return COUNTER_SIGN;
 		}
+		// the container deletes the uploaded parts at the end of the request, copies are kept with the form
+		counterSignatureForm.setDocumentToCounterSign(SessionUploadedFiles.keep(response.getSession(), "counterSignatureForm", counterSignatureForm.getDocumentToCounterSign()));
 		model.addAttribute("counterSignatureForm", counterSignatureForm);
 		model.addAttribute("digestAlgorithm", counterSignatureForm.getDigestAlgorithm());
 		model.addAttribute("rootUrl", "counter-sign");
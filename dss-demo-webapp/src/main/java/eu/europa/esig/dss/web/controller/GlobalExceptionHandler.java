@@ -6,9 +6,13 @@ import eu.europa.esig.dss.web.exception.InternalServerException;
 import eu.europa.esig.dss.web.exception.SignatureOperationException;
 import eu.europa.esig.dss.web.exception.SourceNotFoundException;
 import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.annotation.AnnotationUtils;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ControllerAdvice;
@@ -27,9 +31,12 @@ public class GlobalExceptionHandler {
 
 	public static final String DEFAULT_ERROR_VIEW = "error";
 	public static final String PAGE_NOT_FOUND_ERROR_VIEW = "404_error";
+
+	@Value("${fop.rendering.retry.after:5}")
+	private int renderingRetryAfter;
 	
     @ExceptionHandler(value = Exception.class)
-    public ModelAndView defaultErrorHandler(HttpServletRequest req, Exception e) throws Exception {
+    public ModelAndView defaultErrorHandler(HttpServletRequest req, HttpServletResponse resp, Exception e) throws Exception {
 		// If the exception is annotated with @ResponseStatus rethrow it and let
 		// the framework handle it (for personal and annotated Exception)
 		if (AnnotationUtils.findAnnotation(e.getClass(), ResponseStatus.class) != null) {
@@ -37,6 +44,12 @@ public class GlobalExceptionHandler {
 		}
 
 		LOG.error("Unhandled exception occurred : " + e.getMessage(), e);
+
+		// a partially written response (e.g. a streamed SVG) cannot be replaced by the error page,
+		// the servlet container aborts it instead of completing it
+		if (resp.isCommitted()) {
+			throw e;
+		}
 		
         return getMAV(req, e, HttpStatus.INTERNAL_SERVER_ERROR, DEFAULT_ERROR_VIEW);
 	}
@@ -83,6 +96,14 @@ public class GlobalExceptionHandler {
 		return getMAV(req, new DSSException("Uploaded file size exceeded max allowed limit."), HttpStatus.FORBIDDEN, DEFAULT_ERROR_VIEW);
 	}
 
+	@ExceptionHandler(TaskRejectedException.class)
+	public ModelAndView taskRejectedExceptionHandler(HttpServletRequest req, HttpServletResponse resp, Exception e) {
+		// the rendering or validation queue is full, the client is asked to come back later
+		LOG.warn("The request [{}] is rejected : {}", req.getRequestURI(), e.getMessage());
+		resp.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(renderingRetryAfter));
+		return getMAV(req, new DSSException("The server is busy, please retry later."), HttpStatus.SERVICE_UNAVAILABLE, DEFAULT_ERROR_VIEW);
+	}
+
 	@ExceptionHandler({UnsupportedOperationException.class, IllegalArgumentException.class, IllegalInputException.class})
 	public ModelAndView unsupportedOperationExceptionHandler(HttpServletRequest req, Exception e) {
 		String errorMessage = "An error occurred on URI call [{}] : {}";
@@ -3,11 +3,11 @@ package eu.europa.esig.dss.web.controller;
 import eu.europa.esig.dss.model.tsl.LOTLInfo;
 import eu.europa.esig.dss.model.tsl.ParsingInfoRecord;
 import eu.europa.esig.dss.model.tsl.TLValidationJobSummary;
-import eu.europa.esig.dss.spi.tsl.TrustedListsCertificateSource;
 import eu.europa.esig.dss.tsl.function.OfficialJournalSchemeInformationURI;
 import eu.europa.esig.dss.tsl.source.LOTLSource;
 import eu.europa.esig.dss.utils.Utils;
 import eu.europa.esig.dss.web.service.KeystoreService;
+import eu.europa.esig.dss.web.service.TrustedListsSourceHolder;
 import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
@@ -38,8 +38,7 @@ public class OJCertificatesController {
 	private LOTLSource lotlSource;
 	
 	@Autowired
-	@Qualifier("european-trusted-list-certificate-source")
-	private TrustedListsCertificateSource trustedCertificateSource;
+	private TrustedListsSourceHolder trustedListsSourceHolder;
 
 	@Autowired
 	private KeystoreService keystoreService;
@@ -59,7 +58,7 @@ public class OJCertificatesController {
 	}
 
 	private String getActualOjUrl() {
-		TLValidationJobSummary summary = trustedCertificateSource.getSummary();
+		TLValidationJobSummary summary = trustedListsSourceHolder.getTrustedListsCertificateSource().getSummary();
 		if (summary != null) {
 			List<LOTLInfo> lotlInfos = summary.getLOTLInfos();
 			for (LOTLInfo lotlInfo : lotlInfos) {
@@ -10,14 +10,12 @@ import eu.europa.esig.dss.spi.x509.CommonCertificateSource;
 import eu.europa.esig.dss.utils.Utils;
 import eu.europa.esig.dss.validation.CertificateValidator;
 import eu.europa.esig.dss.validation.reports.CertificateReports;
-import eu.europa.esig.dss.web.exception.InternalServerException;
 import eu.europa.esig.dss.web.model.QwacValidationForm;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.core.io.Resource;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.validation.BindingResult;
@@ -28,8 +26,6 @@ import org.springframework.web.bind.annotation.ModelAttribute;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestMethod;
 
-import java.io.IOException;
-import java.io.InputStream;
 import java.util.List;
 
 @Controller
@@ -46,9 +42,6 @@ public class QwacValidationController extends AbstractValidationController {
 	@Autowired
 	protected SSLCertificateLoader sslCertificateLoader;
 
-	@Autowired
-	private Resource defaultCertificateValidationPolicy;
-	
 	@InitBinder
 	public void setAllowedFields(WebDataBinder webDataBinder) {
 		webDataBinder.setAllowedFields(ALLOWED_FIELDS);
@@ -95,16 +88,7 @@ public class QwacValidationController extends AbstractValidationController {
 			certificateValidator.setTokenExtractionStrategy(TokenExtractionStrategy.fromParameters(qwacValidationForm.isIncludeCertificateTokens(), false,
 					qwacValidationForm.isIncludeRevocationTokens(), false));
 
-			CertificateReports reports = null;
-			if (defaultCertificateValidationPolicy != null) {
-				try (InputStream is = defaultCertificateValidationPolicy.getInputStream()) {
-					reports = certificateValidator.validate(is);
-				} catch (IOException e) {
-					throw new InternalServerException(String.format("Unable to parse policy: %s", e.getMessage()), e);
-				}
-			} else {
-				throw new IllegalStateException("Validation policy is not correctly initialized!");
-			}
+			CertificateReports reports = certificateValidator.validate(validationPolicyRegistry.getDefaultCertificateValidationPolicy());
 
 			model.addAttribute("currentCertificate", qwacCertificate.getDSSIdAsString());
 			setAttributesModels(model, reports);
@@ -4,22 +4,20 @@ import eu.europa.esig.dss.diagnostic.DiagnosticDataFacade;
 import eu.europa.esig.dss.diagnostic.jaxb.XmlCertificate;
 import eu.europa.esig.dss.diagnostic.jaxb.XmlDiagnosticData;
 import eu.europa.esig.dss.enumerations.ValidationLevel;
-import eu.europa.esig.dss.policy.EtsiValidationPolicy;
-import eu.europa.esig.dss.policy.ValidationPolicyFacade;
+import eu.europa.esig.dss.model.DSSDocument;
 import eu.europa.esig.dss.utils.Utils;
 import eu.europa.esig.dss.validation.executor.ProcessExecutor;
 import eu.europa.esig.dss.validation.executor.certificate.CertificateProcessExecutor;
 import eu.europa.esig.dss.validation.executor.certificate.DefaultCertificateProcessExecutor;
 import eu.europa.esig.dss.validation.executor.signature.DefaultSignatureProcessExecutor;
 import eu.europa.esig.dss.validation.reports.AbstractReports;
+import eu.europa.esig.dss.web.WebAppUtils;
 import eu.europa.esig.dss.web.exception.InternalServerException;
 import eu.europa.esig.dss.web.model.ReplayDiagForm;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.core.io.Resource;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.validation.BindingResult;
@@ -29,7 +27,6 @@ import org.springframework.web.bind.annotation.InitBinder;
 import org.springframework.web.bind.annotation.ModelAttribute;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestMethod;
-import org.springframework.web.bind.annotation.SessionAttributes;
 
 import java.io.InputStream;
 import java.util.Date;
@@ -38,7 +35,6 @@ import java.util.Locale;
 
 
 @Controller
-@SessionAttributes({ "simpleReportXml", "detailedReportXml", "diagnosticDataXml" })
 @RequestMapping(value = "/replay-diagnostic-data")
 public class ReplayDiagController extends AbstractValidationController {
 
@@ -49,9 +45,6 @@ public class ReplayDiagController extends AbstractValidationController {
 	
 	private static final String[] ALLOWED_FIELDS = { "diagnosticFile", "resetDate", "validationLevel", "defaultPolicy", "policyFile" };
 
-	@Autowired
-	private Resource defaultPolicy;
-	
 	@InitBinder
 	public void setAllowedFields(WebDataBinder webDataBinder) {
 		webDataBinder.setAllowedFields(ALLOWED_FIELDS);
@@ -107,20 +100,15 @@ public class ReplayDiagController extends AbstractValidationController {
 		executor.setCurrentTime(validationDate);
 		
 		// Set policy
-		if (!replayDiagForm.isDefaultPolicy() && ((replayDiagForm.getPolicyFile() != null) && !replayDiagForm.getPolicyFile().isEmpty())) {
-			try (InputStream policyIs = replayDiagForm.getPolicyFile().getInputStream()) {
-				executor.setValidationPolicy(new EtsiValidationPolicy(ValidationPolicyFacade.newFacade().unmarshall(policyIs)));
+		DSSDocument policyFile = WebAppUtils.toDSSDocument(replayDiagForm.getPolicyFile());
+		if (!replayDiagForm.isDefaultPolicy() && policyFile != null) {
+			try {
+				executor.setValidationPolicy(validationPolicyRegistry.getValidationPolicy(policyFile));
 			} catch (Exception e) {
 				throw new InternalServerException(String.format("Error while loading the provided validation policy: %s", e.getMessage()), e);
 			}
-		} else if (defaultPolicy != null) {
-			try (InputStream is = defaultPolicy.getInputStream()) {
-				executor.setValidationPolicy(ValidationPolicyFacade.newFacade().getValidationPolicy(is));
-			} catch (Exception e) {
-				throw new InternalServerException(String.format("Error while loading the default validation policy: %s", e.getMessage()), e);
-			}
 		} else {
-			throw new IllegalStateException("Validation policy is not correctly initialized!");
+			executor.setValidationPolicy(validationPolicyRegistry.getDefaultValidationPolicy());
 		}
 		
 		// If applicable, set certificate id
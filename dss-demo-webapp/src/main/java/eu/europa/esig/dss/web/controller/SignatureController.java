@@ -18,6 +18,7 @@ import eu.europa.esig.dss.web.editor.ASiCContainerTypePropertyEditor;
 import eu.europa.esig.dss.web.editor.EnumPropertyEditor;
 import eu.europa.esig.dss.web.model.DataToSignParams;
 import eu.europa.esig.dss.web.model.GetDataToSignResponse;
+import eu.europa.esig.dss.web.model.SessionUploadedFiles;
 import eu.europa.esig.dss.web.model.SignDocumentResponse;
 import eu.europa.esig.dss.web.model.SignResponse;
 import eu.europa.esig.dss.web.model.SignatureDocumentForm;
@@ -108,6 +109,8 @@ public class SignatureController {
 			}
 			return SIGNATURE_PARAMETERS;
 		}
+		// the container deletes the uploaded parts at the end of the request, copies are kept with the form
+		signatureDocumentForm.setDocumentToSign(SessionUploadedFiles.keep(response.getSession(), "signatureDocumentForm", signatureDocumentForm.getDocumentToSign()));
 		model.addAttribute("signatureDocumentForm", signatureDocumentForm);
 		model.addAttribute("digestAlgorithm", signatureDocumentForm.getDigestAlgorithm());
 		model.addAttribute("rootUrl", "sign-a-document");
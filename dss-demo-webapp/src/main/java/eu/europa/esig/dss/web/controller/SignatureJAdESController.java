@@ -18,6 +18,7 @@ import eu.europa.esig.dss.web.WebAppUtils;
 import eu.europa.esig.dss.web.editor.EnumPropertyEditor;
 import eu.europa.esig.dss.web.model.DataToSignParams;
 import eu.europa.esig.dss.web.model.GetDataToSignResponse;
+import eu.europa.esig.dss.web.model.SessionUploadedFiles;
 import eu.europa.esig.dss.web.model.SignDocumentResponse;
 import eu.europa.esig.dss.web.model.SignResponse;
 import eu.europa.esig.dss.web.model.SignatureJAdESForm;
@@ -116,6 +117,8 @@ public class SignatureJAdESController {
 			return SIGNATURE_JAdES;
 		}
 
+		// the container deletes the uploaded parts at the end of the request, copies are kept with the form
+		signatureJAdESForm.setDocumentsToSign(SessionUploadedFiles.keep(response.getSession(), "signatureJAdESForm", signatureJAdESForm.getDocumentsToSign()));
 		model.addAttribute("signatureJAdESForm", signatureJAdESForm);
 		model.addAttribute("digestAlgorithm", signatureJAdESForm.getDigestAlgorithm());
 		model.addAttribute("rootUrl", "sign-with-jades");
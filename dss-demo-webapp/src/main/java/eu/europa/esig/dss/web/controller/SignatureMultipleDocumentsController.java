@@ -17,6 +17,7 @@ import eu.europa.esig.dss.web.editor.ASiCContainerTypePropertyEditor;
 import eu.europa.esig.dss.web.editor.EnumPropertyEditor;
 import eu.europa.esig.dss.web.model.DataToSignParams;
 import eu.europa.esig.dss.web.model.GetDataToSignResponse;
+import eu.europa.esig.dss.web.model.SessionUploadedFiles;
 import eu.europa.esig.dss.web.model.SignDocumentResponse;
 import eu.europa.esig.dss.web.model.SignResponse;
 import eu.europa.esig.dss.web.model.SignatureMultipleDocumentsForm;
@@ -106,6 +107,8 @@ public class SignatureMultipleDocumentsController {
 			}
 			return SIGNATURE_PARAMETERS;
 		}
+		// the container deletes the uploaded parts at the end of the request, copies are kept with the form
+		signatureMultipleDocumentsForm.setDocumentsToSign(SessionUploadedFiles.keep(response.getSession(), "signatureMultipleDocumentsForm", signatureMultipleDocumentsForm.getDocumentsToSign()));
 		model.addAttribute("signatureMultipleDocumentsForm", signatureMultipleDocumentsForm);
 		model.addAttribute("digestAlgorithm", signatureMultipleDocumentsForm.getDigestAlgorithm());
 		model.addAttribute("rootUrl", "sign-multiple-documents");
@@ -14,6 +14,7 @@ import eu.europa.esig.dss.spi.DSSUtils;
 import eu.europa.esig.dss.utils.Utils;
 import eu.europa.esig.dss.web.model.DataToSignParams;
 import eu.europa.esig.dss.web.model.GetDataToSignResponse;
+import eu.europa.esig.dss.web.model.SessionUploadedFiles;
 import eu.europa.esig.dss.web.model.SignDocumentResponse;
 import eu.europa.esig.dss.web.model.SignResponse;
 import eu.europa.esig.dss.web.model.SignatureDocumentForm;
@@ -97,6 +98,8 @@ public class SignaturePdfController {
 			return SIGNATURE_PDF_PARAMETERS;
 		}
 
+		// the container deletes the uploaded parts at the end of the request, copies are kept with the form
+		signaturePdfForm.setDocumentToSign(SessionUploadedFiles.keep(response.getSession(), "signaturePdfForm", signaturePdfForm.getDocumentToSign()));
 		model.addAttribute("signaturePdfForm", signaturePdfForm);
 		model.addAttribute("digestAlgorithm", signaturePdfForm.getDigestAlgorithm());
 		model.addAttribute("rootUrl", "sign-a-pdf");
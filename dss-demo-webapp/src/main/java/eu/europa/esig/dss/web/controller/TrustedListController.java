@@ -3,8 +3,9 @@ package eu.europa.esig.dss.web.controller;
 import eu.europa.esig.dss.model.tsl.LOTLInfo;
 import eu.europa.esig.dss.model.tsl.TLInfo;
 import eu.europa.esig.dss.model.tsl.TLValidationJobSummary;
-import eu.europa.esig.dss.spi.tsl.TrustedListsCertificateSource;
 import eu.europa.esig.dss.web.exception.SourceNotFoundException;
+import eu.europa.esig.dss.web.service.TLLoadingStatistics;
+import eu.europa.esig.dss.web.service.TrustedListsSourceHolder;
 import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Controller;
@@ -16,7 +17,6 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestMethod;
 
 import java.util.Collections;
-import java.util.List;
 
 @Controller
 @RequestMapping(value = "/tl-info")
@@ -35,12 +35,16 @@ public class TrustedListController {
 	}
 
 	@Autowired
-	private TrustedListsCertificateSource trustedCertificateSource;
+	private TrustedListsSourceHolder trustedListsSourceHolder;
+
+	@Autowired
+	private TLLoadingStatistics tlLoadingStatistics;
 
 	@RequestMapping(method = RequestMethod.GET)
 	public String tlInfoPage(Model model, HttpServletRequest request) {
-		TLValidationJobSummary summary = trustedCertificateSource.getSummary();
+		TLValidationJobSummary summary = trustedListsSourceHolder.getSummaryIndex().getSummary();
 		model.addAttribute("summary", summary);
+		model.addAttribute("tlLoadingStatistics", tlLoadingStatistics);
 		return TL_SUMMARY;
 	}
 	
@@ -80,40 +84,11 @@ public class TrustedListController {
 	}
 	
 	private LOTLInfo getLOTLInfoById(String lotlId) {
-		TLValidationJobSummary summary = trustedCertificateSource.getSummary();
-		List<LOTLInfo> lotlInfos = summary.getLOTLInfos();
-		for (LOTLInfo lotlInfo : lotlInfos) {
-			if (lotlInfo.getDSSId().asXmlId().equals(lotlId)) {
-				return lotlInfo;
-			}
-		}
-		return null;
+		return trustedListsSourceHolder.getSummaryIndex().getLOTLInfo(lotlId);
 	}
 	
 	private TLInfo getTLInfoById(String tlId) {
-		TLValidationJobSummary summary = trustedCertificateSource.getSummary();
-		List<LOTLInfo> lotlInfos = summary.getLOTLInfos();
-		for (LOTLInfo lotlInfo : lotlInfos) {
-			TLInfo tlInfo = getTLInfoByIdFromList(tlId, lotlInfo.getTLInfos());
-			if (tlInfo != null) {
-				return tlInfo;
-			}
-		}
-		List<TLInfo> otherTLInfos = summary.getOtherTLInfos();
-		TLInfo tlInfo = getTLInfoByIdFromList(tlId, otherTLInfos);
-		if (tlInfo != null) {
-			return tlInfo;
-		}
-		return null;
-	}
-	
-	private TLInfo getTLInfoByIdFromList(String tlId, List<TLInfo> tlInfos) {
-		for (TLInfo tlInfo: tlInfos) {
-			if (tlInfo.getDSSId().asXmlId().equals(tlId)) {
-				return tlInfo;
-			}
-		}
-		return null;
+		return trustedListsSourceHolder.getSummaryIndex().getTLInfo(tlId);
 	}
 
 }
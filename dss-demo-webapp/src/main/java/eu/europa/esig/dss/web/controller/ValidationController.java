@@ -13,8 +13,11 @@ import eu.europa.esig.dss.enumerations.TimestampType;
 import eu.europa.esig.dss.enumerations.TokenExtractionStrategy;
 import eu.europa.esig.dss.enumerations.ValidationLevel;
 import eu.europa.esig.dss.model.DSSDocument;
+import eu.europa.esig.dss.model.DSSException;
+import eu.europa.esig.dss.model.FileDocument;
 import eu.europa.esig.dss.model.identifier.OriginalIdentifierProvider;
 import eu.europa.esig.dss.model.identifier.TokenIdentifierProvider;
+import eu.europa.esig.dss.model.policy.ValidationPolicy;
 import eu.europa.esig.dss.model.x509.CertificateToken;
 import eu.europa.esig.dss.spi.DSSUtils;
 import eu.europa.esig.dss.spi.policy.SignaturePolicyProvider;
@@ -29,10 +32,18 @@ import eu.europa.esig.dss.validation.identifier.UserFriendlyIdentifierProvider;
 import eu.europa.esig.dss.validation.reports.Reports;
 import eu.europa.esig.dss.web.WebAppUtils;
 import eu.europa.esig.dss.web.editor.EnumPropertyEditor;
-import eu.europa.esig.dss.web.exception.InternalServerException;
 import eu.europa.esig.dss.web.exception.SourceNotFoundException;
+import eu.europa.esig.dss.web.model.MultipartFileDocument;
+import eu.europa.esig.dss.web.model.ReportType;
+import eu.europa.esig.dss.web.model.StoredReports;
 import eu.europa.esig.dss.web.model.ValidationForm;
+import eu.europa.esig.dss.web.model.ValidationJobDTO;
+import eu.europa.esig.dss.web.model.ValidationJobStatus;
 import eu.europa.esig.dss.web.service.FOPService;
+import eu.europa.esig.dss.web.service.MetricsService;
+import eu.europa.esig.dss.web.service.ValidationJob;
+import eu.europa.esig.dss.web.service.ValidationJobService;
+import io.micrometer.core.instrument.Timer;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import jakarta.servlet.http.HttpSession;
@@ -40,11 +51,6 @@ import jakarta.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.core.io.Resource;
-import org.springframework.http.HttpHeaders;
-import org.springframework.http.HttpStatus;
-import org.springframework.http.MediaType;
-import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.validation.BindingResult;
@@ -56,11 +62,18 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestMethod;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseBody;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.context.request.async.WebAsyncTask;
 
 import java.io.ByteArrayInputStream;
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
 import java.util.Calendar;
 import java.util.Date;
 import java.util.List;
@@ -73,8 +86,12 @@ public class ValidationController extends AbstractValidationController {
 	private static final Logger LOG = LoggerFactory.getLogger(ValidationController.class);
 
 	private static final String VALIDATION_TILE = "validation";
+	private static final String VALIDATION_PROGRESS_TILE = "validation-progress";
 	private static final String VALIDATION_RESULT_TILE = "validation-result";
 
+	/** The id of the validation job in progress within the session */
+	private static final String VALIDATION_JOB_ID_ATTRIBUTE = "validationJobId";
+
 	private static final String[] ALLOWED_FIELDS = { "signedFile", "originalFiles[*].*", "digestToSend", "validationTime",
 			"validationLevel", "timezoneDifference", "defaultPolicy", "policyFile", "signingCertificate", "adjunctCertificates",
 			"evidenceRecordFiles", "includeCertificateTokens", "includeTimestampTokens", "includeRevocationTokens",
@@ -84,10 +101,13 @@ public class ValidationController extends AbstractValidationController {
 	private FOPService fopService;
 
 	@Autowired
-	private Resource defaultPolicy;
+	protected SignaturePolicyProvider signaturePolicyProvider;
 
 	@Autowired
-	protected SignaturePolicyProvider signaturePolicyProvider;
+	private ValidationJobService validationJobService;
+
+	@Autowired
+	private MetricsService metricsService;
 
 	@InitBinder
 	public void initBinder(WebDataBinder webDataBinder) {
@@ -111,7 +131,7 @@ public class ValidationController extends AbstractValidationController {
 
 	@RequestMapping(method = RequestMethod.POST)
 	public String validate(@ModelAttribute("validationForm") @Valid ValidationForm validationForm, BindingResult result,
-						   Model model, HttpServletRequest request) {
+						   Model model, HttpServletRequest request, HttpSession session) {
 		LOG.trace("Validation BEGINS...");
 		if (result.hasErrors()) {
 			if (LOG.isDebugEnabled()) {
@@ -123,8 +143,81 @@ public class ValidationController extends AbstractValidationController {
 			return VALIDATION_TILE;
 		}
 
+		// the uploaded files are only available during the request, the big ones are copied for the validation job
+		final List<File> tempFiles = new ArrayList<>();
+		try {
+			SignedDocumentValidator documentValidator = getDocumentValidator(validationForm, request, tempFiles);
+			ValidationPolicy validationPolicy = getValidationPolicy(validationForm);
+			ValidationLevel validationLevel = validationForm.getValidationLevel();
+
+			ValidationJob<Reports> job = validationJobService.submit(Reports.class, () -> {
+				try {
+					return validate(documentValidator, validationPolicy, validationLevel);
+				} finally {
+					deleteTempFiles(tempFiles);
+				}
+			});
+			session.setAttribute(VALIDATION_JOB_ID_ATTRIBUTE, job.getId());
+
+		} catch (RuntimeException e) {
+			deleteTempFiles(tempFiles);
+			throw e;
+		}
+
+		// the client waits for the result without holding a request thread
+		return "redirect:/validation/result";
+	}
+
+	@RequestMapping(value = "/result", method = RequestMethod.GET)
+	public String showValidationResult(Model model, HttpSession session) {
+		String jobId = (String) session.getAttribute(VALIDATION_JOB_ID_ATTRIBUTE);
+		ValidationJob<Reports> job = validationJobService.getJob(jobId, Reports.class);
+		if (job == null) {
+			// no validation in progress (e.g. the result page is reloaded)
+			return "redirect:/validation";
+		}
+
+		ValidationJobDTO jobDTO = job.toDTO();
+		if (!jobDTO.getStatus().isDone()) {
+			model.addAttribute("validationJob", jobDTO);
+			return VALIDATION_PROGRESS_TILE;
+		}
+
+		// the reports are moved to the report store
+		validationJobService.remove(jobId);
+		session.removeAttribute(VALIDATION_JOB_ID_ATTRIBUTE);
+		if (ValidationJobStatus.FAILED == jobDTO.getStatus()) {
+			throw new DSSException(jobDTO.getError());
+		}
+		setAttributesModels(model, job.getResult());
+		return VALIDATION_RESULT_TILE;
+	}
+
+	@RequestMapping(value = "/result/status", method = RequestMethod.GET)
+	@ResponseBody
+	public DeferredResult<ValidationJobDTO> getValidationStatus(@RequestParam(value = "wait", defaultValue = "0") long wait,
+																HttpSession session) {
+		String jobId = (String) session.getAttribute(VALIDATION_JOB_ID_ATTRIBUTE);
+		ValidationJob<Reports> job = validationJobService.getJob(jobId, Reports.class);
+		if (job == null) {
+			throw new SourceNotFoundException("Validation job not found");
+		}
+
+		long waitTime = validationJobService.getWaitTime(wait);
+		DeferredResult<ValidationJobDTO> deferredResult = new DeferredResult<>(waitTime, job::toDTO);
+		if (waitTime == 0 || job.getStatus().isDone()) {
+			deferredResult.setResult(job.toDTO());
+		} else {
+			// long polling : the response is sent at the end of the job or after the wait time
+			job.whenDone(() -> deferredResult.setResult(job.toDTO()));
+		}
+		return deferredResult;
+	}
+
+	private SignedDocumentValidator getDocumentValidator(ValidationForm validationForm, HttpServletRequest request,
+														 List<File> tempFiles) {
 		SignedDocumentValidator documentValidator = SignedDocumentValidator
-				.fromDocument(WebAppUtils.toDSSDocument(validationForm.getSignedFile()));
+				.fromDocument(detach(WebAppUtils.toDSSDocument(validationForm.getSignedFile()), tempFiles));
 		documentValidator.setCertificateVerifier(getCertificateVerifier(validationForm));
 		documentValidator.setTokenExtractionStrategy(TokenExtractionStrategy.fromParameters(validationForm.isIncludeCertificateTokens(),
 				validationForm.isIncludeTimestampTokens(), validationForm.isIncludeRevocationTokens(), false));
@@ -138,8 +231,8 @@ public class ValidationController extends AbstractValidationController {
 		documentValidator.setTokenIdentifierProvider(identifierProvider);
 
 		setSigningCertificate(documentValidator, validationForm);
-		setDetachedContents(documentValidator, validationForm);
-		setDetachedEvidenceRecords(documentValidator, validationForm);
+		setDetachedContents(documentValidator, validationForm, tempFiles);
+		setDetachedEvidenceRecords(documentValidator, validationForm, tempFiles);
 
 		Locale locale = request.getLocale();
 		LOG.trace("Requested locale : {}", locale);
@@ -148,11 +241,50 @@ public class ValidationController extends AbstractValidationController {
 			LOG.warn("The request locale is null! Use the default one : {}", locale);
 		}
 		documentValidator.setLocale(locale);
+		return documentValidator;
+	}
 
-		Reports reports = validate(documentValidator, validationForm);
-		setAttributesModels(model, reports);
+	private ValidationPolicy getValidationPolicy(ValidationForm validationForm) {
+		DSSDocument policyFile = WebAppUtils.toDSSDocument(validationForm.getPolicyFile());
+		if (!validationForm.isDefaultPolicy() && (policyFile != null)) {
+			return validationPolicyRegistry.getValidationPolicy(policyFile);
+		}
+		return validationPolicyRegistry.getDefaultValidationPolicy();
+	}
 
-		return VALIDATION_RESULT_TILE;
+	private DSSDocument detach(DSSDocument document, List<File> tempFiles) {
+		if (!(document instanceof MultipartFileDocument)) {
+			return document;
+		}
+		try {
+			File tempFile = File.createTempFile("dss-validation-", ".tmp");
+			tempFiles.add(tempFile);
+			try (InputStream is = document.openStream()) {
+				Files.copy(is, tempFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+			}
+			FileDocument fileDocument = new FileDocument(tempFile);
+			fileDocument.setName(document.getName());
+			fileDocument.setMimeType(document.getMimeType());
+			return fileDocument;
+		} catch (IOException e) {
+			throw new DSSException(String.format("Unable to store the uploaded file '%s' : %s", document.getName(), e.getMessage()), e);
+		}
+	}
+
+	private List<DSSDocument> detach(List<DSSDocument> documents, List<File> tempFiles) {
+		List<DSSDocument> result = new ArrayList<>();
+		for (DSSDocument document : documents) {
+			result.add(detach(document, tempFiles));
+		}
+		return result;
+	}
+
+	private void deleteTempFiles(List<File> tempFiles) {
+		for (File tempFile : tempFiles) {
+			if (tempFile.exists() && !tempFile.delete()) {
+				LOG.warn("Unable to delete the temporary file '{}'", tempFile);
+			}
+		}
 	}
 
 	private Date getValidationTime(ValidationForm validationForm) {
@@ -174,17 +306,17 @@ public class ValidationController extends AbstractValidationController {
 		}
 	}
 
-	private void setDetachedContents(DocumentValidator documentValidator, ValidationForm validationForm) {
+	private void setDetachedContents(DocumentValidator documentValidator, ValidationForm validationForm, List<File> tempFiles) {
 		List<DSSDocument> originalFiles = WebAppUtils.originalFilesToDSSDocuments(validationForm.getOriginalFiles());
 		if (Utils.isCollectionNotEmpty(originalFiles)) {
-			documentValidator.setDetachedContents(originalFiles);
+			documentValidator.setDetachedContents(detach(originalFiles, tempFiles));
 		}
 	}
 
-	private void setDetachedEvidenceRecords(DocumentValidator documentValidator, ValidationForm validationForm) {
+	private void setDetachedEvidenceRecords(DocumentValidator documentValidator, ValidationForm validationForm, List<File> tempFiles) {
 		List<DSSDocument> evidenceRecordFiles = WebAppUtils.toDSSDocuments(validationForm.getEvidenceRecordFiles());
 		if (Utils.isCollectionNotEmpty(evidenceRecordFiles)) {
-			documentValidator.setDetachedEvidenceRecordDocuments(evidenceRecordFiles);
+			documentValidator.setDetachedEvidenceRecordDocuments(detach(evidenceRecordFiles, tempFiles));
 		}
 	}
 
@@ -203,25 +335,14 @@ public class ValidationController extends AbstractValidationController {
 		return cv;
 	}
 
-	private Reports validate(DocumentValidator documentValidator, ValidationForm validationForm) {
-		Reports reports = null;
-
+	private Reports validate(DocumentValidator documentValidator, ValidationPolicy validationPolicy, ValidationLevel validationLevel) {
 		Date start = new Date();
-		DSSDocument policyFile = WebAppUtils.toDSSDocument(validationForm.getPolicyFile());
-        if (!validationForm.isDefaultPolicy() && (policyFile != null)) {
-            try (InputStream is = policyFile.openStream()) {
-                reports = documentValidator.validateDocument(is);
-			} catch (IOException e) {
-				LOG.error(e.getMessage(), e);
-			}
-		} else if (defaultPolicy != null) {
-            try (InputStream is = defaultPolicy.getInputStream()) {
-                reports = documentValidator.validateDocument(is);
-            } catch (IOException e) {
-				throw new InternalServerException(String.format("Unable to parse policy: %s", e.getMessage()), e);
-            }
-		} else {
-			throw new IllegalStateException("Validation policy is not correctly initialized!");
+		Timer.Sample sample = metricsService.start();
+		Reports reports = null;
+		try {
+			reports = documentValidator.validateDocument(validationPolicy);
+		} finally {
+			metricsService.recordValidation(sample, validationLevel, reports);
 		}
 
 		Date end = new Date();
@@ -232,53 +353,37 @@ public class ValidationController extends AbstractValidationController {
 	}
 
 	@RequestMapping(value = "/download-simple-report")
-	public void downloadSimpleReport(HttpSession session, HttpServletResponse response) {
-		final String simpleReport = (String) session.getAttribute(XML_SIMPLE_REPORT_ATTRIBUTE);
-		final String simpleCertificateReport = (String) session.getAttribute(XML_SIMPLE_CERTIFICATE_REPORT_ATTRIBUTE);
+	public WebAsyncTask<Void> downloadSimpleReport(HttpSession session, HttpServletResponse response) {
+		final StoredReports storedReports = getStoredReports(session);
+		final String simpleReport = storedReports.getSimpleReportXml();
+		final String simpleCertificateReport = storedReports.getSimpleCertificateReportXml();
 		if (Utils.isStringNotEmpty(simpleReport)) {
-			try {
-				response.setContentType(MimeTypeEnum.PDF.getMimeTypeString());
-				response.setHeader("Content-Disposition", "attachment; filename=DSS-Simple-report.pdf");
-				fopService.generateSimpleReport(simpleReport, response.getOutputStream());
-			} catch (Exception e) {
-				LOG.error("An error occurred while generating pdf for simple report : " + e.getMessage(), e);
-			}
+			return fopService.renderAsync(ReportType.SIMPLE_REPORT, simpleReport, "DSS-Simple-report.pdf", response);
 		} else if (Utils.isStringNotEmpty(simpleCertificateReport)) {
-			try {
-				response.setContentType(MimeTypeEnum.PDF.getMimeTypeString());
-				response.setHeader("Content-Disposition", "attachment; filename=DSS-Simple-certificate-report.pdf");
-				fopService.generateSimpleCertificateReport(simpleCertificateReport, response.getOutputStream());
-			} catch (Exception e) {
-				LOG.error("An error occurred while generating pdf for simple certificate report : " + e.getMessage(), e);
-			}
+			return fopService.renderAsync(ReportType.SIMPLE_CERTIFICATE_REPORT, simpleCertificateReport,
+					"DSS-Simple-certificate-report.pdf", response);
 		} else {
 			throw new SourceNotFoundException("Simple report not found");
 		}
 	}
 
 	@RequestMapping(value = "/download-detailed-report")
-	public void downloadDetailedReport(HttpSession session, HttpServletResponse response) {
-		final String detailedReport = (String) session.getAttribute(XML_DETAILED_REPORT_ATTRIBUTE);
+	public WebAsyncTask<Void> downloadDetailedReport(HttpSession session, HttpServletResponse response) {
+		final String detailedReport = getStoredReports(session).getDetailedReportXml();
 		if (detailedReport == null) {
 			throw new SourceNotFoundException("Detailed report not found");
 		}
-		try {
-			response.setContentType(MimeTypeEnum.PDF.getMimeTypeString());
-			response.setHeader("Content-Disposition", "attachment; filename=DSS-Detailed-report.pdf");
-			fopService.generateDetailedReport(detailedReport, response.getOutputStream());
-		} catch (Exception e) {
-			LOG.error("An error occurred while generating pdf for detailed report : " + e.getMessage(), e);
-		}
+		return fopService.renderAsync(ReportType.DETAILED_REPORT, detailedReport, "DSS-Detailed-report.pdf", response);
 	}
 
 	@RequestMapping(value = "/download-diagnostic-data")
 	public void downloadDiagnosticData(HttpSession session, HttpServletResponse response) {
-		String diagnosticData = (String) session.getAttribute(XML_DIAGNOSTIC_DATA_ATTRIBUTE);
+		String diagnosticData = getStoredReports(session).getDiagnosticDataXml();
 		if (diagnosticData == null) {
 			throw new SourceNotFoundException("Diagnostic data not found");
 		}
 
-		try (InputStream is = new ByteArrayInputStream(diagnosticData.getBytes());
+		try (InputStream is = new ByteArrayInputStream(diagnosticData.getBytes(StandardCharsets.UTF_8));
 			 OutputStream os = response.getOutputStream()) {
 			response.setContentType(MimeTypeEnum.XML.getMimeTypeString());
 			response.setHeader("Content-Disposition", "attachment; filename=DSS-Diagnostic-data.xml");
@@ -290,17 +395,23 @@ public class ValidationController extends AbstractValidationController {
 	}
 
 	@RequestMapping(value = "/diag-data.svg")
-	public @ResponseBody ResponseEntity<String> downloadSVG(HttpSession session, HttpServletResponse response) {
-		String diagnosticData = (String) session.getAttribute(XML_DIAGNOSTIC_DATA_ATTRIBUTE);
+	public void downloadSVG(HttpSession session, HttpServletResponse response) {
+		String diagnosticData = getStoredReports(session).getDiagnosticDataXml();
 		if (diagnosticData == null) {
 			throw new SourceNotFoundException("Diagnostic data not found");
 		}
 
-		HttpHeaders headers = new HttpHeaders();
-		headers.setContentType(MediaType.valueOf(MimeTypeEnum.SVG.getMimeTypeString()));
-		ResponseEntity<String> svgEntity = new ResponseEntity<>(xsltService.generateSVG(diagnosticData), headers,
-				HttpStatus.OK);
-		return svgEntity;
+		response.setContentType(MimeTypeEnum.SVG.getMimeTypeString());
+		try {
+			// the SVG is written directly to the response, or from the render cache
+			xsltService.generateSVG(diagnosticData, response.getWriter());
+		} catch (Exception e) {
+			// a truncated SVG shall not be completed as a successful response (see GlobalExceptionHandler)
+			if (!response.isCommitted()) {
+				response.reset();
+			}
+			throw new DSSException(String.format("An error occurred while generating the SVG : %s", e.getMessage()), e);
+		}
 	}
 
 	@RequestMapping(value = "/download-certificate")
@@ -377,7 +488,7 @@ public class ValidationController extends AbstractValidationController {
 	}
 
 	protected DiagnosticData getDiagnosticData(HttpSession session) {
-		String diagnosticDataXml = (String) session.getAttribute(XML_DIAGNOSTIC_DATA_ATTRIBUTE);
+		String diagnosticDataXml = getStoredReports(session).getDiagnosticDataXml();
 		if (diagnosticDataXml == null) {
 			throw new SourceNotFoundException("Diagnostic data not found");
 		}
@@ -390,6 +501,16 @@ public class ValidationController extends AbstractValidationController {
 		return null;
 	}
 
+	protected StoredReports getStoredReports(HttpSession session) {
+		String reportId = (String) session.getAttribute(REPORT_ID_ATTRIBUTE);
+		StoredReports storedReports = reportStore.get(reportId);
+		if (storedReports == null) {
+			// no validation within the session, or the reports have been evicted from the store
+			throw new SourceNotFoundException("Validation reports not found");
+		}
+		return storedReports;
+	}
+
 	protected void addTokenToResponse(HttpServletResponse response, String filename, byte[] binaries) {
 		response.setContentType(MimeTypeEnum.TST.getMimeTypeString());
 		response.setHeader("Content-Disposition", "attachment; filename=" + filename);
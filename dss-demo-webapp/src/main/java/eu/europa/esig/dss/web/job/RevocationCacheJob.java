@@ -0,0 +1,207 @@
+package eu.europa.esig.dss.web.job;
+
+import eu.europa.esig.dss.model.x509.CertificateToken;
+import eu.europa.esig.dss.service.JdbcRevocationSource;
+import eu.europa.esig.dss.service.crl.JdbcCacheCRLSource;
+import eu.europa.esig.dss.service.ocsp.JdbcCacheOCSPSource;
+import eu.europa.esig.dss.spi.DSSUtils;
+import eu.europa.esig.dss.spi.client.jdbc.JdbcCacheConnector;
+import eu.europa.esig.dss.spi.x509.revocation.RevocationToken;
+import eu.europa.esig.dss.spi.x509.revocation.crl.CRLToken;
+import eu.europa.esig.dss.spi.x509.revocation.ocsp.OCSPToken;
+import eu.europa.esig.dss.web.config.JdbcInitializer;
+import eu.europa.esig.dss.web.service.RevocationTokenCache;
+import eu.europa.esig.dss.web.service.RevocationTokenCache.CertificateAndIssuer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.function.BiFunction;
+
+/**
+ * Maintains the persistent revocation cache : the most used tokens of the in-memory caches are recorded
+ * on shutdown and loaded again on startup (only from the persistent cache, the expired ones being skipped),
+ * and the database file is compacted periodically. Nothing is done when the JDBC cache is not persistent.
+ *
+ */
+@Service
+public class RevocationCacheJob {
+
+	private static final Logger LOG = LoggerFactory.getLogger(RevocationCacheJob.class);
+
+	private static final String OCSP = "ocsp";
+
+	private static final String CRL = "crl";
+
+	@Value("${cache.warm.up.max.entries:1000}")
+	private int warmUpMaxEntries;
+
+	@Value("${datasource.url}")
+	private String dataSourceUrl;
+
+	@Value("${cache.crl.default.next.update:0}")
+	private long crlDefaultNextUpdate;
+
+	@Value("${cache.crl.max.next.update:0}")
+	private long crlMaxNextUpdate;
+
+	@Value("${cache.ocsp.default.next.update:0}")
+	private long ocspDefaultNextUpdate;
+
+	@Value("${cache.ocsp.max.next.update:0}")
+	private long ocspMaxNextUpdate;
+
+	@Autowired
+	private JdbcInitializer jdbcInitializer;
+
+	@Autowired
+	private DataSource dataSource;
+
+	@Autowired
+	private ExecutorService taskExecutor;
+
+	@Autowired(required = false)
+	private JdbcCacheConnector jdbcCacheConnector;
+
+	@Autowired
+	private RevocationTokenCache<OCSPToken> ocspTokenCache;
+
+	@Autowired
+	private RevocationTokenCache<CRLToken> crlTokenCache;
+
+	@PostConstruct
+	public void init() {
+		if (jdbcInitializer.isPersistent() && jdbcCacheConnector != null && warmUpMaxEntries > 0) {
+			// the tokens are loaded in the background, without any download
+			taskExecutor.execute(() -> {
+				JdbcCacheOCSPSource ocspRepository = new JdbcCacheOCSPSource();
+				initRepository(ocspRepository, ocspDefaultNextUpdate, ocspMaxNextUpdate);
+				warmUp(OCSP, ocspRepository::getRevocationToken, ocspTokenCache);
+
+				JdbcCacheCRLSource crlRepository = new JdbcCacheCRLSource();
+				initRepository(crlRepository, crlDefaultNextUpdate, crlMaxNextUpdate);
+				warmUp(CRL, crlRepository::getRevocationToken, crlTokenCache);
+			});
+		}
+	}
+
+	@PreDestroy
+	public void destroy() {
+		if (jdbcInitializer.isPersistent() && warmUpMaxEntries > 0) {
+			try (Connection connection = dataSource.getConnection()) {
+				try {
+					save(connection, OCSP, ocspTokenCache.getHottest(warmUpMaxEntries));
+					save(connection, CRL, crlTokenCache.getHottest(warmUpMaxEntries));
+					connection.commit();
+				} catch (SQLException e) {
+					connection.rollback();
+					throw e;
+				}
+			} catch (SQLException e) {
+				LOG.warn("Unable to save the most used revocation cache entries : {}", e.getMessage());
+			}
+		}
+	}
+
+	@Scheduled(initialDelayString = "${cache.compaction.delay:86400000}", fixedDelayString = "${cache.compaction.delay:86400000}")
+	public void compact() {
+		if (jdbcInitializer.isPersistent() && dataSourceUrl.startsWith("jdbc:hsqldb:file:")) {
+			long start = System.currentTimeMillis();
+			try (Connection connection = dataSource.getConnection();
+				 PreparedStatement statement = connection.prepareStatement("CHECKPOINT DEFRAG")) {
+				statement.execute();
+				LOG.info("Revocation cache compacted in {} ms", System.currentTimeMillis() - start);
+			} catch (SQLException e) {
+				LOG.warn("Unable to compact the revocation cache : {}", e.getMessage());
+			}
+		}
+	}
+
+	private void save(Connection connection, String source, List<CertificateAndIssuer> entries) throws SQLException {
+		try (PreparedStatement delete = connection.prepareStatement("DELETE FROM DSS_REVOCATION_HOT_ENTRIES WHERE SOURCE = ?")) {
+			delete.setString(1, source);
+			delete.executeUpdate();
+		}
+		try (PreparedStatement insert = connection.prepareStatement(
+				"INSERT INTO DSS_REVOCATION_HOT_ENTRIES (SOURCE, POSITION, CERTIFICATE, ISSUER) VALUES (?, ?, ?, ?)")) {
+			int position = 0;
+			for (CertificateAndIssuer entry : entries) {
+				insert.setString(1, source);
+				insert.setInt(2, position++);
+				insert.setBytes(3, entry.getCertificateToken().getEncoded());
+				insert.setBytes(4, entry.getIssuerCertificateToken() != null ? entry.getIssuerCertificateToken().getEncoded() : null);
+				insert.addBatch();
+			}
+			insert.executeBatch();
+		}
+		LOG.info("{} most used {} cache entries saved", entries.size(), source);
+	}
+
+	/**
+	 * Without proxied source, the tokens are only read from the persistent cache, the expired ones are ignored
+	 * (and kept, the database is not modified on warm-up)
+	 */
+	private void initRepository(JdbcRevocationSource<?> repository, long defaultNextUpdate, long maxNextUpdate) {
+		repository.setJdbcCacheConnector(jdbcCacheConnector);
+		repository.setDefaultNextUpdateDelay(defaultNextUpdate);
+		repository.setMaxNextUpdateDelay(maxNextUpdate);
+		repository.setRemoveExpired(false);
+	}
+
+	private <T extends RevocationToken<?>> void warmUp(String source, BiFunction<CertificateToken, CertificateToken, T> repository,
+													   RevocationTokenCache<T> tokenCache) {
+		List<CertificateAndIssuer> entries;
+		try {
+			entries = load(source);
+		} catch (SQLException e) {
+			LOG.warn("Unable to load the most used {} cache entries : {}", source, e.getMessage());
+			return;
+		}
+		int loaded = 0;
+		for (CertificateAndIssuer entry : entries) {
+			try {
+				T token = repository.apply(entry.getCertificateToken(), entry.getIssuerCertificateToken());
+				if (token != null) {
+					tokenCache.put(entry.getCertificateToken(), entry.getIssuerCertificateToken(), token);
+					loaded++;
+				}
+			} catch (Exception e) {
+				LOG.debug("Unable to load the {} token of '{}' : {}", source,
+						entry.getCertificateToken().getDSSIdAsString(), e.getMessage());
+			}
+		}
+		LOG.info("{} / {} most used {} tokens loaded", loaded, entries.size(), source);
+	}
+
+	private List<CertificateAndIssuer> load(String source) throws SQLException {
+		List<CertificateAndIssuer> entries = new ArrayList<>();
+		try (Connection connection = dataSource.getConnection();
+			 PreparedStatement statement = connection.prepareStatement(
+					 "SELECT CERTIFICATE, ISSUER FROM DSS_REVOCATION_HOT_ENTRIES WHERE SOURCE = ? ORDER BY POSITION")) {
+			statement.setString(1, source);
+			try (ResultSet rs = statement.executeQuery()) {
+				while (rs.next()) {
+					CertificateToken certificateToken = DSSUtils.loadCertificate(rs.getBytes(1));
+					byte[] issuer = rs.getBytes(2);
+					entries.add(new CertificateAndIssuer(certificateToken, issuer != null ? DSSUtils.loadCertificate(issuer) : null));
+				}
+			}
+			connection.commit();
+		}
+		return entries;
+	}
+
+}
@@ -0,0 +1,37 @@
+package eu.europa.esig.dss.web.job;
+
+import eu.europa.esig.dss.spi.x509.revocation.crl.CRLToken;
+import eu.europa.esig.dss.spi.x509.revocation.ocsp.OCSPToken;
+import eu.europa.esig.dss.web.service.RevocationPrefetcher;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+/**
+ * Refreshes in advance the revocation data of the recently validated certificates
+ *
+ */
+@Service
+public class RevocationPrefetchJob {
+
+	private static final Logger LOG = LoggerFactory.getLogger(RevocationPrefetchJob.class);
+
+	@Autowired(required = false)
+	private RevocationPrefetcher<OCSPToken> ocspPrefetcher;
+
+	@Autowired(required = false)
+	private RevocationPrefetcher<CRLToken> crlPrefetcher;
+
+	@Scheduled(initialDelayString = "${revocation.prefetch.delay:60000}", fixedDelayString = "${revocation.prefetch.delay:60000}")
+	public void refresh() {
+		if (ocspPrefetcher != null) {
+			LOG.debug("{} OCSP tokens refreshed in advance", ocspPrefetcher.refresh());
+		}
+		if (crlPrefetcher != null) {
+			LOG.debug("{} CRL tokens refreshed in advance", crlPrefetcher.refresh());
+		}
+	}
+
+}
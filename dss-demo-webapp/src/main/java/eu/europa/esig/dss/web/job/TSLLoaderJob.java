@@ -2,15 +2,29 @@ package eu.europa.esig.dss.web.job;
 
 import eu.europa.esig.dss.tsl.job.TLValidationJob;
 import eu.europa.esig.dss.utils.Utils;
+import eu.europa.esig.dss.web.service.IndexedTrustedListsCertificateSource;
+import eu.europa.esig.dss.web.service.MetricsService;
+import eu.europa.esig.dss.web.service.TLLoadingStatistics;
+import eu.europa.esig.dss.web.service.TLSnapshotStore;
+import eu.europa.esig.dss.web.service.TrustedListsSourceHolder;
+import io.micrometer.core.instrument.Timer;
 import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
+import java.util.Date;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.locks.ReentrantLock;
+
 @Service
 public class TSLLoaderJob {
 
+	private static final Logger LOG = LoggerFactory.getLogger(TSLLoaderJob.class);
+
 	@Value("${cron.tl.loader.enable}")
 	private boolean enable;
 
@@ -23,6 +37,24 @@ public class TSLLoaderJob {
 	@Autowired
 	private TLValidationJob job;
 
+	@Autowired
+	private TrustedListsSourceHolder trustedListsSourceHolder;
+
+	@Autowired
+	private MetricsService metricsService;
+
+	@Autowired
+	private TLLoadingStatistics tlLoadingStatistics;
+
+	@Autowired
+	private TLSnapshotStore tlSnapshotStore;
+
+	@Autowired
+	private ExecutorService taskExecutor;
+
+	/** The refreshes (the background offline one and the scheduled ones) are not run concurrently */
+	private final ReentrantLock refreshLock = new ReentrantLock();
+
 	@PostConstruct
 	public void init() {
 		if (Utils.isStringNotEmpty(bcRsaValidation)) {
@@ -31,14 +63,71 @@ public class TSLLoaderJob {
 		if (Utils.isStringNotEmpty(xmlsecManifestMaxRefsCount)) {
 			System.setProperty("org.apache.xml.security.maxReferences", xmlsecManifestMaxRefsCount);
 		}
-		job.offlineRefresh();
+		IndexedTrustedListsCertificateSource snapshot = tlSnapshotStore.read();
+		if (snapshot != null) {
+			// the cached trusted lists are validated again in the background, the startup is not delayed
+			trustedListsSourceHolder.swap(snapshot);
+			taskExecutor.execute(this::offlineRefresh);
+		} else {
+			offlineRefresh();
+		}
+	}
+
+	private void offlineRefresh() {
+		refreshLock.lock();
+		try {
+			Timer.Sample sample = metricsService.start();
+			IndexedTrustedListsCertificateSource trustedListsCertificateSource = newGeneration();
+			job.offlineRefresh();
+			publish(trustedListsCertificateSource);
+			metricsService.recordTLRefresh(sample, "offline", job.getSummary());
+		} finally {
+			refreshLock.unlock();
+		}
 	}
 
 	@Scheduled(initialDelayString = "${cron.initial.delay.tl.loader}", fixedDelayString = "${cron.delay.tl.loader}")
 	public void refresh() {
-		if (enable) {
+		if (!enable) {
+			return;
+		}
+		// a lock rather than a monitor : the trusted lists are downloaded while holding it,
+		// which would pin the carrier thread of a virtual thread
+		refreshLock.lock();
+		try {
+			Timer.Sample sample = metricsService.start();
+			Date start = new Date();
+			tlLoadingStatistics.startRefresh();
+			IndexedTrustedListsCertificateSource trustedListsCertificateSource = newGeneration();
 			job.onlineRefresh();
+			publish(trustedListsCertificateSource);
+			metricsService.recordTLRefresh(sample, "online", job.getSummary());
+
+			tlLoadingStatistics.endRefresh(job.getSummary(), start);
+			TLLoadingStatistics.TLRefresh refresh = tlLoadingStatistics.getLastRefresh();
+			metricsService.recordTLRefreshStatistics(refresh);
+			LOG.info("Trusted lists refreshed : {} downloaded, {} not modified, {} processed again (out of {})",
+					refresh.getDownloadedCount(), refresh.getNotModifiedCount(), refresh.getReprocessedCount(), refresh.getTlCount());
+		} finally {
+			refreshLock.unlock();
+		}
+	}
+
+	private void publish(IndexedTrustedListsCertificateSource trustedListsCertificateSource) {
+		trustedListsSourceHolder.swap(trustedListsCertificateSource);
+		// an empty source (e.g. no cached trusted list and no network) does not replace the last snapshot
+		if (trustedListsCertificateSource.getNumberOfCertificates() > 0) {
+			tlSnapshotStore.write(trustedListsCertificateSource);
 		}
 	}
 
+	/**
+	 * The job synchronizes a new source, swapped in once entirely filled, while the validations use the current one
+	 */
+	private IndexedTrustedListsCertificateSource newGeneration() {
+		IndexedTrustedListsCertificateSource trustedListsCertificateSource = new IndexedTrustedListsCertificateSource();
+		job.setTrustedListCertificateSource(trustedListsCertificateSource);
+		return trustedListsCertificateSource;
+	}
+
 }
@@ -0,0 +1,43 @@
+package eu.europa.esig.dss.web.model;
+
+import eu.europa.esig.dss.simplereport.jaxb.XmlSimpleReport;
+
+/**
+ * The outcome of the validation of a single document within a batch
+ *
+ */
+public class BatchValidationResult {
+
+	private final String documentName;
+
+	private final XmlSimpleReport simpleReport;
+
+	private final String error;
+
+	private BatchValidationResult(String documentName, XmlSimpleReport simpleReport, String error) {
+		this.documentName = documentName;
+		this.simpleReport = simpleReport;
+		this.error = error;
+	}
+
+	public static BatchValidationResult success(String documentName, XmlSimpleReport simpleReport) {
+		return new BatchValidationResult(documentName, simpleReport, null);
+	}
+
+	public static BatchValidationResult failure(String documentName, String error) {
+		return new BatchValidationResult(documentName, null, error);
+	}
+
+	public String getDocumentName() {
+		return documentName;
+	}
+
+	public XmlSimpleReport getSimpleReport() {
+		return simpleReport;
+	}
+
+	public String getError() {
+		return error;
+	}
+
+}
@@ -0,0 +1,57 @@
+package eu.europa.esig.dss.web.model;
+
+import eu.europa.esig.dss.enumerations.MimeType;
+import eu.europa.esig.dss.model.CommonDocument;
+import eu.europa.esig.dss.model.DSSException;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Objects;
+
+/**
+ * A {@code DSSDocument} reading its content directly from an uploaded {@code MultipartFile}.
+ * The content is not loaded in memory: every call of {@code openStream()} returns a new stream
+ * on the servlet container's storage of the part (a temporary file for big uploads),
+ * and digests are computed on the stream.
+ * NOTE: the document is only available during the processing of the HTTP request.
+ *
+ */
+public class MultipartFileDocument extends CommonDocument {
+
+	private static final long serialVersionUID = -4178452170916632148L;
+
+	/** The uploaded file */
+	private final transient MultipartFile multipartFile;
+
+	/**
+	 * Default constructor
+	 *
+	 * @param multipartFile {@link MultipartFile}
+	 */
+	public MultipartFileDocument(MultipartFile multipartFile) {
+		Objects.requireNonNull(multipartFile, "MultipartFile shall be defined!");
+		this.multipartFile = multipartFile;
+		setName(multipartFile.getOriginalFilename());
+		setMimeType(MimeType.fromFileName(multipartFile.getOriginalFilename()));
+	}
+
+	@Override
+	public InputStream openStream() {
+		try {
+			return multipartFile.getInputStream();
+		} catch (IOException e) {
+			throw new DSSException(String.format("Unable to read the uploaded file '%s' : %s", getName(), e.getMessage()), e);
+		}
+	}
+
+	/**
+	 * Gets the size of the uploaded file
+	 *
+	 * @return size in bytes
+	 */
+	public long getSize() {
+		return multipartFile.getSize();
+	}
+
+}
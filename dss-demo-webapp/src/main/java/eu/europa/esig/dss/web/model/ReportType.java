@@ -0,0 +1,16 @@
+package eu.europa.esig.dss.web.model;
+
+/**
+ * Types of rendered validation reports
+ */
+public enum ReportType {
+
+	SIMPLE_REPORT,
+
+	SIMPLE_CERTIFICATE_REPORT,
+
+	DETAILED_REPORT,
+
+	DIAGNOSTIC_DATA_SVG;
+
+}
@@ -0,0 +1,140 @@
+package eu.europa.esig.dss.web.model;
+
+import eu.europa.esig.dss.web.config.MultipartResolverProvider;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Serializable;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+/**
+ * A copy of an uploaded file, kept in the session between the signature steps.
+ * The servlet container deletes its temporary files at the end of the upload request : a file bigger than
+ * multipart.streamingThreshold is copied into a temporary file owned by the application, deleted with the session
+ * (see {@link SessionUploadedFiles}), a smaller one is kept in memory.
+ *
+ */
+public class SessionMultipartFile implements MultipartFile, Serializable {
+
+	private static final long serialVersionUID = 3621788243165425160L;
+
+	private final String name;
+
+	private final String originalFilename;
+
+	private final String contentType;
+
+	private final long size;
+
+	/** The content of a small file */
+	private final byte[] content;
+
+	/** The temporary file of a big file */
+	private final File file;
+
+	private SessionMultipartFile(MultipartFile multipartFile, byte[] content, File file) {
+		this.name = multipartFile.getName();
+		this.originalFilename = multipartFile.getOriginalFilename();
+		this.contentType = multipartFile.getContentType();
+		this.size = multipartFile.getSize();
+		this.content = content;
+		this.file = file;
+	}
+
+	/**
+	 * Copies the uploaded file
+	 *
+	 * @param multipartFile {@link MultipartFile} the uploaded file
+	 * @return {@link SessionMultipartFile}
+	 * @throws IOException if the file cannot be copied
+	 */
+	public static SessionMultipartFile copyOf(MultipartFile multipartFile) throws IOException {
+		if (!MultipartResolverProvider.getInstance().isStreamingEnabled(multipartFile.getSize())) {
+			return new SessionMultipartFile(multipartFile, multipartFile.getBytes(), null);
+		}
+		Path tempFile = Files.createTempFile("dss-upload-", ".tmp");
+		try (InputStream is = multipartFile.getInputStream()) {
+			Files.copy(is, tempFile, StandardCopyOption.REPLACE_EXISTING);
+		} catch (IOException | RuntimeException e) {
+			Files.deleteIfExists(tempFile);
+			throw e;
+		}
+		return new SessionMultipartFile(multipartFile, null, tempFile.toFile());
+	}
+
+	/**
+	 * Gets the temporary file of a big uploaded file
+	 *
+	 * @return {@link File}, or NULL if the content is kept in memory
+	 */
+	public File getFile() {
+		return file;
+	}
+
+	@Override
+	public String getName() {
+		return name;
+	}
+
+	@Override
+	public String getOriginalFilename() {
+		return originalFilename;
+	}
+
+	@Override
+	public String getContentType() {
+		return contentType;
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+	@Override
+	public long getSize() {
+		return size;
+	}
+
+	@Override
+	public byte[] getBytes() throws IOException {
+		if (file != null) {
+			return Files.readAllBytes(file.toPath());
+		}
+		return content;
+	}
+
+	@Override
+	public InputStream getInputStream() throws IOException {
+		if (file != null) {
+			return Files.newInputStream(file.toPath());
+		}
+		return new ByteArrayInputStream(content);
+	}
+
+	@Override
+	public void transferTo(File dest) throws IOException {
+		try (InputStream is = getInputStream()) {
+			Files.copy(is, dest.toPath(), StandardCopyOption.REPLACE_EXISTING);
+		}
+	}
+
+	/**
+	 * Deletes the temporary file, if any
+	 */
+	void delete() {
+		if (file != null) {
+			try {
+				Files.deleteIfExists(file.toPath());
+			} catch (IOException e) {
+				file.deleteOnExit();
+			}
+		}
+	}
+
+}
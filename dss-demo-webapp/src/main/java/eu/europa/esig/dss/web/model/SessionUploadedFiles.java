@@ -0,0 +1,103 @@
+package eu.europa.esig.dss.web.model;
+
+import eu.europa.esig.dss.model.DSSException;
+import jakarta.servlet.http.HttpSession;
+import jakarta.servlet.http.HttpSessionBindingEvent;
+import jakarta.servlet.http.HttpSessionBindingListener;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.util.WebUtils;
+
+import java.io.IOException;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Keeps the copies of the files uploaded with the forms stored in the session.
+ * The copies of a form replace the previous ones, and all of them are deleted when the session expires
+ * or is invalidated.
+ *
+ */
+public class SessionUploadedFiles implements HttpSessionBindingListener, Serializable {
+
+	private static final long serialVersionUID = -2377480410652867493L;
+
+	private static final String ATTRIBUTE_NAME = SessionUploadedFiles.class.getName();
+
+	private final Map<String, List<SessionMultipartFile>> filesByForm = new HashMap<>();
+
+	/**
+	 * Copies the file uploaded with a form stored in the session
+	 *
+	 * @param session {@link HttpSession}
+	 * @param formName name of the form
+	 * @param multipartFile {@link MultipartFile} the uploaded file
+	 * @return the copy of the file, to be stored in the form
+	 */
+	public static MultipartFile keep(HttpSession session, String formName, MultipartFile multipartFile) {
+		List<MultipartFile> files = keep(session, formName, Collections.singletonList(multipartFile));
+		return files.get(0);
+	}
+
+	/**
+	 * Copies the files uploaded with a form stored in the session
+	 *
+	 * @param session {@link HttpSession}
+	 * @param formName name of the form
+	 * @param multipartFiles list of uploaded {@link MultipartFile}s
+	 * @return the copies of the files, to be stored in the form
+	 */
+	public static List<MultipartFile> keep(HttpSession session, String formName, List<MultipartFile> multipartFiles) {
+		if (multipartFiles == null) {
+			return null;
+		}
+		List<SessionMultipartFile> copies = new ArrayList<>();
+		List<MultipartFile> result = new ArrayList<>();
+		try {
+			for (MultipartFile multipartFile : multipartFiles) {
+				if (multipartFile == null || multipartFile.isEmpty()) {
+					result.add(multipartFile);
+				} else {
+					SessionMultipartFile copy = SessionMultipartFile.copyOf(multipartFile);
+					copies.add(copy);
+					result.add(copy);
+				}
+			}
+		} catch (IOException e) {
+			copies.forEach(SessionMultipartFile::delete);
+			throw new DSSException(String.format("Unable to store the uploaded files : %s", e.getMessage()), e);
+		}
+		getInstance(session).replace(formName, copies);
+		return result;
+	}
+
+	private static SessionUploadedFiles getInstance(HttpSession session) {
+		synchronized (WebUtils.getSessionMutex(session)) {
+			SessionUploadedFiles uploadedFiles = (SessionUploadedFiles) session.getAttribute(ATTRIBUTE_NAME);
+			if (uploadedFiles == null) {
+				uploadedFiles = new SessionUploadedFiles();
+				session.setAttribute(ATTRIBUTE_NAME, uploadedFiles);
+			}
+			return uploadedFiles;
+		}
+	}
+
+	private synchronized void replace(String formName, List<SessionMultipartFile> files) {
+		List<SessionMultipartFile> previousFiles = filesByForm.put(formName, files);
+		if (previousFiles != null) {
+			previousFiles.forEach(SessionMultipartFile::delete);
+		}
+	}
+
+	@Override
+	public synchronized void valueUnbound(HttpSessionBindingEvent event) {
+		for (List<SessionMultipartFile> files : filesByForm.values()) {
+			files.forEach(SessionMultipartFile::delete);
+		}
+		filesByForm.clear();
+	}
+
+}
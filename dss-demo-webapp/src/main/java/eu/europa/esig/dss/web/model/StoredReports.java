@@ -0,0 +1,39 @@
+package eu.europa.esig.dss.web.model;
+
+/**
+ * Contains the XML reports of a validation, as kept between the display of the validation result
+ * and the download of the reports
+ *
+ */
+public class StoredReports {
+
+	private final String simpleReportXml;
+	private final String simpleCertificateReportXml;
+	private final String detailedReportXml;
+	private final String diagnosticDataXml;
+
+	public StoredReports(String simpleReportXml, String simpleCertificateReportXml, String detailedReportXml,
+						 String diagnosticDataXml) {
+		this.simpleReportXml = simpleReportXml;
+		this.simpleCertificateReportXml = simpleCertificateReportXml;
+		this.detailedReportXml = detailedReportXml;
+		this.diagnosticDataXml = diagnosticDataXml;
+	}
+
+	public String getSimpleReportXml() {
+		return simpleReportXml;
+	}
+
+	public String getSimpleCertificateReportXml() {
+		return simpleCertificateReportXml;
+	}
+
+	public String getDetailedReportXml() {
+		return detailedReportXml;
+	}
+
+	public String getDiagnosticDataXml() {
+		return diagnosticDataXml;
+	}
+
+}
@@ -0,0 +1,61 @@
+package eu.europa.esig.dss.web.model;
+
+import java.util.Date;
+
+/**
+ * The state of an asynchronous validation job, as returned to the clients
+ *
+ */
+public class ValidationJobDTO {
+
+	private String id;
+
+	private ValidationJobStatus status;
+
+	private Date submissionTime;
+
+	private Date completionTime;
+
+	private String error;
+
+	public String getId() {
+		return id;
+	}
+
+	public void setId(String id) {
+		this.id = id;
+	}
+
+	public ValidationJobStatus getStatus() {
+		return status;
+	}
+
+	public void setStatus(ValidationJobStatus status) {
+		this.status = status;
+	}
+
+	public Date getSubmissionTime() {
+		return submissionTime;
+	}
+
+	public void setSubmissionTime(Date submissionTime) {
+		this.submissionTime = submissionTime;
+	}
+
+	public Date getCompletionTime() {
+		return completionTime;
+	}
+
+	public void setCompletionTime(Date completionTime) {
+		this.completionTime = completionTime;
+	}
+
+	public String getError() {
+		return error;
+	}
+
+	public void setError(String error) {
+		this.error = error;
+	}
+
+}
@@ -0,0 +1,25 @@
+package eu.europa.esig.dss.web.model;
+
+/**
+ * The states of an asynchronous validation job
+ *
+ */
+public enum ValidationJobStatus {
+
+	/** The job is waiting for a free validation thread */
+	PENDING,
+
+	/** The validation is in progress */
+	RUNNING,
+
+	/** The validation is done, the result is available */
+	COMPLETED,
+
+	/** The validation failed, the error message is available */
+	FAILED;
+
+	public boolean isDone() {
+		return this == COMPLETED || this == FAILED;
+	}
+
+}
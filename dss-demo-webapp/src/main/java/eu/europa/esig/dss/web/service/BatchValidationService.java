@@ -0,0 +1,248 @@
+package eu.europa.esig.dss.web.service;
+
+import eu.europa.esig.dss.enumerations.ValidationLevel;
+import eu.europa.esig.dss.model.DSSDocument;
+import eu.europa.esig.dss.model.DSSException;
+import eu.europa.esig.dss.model.policy.ValidationPolicy;
+import eu.europa.esig.dss.spi.policy.SignaturePolicyProvider;
+import eu.europa.esig.dss.spi.validation.CertificateVerifier;
+import eu.europa.esig.dss.validation.SignedDocumentValidator;
+import eu.europa.esig.dss.validation.reports.Reports;
+import eu.europa.esig.dss.web.model.BatchValidationResult;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Validates a batch of documents in parallel.
+ * All the documents of a batch are validated with the same {@code CertificateVerifier} and the same compiled
+ * validation policy. The results are returned one by one, in the order of completion.
+ * The number of batches validated at the same time is limited, so the queue of the validation threads is bounded.
+ *
+ */
+@Component
+public class BatchValidationService {
+
+	private static final Logger LOG = LoggerFactory.getLogger(BatchValidationService.class);
+
+	@Value("${batch.validation.threads:4}")
+	private int threads;
+
+	@Value("${batch.validation.max.in.flight:16}")
+	private int maxInFlight;
+
+	@Value("${batch.validation.max.batches:4}")
+	private int maxBatches;
+
+	@Autowired
+	private CertificateVerifier certificateVerifier;
+
+	@Autowired
+	private SignaturePolicyProvider signaturePolicyProvider;
+
+	@Autowired
+	private ValidationPolicyRegistry validationPolicyRegistry;
+
+	@Autowired
+	private MetricsService metricsService;
+
+	private ThreadPoolTaskExecutor validationExecutor;
+
+	private Semaphore batches;
+
+	@PostConstruct
+	public void init() {
+		validationExecutor = new ThreadPoolTaskExecutor();
+		validationExecutor.setCorePoolSize(threads);
+		validationExecutor.setMaxPoolSize(threads);
+		// the documents of the accepted batches always fit in the queue, the other batches are rejected (see acquire())
+		validationExecutor.setQueueCapacity(maxBatches * maxInFlight);
+		validationExecutor.setThreadNamePrefix("batch-validation-");
+		validationExecutor.initialize();
+		batches = new Semaphore(maxBatches);
+	}
+
+	@PreDestroy
+	public void destroy() {
+		validationExecutor.shutdown();
+	}
+
+	/**
+	 * Reserves the validation of a batch, to be released with {@code release()} once the batch is validated
+	 *
+	 * @throws TaskRejectedException if the maximum number of batches is already being validated
+	 */
+	public void acquire() {
+		if (!batches.tryAcquire()) {
+			throw new TaskRejectedException("Too many batch validations in progress");
+		}
+	}
+
+	/**
+	 * Releases the reservation of a validated batch
+	 */
+	public void release() {
+		batches.release();
+	}
+
+	/**
+	 * Validates the documents and gives each result to the handler as soon as it is available.
+	 * The batch shall have been reserved with {@code acquire()}.
+	 * The documents are read from the iterator only when a validation slot is free, so at most
+	 * {@code batch.validation.max.in.flight} documents of a batch are kept in memory.
+	 * A document which cannot be read ({@link DocumentReadException}) gives a failure result, the batch goes on.
+	 * On any other error of the iterator, the results of the documents being validated are handled
+	 * before the error is thrown.
+	 *
+	 * @param documents {@link Iterator} of the documents to validate
+	 * @param validationPolicy {@link ValidationPolicy} to use, the default one when NULL
+	 * @param resultHandler {@link ResultHandler} called from the calling thread for each validated document
+	 * @return the number of validated documents
+	 * @throws IOException if the result handler fails
+	 */
+	public int validate(Iterator<DSSDocument> documents, ValidationPolicy validationPolicy,
+						ResultHandler resultHandler) throws IOException {
+		final ValidationPolicy policy = validationPolicy != null ? validationPolicy :
+				validationPolicyRegistry.getDefaultValidationPolicy();
+
+		BlockingQueue<BatchValidationResult> results = new LinkedBlockingQueue<>();
+		Semaphore permits = new Semaphore(maxInFlight);
+		int submitted = 0;
+		int handled = 0;
+		RuntimeException iterationError = null;
+		try {
+			while (documents.hasNext()) {
+				permits.acquire();
+				handled += handleAvailable(results, resultHandler);
+
+				final DSSDocument document;
+				try {
+					document = documents.next();
+				} catch (DocumentReadException e) {
+					permits.release();
+					LOG.warn("Unable to read the document '{}' : {}", e.getDocumentName(), e.getMessage());
+					results.add(BatchValidationResult.failure(e.getDocumentName(), e.getMessage()));
+					submitted++;
+					continue;
+				} catch (RuntimeException e) {
+					permits.release();
+					throw e;
+				}
+				try {
+					validationExecutor.execute(() -> {
+						try {
+							results.add(validate(document, policy));
+						} finally {
+							permits.release();
+						}
+					});
+				} catch (TaskRejectedException e) {
+					permits.release();
+					throw e;
+				}
+				submitted++;
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new DSSException("The batch validation has been interrupted", e);
+		} catch (RuntimeException e) {
+			// the next documents cannot be read, the results of the submitted ones are handled first
+			iterationError = e;
+		}
+		try {
+			while (handled < submitted) {
+				resultHandler.handle(results.take());
+				handled++;
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new DSSException("The batch validation has been interrupted", e);
+		}
+		if (iterationError != null) {
+			throw iterationError;
+		}
+		return handled;
+	}
+
+	private int handleAvailable(BlockingQueue<BatchValidationResult> results, ResultHandler resultHandler) throws IOException {
+		int count = 0;
+		BatchValidationResult result;
+		while ((result = results.poll()) != null) {
+			resultHandler.handle(result);
+			count++;
+		}
+		return count;
+	}
+
+	private BatchValidationResult validate(DSSDocument document, ValidationPolicy validationPolicy) {
+		Timer.Sample sample = metricsService.start();
+		try {
+			SignedDocumentValidator documentValidator = SignedDocumentValidator.fromDocument(document);
+			documentValidator.setCertificateVerifier(certificateVerifier);
+			documentValidator.setSignaturePolicyProvider(signaturePolicyProvider);
+			Reports reports = documentValidator.validateDocument(validationPolicy);
+			BatchValidationResult result = BatchValidationResult.success(document.getName(), reports.getSimpleReportJaxb());
+			// the documents of a batch are validated with the default validation level
+			metricsService.recordValidation(sample, ValidationLevel.ARCHIVAL_DATA, reports);
+			return result;
+		} catch (Exception e) {
+			LOG.warn("Unable to validate the document '{}' : {}", document.getName(), e.getMessage());
+			metricsService.recordValidation(sample, ValidationLevel.ARCHIVAL_DATA, null);
+			return BatchValidationResult.failure(document.getName(), e.getMessage());
+		}
+	}
+
+	/**
+	 * Thrown by the documents iterator when a single document cannot be read, the other documents are still validated
+	 */
+	public static class DocumentReadException extends DSSException {
+
+		private static final long serialVersionUID = -2719544212851127311L;
+
+		private final String documentName;
+
+		public DocumentReadException(String documentName, String message) {
+			super(message);
+			this.documentName = documentName;
+		}
+
+		public DocumentReadException(String documentName, String message, Throwable cause) {
+			super(message, cause);
+			this.documentName = documentName;
+		}
+
+		public String getDocumentName() {
+			return documentName;
+		}
+
+	}
+
+	/**
+	 * Receives the results of a batch validation
+	 */
+	public interface ResultHandler {
+
+		/**
+		 * Handles the result of a single document validation
+		 *
+		 * @param result {@link BatchValidationResult}
+		 * @throws IOException if an error occurs on writing the result
+		 */
+		void handle(BatchValidationResult result) throws IOException;
+
+	}
+
+}
@@ -0,0 +1,368 @@
+package eu.europa.esig.dss.web.service;
+
+import eu.europa.esig.dss.model.DSSException;
+import eu.europa.esig.dss.web.model.StoredReports;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * {@link ReportStore} keeping the reports gzip-compressed within an LRU cache limited by a byte budget.
+ * When a spill directory is defined, the entries evicted from memory are written to the disk
+ * (within a second byte budget) instead of being dropped.
+ * The entries are updated under a lock, the files are written, read and deleted once it is released.
+ *
+ */
+public class CompressedReportStore implements ReportStore {
+
+	private static final Logger LOG = LoggerFactory.getLogger(CompressedReportStore.class);
+
+	private static final String SPILL_FILE_EXTENSION = ".reports.gz";
+
+	/** Maximum number of compressed bytes kept in memory */
+	private final long maxMemoryBytes;
+
+	/** The directory to write the evicted entries to (null when disabled) */
+	private final File spillDirectory;
+
+	/** Maximum number of compressed bytes kept in the spill directory */
+	private final long maxSpillBytes;
+
+	/** Compressed reports kept in memory, in access order */
+	private final LinkedHashMap<String, byte[]> memoryEntries = new LinkedHashMap<>(16, 0.75f, true);
+
+	/** Sizes of the reports written to the spill directory, in insertion order */
+	private final LinkedHashMap<String, Long> spilledEntries = new LinkedHashMap<>();
+
+	/** Evicted reports being written to the spill directory, still readable from memory until written */
+	private final Map<String, byte[]> pendingSpills = new HashMap<>();
+
+	/** Guards the entries, the disk is never accessed while holding it */
+	private final ReentrantLock lock = new ReentrantLock();
+
+	private long memoryBytes;
+
+	private long spilledBytes;
+
+	/**
+	 * Constructor for a memory only store
+	 *
+	 * @param maxMemoryBytes maximum number of compressed bytes kept in memory
+	 */
+	public CompressedReportStore(long maxMemoryBytes) {
+		this(maxMemoryBytes, null, 0);
+	}
+
+	/**
+	 * Constructor for a store spilling the evicted entries to the disk
+	 *
+	 * @param maxMemoryBytes maximum number of compressed bytes kept in memory
+	 * @param spillDirectory {@link File} the directory to write the evicted entries to (null to disable)
+	 * @param maxSpillBytes maximum number of compressed bytes kept in the spill directory
+	 */
+	public CompressedReportStore(long maxMemoryBytes, File spillDirectory, long maxSpillBytes) {
+		if (maxMemoryBytes <= 0) {
+			throw new IllegalArgumentException("The memory budget of the report store shall be positive!");
+		}
+		this.maxMemoryBytes = maxMemoryBytes;
+		this.maxSpillBytes = maxSpillBytes;
+		if (spillDirectory != null && maxSpillBytes > 0) {
+			if (!spillDirectory.exists() && !spillDirectory.mkdirs()) {
+				throw new DSSException(String.format("Unable to create the report spill directory '%s'", spillDirectory));
+			}
+			this.spillDirectory = spillDirectory;
+			LOG.info("Evicted validation reports will be spilled to '{}'", spillDirectory.getAbsolutePath());
+		} else {
+			this.spillDirectory = null;
+		}
+	}
+
+	@Override
+	public String store(StoredReports reports) {
+		byte[] compressed = compress(reports);
+		String reportId = UUID.randomUUID().toString();
+		Map<String, byte[]> toSpill = new LinkedHashMap<>();
+		List<String> toDelete = new ArrayList<>();
+		lock.lock();
+		try {
+			memoryEntries.put(reportId, compressed);
+			memoryBytes += compressed.length;
+			evictFromMemory(toSpill, toDelete);
+		} finally {
+			lock.unlock();
+		}
+		toSpill.forEach(this::spill);
+		toDelete.forEach(this::deleteSpilled);
+		return reportId;
+	}
+
+	@Override
+	public StoredReports get(String reportId) {
+		if (reportId == null) {
+			return null;
+		}
+		byte[] compressed;
+		boolean spilled;
+		lock.lock();
+		try {
+			compressed = memoryEntries.get(reportId);
+			if (compressed == null) {
+				compressed = pendingSpills.get(reportId);
+			}
+			spilled = compressed == null && spilledEntries.containsKey(reportId);
+		} finally {
+			lock.unlock();
+		}
+		if (spilled) {
+			compressed = readSpilled(reportId);
+		}
+		return compressed != null ? decompress(compressed) : null;
+	}
+
+	@Override
+	public void remove(String reportId) {
+		if (reportId == null) {
+			return;
+		}
+		Long spilledSize;
+		lock.lock();
+		try {
+			byte[] compressed = memoryEntries.remove(reportId);
+			if (compressed != null) {
+				memoryBytes -= compressed.length;
+			}
+			pendingSpills.remove(reportId);
+			spilledSize = spilledEntries.remove(reportId);
+			if (spilledSize != null) {
+				spilledBytes -= spilledSize;
+			}
+		} finally {
+			lock.unlock();
+		}
+		if (spilledSize != null) {
+			deleteSpilled(reportId);
+		}
+	}
+
+	/**
+	 * Gets the number of reports kept in memory
+	 *
+	 * @return number of entries
+	 */
+	public int getMemoryEntriesCount() {
+		lock.lock();
+		try {
+			return memoryEntries.size();
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Gets the number of compressed bytes kept in memory
+	 *
+	 * @return number of bytes
+	 */
+	public long getMemoryBytes() {
+		lock.lock();
+		try {
+			return memoryBytes;
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Gets the number of reports written to the spill directory
+	 *
+	 * @return number of entries
+	 */
+	public int getSpilledEntriesCount() {
+		lock.lock();
+		try {
+			return spilledEntries.size();
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Gets the number of compressed bytes written to the spill directory
+	 *
+	 * @return number of bytes
+	 */
+	public long getSpilledBytes() {
+		lock.lock();
+		try {
+			return spilledBytes;
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Removes all the stored reports, including the spilled files
+	 */
+	public void close() {
+		List<String> toDelete;
+		lock.lock();
+		try {
+			memoryEntries.clear();
+			memoryBytes = 0;
+			pendingSpills.clear();
+			toDelete = new ArrayList<>(spilledEntries.keySet());
+			spilledEntries.clear();
+			spilledBytes = 0;
+		} finally {
+			lock.unlock();
+		}
+		toDelete.forEach(this::deleteSpilled);
+	}
+
+	/**
+	 * Evicts the eldest entries above the memory budget, to be written or deleted once the lock is released
+	 *
+	 * @param toSpill filled with the evicted entries to write to the spill directory
+	 * @param toDelete filled with the identifiers of the spilled files to delete
+	 */
+	private void evictFromMemory(Map<String, byte[]> toSpill, List<String> toDelete) {
+		Iterator<Map.Entry<String, byte[]>> it = memoryEntries.entrySet().iterator();
+		// the last stored entry is always kept, even when bigger than the budget
+		while (memoryBytes > maxMemoryBytes && memoryEntries.size() > 1) {
+			Map.Entry<String, byte[]> eldest = it.next();
+			it.remove();
+			memoryBytes -= eldest.getValue().length;
+			if (spillDirectory != null) {
+				// accounted as spilled right away, so the spill budget is enforced under the lock
+				spilledEntries.put(eldest.getKey(), (long) eldest.getValue().length);
+				spilledBytes += eldest.getValue().length;
+				pendingSpills.put(eldest.getKey(), eldest.getValue());
+				toSpill.put(eldest.getKey(), eldest.getValue());
+			} else {
+				LOG.debug("Validation reports '{}' evicted from the report store", eldest.getKey());
+			}
+		}
+
+		Iterator<Map.Entry<String, Long>> spilledIt = spilledEntries.entrySet().iterator();
+		while (spilledBytes > maxSpillBytes && spilledIt.hasNext()) {
+			Map.Entry<String, Long> eldest = spilledIt.next();
+			spilledIt.remove();
+			spilledBytes -= eldest.getValue();
+			pendingSpills.remove(eldest.getKey());
+			toDelete.add(eldest.getKey());
+			LOG.debug("Validation reports '{}' evicted from the spill directory", eldest.getKey());
+		}
+	}
+
+	private void spill(String reportId, byte[] compressed) {
+		boolean written = true;
+		try {
+			Files.write(getSpillFile(reportId).toPath(), compressed);
+		} catch (IOException e) {
+			LOG.warn("Unable to spill the validation reports '{}' to the disk : {}", reportId, e.getMessage());
+			written = false;
+		}
+		boolean kept;
+		lock.lock();
+		try {
+			pendingSpills.remove(reportId);
+			kept = spilledEntries.containsKey(reportId);
+			if (kept && !written) {
+				spilledBytes -= spilledEntries.remove(reportId);
+			}
+		} finally {
+			lock.unlock();
+		}
+		if (written && !kept) {
+			// removed or evicted while being written
+			deleteSpilled(reportId);
+		}
+	}
+
+	private byte[] readSpilled(String reportId) {
+		try {
+			return Files.readAllBytes(getSpillFile(reportId).toPath());
+		} catch (NoSuchFileException e) {
+			// removed or evicted since the lookup
+			return null;
+		} catch (IOException e) {
+			LOG.warn("Unable to read the spilled validation reports '{}' : {}", reportId, e.getMessage());
+			return null;
+		}
+	}
+
+	private void deleteSpilled(String reportId) {
+		try {
+			Files.deleteIfExists(getSpillFile(reportId).toPath());
+		} catch (IOException e) {
+			LOG.warn("Unable to delete the spilled validation reports '{}' : {}", reportId, e.getMessage());
+		}
+	}
+
+	private File getSpillFile(String reportId) {
+		return new File(spillDirectory, reportId + SPILL_FILE_EXTENSION);
+	}
+
+	private static byte[] compress(StoredReports reports) {
+		ByteArrayOutputStream baos = new ByteArrayOutputStream();
+		try (DataOutputStream dos = new DataOutputStream(new GZIPOutputStream(baos))) {
+			writeString(dos, reports.getSimpleReportXml());
+			writeString(dos, reports.getSimpleCertificateReportXml());
+			writeString(dos, reports.getDetailedReportXml());
+			writeString(dos, reports.getDiagnosticDataXml());
+		} catch (IOException e) {
+			throw new DSSException(String.format("Unable to compress the validation reports : %s", e.getMessage()), e);
+		}
+		return baos.toByteArray();
+	}
+
+	private static StoredReports decompress(byte[] compressed) {
+		try (InputStream is = new ByteArrayInputStream(compressed);
+			 DataInputStream dis = new DataInputStream(new GZIPInputStream(is))) {
+			return new StoredReports(readString(dis), readString(dis), readString(dis), readString(dis));
+		} catch (IOException e) {
+			throw new DSSException(String.format("Unable to decompress the validation reports : %s", e.getMessage()), e);
+		}
+	}
+
+	private static void writeString(DataOutputStream dos, String value) throws IOException {
+		if (value == null) {
+			dos.writeInt(-1);
+		} else {
+			byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+			dos.writeInt(bytes.length);
+			dos.write(bytes);
+		}
+	}
+
+	private static String readString(DataInputStream dis) throws IOException {
+		int length = dis.readInt();
+		if (length < 0) {
+			return null;
+		}
+		byte[] bytes = new byte[length];
+		dis.readFully(bytes);
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+
+}
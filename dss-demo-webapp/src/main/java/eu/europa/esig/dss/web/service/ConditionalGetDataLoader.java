@@ -0,0 +1,111 @@
+package eu.europa.esig.dss.web.service;
+
+import eu.europa.esig.dss.model.DSSException;
+import eu.europa.esig.dss.service.http.commons.CommonsDataLoader;
+import org.apache.hc.client5.http.classic.methods.HttpGet;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.core5.http.Header;
+import org.apache.hc.core5.http.HttpHeaders;
+import org.apache.hc.core5.http.HttpStatus;
+import org.apache.hc.core5.http.io.entity.EntityUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * {@code CommonsDataLoader} sending conditional GET requests (If-None-Match / If-Modified-Since) for the URLs
+ * already downloaded. On a "304 Not Modified" response, the previously downloaded content is returned,
+ * so the trusted lists validation job sees unchanged bytes and keeps its parsing and validation results.
+ *
+ */
+public class ConditionalGetDataLoader extends CommonsDataLoader {
+
+	private static final long serialVersionUID = 2981660480924154218L;
+
+	private static final Logger LOG = LoggerFactory.getLogger(ConditionalGetDataLoader.class);
+
+	private final transient Map<String, Validators> validatorsByUrl = new ConcurrentHashMap<>();
+
+	private transient TLLoadingStatistics tlLoadingStatistics;
+
+	/**
+	 * Sets the statistics recording the downloaded and not modified documents
+	 *
+	 * @param tlLoadingStatistics {@link TLLoadingStatistics}
+	 */
+	public void setTlLoadingStatistics(TLLoadingStatistics tlLoadingStatistics) {
+		this.tlLoadingStatistics = tlLoadingStatistics;
+	}
+
+	@Override
+	public byte[] get(String url) {
+		if (url == null || !url.toLowerCase().startsWith("http")) {
+			return super.get(url);
+		}
+		Validators previous = validatorsByUrl.get(url);
+		HttpGet httpGet = new HttpGet(url);
+		if (previous != null) {
+			if (previous.etag != null) {
+				httpGet.addHeader(HttpHeaders.IF_NONE_MATCH, previous.etag);
+			}
+			if (previous.lastModified != null) {
+				httpGet.addHeader(HttpHeaders.IF_MODIFIED_SINCE, previous.lastModified);
+			}
+		}
+		try (CloseableHttpClient client = getHttpClient(url)) {
+			return client.execute(httpGet, response -> {
+				int status = response.getCode();
+				if (status == HttpStatus.SC_NOT_MODIFIED && previous != null) {
+					LOG.debug("Not modified since the last download : {}", url);
+					record(false);
+					return previous.content;
+				}
+				if (status != HttpStatus.SC_OK) {
+					throw new DSSException(String.format("Unable to download '%s' : HTTP status %s", url, status));
+				}
+				byte[] content = EntityUtils.toByteArray(response.getEntity());
+				Header etag = response.getFirstHeader(HttpHeaders.ETAG);
+				Header lastModified = response.getFirstHeader(HttpHeaders.LAST_MODIFIED);
+				if (etag != null || lastModified != null) {
+					validatorsByUrl.put(url, new Validators(etag != null ? etag.getValue() : null,
+							lastModified != null ? lastModified.getValue() : null, content));
+				} else {
+					validatorsByUrl.remove(url);
+				}
+				record(true);
+				return content;
+			});
+		} catch (IOException e) {
+			throw new DSSException(String.format("Unable to download '%s' : %s", url, e.getMessage()), e);
+		}
+	}
+
+	private void record(boolean downloaded) {
+		if (tlLoadingStatistics != null) {
+			tlLoadingStatistics.recordHttpResult(downloaded);
+		}
+	}
+
+	/**
+	 * The validators returned with the last downloaded content of a URL
+	 */
+	private static final class Validators {
+
+		private final String etag;
+
+		private final String lastModified;
+
+		private final byte[] content;
+
+		private Validators(String etag, String lastModified, byte[] content) {
+			this.etag = etag;
+			this.lastModified = lastModified;
+			this.content = content;
+		}
+
+	}
+
+}
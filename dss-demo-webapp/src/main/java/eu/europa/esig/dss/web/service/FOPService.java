@@ -1,10 +1,13 @@
 package eu.europa.esig.dss.web.service;
 
 import eu.europa.esig.dss.detailedreport.DetailedReportXmlDefiner;
+import eu.europa.esig.dss.enumerations.MimeTypeEnum;
 import eu.europa.esig.dss.simplecertificatereport.SimpleCertificateReportXmlDefiner;
 import eu.europa.esig.dss.simplereport.SimpleReportXmlDefiner;
-import eu.europa.esig.dss.xml.utils.DSSXmlErrorListener;
+import eu.europa.esig.dss.web.model.ReportType;
 import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.servlet.http.HttpServletResponse;
 import org.apache.commons.io.FilenameUtils;
 import org.apache.fop.apps.FOUserAgent;
 import org.apache.fop.apps.Fop;
@@ -17,20 +20,28 @@ import org.apache.xmlgraphics.io.Resource;
 import org.apache.xmlgraphics.io.ResourceResolver;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.io.ClassPathResource;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+import org.springframework.web.context.request.async.WebAsyncTask;
 
 import javax.xml.transform.Result;
 import javax.xml.transform.Transformer;
+import javax.xml.transform.TransformerFactory;
 import javax.xml.transform.sax.SAXResult;
 import javax.xml.transform.stream.StreamSource;
+import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.io.StringReader;
 import java.net.URI;
+import java.util.EnumMap;
+import java.util.Map;
 
 @Component
 public class FOPService {
@@ -39,11 +50,38 @@ public class FOPService {
 
 	private static final String FOP_CONFIG = "fop.xconf";
 
+	/** Minimal FO document using the configured fonts, rendered at startup to load them */
+	private static final String WARM_UP_FO = "<fo:root xmlns:fo=\"http://www.w3.org/1999/XSL/Format\">"
+			+ "<fo:layout-master-set><fo:simple-page-master master-name=\"page\"><fo:region-body/></fo:simple-page-master></fo:layout-master-set>"
+			+ "<fo:page-sequence master-reference=\"page\"><fo:flow flow-name=\"xsl-region-body\">"
+			+ "<fo:block font-family=\"sans-serif\">DSS</fo:block><fo:block font-family=\"sans-serif\" font-weight=\"bold\">DSS</fo:block>"
+			+ "</fo:flow></fo:page-sequence></fo:root>";
+
 	@Value("${tl.browser.root.url}")
 	private String rootUrlInTlBrowser;
 
+	@Value("${fop.rendering.threads:4}")
+	private int renderingThreads;
+
+	@Value("${fop.rendering.queue.size:20}")
+	private int renderingQueueSize;
+
+	@Value("${fop.rendering.timeout:60000}")
+	private long renderingTimeout;
+
+	@Autowired
+	private RenderCache renderCache;
+
+	@Autowired
+	private MetricsService metricsService;
+
 	private FopFactory fopFactory;
-	private FOUserAgent foUserAgent;
+
+	private ThreadPoolTaskExecutor renderingExecutor;
+
+	private final Map<ReportType, TransformerPool> transformerPools = new EnumMap<>(ReportType.class);
+
+	private final RenderingMetrics renderingMetrics = new RenderingMetrics();
 
 	@PostConstruct
 	public void init() throws Exception {
@@ -58,49 +96,168 @@ public class FOPService {
 
 		fopFactory = builder.build();
 
-		foUserAgent = fopFactory.newFOUserAgent();
-		foUserAgent.setCreator("DSS Webapp");
-		foUserAgent.setAccessibility(true);
+		transformerPools.put(ReportType.SIMPLE_REPORT,
+				new TransformerPool(SimpleReportXmlDefiner.getPdfTemplates(), renderingThreads));
+		transformerPools.put(ReportType.SIMPLE_CERTIFICATE_REPORT,
+				new TransformerPool(SimpleCertificateReportXmlDefiner.getPdfTemplates(), renderingThreads));
+		transformerPools.put(ReportType.DETAILED_REPORT,
+				new TransformerPool(DetailedReportXmlDefiner.getPdfTemplates(), renderingThreads));
+
+		renderingExecutor = new ThreadPoolTaskExecutor();
+		renderingExecutor.setCorePoolSize(renderingThreads);
+		renderingExecutor.setMaxPoolSize(renderingThreads);
+		// rendering requests above the queue capacity are rejected (see GlobalExceptionHandler)
+		renderingExecutor.setQueueCapacity(renderingQueueSize);
+		renderingExecutor.setThreadNamePrefix("fop-rendering-");
+		renderingExecutor.initialize();
+
+		renderingExecutor.execute(this::warmUp);
+
+		metricsService.bind(renderingMetrics, "fop");
+	}
+
+	@PreDestroy
+	public void destroy() {
+		renderingExecutor.shutdown();
+	}
+
+	/**
+	 * Creates an asynchronous task rendering the PDF report on the bounded rendering executor, the servlet request
+	 * thread being released while the rendering is in progress.
+	 * The PDF is rendered in memory and written to the response only once complete, unless the task has timed out
+	 * meanwhile : a failed rendering is handled as an error, not as a truncated document.
+	 *
+	 * @param reportType {@link ReportType} the rendered report
+	 * @param xmlReport {@link String} the report XML
+	 * @param filename {@link String} the name of the downloaded file
+	 * @param response {@link HttpServletResponse} to write the PDF to
+	 * @return {@link WebAsyncTask}
+	 */
+	public WebAsyncTask<Void> renderAsync(ReportType reportType, String xmlReport, String filename, HttpServletResponse response) {
+		final AsyncRendering asyncRendering = new AsyncRendering();
+		WebAsyncTask<Void> task = new WebAsyncTask<>(renderingTimeout, renderingExecutor, () -> {
+			byte[] pdf = render(reportType, xmlReport);
+			synchronized (asyncRendering) {
+				if (asyncRendering.timedOut) {
+					LOG.debug("The rendering of {} is complete after the timeout", reportType);
+					return null;
+				}
+				try {
+					response.setContentType(MimeTypeEnum.PDF.getMimeTypeString());
+					response.setHeader("Content-Disposition", "attachment; filename=" + filename);
+					response.setContentLength(pdf.length);
+					response.getOutputStream().write(pdf);
+				} catch (IOException e) {
+					if (!response.isCommitted()) {
+						response.reset();
+					}
+					throw e;
+				} finally {
+					asyncRendering.written = true;
+				}
+			}
+			return null;
+		});
+		task.onTimeout(() -> {
+			synchronized (asyncRendering) {
+				if (asyncRendering.written) {
+					// the PDF has been written meanwhile
+					return null;
+				}
+				asyncRendering.timedOut = true;
+			}
+			return CallableProcessingInterceptor.RESULT_NONE;
+		});
+		return task;
 	}
 
 	public void generateSimpleReport(String simpleReport, OutputStream os) throws Exception {
-		Fop fop = fopFactory.newFop(MimeConstants.MIME_PDF, foUserAgent, os);
-		Result result = new SAXResult(fop.getDefaultHandler());
-		try (StringReader reader = new StringReader(simpleReport)) {
-			Transformer transformer = SimpleReportXmlDefiner.getPdfTemplates().newTransformer();
-			transformer.setErrorListener(new DSSXmlErrorListener());
-			transformer.setParameter("rootUrlInTlBrowser", rootUrlInTlBrowser);
-			transformer.transform(new StreamSource(reader), result);
-		} catch (Exception e) {
-			LOG.error("Error while generating simple report : " + e.getMessage(), e);
-		}
+		generate(ReportType.SIMPLE_REPORT, simpleReport, os);
 	}
 
 	public void generateSimpleCertificateReport(String simpleCertificateReport, OutputStream os) throws Exception {
-		Fop fop = fopFactory.newFop(MimeConstants.MIME_PDF, foUserAgent, os);
+		generate(ReportType.SIMPLE_CERTIFICATE_REPORT, simpleCertificateReport, os);
+	}
+
+	public void generateDetailedReport(String detailedReport, OutputStream os) throws Exception {
+		generate(ReportType.DETAILED_REPORT, detailedReport, os);
+	}
+
+	private void generate(ReportType reportType, String xmlReport, OutputStream os) throws Exception {
+		// nothing is written if the rendering fails
+		os.write(render(reportType, xmlReport));
+	}
+
+	private byte[] render(ReportType reportType, String xmlReport) throws Exception {
+		String key = renderCache.getKey("PDF", reportType, xmlReport, rootUrlInTlBrowser);
+		byte[] cached = renderCache.get(key);
+		if (cached != null) {
+			return cached;
+		}
+
+		ByteArrayOutputStream baos = new ByteArrayOutputStream();
+		// FOUserAgent holds the state of a single rendering, it is not shared between the requests
+		Fop fop = fopFactory.newFop(MimeConstants.MIME_PDF, newFOUserAgent(), baos);
 		Result result = new SAXResult(fop.getDefaultHandler());
-		try (StringReader reader = new StringReader(simpleCertificateReport)) {
-			Transformer transformer = SimpleCertificateReportXmlDefiner.getPdfTemplates().newTransformer();
-			transformer.setErrorListener(new DSSXmlErrorListener());
-			transformer.setParameter("rootUrlInTlBrowser", rootUrlInTlBrowser);
+		TransformerPool transformerPool = transformerPools.get(reportType);
+		Transformer transformer = transformerPool.borrow();
+		long start = System.nanoTime();
+		try (StringReader reader = new StringReader(xmlReport)) {
+			if (ReportType.DETAILED_REPORT != reportType) {
+				transformer.setParameter("rootUrlInTlBrowser", rootUrlInTlBrowser);
+			}
 			transformer.transform(new StreamSource(reader), result);
 		} catch (Exception e) {
-			LOG.error("Error while generating simple certificate report : " + e.getMessage(), e);
+			LOG.error("Error while generating {} : {}", reportType, e.getMessage(), e);
+			throw e;
+		} finally {
+			transformerPool.release(transformer);
+			renderingMetrics.record(reportType, System.nanoTime() - start);
 		}
+		byte[] pdf = baos.toByteArray();
+		renderCache.put(key, pdf);
+		return pdf;
 	}
 
-	public void generateDetailedReport(String detailedReport, OutputStream os) throws Exception {
-		Fop fop = fopFactory.newFop(MimeConstants.MIME_PDF, foUserAgent, os);
-		Result result = new SAXResult(fop.getDefaultHandler());
-		try (StringReader reader = new StringReader(detailedReport)) {
-			Transformer transformer = DetailedReportXmlDefiner.getPdfTemplates().newTransformer();
-			transformer.setErrorListener(new DSSXmlErrorListener());
-			transformer.transform(new StreamSource(reader), result);
+	/**
+	 * Gets the PDF rendering durations per report type
+	 *
+	 * @return {@link RenderingMetrics}
+	 */
+	public RenderingMetrics getRenderingMetrics() {
+		return renderingMetrics;
+	}
+
+	private FOUserAgent newFOUserAgent() {
+		FOUserAgent foUserAgent = fopFactory.newFOUserAgent();
+		foUserAgent.setCreator("DSS Webapp");
+		foUserAgent.setAccessibility(true);
+		return foUserAgent;
+	}
+
+	private void warmUp() {
+		// loads the fonts and the renderer classes before the first user request
+		try (StringReader reader = new StringReader(WARM_UP_FO)) {
+			Fop fop = fopFactory.newFop(MimeConstants.MIME_PDF, newFOUserAgent(), OutputStream.nullOutputStream());
+			Transformer transformer = TransformerFactory.newInstance().newTransformer();
+			transformer.transform(new StreamSource(reader), new SAXResult(fop.getDefaultHandler()));
+			LOG.info("FOP renderer initialized");
 		} catch (Exception e) {
-			LOG.error("Error while generating detailed report : " + e.getMessage(), e);
+			LOG.warn("Unable to initialize the FOP renderer : {}", e.getMessage());
 		}
 	}
 
+	/**
+	 * State of an asynchronous rendering, shared between the rendering and the timeout handling
+	 */
+	private static final class AsyncRendering {
+
+		private boolean written;
+
+		private boolean timedOut;
+
+	}
+
 	private static class ClasspathResolver implements ResourceResolver {
 
 		@Override
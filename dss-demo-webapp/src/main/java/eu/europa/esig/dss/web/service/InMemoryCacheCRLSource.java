@@ -0,0 +1,74 @@
+package eu.europa.esig.dss.web.service;
+
+import eu.europa.esig.dss.model.x509.CertificateToken;
+import eu.europa.esig.dss.spi.x509.revocation.RevocationSourceAlternateUrlsSupport;
+import eu.europa.esig.dss.spi.x509.revocation.crl.CRLSource;
+import eu.europa.esig.dss.spi.x509.revocation.crl.CRLToken;
+
+import java.util.List;
+
+/**
+ * {@code CRLSource} keeping the parsed CRL tokens in memory, in front of a persistent cache
+ *
+ */
+public class InMemoryCacheCRLSource implements CRLSource, RevocationSourceAlternateUrlsSupport<CRLToken> {
+
+	private static final long serialVersionUID = 6102519573268441850L;
+
+	private final CRLSource proxiedSource;
+
+	private final transient RevocationTokenCache<CRLToken> cache;
+
+	private transient RevocationPrefetcher<CRLToken> prefetcher;
+
+	/**
+	 * Default constructor
+	 *
+	 * @param proxiedSource {@link CRLSource} the persistent cache, called on a miss
+	 * @param cache {@link RevocationTokenCache}
+	 */
+	public InMemoryCacheCRLSource(CRLSource proxiedSource, RevocationTokenCache<CRLToken> cache) {
+		this.proxiedSource = proxiedSource;
+		this.cache = cache;
+	}
+
+	/**
+	 * Sets the prefetcher recording the looked up certificates, in order to refresh their tokens in advance
+	 *
+	 * @param prefetcher {@link RevocationPrefetcher}
+	 */
+	public void setPrefetcher(RevocationPrefetcher<CRLToken> prefetcher) {
+		this.prefetcher = prefetcher;
+	}
+
+	@Override
+	public CRLToken getRevocationToken(CertificateToken certificateToken, CertificateToken issuerCertificateToken) {
+		return getRevocationToken(certificateToken, issuerCertificateToken, null);
+	}
+
+	@Override
+	public CRLToken getRevocationToken(CertificateToken certificateToken, CertificateToken issuerCertificateToken,
+										 List<String> alternativeUrls) {
+		CRLToken token = cache.get(certificateToken, issuerCertificateToken);
+		if (token == null) {
+			token = getProxiedRevocationToken(certificateToken, issuerCertificateToken, alternativeUrls);
+			cache.put(certificateToken, issuerCertificateToken, token);
+		}
+		if (prefetcher != null) {
+			prefetcher.record(certificateToken, issuerCertificateToken, alternativeUrls, token);
+		}
+		return token;
+	}
+
+	@SuppressWarnings("unchecked")
+	private CRLToken getProxiedRevocationToken(CertificateToken certificateToken, CertificateToken issuerCertificateToken,
+												List<String> alternativeUrls) {
+		// the alternative URLs (e.g. from the trusted lists) are given to the proxied source, when supported
+		if (alternativeUrls != null && proxiedSource instanceof RevocationSourceAlternateUrlsSupport) {
+			return ((RevocationSourceAlternateUrlsSupport<CRLToken>) proxiedSource).getRevocationToken(certificateToken,
+					issuerCertificateToken, alternativeUrls);
+		}
+		return proxiedSource.getRevocationToken(certificateToken, issuerCertificateToken);
+	}
+
+}
@@ -0,0 +1,74 @@
+package eu.europa.esig.dss.web.service;
+
+import eu.europa.esig.dss.model.x509.CertificateToken;
+import eu.europa.esig.dss.spi.x509.revocation.RevocationSourceAlternateUrlsSupport;
+import eu.europa.esig.dss.spi.x509.revocation.ocsp.OCSPSource;
+import eu.europa.esig.dss.spi.x509.revocation.ocsp.OCSPToken;
+
+import java.util.List;
+
+/**
+ * {@code OCSPSource} keeping the parsed OCSP tokens in memory, in front of a persistent cache
+ *
+ */
+public class InMemoryCacheOCSPSource implements OCSPSource, RevocationSourceAlternateUrlsSupport<OCSPToken> {
+
+	private static final long serialVersionUID = -2365286912270917392L;
+
+	private final OCSPSource proxiedSource;
+
+	private final transient RevocationTokenCache<OCSPToken> cache;
+
+	private transient RevocationPrefetcher<OCSPToken> prefetcher;
+
+	/**
+	 * Default constructor
+	 *
+	 * @param proxiedSource {@link OCSPSource} the persistent cache, called on a miss
+	 * @param cache {@link RevocationTokenCache}
+	 */
+	public InMemoryCacheOCSPSource(OCSPSource proxiedSource, RevocationTokenCache<OCSPToken> cache) {
+		this.proxiedSource = proxiedSource;
+		this.cache = cache;
+	}
+
+	/**
+	 * Sets the prefetcher recording the looked up certificates, in order to refresh their tokens in advance
+	 *
+	 * @param prefetcher {@link RevocationPrefetcher}
+	 */
+	public void setPrefetcher(RevocationPrefetcher<OCSPToken> prefetcher) {
+		this.prefetcher = prefetcher;
+	}
+
+	@Override
+	public OCSPToken getRevocationToken(CertificateToken certificateToken, CertificateToken issuerCertificateToken) {
+		return getRevocationToken(certificateToken, issuerCertificateToken, null);
+	}
+
+	@Override
+	public OCSPToken getRevocationToken(CertificateToken certificateToken, CertificateToken issuerCertificateToken,
+										 List<String> alternativeUrls) {
+		OCSPToken token = cache.get(certificateToken, issuerCertificateToken);
+		if (token == null) {
+			token = getProxiedRevocationToken(certificateToken, issuerCertificateToken, alternativeUrls);
+			cache.put(certificateToken, issuerCertificateToken, token);
+		}
+		if (prefetcher != null) {
+			prefetcher.record(certificateToken, issuerCertificateToken, alternativeUrls, token);
+		}
+		return token;
+	}
+
+	@SuppressWarnings("unchecked")
+	private OCSPToken getProxiedRevocationToken(CertificateToken certificateToken, CertificateToken issuerCertificateToken,
+												List<String> alternativeUrls) {
+		// the alternative URLs (e.g. from the trusted lists) are given to the proxied source, when supported
+		if (alternativeUrls != null && proxiedSource instanceof RevocationSourceAlternateUrlsSupport) {
+			return ((RevocationSourceAlternateUrlsSupport<OCSPToken>) proxiedSource).getRevocationToken(certificateToken,
+					issuerCertificateToken, alternativeUrls);
+		}
+		return proxiedSource.getRevocationToken(certificateToken, issuerCertificateToken);
+	}
+
+}
@@ -0,0 +1,56 @@
+package eu.europa.esig.dss.web.service;
+
+import eu.europa.esig.dss.model.Digest;
+import eu.europa.esig.dss.model.x509.CertificateToken;
+import eu.europa.esig.dss.model.x509.X500PrincipalHelper;
+import eu.europa.esig.dss.spi.tsl.TrustedListsCertificateSource;
+
+import java.security.PublicKey;
+import java.util.Set;
+
+/**
+ * {@code TrustedListsCertificateSource} answering the trust anchor lookups with a {@code TrustAnchorIndex}.
+ * The index is built once the source is synchronized, the source is not indexed before.
+ *
+ */
+public class IndexedTrustedListsCertificateSource extends TrustedListsCertificateSource {
+
+	private static final long serialVersionUID = -3846027351942318570L;
+
+	private final TrustAnchorIndexLookup lookup = new TrustAnchorIndexLookup();
+
+	/**
+	 * Builds the index of the current certificates
+	 */
+	public void buildIndex() {
+		lookup.build(getCertificates());
+	}
+
+	@Override
+	public CertificateToken addCertificate(CertificateToken certificateToken) {
+		// a modified source is not indexed anymore
+		lookup.invalidate();
+		return super.addCertificate(certificateToken);
+	}
+
+	@Override
+	public Set<CertificateToken> getBySubject(X500PrincipalHelper subject) {
+		return lookup.get(index -> index.getBySubject(subject), () -> super.getBySubject(subject));
+	}
+
+	@Override
+	public Set<CertificateToken> getBySki(byte[] ski) {
+		return lookup.get(index -> index.getBySki(ski), () -> super.getBySki(ski));
+	}
+
+	@Override
+	public Set<CertificateToken> getByPublicKey(PublicKey publicKey) {
+		return lookup.get(index -> index.getByPublicKey(publicKey), () -> super.getByPublicKey(publicKey));
+	}
+
+	@Override
+	public Set<CertificateToken> getByCertificateDigest(Digest digest) {
+		return lookup.get(index -> index.getByCertificateDigest(digest), () -> super.getByCertificateDigest(digest));
+	}
+
+}
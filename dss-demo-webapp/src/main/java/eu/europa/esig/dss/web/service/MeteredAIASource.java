@@ -0,0 +1,38 @@
+package eu.europa.esig.dss.web.service;
+
+import eu.europa.esig.dss.model.x509.CertificateToken;
+import eu.europa.esig.dss.spi.x509.aia.AIASource;
+import io.micrometer.core.instrument.Counter;
+
+import java.util.Set;
+
+/**
+ * {@code AIASource} counting the requests of issuer certificates, before the cache
+ *
+ */
+public class MeteredAIASource implements AIASource {
+
+	private static final long serialVersionUID = 8502734462731927016L;
+
+	private final AIASource aiaSource;
+
+	private final transient Counter lookupCounter;
+
+	/**
+	 * Default constructor
+	 *
+	 * @param aiaSource {@link AIASource} the cached source
+	 * @param metricsService {@link MetricsService}
+	 */
+	public MeteredAIASource(AIASource aiaSource, MetricsService metricsService) {
+		this.aiaSource = aiaSource;
+		this.lookupCounter = metricsService.getRevocationLookupCounter("aia");
+	}
+
+	@Override
+	public Set<CertificateToken> getCertificatesByAIA(CertificateToken certificateToken) {
+		lookupCounter.increment();
+		return aiaSource.getCertificatesByAIA(certificateToken);
+	}
+
+}
@@ -0,0 +1,53 @@
+package eu.europa.esig.dss.web.service;
+
+import eu.europa.esig.dss.model.x509.CertificateToken;
+import eu.europa.esig.dss.spi.x509.revocation.RevocationSourceAlternateUrlsSupport;
+import eu.europa.esig.dss.spi.x509.revocation.crl.CRLSource;
+import eu.europa.esig.dss.spi.x509.revocation.crl.CRLToken;
+import io.micrometer.core.instrument.Counter;
+
+import java.util.List;
+
+/**
+ * {@code CRLSource} counting the CRL requests, before the cache
+ *
+ */
+public class MeteredCRLSource implements CRLSource, RevocationSourceAlternateUrlsSupport<CRLToken> {
+
+	private static final long serialVersionUID = 3128464305729735061L;
+
+	private final CRLSource crlSource;
+
+	private final transient Counter lookupCounter;
+
+	/**
+	 * Default constructor
+	 *
+	 * @param crlSource {@link CRLSource} the cached source
+	 * @param metricsService {@link MetricsService}
+	 */
+	public MeteredCRLSource(CRLSource crlSource, MetricsService metricsService) {
+		this.crlSource = crlSource;
+		this.lookupCounter = metricsService.getRevocationLookupCounter("crl");
+	}
+
+	@Override
+	public CRLToken getRevocationToken(CertificateToken certificateToken, CertificateToken issuerCertificateToken) {
+		lookupCounter.increment();
+		return crlSource.getRevocationToken(certificateToken, issuerCertificateToken);
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public CRLToken getRevocationToken(CertificateToken certificateToken, CertificateToken issuerCertificateToken,
+										 List<String> alternativeUrls) {
+		lookupCounter.increment();
+		// the alternative URLs (e.g. from the trusted lists) are given to the cached source, when supported
+		if (crlSource instanceof RevocationSourceAlternateUrlsSupport) {
+			return ((RevocationSourceAlternateUrlsSupport<CRLToken>) crlSource).getRevocationToken(certificateToken,
+					issuerCertificateToken, alternativeUrls);
+		}
+		return crlSource.getRevocationToken(certificateToken, issuerCertificateToken);
+	}
+
+}
@@ -0,0 +1,80 @@
+package eu.europa.esig.dss.web.service;
+
+import eu.europa.esig.dss.spi.client.http.DataLoader;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.List;
+
+/**
+ * {@code DataLoader} recording the duration of the downloads of revocation data or AIA certificates.
+ * It wraps the loader accessing the network, the calls served by a cache are not recorded.
+ *
+ */
+public class MeteredDataLoader implements DataLoader {
+
+	private static final long serialVersionUID = -4296432017286451236L;
+
+	private final DataLoader dataLoader;
+
+	private final transient MetricsService metricsService;
+
+	private final String source;
+
+	/**
+	 * Default constructor
+	 *
+	 * @param dataLoader {@link DataLoader} accessing the network
+	 * @param metricsService {@link MetricsService}
+	 * @param source {@link String} the tag of the recorded fetches (ocsp, crl or aia)
+	 */
+	public MeteredDataLoader(DataLoader dataLoader, MetricsService metricsService, String source) {
+		this.dataLoader = dataLoader;
+		this.metricsService = metricsService;
+		this.source = source;
+	}
+
+	@Override
+	public byte[] get(String url) {
+		Timer.Sample sample = metricsService.start();
+		boolean success = false;
+		try {
+			byte[] result = dataLoader.get(url);
+			success = true;
+			return result;
+		} finally {
+			sample.stop(metricsService.getRevocationFetchTimer(source, success));
+		}
+	}
+
+	@Override
+	public DataAndUrl get(List<String> urlStrings) {
+		Timer.Sample sample = metricsService.start();
+		boolean success = false;
+		try {
+			DataAndUrl result = dataLoader.get(urlStrings);
+			success = true;
+			return result;
+		} finally {
+			sample.stop(metricsService.getRevocationFetchTimer(source, success));
+		}
+	}
+
+	@Override
+	public byte[] post(String url, byte[] content) {
+		Timer.Sample sample = metricsService.start();
+		boolean success = false;
+		try {
+			byte[] result = dataLoader.post(url, content);
+			success = true;
+			return result;
+		} finally {
+			sample.stop(metricsService.getRevocationFetchTimer(source, success));
+		}
+	}
+
+	@Override
+	public void setContentType(String contentType) {
+		dataLoader.setContentType(contentType);
+	}
+
+}
@@ -0,0 +1,53 @@
+package eu.europa.esig.dss.web.service;
+
+import eu.europa.esig.dss.model.x509.CertificateToken;
+import eu.europa.esig.dss.spi.x509.revocation.RevocationSourceAlternateUrlsSupport;
+import eu.europa.esig.dss.spi.x509.revocation.ocsp.OCSPSource;
+import eu.europa.esig.dss.spi.x509.revocation.ocsp.OCSPToken;
+import io.micrometer.core.instrument.Counter;
+
+import java.util.List;
+
+/**
+ * {@code OCSPSource} counting the OCSP requests, before the cache
+ *
+ */
+public class MeteredOCSPSource implements OCSPSource, RevocationSourceAlternateUrlsSupport<OCSPToken> {
+
+	private static final long serialVersionUID = -6931875064582209321L;
+
+	private final OCSPSource ocspSource;
+
+	private final transient Counter lookupCounter;
+
+	/**
+	 * Default constructor
+	 *
+	 * @param ocspSource {@link OCSPSource} the cached source
+	 * @param metricsService {@link MetricsService}
+	 */
+	public MeteredOCSPSource(OCSPSource ocspSource, MetricsService metricsService) {
+		this.ocspSource = ocspSource;
+		this.lookupCounter = metricsService.getRevocationLookupCounter("ocsp");
+	}
+
+	@Override
+	public OCSPToken getRevocationToken(CertificateToken certificateToken, CertificateToken issuerCertificateToken) {
+		lookupCounter.increment();
+		return ocspSource.getRevocationToken(certificateToken, issuerCertificateToken);
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public OCSPToken getRevocationToken(CertificateToken certificateToken, CertificateToken issuerCertificateToken,
+										 List<String> alternativeUrls) {
+		lookupCounter.increment();
+		// the alternative URLs (e.g. from the trusted lists) are given to the cached source, when supported
+		if (ocspSource instanceof RevocationSourceAlternateUrlsSupport) {
+			return ((RevocationSourceAlternateUrlsSupport<OCSPToken>) ocspSource).getRevocationToken(certificateToken,
+					issuerCertificateToken, alternativeUrls);
+		}
+		return ocspSource.getRevocationToken(certificateToken, issuerCertificateToken);
+	}
+
+}
@@ -0,0 +1,56 @@
+package eu.europa.esig.dss.web.service;
+
+import eu.europa.esig.dss.model.DSSDocument;
+import eu.europa.esig.dss.spi.client.http.DSSFileLoader;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@code DSSFileLoader} recording the duration and the outcome of each trusted list download
+ *
+ */
+public class MeteredTLFileLoader implements DSSFileLoader {
+
+	private static final long serialVersionUID = 6153262841839307615L;
+
+	private final DSSFileLoader fileLoader;
+
+	private final transient MetricsService metricsService;
+
+	private final transient TLLoadingStatistics tlLoadingStatistics;
+
+	/**
+	 * Default constructor
+	 *
+	 * @param fileLoader {@link DSSFileLoader} the online loader of the trusted lists
+	 * @param metricsService {@link MetricsService}
+	 * @param tlLoadingStatistics {@link TLLoadingStatistics}
+	 */
+	public MeteredTLFileLoader(DSSFileLoader fileLoader, MetricsService metricsService,
+							   TLLoadingStatistics tlLoadingStatistics) {
+		this.fileLoader = fileLoader;
+		this.metricsService = metricsService;
+		this.tlLoadingStatistics = tlLoadingStatistics;
+	}
+
+	@Override
+	public DSSDocument getDocument(String url) {
+		Timer.Sample sample = metricsService.start();
+		boolean success = false;
+		try {
+			DSSDocument document = fileLoader.getDocument(url);
+			success = document != null;
+			return document;
+		} finally {
+			long duration = sample.stop(metricsService.getTLDownloadTimer(success));
+			tlLoadingStatistics.record(url, TimeUnit.NANOSECONDS.toMillis(duration), success);
+		}
+	}
+
+	@Override
+	public boolean remove(String url) {
+		return fileLoader.remove(url);
+	}
+
+}
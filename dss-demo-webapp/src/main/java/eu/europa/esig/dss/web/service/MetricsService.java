@@ -0,0 +1,390 @@
+package eu.europa.esig.dss.web.service;
+
+import eu.europa.esig.dss.diagnostic.SignatureWrapper;
+import eu.europa.esig.dss.enumerations.Indication;
+import eu.europa.esig.dss.enumerations.SignatureForm;
+import eu.europa.esig.dss.enumerations.SignatureLevel;
+import eu.europa.esig.dss.enumerations.ValidationLevel;
+import eu.europa.esig.dss.model.tsl.InfoRecord;
+import eu.europa.esig.dss.model.tsl.LOTLInfo;
+import eu.europa.esig.dss.model.tsl.TLInfo;
+import eu.europa.esig.dss.model.tsl.TLValidationJobSummary;
+import eu.europa.esig.dss.model.tsl.ValidationInfoRecord;
+import eu.europa.esig.dss.utils.Utils;
+import eu.europa.esig.dss.validation.reports.Reports;
+import eu.europa.esig.dss.web.model.ReportType;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Records the durations and the outcomes of the signature, validation, revocation and trusted list operations.
+ * The meters are exposed by the actuator Prometheus endpoint ("/actuator/prometheus").
+ *
+ */
+@Component
+public class MetricsService {
+
+	private static final String OUTCOME = "outcome";
+
+	private static final String SUCCESS = "success";
+
+	private static final String FAILURE = "failure";
+
+	private static final String NONE = "none";
+
+	/** Registry provided by Spring Boot, the global (no-op without registry) one is used otherwise */
+	@Autowired(required = false)
+	private MeterRegistry meterRegistry;
+
+	/**
+	 * Default constructor, the registry is injected by Spring
+	 */
+	public MetricsService() {
+		// empty
+	}
+
+	/**
+	 * Creates a service registering the meters in the given registry
+	 *
+	 * @param meterRegistry {@link MeterRegistry}
+	 */
+	public MetricsService(MeterRegistry meterRegistry) {
+		this.meterRegistry = meterRegistry;
+	}
+
+	@PostConstruct
+	public void init() {
+		if (meterRegistry == null) {
+			meterRegistry = Metrics.globalRegistry;
+		}
+	}
+
+	/**
+	 * Gets the registry the meters are registered in
+	 *
+	 * @return {@link MeterRegistry}
+	 */
+	public MeterRegistry getMeterRegistry() {
+		return meterRegistry;
+	}
+
+	/**
+	 * Starts the timing of an operation
+	 *
+	 * @return {@link Timer.Sample} to give to one of the record methods
+	 */
+	public Timer.Sample start() {
+		return Timer.start(meterRegistry);
+	}
+
+	/**
+	 * Records a signature operation (getDataToSign, signDocument, extend, ...)
+	 *
+	 * @param sample {@link Timer.Sample} started before the operation
+	 * @param operation {@link String} the operation name
+	 * @param signatureForm {@link SignatureForm} can be null
+	 * @param signatureLevel {@link SignatureLevel} can be null
+	 * @param success true if the operation succeeded
+	 */
+	public void recordSigning(Timer.Sample sample, String operation, SignatureForm signatureForm,
+							  SignatureLevel signatureLevel, boolean success) {
+		sample.stop(Timer.builder("dss.signing")
+				.description("Duration of the signature operations")
+				.tag("operation", operation)
+				.tag("form", signatureForm != null ? signatureForm.name() : NONE)
+				.tag("level", signatureLevel != null ? signatureLevel.name() : NONE)
+				.tag(OUTCOME, success ? SUCCESS : FAILURE)
+				.register(meterRegistry));
+	}
+
+	/**
+	 * Records a document validation. The format is the signature form of the first signature.
+	 *
+	 * @param sample {@link Timer.Sample} started before the validation
+	 * @param validationLevel {@link ValidationLevel}
+	 * @param reports {@link Reports}, null if the validation failed
+	 */
+	public void recordValidation(Timer.Sample sample, ValidationLevel validationLevel, Reports reports) {
+		sample.stop(Timer.builder("dss.validation")
+				.description("Duration of the document validations")
+				.tag("level", validationLevel != null ? validationLevel.name() : NONE)
+				.tag("format", getFormat(reports))
+				.tag(OUTCOME, reports != null ? SUCCESS : FAILURE)
+				.register(meterRegistry));
+	}
+
+	private String getFormat(Reports reports) {
+		if (reports == null) {
+			return NONE;
+		}
+		List<SignatureWrapper> signatures = reports.getDiagnosticData().getSignatures();
+		if (Utils.isCollectionEmpty(signatures) || signatures.get(0).getSignatureFormat() == null) {
+			return NONE;
+		}
+		return signatures.get(0).getSignatureFormat().getSignatureForm().name();
+	}
+
+	/**
+	 * Gets the counter of the revocation data (or AIA certificates) requests reaching the persistent cache,
+	 * whether they are served from it or not
+	 *
+	 * @param source {@link String} ocsp, crl or aia
+	 * @return {@link Counter}
+	 */
+	public Counter getRevocationLookupCounter(String source) {
+		return Counter.builder("dss.revocation.lookups")
+				.description("Number of revocation data and AIA certificates requests")
+				.tag("source", source)
+				.register(meterRegistry);
+	}
+
+	/**
+	 * Gets the timer of the online fetches, the cache hit ratio is 1 - fetches / lookups
+	 *
+	 * @param source {@link String} ocsp, crl or aia
+	 * @param success true for the successful fetches
+	 * @return {@link Timer}
+	 */
+	public Timer getRevocationFetchTimer(String source, boolean success) {
+		return Timer.builder("dss.revocation.fetch")
+				.description("Duration of the revocation data and AIA certificates downloads")
+				.tag("source", source)
+				.tag(OUTCOME, success ? SUCCESS : FAILURE)
+				.register(meterRegistry);
+	}
+
+	/**
+	 * Records a refresh of the trusted lists and the state of each trusted list after it
+	 *
+	 * @param sample {@link Timer.Sample} started before the refresh
+	 * @param type {@link String} online or offline
+	 * @param summary {@link TLValidationJobSummary} after the refresh
+	 */
+	public void recordTLRefresh(Timer.Sample sample, String type, TLValidationJobSummary summary) {
+		sample.stop(Timer.builder("dss.tl.refresh")
+				.description("Duration of the trusted lists refresh")
+				.tag("type", type)
+				.register(meterRegistry));
+		for (LOTLInfo lotlInfo : summary.getLOTLInfos()) {
+			recordTLOutcome(lotlInfo);
+			for (TLInfo tlInfo : lotlInfo.getTLInfos()) {
+				recordTLOutcome(tlInfo);
+			}
+		}
+		for (TLInfo tlInfo : summary.getOtherTLInfos()) {
+			recordTLOutcome(tlInfo);
+		}
+	}
+
+	/**
+	 * Records the number of trusted lists downloaded and processed again by a refresh
+	 *
+	 * @param refresh {@link TLLoadingStatistics.TLRefresh}
+	 */
+	public void recordTLRefreshStatistics(TLLoadingStatistics.TLRefresh refresh) {
+		recordTLRefreshDocuments("downloaded", refresh.getDownloadedCount());
+		recordTLRefreshDocuments("not_modified", refresh.getNotModifiedCount());
+		recordTLRefreshDocuments("reprocessed", refresh.getReprocessedCount());
+	}
+
+	private void recordTLRefreshDocuments(String result, int count) {
+		Counter.builder("dss.tl.refresh.documents")
+				.description("Number of trusted lists downloaded and processed again by the refreshes")
+				.tag("result", result)
+				.register(meterRegistry)
+				.increment(count);
+	}
+
+	/**
+	 * Records the sizes of a compressed response
+	 *
+	 * @param encoding {@link String} the content-encoding
+	 * @param originalBytes the size of the response before the compression
+	 * @param compressedBytes the size of the sent response
+	 */
+	public void recordCompression(String encoding, long originalBytes, long compressedBytes) {
+		Counter.builder("dss.http.compression.bytes")
+				.description("Size of the compressed responses")
+				.tag("encoding", encoding)
+				.tag("size", "original")
+				.register(meterRegistry)
+				.increment(originalBytes);
+		Counter.builder("dss.http.compression.bytes")
+				.description("Size of the compressed responses")
+				.tag("encoding", encoding)
+				.tag("size", "compressed")
+				.register(meterRegistry)
+				.increment(compressedBytes);
+		Counter.builder("dss.http.compression.saved.bytes")
+				.description("Bytes saved by the compression of the responses")
+				.tag("encoding", encoding)
+				.register(meterRegistry)
+				.increment(Math.max(0, originalBytes - compressedBytes));
+	}
+
+	/**
+	 * Gets the timer of the trusted list downloads.
+	 * The durations per URL are not tagged (one time series per trusted list), they are kept by TLLoadingStatistics.
+	 *
+	 * @param success TRUE if the trusted list has been downloaded
+	 * @return {@link Timer}
+	 */
+	public Timer getTLDownloadTimer(boolean success) {
+		return Timer.builder("dss.tl.download")
+				.description("Duration of the trusted list downloads")
+				.tag(OUTCOME, success ? SUCCESS : FAILURE)
+				.register(meterRegistry);
+	}
+
+	private void recordTLOutcome(TLInfo tlInfo) {
+		String territory = tlInfo.getParsingCacheInfo() != null && tlInfo.getParsingCacheInfo().isResultExist() ?
+				tlInfo.getParsingCacheInfo().getTerritory() : null;
+		Counter.builder("dss.tl.refresh.outcome")
+				.description("Outcome of each trusted list on a refresh")
+				.tag("tl", territory != null ? territory : tlInfo.getUrl())
+				.tag(OUTCOME, getTLOutcome(tlInfo))
+				.register(meterRegistry)
+				.increment();
+	}
+
+	private String getTLOutcome(TLInfo tlInfo) {
+		if (isError(tlInfo.getDownloadCacheInfo())) {
+			return "download_error";
+		}
+		if (isError(tlInfo.getParsingCacheInfo())) {
+			return "parsing_error";
+		}
+		ValidationInfoRecord validationInfo = tlInfo.getValidationCacheInfo();
+		if (isError(validationInfo)) {
+			return "validation_error";
+		}
+		if (validationInfo == null || !validationInfo.isResultExist()) {
+			return NONE;
+		}
+		return Indication.TOTAL_PASSED == validationInfo.getIndication() ? "valid" : "invalid";
+	}
+
+	private boolean isError(InfoRecord infoRecord) {
+		return infoRecord != null && infoRecord.isError();
+	}
+
+	/**
+	 * Exposes the rendering durations collected in the given {@code RenderingMetrics}
+	 *
+	 * @param renderingMetrics {@link RenderingMetrics}
+	 * @param renderer {@link String} xslt or fop
+	 */
+	public void bind(RenderingMetrics renderingMetrics, String renderer) {
+		for (ReportType reportType : ReportType.values()) {
+			FunctionTimer.builder("dss.rendering", renderingMetrics,
+							m -> m.getCount(reportType), m -> m.getTotalTime(reportType, TimeUnit.NANOSECONDS), TimeUnit.NANOSECONDS)
+					.description("Duration of the report renderings")
+					.tag("renderer", renderer)
+					.tag("report", reportType.name())
+					.register(meterRegistry);
+		}
+	}
+
+	/**
+	 * Exposes the statistics of the given {@code RenderCache}
+	 *
+	 * @param renderCache {@link RenderCache}
+	 */
+	public void bind(RenderCache renderCache) {
+		bindCache("render", renderCache, RenderCache::getHitCount, RenderCache::getMissCount);
+		FunctionCounter.builder("dss.cache.evictions", renderCache, RenderCache::getEvictionCount)
+				.tag("cache", "render").register(meterRegistry);
+		Gauge.builder("dss.cache.entries", renderCache, RenderCache::getEntriesCount)
+				.tag("cache", "render").register(meterRegistry);
+		Gauge.builder("dss.cache.bytes", renderCache, RenderCache::getBytes)
+				.tag("cache", "render").register(meterRegistry);
+	}
+
+	/**
+	 * Exposes the statistics of the given in-memory revocation cache
+	 *
+	 * @param revocationTokenCache {@link RevocationTokenCache}
+	 * @param source {@link String} ocsp or crl
+	 */
+	public void bind(RevocationTokenCache<?> revocationTokenCache, String source) {
+		String name = source + "-memory";
+		bindCache(name, revocationTokenCache, RevocationTokenCache::getHitCount, RevocationTokenCache::getMissCount);
+		FunctionCounter.builder("dss.cache.evictions", revocationTokenCache, RevocationTokenCache::getEvictionCount)
+				.tag("cache", name).register(meterRegistry);
+		Gauge.builder("dss.cache.entries", revocationTokenCache, RevocationTokenCache::getEntriesCount)
+				.tag("cache", name).register(meterRegistry);
+		Gauge.builder("dss.cache.bytes", revocationTokenCache, RevocationTokenCache::getWeightedSize)
+				.tag("cache", name).register(meterRegistry);
+	}
+
+	/**
+	 * Exposes the statistics of the given revocation prefetcher
+	 *
+	 * @param revocationPrefetcher {@link RevocationPrefetcher}
+	 * @param source {@link String} ocsp or crl
+	 */
+	public void bind(RevocationPrefetcher<?> revocationPrefetcher, String source) {
+		FunctionCounter.builder("dss.revocation.prefetch", revocationPrefetcher, RevocationPrefetcher::getRefreshCount)
+				.tag("source", source).tag("outcome", "success").register(meterRegistry);
+		FunctionCounter.builder("dss.revocation.prefetch", revocationPrefetcher, RevocationPrefetcher::getFailureCount)
+				.tag("source", source).tag("outcome", "failure").register(meterRegistry);
+		Gauge.builder("dss.revocation.prefetch.working.set", revocationPrefetcher, RevocationPrefetcher::getWorkingSetSize)
+				.tag("source", source).register(meterRegistry);
+	}
+
+	/**
+	 * Exposes the statistics of the given {@code ValidationPolicyRegistry}
+	 *
+	 * @param validationPolicyRegistry {@link ValidationPolicyRegistry}
+	 */
+	public void bind(ValidationPolicyRegistry validationPolicyRegistry) {
+		bindCache("validation-policy", validationPolicyRegistry,
+				ValidationPolicyRegistry::getHitCount, ValidationPolicyRegistry::getMissCount);
+		Gauge.builder("dss.cache.entries", validationPolicyRegistry, ValidationPolicyRegistry::getCustomPoliciesCount)
+				.tag("cache", "validation-policy").register(meterRegistry);
+	}
+
+	/**
+	 * Exposes the number of reports kept in the given {@code CompressedReportStore}
+	 *
+	 * @param reportStore {@link CompressedReportStore}
+	 */
+	public void bind(CompressedReportStore reportStore) {
+		Gauge.builder("dss.report.store.entries", reportStore, CompressedReportStore::getMemoryEntriesCount)
+				.tag("location", "memory").register(meterRegistry);
+		Gauge.builder("dss.report.store.entries", reportStore, CompressedReportStore::getSpilledEntriesCount)
+				.tag("location", "disk").register(meterRegistry);
+	}
+
+	/**
+	 * Exposes the number of jobs kept by the given {@code ValidationJobService}
+	 *
+	 * @param validationJobService {@link ValidationJobService}
+	 */
+	public void bind(ValidationJobService validationJobService) {
+		Gauge.builder("dss.validation.jobs", validationJobService, ValidationJobService::getJobsCount)
+				.description("Number of validation jobs in progress or with an available result")
+				.register(meterRegistry);
+	}
+
+	private <T> void bindCache(String name, T cache, ToDoubleFunction<T> hits,
+							   ToDoubleFunction<T> misses) {
+		FunctionCounter.builder("dss.cache.requests", cache, hits)
+				.tag("cache", name).tag("result", "hit").register(meterRegistry);
+		FunctionCounter.builder("dss.cache.requests", cache, misses)
+				.tag("cache", name).tag("result", "miss").register(meterRegistry);
+	}
+
+}
@@ -0,0 +1,272 @@
+package eu.europa.esig.dss.web.service;
+
+import eu.europa.esig.dss.enumerations.DigestAlgorithm;
+import eu.europa.esig.dss.spi.DSSUtils;
+import eu.europa.esig.dss.utils.Utils;
+import eu.europa.esig.dss.web.model.ReportType;
+
+import java.io.ByteArrayOutputStream;
+import java.io.FilterOutputStream;
+import java.io.FilterWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Content-addressed cache of rendered reports (HTML, SVG, PDF).
+ * An entry is identified by the digest of the report XML, the used template and its parameters,
+ * so the same report is rendered only once, whatever the session it is requested from.
+ * The cache is limited by the total size of the rendered documents.
+ *
+ */
+public class RenderCache {
+
+	/** Maximum number of bytes of all cached documents */
+	private final long maxBytes;
+
+	/** Documents bigger than this limit are not cached */
+	private final long maxEntryBytes;
+
+	private final LinkedHashMap<String, byte[]> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+	private long bytes;
+
+	private final AtomicLong hitCount = new AtomicLong();
+
+	private final AtomicLong missCount = new AtomicLong();
+
+	private final AtomicLong evictionCount = new AtomicLong();
+
+	/**
+	 * Default constructor
+	 *
+	 * @param maxBytes maximum number of bytes of all cached documents
+	 * @param maxEntryBytes maximum size of a single cached document
+	 */
+	public RenderCache(long maxBytes, long maxEntryBytes) {
+		this.maxBytes = maxBytes;
+		this.maxEntryBytes = Math.min(maxEntryBytes, maxBytes);
+	}
+
+	/**
+	 * Computes the key of a rendered document
+	 *
+	 * @param format {@link String} the output format (e.g. HTML, PDF)
+	 * @param reportType {@link ReportType} the rendered report
+	 * @param xmlReport {@link String} the report XML
+	 * @param parameters the parameters given to the template
+	 * @return {@link String} the cache key
+	 */
+	public String getKey(String format, ReportType reportType, String xmlReport, String... parameters) {
+		StringBuilder sb = new StringBuilder();
+		sb.append(format).append(':').append(reportType.name()).append(':');
+		sb.append(Utils.toHex(DSSUtils.digest(DigestAlgorithm.SHA256, xmlReport.getBytes(StandardCharsets.UTF_8))));
+		for (String parameter : parameters) {
+			sb.append(':').append(parameter);
+		}
+		return sb.toString();
+	}
+
+	/**
+	 * Gets a cached document
+	 *
+	 * @param key {@link String} obtained with {@code getKey(...)}
+	 * @return the rendered document, or NULL if not cached
+	 */
+	public byte[] get(String key) {
+		byte[] document;
+		synchronized (entries) {
+			document = entries.get(key);
+		}
+		if (document != null) {
+			hitCount.incrementAndGet();
+		} else {
+			missCount.incrementAndGet();
+		}
+		return document;
+	}
+
+	/**
+	 * Adds a rendered document to the cache, if its size allows it
+	 *
+	 * @param key {@link String} obtained with {@code getKey(...)}
+	 * @param document the rendered document
+	 */
+	public void put(String key, byte[] document) {
+		if (document == null || document.length > maxEntryBytes) {
+			return;
+		}
+		synchronized (entries) {
+			byte[] previous = entries.put(key, document);
+			if (previous != null) {
+				bytes -= previous.length;
+			}
+			bytes += document.length;
+
+			Iterator<Map.Entry<String, byte[]>> it = entries.entrySet().iterator();
+			while (bytes > maxBytes && it.hasNext()) {
+				Map.Entry<String, byte[]> eldest = it.next();
+				it.remove();
+				bytes -= eldest.getValue().length;
+				evictionCount.incrementAndGet();
+			}
+		}
+	}
+
+	/**
+	 * Wraps the output stream in order to keep a copy of the written bytes, up to the maximum entry size
+	 *
+	 * @param os {@link OutputStream} to write the rendered document to
+	 * @return {@link CapturingOutputStream}
+	 */
+	public CapturingOutputStream capture(OutputStream os) {
+		return new CapturingOutputStream(os, maxEntryBytes);
+	}
+
+	/**
+	 * Wraps the writer in order to keep a copy of the written characters, up to the maximum entry size
+	 *
+	 * @param writer {@link Writer} to write the rendered document to
+	 * @return {@link CapturingWriter}
+	 */
+	public CapturingWriter capture(Writer writer) {
+		return new CapturingWriter(writer, maxEntryBytes);
+	}
+
+	public long getHitCount() {
+		return hitCount.get();
+	}
+
+	public long getMissCount() {
+		return missCount.get();
+	}
+
+	public long getEvictionCount() {
+		return evictionCount.get();
+	}
+
+	public int getEntriesCount() {
+		synchronized (entries) {
+			return entries.size();
+		}
+	}
+
+	public long getBytes() {
+		synchronized (entries) {
+			return bytes;
+		}
+	}
+
+	/**
+	 * Forwards the written bytes and keeps a copy of them, as long as the limit is not reached
+	 */
+	public static class CapturingOutputStream extends FilterOutputStream {
+
+		private final long limit;
+
+		private ByteArrayOutputStream copy = new ByteArrayOutputStream();
+
+		private CapturingOutputStream(OutputStream os, long limit) {
+			super(os);
+			this.limit = limit;
+		}
+
+		@Override
+		public void write(int b) throws IOException {
+			out.write(b);
+			if (copy != null) {
+				copy.write(b);
+				checkLimit();
+			}
+		}
+
+		@Override
+		public void write(byte[] b, int off, int len) throws IOException {
+			out.write(b, off, len);
+			if (copy != null) {
+				copy.write(b, off, len);
+				checkLimit();
+			}
+		}
+
+		private void checkLimit() {
+			if (copy.size() > limit) {
+				copy = null;
+			}
+		}
+
+		/**
+		 * Gets the written bytes
+		 *
+		 * @return the written bytes, or NULL if the limit has been exceeded
+		 */
+		public byte[] getCaptured() {
+			return copy != null ? copy.toByteArray() : null;
+		}
+
+	}
+
+	/**
+	 * Forwards the written characters and keeps a copy of them, as long as the limit is not reached
+	 */
+	public static class CapturingWriter extends FilterWriter {
+
+		private final long limit;
+
+		private StringBuilder copy = new StringBuilder();
+
+		private CapturingWriter(Writer writer, long limit) {
+			super(writer);
+			this.limit = limit;
+		}
+
+		@Override
+		public void write(int c) throws IOException {
+			out.write(c);
+			if (copy != null) {
+				copy.append((char) c);
+				checkLimit();
+			}
+		}
+
+		@Override
+		public void write(char[] cbuf, int off, int len) throws IOException {
+			out.write(cbuf, off, len);
+			if (copy != null) {
+				copy.append(cbuf, off, len);
+				checkLimit();
+			}
+		}
+
+		@Override
+		public void write(String str, int off, int len) throws IOException {
+			out.write(str, off, len);
+			if (copy != null) {
+				copy.append(str, off, off + len);
+				checkLimit();
+			}
+		}
+
+		private void checkLimit() {
+			if (copy.length() > limit) {
+				copy = null;
+			}
+		}
+
+		/**
+		 * Gets the written characters
+		 *
+		 * @return the written characters, or NULL if the limit has been exceeded
+		 */
+		public String getCaptured() {
+			return copy != null ? copy.toString() : null;
+		}
+
+	}
+
+}
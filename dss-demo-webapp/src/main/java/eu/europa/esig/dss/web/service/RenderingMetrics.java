@@ -0,0 +1,80 @@
+package eu.europa.esig.dss.web.service;
+
+import eu.europa.esig.dss.web.model.ReportType;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Collects the number and the duration of report renderings, per report type
+ *
+ */
+public class RenderingMetrics {
+
+	private final Map<ReportType, Timing> timings = new EnumMap<>(ReportType.class);
+
+	public RenderingMetrics() {
+		for (ReportType reportType : ReportType.values()) {
+			timings.put(reportType, new Timing());
+		}
+	}
+
+	/**
+	 * Records a rendering
+	 *
+	 * @param reportType {@link ReportType} the rendered report
+	 * @param durationNanos the duration of the rendering in nanoseconds
+	 */
+	public void record(ReportType reportType, long durationNanos) {
+		Timing timing = timings.get(reportType);
+		timing.count.increment();
+		timing.totalNanos.add(durationNanos);
+		timing.maxNanos.accumulate(durationNanos);
+	}
+
+	/**
+	 * Gets the number of renderings of the given report type
+	 *
+	 * @param reportType {@link ReportType}
+	 * @return number of renderings
+	 */
+	public long getCount(ReportType reportType) {
+		return timings.get(reportType).count.sum();
+	}
+
+	/**
+	 * Gets the total duration of the renderings of the given report type
+	 *
+	 * @param reportType {@link ReportType}
+	 * @param unit {@link TimeUnit} of the returned value
+	 * @return total duration
+	 */
+	public long getTotalTime(ReportType reportType, TimeUnit unit) {
+		return unit.convert(timings.get(reportType).totalNanos.sum(), TimeUnit.NANOSECONDS);
+	}
+
+	/**
+	 * Gets the longest rendering duration of the given report type
+	 *
+	 * @param reportType {@link ReportType}
+	 * @param unit {@link TimeUnit} of the returned value
+	 * @return maximum duration
+	 */
+	public long getMaxTime(ReportType reportType, TimeUnit unit) {
+		return unit.convert(timings.get(reportType).maxNanos.get(), TimeUnit.NANOSECONDS);
+	}
+
+	private static class Timing {
+
+		private final LongAdder count = new LongAdder();
+
+		private final LongAdder totalNanos = new LongAdder();
+
+		private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+
+	}
+
+}
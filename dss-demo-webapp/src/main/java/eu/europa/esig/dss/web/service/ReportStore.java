@@ -0,0 +1,35 @@
+package eu.europa.esig.dss.web.service;
+
+import eu.europa.esig.dss.web.model.StoredReports;
+
+/**
+ * Keeps validation reports outside the HTTP session.
+ * The session only holds the identifier returned on storage.
+ *
+ */
+public interface ReportStore {
+
+	/**
+	 * Stores the reports and returns a newly generated identifier
+	 *
+	 * @param reports {@link StoredReports} to store
+	 * @return {@link String} identifier of the stored reports
+	 */
+	String store(StoredReports reports);
+
+	/**
+	 * Gets the reports for the given identifier
+	 *
+	 * @param reportId {@link String} identifier returned on storage
+	 * @return {@link StoredReports} or NULL if the reports are not found (unknown identifier or evicted entry)
+	 */
+	StoredReports get(String reportId);
+
+	/**
+	 * Removes the reports for the given identifier
+	 *
+	 * @param reportId {@link String} identifier returned on storage
+	 */
+	void remove(String reportId);
+
+}
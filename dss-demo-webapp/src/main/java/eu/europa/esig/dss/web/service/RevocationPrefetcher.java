@@ -0,0 +1,252 @@
+package eu.europa.esig.dss.web.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import eu.europa.esig.dss.model.x509.CertificateToken;
+import eu.europa.esig.dss.spi.x509.revocation.RepositoryRevocationSource;
+import eu.europa.esig.dss.spi.x509.revocation.RevocationToken;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Refreshes the revocation data of the recently seen certificates before it expires.
+ * The certificates are recorded on each lookup (working set bounded by size and by idle time). A token is refreshed
+ * in the persistent cache once the given ratio of its validity period has elapsed, then replaced in the in-memory
+ * cache, so the validations almost never wait for the network.
+ * When the refresh fails or does not give a newer token (e.g. the CA did not publish a new CRL yet), the next
+ * attempt is delayed, the delay being doubled on each attempt up to the maximum recheck delay.
+ *
+ * @param <T> the type of the refreshed tokens
+ */
+public class RevocationPrefetcher<T extends RevocationToken<?>> {
+
+	private static final Logger LOG = LoggerFactory.getLogger(RevocationPrefetcher.class);
+
+	private final Cache<String, Entry> workingSet;
+
+	private final TokenLoader<T> tokenLoader;
+
+	private final RevocationTokenCache<T> tokenCache;
+
+	private final double refreshAheadRatio;
+
+	private final boolean sharedSourceUrl;
+
+	private long minRecheckDelay = TimeUnit.MINUTES.toMillis(5);
+
+	private long maxRecheckDelay = TimeUnit.HOURS.toMillis(1);
+
+	private final AtomicLong refreshCount = new AtomicLong();
+
+	private final AtomicLong failureCount = new AtomicLong();
+
+	/**
+	 * Default constructor
+	 *
+	 * @param repositorySource {@link RepositoryRevocationSource} the persistent cache to refresh
+	 * @param tokenCache {@link RevocationTokenCache} the in-memory cache to update
+	 * @param workingSetSize maximum number of recorded certificates
+	 * @param maxIdleTime delay in seconds after which a certificate not seen anymore is not refreshed
+	 * @param refreshAheadRatio elapsed part of the validity period (between 0 and 1) triggering the refresh
+	 * @param sharedSourceUrl TRUE if the tokens are stored by source URL (CRL), a URL is then downloaded once per run.
+	 *                        FALSE if they are stored by certificate (OCSP), each token is then downloaded
+	 */
+	public RevocationPrefetcher(RepositoryRevocationSource<T> repositorySource, RevocationTokenCache<T> tokenCache,
+								long workingSetSize, long maxIdleTime, double refreshAheadRatio, boolean sharedSourceUrl) {
+		this((certificateToken, issuerCertificateToken, alternativeUrls, forceRefresh) -> alternativeUrls != null
+						? repositorySource.getRevocationToken(certificateToken, issuerCertificateToken, alternativeUrls, forceRefresh)
+						: repositorySource.getRevocationToken(certificateToken, issuerCertificateToken, forceRefresh),
+				tokenCache, workingSetSize, maxIdleTime, refreshAheadRatio, sharedSourceUrl);
+	}
+
+	RevocationPrefetcher(TokenLoader<T> tokenLoader, RevocationTokenCache<T> tokenCache,
+						 long workingSetSize, long maxIdleTime, double refreshAheadRatio, boolean sharedSourceUrl) {
+		if (refreshAheadRatio <= 0 || refreshAheadRatio > 1) {
+			throw new IllegalArgumentException("The refresh ahead ratio shall be between 0 (excluded) and 1");
+		}
+		this.tokenLoader = tokenLoader;
+		this.tokenCache = tokenCache;
+		this.refreshAheadRatio = refreshAheadRatio;
+		this.sharedSourceUrl = sharedSourceUrl;
+		this.workingSet = Caffeine.newBuilder()
+				.maximumSize(workingSetSize)
+				.expireAfterAccess(maxIdleTime, TimeUnit.SECONDS)
+				.build();
+	}
+
+	/**
+	 * Sets the delays before a new attempt, when the refresh failed or did not give a newer token
+	 *
+	 * @param minRecheckDelay delay in seconds after the first attempt
+	 * @param maxRecheckDelay maximum delay in seconds, once doubled on each attempt
+	 */
+	public void setRecheckDelays(long minRecheckDelay, long maxRecheckDelay) {
+		if (minRecheckDelay <= 0 || maxRecheckDelay < minRecheckDelay) {
+			throw new IllegalArgumentException("The recheck delays shall be positive, the maximum not lower than the minimum");
+		}
+		this.minRecheckDelay = TimeUnit.SECONDS.toMillis(minRecheckDelay);
+		this.maxRecheckDelay = TimeUnit.SECONDS.toMillis(maxRecheckDelay);
+	}
+
+	/**
+	 * Records the token returned for a certificate
+	 *
+	 * @param certificateToken {@link CertificateToken} the certificate
+	 * @param issuerCertificateToken {@link CertificateToken} its issuer
+	 * @param alternativeUrls the alternative URLs of the lookup, reused on refresh (NULL if none)
+	 * @param token the returned token (NULL if none)
+	 */
+	public void record(CertificateToken certificateToken, CertificateToken issuerCertificateToken,
+					   List<String> alternativeUrls, T token) {
+		if (token == null || token.getThisUpdate() == null) {
+			return;
+		}
+		String key = tokenCache.getKey(certificateToken, issuerCertificateToken);
+		long thisUpdate = token.getThisUpdate().getTime();
+		Entry entry = workingSet.getIfPresent(key);
+		if (entry != null && entry.thisUpdate >= thisUpdate) {
+			// already scheduled, possibly delayed after an unsuccessful refresh
+			return;
+		}
+		long expirationTime = tokenCache.getExpirationTime(token);
+		if (expirationTime <= 0) {
+			return;
+		}
+		long refreshTime = thisUpdate + (long) ((expirationTime - thisUpdate) * refreshAheadRatio);
+		workingSet.put(key, new Entry(certificateToken, issuerCertificateToken, alternativeUrls,
+				token.getSourceURL(), thisUpdate, refreshTime));
+	}
+
+	/**
+	 * Refreshes the tokens reaching their refresh time. With shared source URLs, a data source shared by several
+	 * certificates (a CRL) is downloaded only once.
+	 *
+	 * @return the number of refreshed tokens
+	 */
+	public int refresh() {
+		return refresh(System.currentTimeMillis());
+	}
+
+	int refresh(long now) {
+		List<Entry> toRefresh = new ArrayList<>();
+		for (Entry entry : workingSet.asMap().values()) {
+			if (entry.refreshTime <= now) {
+				toRefresh.add(entry);
+			}
+		}
+		Set<String> refreshedUrls = new HashSet<>();
+		int refreshed = 0;
+		for (Entry entry : toRefresh) {
+			// an OCSP responder URL is shared by the certificates, but each one has its own response
+			boolean forceRefresh = !sharedSourceUrl || entry.sourceUrl == null || !refreshedUrls.contains(entry.sourceUrl);
+			try {
+				T token = tokenLoader.load(entry.certificateToken, entry.issuerCertificateToken, entry.alternativeUrls, forceRefresh);
+				if (sharedSourceUrl && forceRefresh && entry.sourceUrl != null) {
+					refreshedUrls.add(entry.sourceUrl);
+				}
+				if (token != null && token.getThisUpdate() != null && token.getThisUpdate().getTime() > entry.thisUpdate) {
+					tokenCache.put(entry.certificateToken, entry.issuerCertificateToken, token);
+					entry.reschedule(token.getThisUpdate().getTime(), getRefreshTime(token, now));
+					refreshed++;
+				} else {
+					// no newer data published yet
+					entry.delay(now, minRecheckDelay, maxRecheckDelay);
+				}
+			} catch (Exception e) {
+				// the token is fetched synchronously if it expires meanwhile
+				failureCount.incrementAndGet();
+				entry.delay(now, minRecheckDelay, maxRecheckDelay);
+				LOG.debug("Unable to refresh the revocation data of '{}' : {}",
+						entry.certificateToken.getDSSIdAsString(), e.getMessage());
+			}
+		}
+		refreshCount.addAndGet(refreshed);
+		return refreshed;
+	}
+
+	private long getRefreshTime(T token, long now) {
+		long thisUpdate = token.getThisUpdate().getTime();
+		long expirationTime = tokenCache.getExpirationTime(token);
+		if (expirationTime <= 0) {
+			// not cached, checked again later
+			return now + minRecheckDelay;
+		}
+		return Math.max(now, thisUpdate + (long) ((expirationTime - thisUpdate) * refreshAheadRatio));
+	}
+
+	public long getWorkingSetSize() {
+		return workingSet.estimatedSize();
+	}
+
+	public long getRefreshCount() {
+		return refreshCount.get();
+	}
+
+	public long getFailureCount() {
+		return failureCount.get();
+	}
+
+	/**
+	 * Loads a token from the persistent cache, or from the online source when forced
+	 *
+	 * @param <T> the type of the loaded tokens
+	 */
+	interface TokenLoader<T> {
+
+		T load(CertificateToken certificateToken, CertificateToken issuerCertificateToken,
+			   List<String> alternativeUrls, boolean forceRefresh);
+
+	}
+
+	/**
+	 * A recorded certificate. The schedule is updated in place by the refresh, which shall not postpone
+	 * the expiration of the certificates not seen anymore.
+	 */
+	private static final class Entry {
+
+		private final CertificateToken certificateToken;
+
+		private final CertificateToken issuerCertificateToken;
+
+		private final List<String> alternativeUrls;
+
+		private final String sourceUrl;
+
+		private volatile long thisUpdate;
+
+		private volatile long refreshTime;
+
+		private volatile int attempts;
+
+		private Entry(CertificateToken certificateToken, CertificateToken issuerCertificateToken,
+					  List<String> alternativeUrls, String sourceUrl, long thisUpdate, long refreshTime) {
+			this.certificateToken = certificateToken;
+			this.issuerCertificateToken = issuerCertificateToken;
+			this.alternativeUrls = alternativeUrls;
+			this.sourceUrl = sourceUrl;
+			this.thisUpdate = thisUpdate;
+			this.refreshTime = refreshTime;
+		}
+
+		private void reschedule(long thisUpdate, long refreshTime) {
+			this.thisUpdate = thisUpdate;
+			this.refreshTime = refreshTime;
+			this.attempts = 0;
+		}
+
+		private void delay(long now, long minDelay, long maxDelay) {
+			long delay = minDelay << Math.min(attempts, 30);
+			this.refreshTime = now + Math.min(delay, maxDelay);
+			this.attempts++;
+		}
+
+	}
+
+}
@@ -0,0 +1,240 @@
+package eu.europa.esig.dss.web.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import eu.europa.esig.dss.model.x509.CertificateToken;
+import eu.europa.esig.dss.spi.x509.revocation.RevocationToken;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * In-memory cache of parsed revocation tokens, in front of a persistent (JDBC or file) cache.
+ * The tokens are kept until their next update, limited as the persistent caches do by the
+ * default and maximum next update delays. The cache is bounded by the number of entries and
+ * by the size of the encoded tokens (a CRL token weighs the whole CRL, even if it is shared
+ * with the tokens of the other certificates of the same issuer).
+ *
+ * @param <T> the type of the cached tokens
+ */
+public class RevocationTokenCache<T extends RevocationToken<?>> {
+
+	private final Cache<String, Entry<T>> cache;
+
+	/** Minimum weight of an entry, in order to bound the number of entries together with the size */
+	private final int minEntryWeight;
+
+	private final long defaultNextUpdateDelay;
+
+	private final long maxNextUpdateDelay;
+
+	/**
+	 * Default constructor
+	 *
+	 * @param maxEntries maximum number of cached tokens
+	 * @param maxBytes maximum size of all the encoded tokens
+	 * @param defaultNextUpdateDelay delay in seconds after thisUpdate used when the token has no nextUpdate
+	 *                               (0 : such tokens are not cached)
+	 * @param maxNextUpdateDelay maximum delay in seconds after thisUpdate (0 : no limit)
+	 */
+	public RevocationTokenCache(long maxEntries, long maxBytes, long defaultNextUpdateDelay, long maxNextUpdateDelay) {
+		this.minEntryWeight = (int) Math.min(Integer.MAX_VALUE, (maxBytes + maxEntries - 1) / Math.max(1, maxEntries));
+		this.defaultNextUpdateDelay = TimeUnit.SECONDS.toMillis(defaultNextUpdateDelay);
+		this.maxNextUpdateDelay = TimeUnit.SECONDS.toMillis(maxNextUpdateDelay);
+		// Caffeine cannot bound both the size and the weight : a small token weighs maxBytes / maxEntries
+		this.cache = Caffeine.newBuilder()
+				.maximumWeight(maxBytes)
+				.weigher((String key, Entry<T> entry) -> entry.weight)
+				.expireAfter(new EntryExpiry<T>())
+				.recordStats()
+				.build();
+	}
+
+	String getKey(CertificateToken certificateToken, CertificateToken issuerCertificateToken) {
+		return certificateToken.getDSSIdAsString() + ":" +
+				(issuerCertificateToken != null ? issuerCertificateToken.getDSSIdAsString() : "");
+	}
+
+	/**
+	 * Gets the cached token of a certificate
+	 *
+	 * @param certificateToken {@link CertificateToken} the certificate to get the revocation data for
+	 * @param issuerCertificateToken {@link CertificateToken} its issuer
+	 * @return the token, or NULL if not cached or expired
+	 */
+	public T get(CertificateToken certificateToken, CertificateToken issuerCertificateToken) {
+		Entry<T> entry = cache.getIfPresent(getKey(certificateToken, issuerCertificateToken));
+		return entry != null ? entry.token : null;
+	}
+
+	/**
+	 * Adds the token of a certificate to the cache, if it is not expired yet
+	 *
+	 * @param certificateToken {@link CertificateToken} the certificate
+	 * @param issuerCertificateToken {@link CertificateToken} its issuer
+	 * @param token the token to cache
+	 */
+	public void put(CertificateToken certificateToken, CertificateToken issuerCertificateToken, T token) {
+		if (token == null) {
+			return;
+		}
+		long expirationTime = getExpirationTime(token);
+		if (expirationTime <= System.currentTimeMillis()) {
+			return;
+		}
+		byte[] encoded = token.getEncoded();
+		int size = encoded != null ? encoded.length : 0;
+		cache.put(getKey(certificateToken, issuerCertificateToken), new Entry<>(certificateToken, issuerCertificateToken,
+				token, expirationTime, Math.max(size, minEntryWeight)));
+	}
+
+	/**
+	 * Gets the certificates of the most used tokens, in order to load them again after a restart
+	 *
+	 * @param limit the maximum number of returned certificates
+	 * @return a list of {@link CertificateAndIssuer}, the most used first
+	 */
+	public List<CertificateAndIssuer> getHottest(int limit) {
+		Map<String, Entry<T>> hottest = cache.policy().eviction()
+				.map(eviction -> eviction.hottest(limit)).orElse(Collections.emptyMap());
+		List<CertificateAndIssuer> result = new ArrayList<>();
+		for (Entry<T> entry : hottest.values()) {
+			result.add(new CertificateAndIssuer(entry.certificateToken, entry.issuerCertificateToken));
+		}
+		return result;
+	}
+
+	/**
+	 * Gets the time until which the token is cached
+	 *
+	 * @param token the token
+	 * @return the time in milliseconds, 0 if the token cannot be cached
+	 */
+	long getExpirationTime(T token) {
+		Date thisUpdate = token.getThisUpdate();
+		Date nextUpdate = token.getNextUpdate();
+		if (thisUpdate == null) {
+			return nextUpdate != null ? nextUpdate.getTime() : 0;
+		}
+		long expirationTime;
+		if (nextUpdate != null) {
+			expirationTime = nextUpdate.getTime();
+		} else if (defaultNextUpdateDelay > 0) {
+			expirationTime = thisUpdate.getTime() + defaultNextUpdateDelay;
+		} else {
+			return 0;
+		}
+		if (maxNextUpdateDelay > 0) {
+			expirationTime = Math.min(expirationTime, thisUpdate.getTime() + maxNextUpdateDelay);
+		}
+		return expirationTime;
+	}
+
+	public long getHitCount() {
+		return cache.stats().hitCount();
+	}
+
+	public long getMissCount() {
+		return cache.stats().missCount();
+	}
+
+	public long getEvictionCount() {
+		return cache.stats().evictionCount();
+	}
+
+	public long getEntriesCount() {
+		return cache.estimatedSize();
+	}
+
+	/**
+	 * Gets the weighted size of the cache (the size of the encoded tokens, at least maxBytes / maxEntries per token)
+	 *
+	 * @return the weighted size
+	 */
+	public long getWeightedSize() {
+		return cache.policy().eviction().map(eviction -> eviction.weightedSize().orElse(0L)).orElse(0L);
+	}
+
+	/**
+	 * Removes all the cached tokens
+	 */
+	public void clear() {
+		cache.invalidateAll();
+	}
+
+	/**
+	 * A certificate and its issuer, the key of a cached token
+	 */
+	public static final class CertificateAndIssuer {
+
+		private final CertificateToken certificateToken;
+
+		private final CertificateToken issuerCertificateToken;
+
+		public CertificateAndIssuer(CertificateToken certificateToken, CertificateToken issuerCertificateToken) {
+			this.certificateToken = certificateToken;
+			this.issuerCertificateToken = issuerCertificateToken;
+		}
+
+		public CertificateToken getCertificateToken() {
+			return certificateToken;
+		}
+
+		public CertificateToken getIssuerCertificateToken() {
+			return issuerCertificateToken;
+		}
+
+	}
+
+	private static final class Entry<T> {
+
+		private final CertificateToken certificateToken;
+
+		private final CertificateToken issuerCertificateToken;
+
+		private final T token;
+
+		private final long expirationTime;
+
+		private final int weight;
+
+		private Entry(CertificateToken certificateToken, CertificateToken issuerCertificateToken, T token,
+					  long expirationTime, int weight) {
+			this.certificateToken = certificateToken;
+			this.issuerCertificateToken = issuerCertificateToken;
+			this.token = token;
+			this.expirationTime = expirationTime;
+			this.weight = weight;
+		}
+
+	}
+
+	private static final class EntryExpiry<T> implements Expiry<String, Entry<T>> {
+
+		@Override
+		public long expireAfterCreate(String key, Entry<T> entry, long currentTime) {
+			return getRemainingNanos(entry);
+		}
+
+		@Override
+		public long expireAfterUpdate(String key, Entry<T> entry, long currentTime, long currentDuration) {
+			return getRemainingNanos(entry);
+		}
+
+		@Override
+		public long expireAfterRead(String key, Entry<T> entry, long currentTime, long currentDuration) {
+			return currentDuration;
+		}
+
+		private long getRemainingNanos(Entry<T> entry) {
+			return TimeUnit.MILLISECONDS.toNanos(Math.max(0, entry.expirationTime - System.currentTimeMillis()));
+		}
+
+	}
+
+}
@@ -1,6 +1,5 @@
 package eu.europa.esig.dss.web.service;
 
-import eu.europa.esig.dss.alert.LogOnStatusAlert;
 import eu.europa.esig.dss.asic.cades.ASiCWithCAdESSignatureParameters;
 import eu.europa.esig.dss.asic.cades.ASiCWithCAdESTimestampParameters;
 import eu.europa.esig.dss.asic.cades.signature.ASiCWithCAdESService;
@@ -38,7 +37,6 @@ import eu.europa.esig.dss.signature.DocumentSignatureService;
 import eu.europa.esig.dss.signature.MultipleDocumentsSignatureService;
 import eu.europa.esig.dss.spi.DSSUtils;
 import eu.europa.esig.dss.spi.validation.CertificateVerifier;
-import eu.europa.esig.dss.spi.validation.CertificateVerifierBuilder;
 import eu.europa.esig.dss.spi.x509.tsp.KeyEntityTSPSource;
 import eu.europa.esig.dss.spi.x509.tsp.TSPSource;
 import eu.europa.esig.dss.spi.x509.tsp.TimestampToken;
@@ -58,14 +56,19 @@ import eu.europa.esig.dss.xades.XAdESSignatureParameters;
 import eu.europa.esig.dss.xades.XAdESTimestampParameters;
 import eu.europa.esig.dss.xades.signature.XAdESCounterSignatureParameters;
 import eu.europa.esig.dss.xades.signature.XAdESService;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Component;
 
 import java.util.Collections;
+import java.util.EnumMap;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
 
 @Component
 public class SigningService {
@@ -73,11 +76,59 @@ public class SigningService {
 	private static final Logger LOG = LoggerFactory.getLogger(SigningService.class);
 
 	@Autowired
-	private CertificateVerifier certificateVerifier;
+	@Qualifier("expiredCertificateVerifier")
+	private CertificateVerifier expiredCertificateVerifier;
 
 	@Autowired
 	private TSPSource tspSource;
 
+	@Autowired
+	private CAdESService cadesService;
+
+	@Autowired
+	private PAdESService padesService;
+
+	@Autowired
+	private XAdESService xadesService;
+
+	@Autowired
+	private JAdESService jadesService;
+
+	@Autowired
+	private ASiCWithCAdESService asicWithCadesService;
+
+	@Autowired
+	private ASiCWithXAdESService asicWithXadesService;
+
+	@Autowired
+	private MetricsService metricsService;
+
+	/**
+	 * Signature services sharing the default {@code CertificateVerifier}
+	 */
+	private SignatureServices defaultSignatureServices;
+
+	/**
+	 * Signature services with a {@code CertificateVerifier} allowing signing with an expired certificate
+	 */
+	private SignatureServices expiredCertificateSignatureServices;
+
+	/**
+	 * Builds the signature services once on startup, in order to avoid a creation of new services
+	 * on each signature operation.
+	 */
+	@PostConstruct
+	public void init() {
+		defaultSignatureServices = new SignatureServices(cadesService, padesService, xadesService, jadesService,
+				asicWithCadesService, asicWithXadesService);
+
+		// the verifier reads the current trusted lists generation, it is not copied
+		CertificateVerifier cv = expiredCertificateVerifier;
+		expiredCertificateSignatureServices = new SignatureServices(new CAdESService(cv), new PAdESService(cv),
+				new XAdESService(cv), new JAdESService(cv), new ASiCWithCAdESService(cv), new ASiCWithXAdESService(cv));
+		expiredCertificateSignatureServices.setTspSource(tspSource);
+	}
+
 	public boolean isMockTSPSourceUsed() {
 		return tspSource instanceof KeyEntityTSPSource;
 	}
@@ -85,6 +136,7 @@ public class SigningService {
 	@SuppressWarnings({ "rawtypes", "unchecked" })
 	public DSSDocument extend(ExtensionForm extensionForm) {
 		LOG.info("Start extend signature");
+		Timer.Sample sample = metricsService.start();
 
 		ASiCContainerType containerType = extensionForm.getContainerType();
 		SignatureForm signatureForm = extensionForm.getSignatureForm();
@@ -101,14 +153,21 @@ public class SigningService {
 			parameters.setDetachedContents(originalDocuments);
 		}
 
-		DSSDocument extendDocument = service.extendDocument(signedDocument, parameters);
-		LOG.info("End extend signature");
-		return extendDocument;
+		try {
+			DSSDocument extendDocument = service.extendDocument(signedDocument, parameters);
+			LOG.info("End extend signature");
+			metricsService.recordSigning(sample, "extend", signatureForm, extensionForm.getSignatureLevel(), true);
+			return extendDocument;
+		} catch (RuntimeException e) {
+			metricsService.recordSigning(sample, "extend", signatureForm, extensionForm.getSignatureLevel(), false);
+			throw e;
+		}
 	}
 
 	@SuppressWarnings({ "rawtypes", "unchecked" })
 	public ToBeSigned getDataToSign(SignatureDocumentForm form) {
 		LOG.info("Start getDataToSign with one document");
+		Timer.Sample sample = metricsService.start();
 		DocumentSignatureService service = getSignatureService(form.getContainerType(), form.getSignatureForm(), form.isSignWithExpiredCertificate());
 
 		AbstractSignatureParameters parameters = fillParameters(form);
@@ -117,8 +176,10 @@ public class SigningService {
 			DSSDocument toSignDocument = WebAppUtils.toDSSDocument(form.getDocumentToSign());
 			ToBeSigned toBeSigned = service.getDataToSign(toSignDocument, parameters);
 			LOG.info("End getDataToSign with one document");
+			record(sample, "getDataToSign", form, true);
 			return toBeSigned;
 		} catch (Exception e) {
+			record(sample, "getDataToSign", form, false);
 			throw new SignatureOperationException(e.getMessage(), e);
 		}
 	}
@@ -126,6 +187,7 @@ public class SigningService {
 	@SuppressWarnings({ "rawtypes", "unchecked" })
 	public ToBeSigned getDataToSign(SignatureDigestForm form) {
 		LOG.info("Start getDataToSign with one digest");
+		Timer.Sample sample = metricsService.start();
 		DocumentSignatureService service = getSignatureService(null, form.getSignatureForm(), form.isSignWithExpiredCertificate());
 
 		AbstractSignatureParameters parameters = fillParameters(form);
@@ -134,8 +196,10 @@ public class SigningService {
 			DigestDocument toSignDigest = new DigestDocument(form.getDigestAlgorithm(), form.getDigestToSign(), form.getDocumentName());
 			ToBeSigned toBeSigned = service.getDataToSign(toSignDigest, parameters);
 			LOG.info("End getDataToSign with one digest");
+			record(sample, "getDataToSign", form, true);
 			return toBeSigned;
 		} catch (Exception e) {
+			record(sample, "getDataToSign", form, false);
 			throw new SignatureOperationException(e.getMessage(), e);
 		}
 	}
@@ -143,6 +207,7 @@ public class SigningService {
 	@SuppressWarnings({ "rawtypes", "unchecked" })
 	public ToBeSigned getDataToSign(SignatureMultipleDocumentsForm form) {
 		LOG.info("Start getDataToSign with multiple documents");
+		Timer.Sample sample = metricsService.start();
 		MultipleDocumentsSignatureService service = (MultipleDocumentsSignatureService)
 				getSignatureService(form.getContainerType(), form.getSignatureForm(), form.isSignWithExpiredCertificate());
 
@@ -152,8 +217,10 @@ public class SigningService {
 			List<DSSDocument> toSignDocuments = WebAppUtils.toDSSDocuments(form.getDocumentsToSign());
 			ToBeSigned toBeSigned = service.getDataToSign(toSignDocuments, parameters);
 			LOG.info("End getDataToSign with multiple documents");
+			record(sample, "getDataToSign", form, true);
 			return toBeSigned;
 		} catch (Exception e) {
+			record(sample, "getDataToSign", form, false);
 			throw new SignatureOperationException(e.getMessage(), e);
 		}
 	}
@@ -161,6 +228,7 @@ public class SigningService {
 	@SuppressWarnings({ "rawtypes", "unchecked" })
 	public ToBeSigned getDataToSign(SignatureJAdESForm form) {
 		LOG.info("Start getDataToSign with one JAdES");
+		Timer.Sample sample = metricsService.start();
 
 		MultipleDocumentsSignatureService service = (MultipleDocumentsSignatureService)
 				getSignatureService(SignatureForm.JAdES, form.isSignWithExpiredCertificate());
@@ -171,8 +239,10 @@ public class SigningService {
 			ToBeSigned toBeSigned = service.getDataToSign(toSignDocuments, parameters);
 				
 			LOG.info("End getDataToSign with one JAdES");
+			record(sample, "getDataToSign", form, true);
 			return toBeSigned;
 		} catch (Exception e) {
+			record(sample, "getDataToSign", form, false);
 			throw new SignatureOperationException(e.getMessage(), e);
 		}
 	}    
@@ -180,6 +250,7 @@ public class SigningService {
 	@SuppressWarnings({ "rawtypes", "unchecked" })
     public ToBeSigned getDataToCounterSign(CounterSignatureForm form) {
         LOG.info("Start getDataToSign with one document");
+        Timer.Sample sample = metricsService.start();
 
         try {
 	        DSSDocument signatureDocument = WebAppUtils.toDSSDocument(form.getDocumentToCounterSign());
@@ -191,8 +262,10 @@ public class SigningService {
 	        ToBeSigned toBeSigned = service.getDataToBeCounterSigned(signatureDocument, parameters);
 	
 	        LOG.info("End getDataToSign with one document");
+	        record(sample, "getDataToCounterSign", form, true);
 	        return toBeSigned;
 		} catch (Exception e) {
+			record(sample, "getDataToCounterSign", form, false);
 			throw new SignatureOperationException(e.getMessage(), e);
 		}
     }
@@ -200,6 +273,7 @@ public class SigningService {
 	@SuppressWarnings({ "rawtypes", "unchecked" })
 	public TimestampToken getContentTimestamp(SignatureDocumentForm form) {
 		LOG.info("Start getContentTimestamp with one document");
+		Timer.Sample sample = metricsService.start();
 
 		DocumentSignatureService service = getSignatureService(form.getContainerType(), form.getSignatureForm());
 		AbstractSignatureParameters parameters = fillParameters(form);
@@ -209,9 +283,11 @@ public class SigningService {
 			TimestampToken contentTimestamp = service.getContentTimestamp(toSignDocument, parameters);
 
 			LOG.info("End getContentTimestamp with one document");
+			record(sample, "getContentTimestamp", form, true);
 			return contentTimestamp;
 
 		} catch (Exception e) {
+			record(sample, "getContentTimestamp", form, false);
 			throw new SignatureOperationException(e.getMessage(), e);
 		}
 	}
@@ -219,6 +295,7 @@ public class SigningService {
 	@SuppressWarnings({ "rawtypes", "unchecked" })
 	public TimestampToken getContentTimestamp(SignatureDigestForm form) {
 		LOG.info("Start getContentTimestamp with one digest");
+		Timer.Sample sample = metricsService.start();
 
 		DocumentSignatureService service = getSignatureService(form.getSignatureForm());
 		AbstractSignatureParameters parameters = fillParameters(form);
@@ -228,9 +305,11 @@ public class SigningService {
 			TimestampToken contentTimestamp = service.getContentTimestamp(toSignDigest, parameters);
 
 			LOG.info("End getContentTimestamp with one digest");
+			record(sample, "getContentTimestamp", form, true);
 			return contentTimestamp;
 
 		} catch (Exception e) {
+			record(sample, "getContentTimestamp", form, false);
 			throw new SignatureOperationException(e.getMessage(), e);
 		}
 	}
@@ -238,6 +317,7 @@ public class SigningService {
 	@SuppressWarnings({ "rawtypes", "unchecked" })
 	public TimestampToken getContentTimestamp(SignatureMultipleDocumentsForm form) {
 		LOG.info("Start getContentTimestamp with multiple documents");
+		Timer.Sample sample = metricsService.start();
 
 		MultipleDocumentsSignatureService service = (MultipleDocumentsSignatureService)
 				getSignatureService(form.getContainerType(), form.getSignatureForm());
@@ -247,9 +327,11 @@ public class SigningService {
 			TimestampToken contentTimestamp = service.getContentTimestamp(WebAppUtils.toDSSDocuments(form.getDocumentsToSign()), parameters);
 
 			LOG.info("End getContentTimestamp with  multiple documents");
+			record(sample, "getContentTimestamp", form, true);
 			return contentTimestamp;
 
 		} catch (Exception e) {
+			record(sample, "getContentTimestamp", form, false);
 			throw new SignatureOperationException(e.getMessage(), e);
 		}
 	}
@@ -257,6 +339,7 @@ public class SigningService {
 	@SuppressWarnings({ "rawtypes", "unchecked" })
 	public TimestampToken getContentTimestamp(SignatureJAdESForm form) {
 		LOG.info("Start getContentTimestamp with JAdES");
+		Timer.Sample sample = metricsService.start();
 
 		MultipleDocumentsSignatureService service = (MultipleDocumentsSignatureService) getSignatureService(SignatureForm.JAdES);
 		JAdESSignatureParameters parameters = fillParameters(form);
@@ -266,9 +349,11 @@ public class SigningService {
 			TimestampToken contentTimestamp = service.getContentTimestamp(toSignDocuments, parameters);
 
 			LOG.info("End getContentTimestamp with JAdES");
+			record(sample, "getContentTimestamp", form, true);
 			return contentTimestamp;
 
 		} catch (Exception e) {
+			record(sample, "getContentTimestamp", form, false);
 			throw new SignatureOperationException(e.getMessage(), e);
 		}
 	}
@@ -284,13 +369,17 @@ public class SigningService {
 			if (dssDocuments.size() > 1) {
 				throw new DSSException("Only one document is allowed for PAdES");
 			}
+			Timer.Sample sample = metricsService.start();
 			DSSDocument toTimestampDocument = dssDocuments.get(0);
 			result = getSignatureService(SignatureForm.PAdES).timestamp(toTimestampDocument, new PAdESTimestampParameters());
+			metricsService.recordSigning(sample, "timestamp", SignatureForm.PAdES, null, true);
 		} else {
+			Timer.Sample sample = metricsService.start();
 			ASiCWithCAdESTimestampParameters parameters = new ASiCWithCAdESTimestampParameters();
 			parameters.aSiC().setContainerType(containerType);
 			MultipleDocumentsSignatureService service = (MultipleDocumentsSignatureService) getSignatureService(containerType, SignatureForm.CAdES);
 			result = service.timestamp(dssDocuments, parameters);
+			metricsService.recordSigning(sample, "timestamp", SignatureForm.CAdES, null, true);
 		}
 
 		LOG.info("End timestamp with {} document(s)", dssDocuments.size());
@@ -398,6 +487,7 @@ public class SigningService {
 	@SuppressWarnings({ "rawtypes", "unchecked" })
 	public DSSDocument signDocument(SignatureDocumentForm form) {
 		LOG.info("Start signDocument with one document");
+		Timer.Sample sample = metricsService.start();
 		DocumentSignatureService service = getSignatureService(form.getContainerType(), form.getSignatureForm(), form.isSignWithExpiredCertificate());
 
 		AbstractSignatureParameters parameters = fillParameters(form);
@@ -408,8 +498,10 @@ public class SigningService {
 			SignatureValue signatureValue = new SignatureValue(sigAlgorithm, form.getSignatureValue());
 			DSSDocument signedDocument = service.signDocument(toSignDocument, parameters, signatureValue);
 			LOG.info("End signDocument with one document");
+			record(sample, "signDocument", form, true);
 			return signedDocument;
 		} catch (Exception e) {
+			record(sample, "signDocument", form, false);
 			throw new SignatureOperationException(e.getMessage(), e);
 		}
 	}
@@ -417,6 +509,7 @@ public class SigningService {
 	@SuppressWarnings({ "rawtypes", "unchecked" })
 	public DSSDocument signDigest(SignatureDigestForm form) {
 		LOG.info("Start signDigest with one digest");
+		Timer.Sample sample = metricsService.start();
 		DocumentSignatureService service = getSignatureService(null, form.getSignatureForm(), form.isSignWithExpiredCertificate());
 
 		AbstractSignatureParameters parameters = fillParameters(form);
@@ -427,8 +520,10 @@ public class SigningService {
 			SignatureValue signatureValue = new SignatureValue(sigAlgorithm, form.getSignatureValue());
 			DSSDocument signedDocument = service.signDocument(toSignDigest, parameters, signatureValue);
 			LOG.info("End signDigest with one digest");
+			record(sample, "signDigest", form, true);
 			return signedDocument;
 		} catch (Exception e) {
+			record(sample, "signDigest", form, false);
 			throw new SignatureOperationException(e.getMessage(), e);
 		}
 	}
@@ -436,6 +531,7 @@ public class SigningService {
 	@SuppressWarnings({ "rawtypes", "unchecked" })
 	public DSSDocument signDocument(SignatureMultipleDocumentsForm form) {
 		LOG.info("Start signDocument with multiple documents");
+		Timer.Sample sample = metricsService.start();
 		MultipleDocumentsSignatureService service = (MultipleDocumentsSignatureService)
 				getSignatureService(form.getContainerType(), form.getSignatureForm(), form.isSignWithExpiredCertificate());
 
@@ -447,8 +543,10 @@ public class SigningService {
 			SignatureValue signatureValue = new SignatureValue(sigAlgorithm, form.getSignatureValue());
 			DSSDocument signedDocument = service.signDocument(toSignDocuments, parameters, signatureValue);
 			LOG.info("End signDocument with multiple documents");
+			record(sample, "signDocument", form, true);
 			return signedDocument;
 		} catch (Exception e) {
+			record(sample, "signDocument", form, false);
 			throw new SignatureOperationException(e.getMessage(), e);
 		}
 	}
@@ -456,6 +554,7 @@ public class SigningService {
 	@SuppressWarnings({ "rawtypes", "unchecked" })
 	public DSSDocument signDocument(SignatureJAdESForm form) {
 		LOG.info("Start signDocument with JAdES");
+		Timer.Sample sample = metricsService.start();
 		
 		MultipleDocumentsSignatureService service = (MultipleDocumentsSignatureService)
 				getSignatureService(SignatureForm.JAdES, form.isSignWithExpiredCertificate());
@@ -468,8 +567,10 @@ public class SigningService {
 			DSSDocument signedDocument = service.signDocument(toSignDocuments, parameters, signatureValue);
 	
 			LOG.info("End signDocument with JAdES");
+			record(sample, "signDocument", form, true);
 			return signedDocument;
 		} catch (Exception e) {
+			record(sample, "signDocument", form, false);
 			throw new SignatureOperationException(e.getMessage(), e);
 		}
 	}
@@ -477,6 +578,7 @@ public class SigningService {
     @SuppressWarnings({ "rawtypes", "unchecked" })
     public DSSDocument counterSignSignature(CounterSignatureForm form) {
         LOG.info("Start signDigest with one digest");
+        Timer.Sample sample = metricsService.start();
 
         try {
 	        DSSDocument signatureDocument = WebAppUtils.toDSSDocument(form.getDocumentToCounterSign());
@@ -490,12 +592,18 @@ public class SigningService {
 	        DSSDocument signedDocument = service.counterSignSignature(signatureDocument, parameters, signatureValue);
 	
 	        LOG.info("End signDocument with one document");
+	        record(sample, "counterSignSignature", form, true);
 	        return signedDocument;
 		} catch (Exception e) {
+			record(sample, "counterSignSignature", form, false);
 			throw new SignatureOperationException(e.getMessage(), e);
 		}
     }
 
+	private void record(Timer.Sample sample, String operation, AbstractSignatureForm form, boolean success) {
+		metricsService.recordSigning(sample, operation, form.getSignatureForm(), form.getSignatureLevel(), success);
+	}
+
 	@SuppressWarnings("rawtypes")
 	private DocumentSignatureService getSignatureService(SignatureForm signatureForm) {
 		return getSignatureService(null, signatureForm, false);
@@ -513,63 +621,25 @@ public class SigningService {
 
 	@SuppressWarnings("rawtypes")
 	private DocumentSignatureService getSignatureService(ASiCContainerType containerType, SignatureForm signatureForm, boolean signWithExpiredCertificate) {
-		CertificateVerifier cv = new CertificateVerifierBuilder(certificateVerifier).buildCompleteCopy();
-		if (signWithExpiredCertificate) {
-			cv.setAlertOnExpiredCertificate(new LogOnStatusAlert());
-		}
-		DocumentSignatureService service = null;
-		if (containerType != null) {
-			service = (DocumentSignatureService) getASiCSignatureService(signatureForm, cv);
-		} else {
-			switch (signatureForm) {
-				case CAdES:
-					service = new CAdESService(cv);
-					break;
-				case PAdES:
-					service = new PAdESService(cv);
-					break;
-				case XAdES:
-					service = new XAdESService(cv);
-					break;
-				case JAdES:
-					service = new JAdESService(cv);
-					break;
-				default:
-					throw new IllegalArgumentException(String.format("Unknown signature form : %s", signatureForm));
-			}
+		return getSignatureService(containerType != null, signatureForm, signWithExpiredCertificate);
+	}
+
+	@SuppressWarnings("rawtypes")
+	private DocumentSignatureService getSignatureService(boolean asicContainer, SignatureForm signatureForm, boolean signWithExpiredCertificate) {
+		SignatureServices services = signWithExpiredCertificate ? expiredCertificateSignatureServices : defaultSignatureServices;
+		if (asicContainer) {
+			return services.getASiCSignatureService(signatureForm);
 		}
-		service.setTspSource(tspSource);
-		return service;
+		return services.getSignatureService(signatureForm);
 	}
 	
     @SuppressWarnings("rawtypes")
 	private CounterSignatureService getCounterSignatureService(boolean isZipContainer, SignatureForm signatureForm, boolean signWithExpiredCertificate) {
-		CertificateVerifier cv = new CertificateVerifierBuilder(certificateVerifier).buildCompleteCopy();
-		if (signWithExpiredCertificate) {
-			cv.setAlertOnExpiredCertificate(new LogOnStatusAlert());
-		}
-        CounterSignatureService service;
-		if (isZipContainer) {
-            service = (CounterSignatureService) getASiCSignatureService(signatureForm, cv);
-        } else {
-            switch (signatureForm) {
-            case CAdES:
-                service = new CAdESService(cv);
-                break;
-            case XAdES:
-                service = new XAdESService(cv);
-                break;
-            case JAdES:
-                service = new JAdESService(cv);
-                break;
-            default:
-                throw new IllegalArgumentException(String.format("Not supported signature form for a counter signature : %s", signatureForm));
-            }
-        }
-		if (service != null) {
-			service.setTspSource(tspSource);
+		DocumentSignatureService service = getSignatureService(isZipContainer, signatureForm, signWithExpiredCertificate);
+		if (!(service instanceof CounterSignatureService)) {
+			throw new IllegalArgumentException(String.format("Not supported signature form for a counter signature : %s", signatureForm));
 		}
-        return service;
+		return (CounterSignatureService) service;
     }
 
 	@SuppressWarnings({ "rawtypes" })
@@ -660,22 +730,6 @@ public class SigningService {
 		return parameters;
 	}
 
-	@SuppressWarnings("rawtypes")
-	private MultipleDocumentsSignatureService getASiCSignatureService(SignatureForm signatureForm, CertificateVerifier cv) {
-		MultipleDocumentsSignatureService service = null;
-		switch (signatureForm) {
-			case CAdES:
-				service = new ASiCWithCAdESService(cv);
-				break;
-			case XAdES:
-				service = new ASiCWithXAdESService(cv);
-				break;
-			default:
-				throw new IllegalArgumentException(String.format("Not supported signature form for an ASiC container : %s", signatureForm));
-		}
-		return service;
-	}
-
 	@SuppressWarnings({ "rawtypes" })
 	private AbstractSignatureParameters getASiCSignatureParameters(ASiCContainerType containerType, SignatureForm signatureForm) {
 		AbstractSignatureParameters parameters = null;
@@ -696,4 +750,48 @@ public class SigningService {
 		return parameters;
 	}
 
+	/**
+	 * Contains a set of signature services, created with the same {@code CertificateVerifier}.
+	 * The services are thread-safe and can be reused between signature operations.
+	 */
+	@SuppressWarnings("rawtypes")
+	private static class SignatureServices {
+
+		private final Map<SignatureForm, DocumentSignatureService> signatureServices = new EnumMap<>(SignatureForm.class);
+
+		private final Map<SignatureForm, DocumentSignatureService> asicSignatureServices = new EnumMap<>(SignatureForm.class);
+
+		SignatureServices(CAdESService cadesService, PAdESService padesService, XAdESService xadesService, JAdESService jadesService,
+						  ASiCWithCAdESService asicWithCadesService, ASiCWithXAdESService asicWithXadesService) {
+			signatureServices.put(SignatureForm.CAdES, cadesService);
+			signatureServices.put(SignatureForm.PAdES, padesService);
+			signatureServices.put(SignatureForm.XAdES, xadesService);
+			signatureServices.put(SignatureForm.JAdES, jadesService);
+			asicSignatureServices.put(SignatureForm.CAdES, asicWithCadesService);
+			asicSignatureServices.put(SignatureForm.XAdES, asicWithXadesService);
+		}
+
+		private void setTspSource(TSPSource tspSource) {
+			signatureServices.values().forEach(service -> service.setTspSource(tspSource));
+			asicSignatureServices.values().forEach(service -> service.setTspSource(tspSource));
+		}
+
+		private DocumentSignatureService getSignatureService(SignatureForm signatureForm) {
+			DocumentSignatureService service = signatureServices.get(signatureForm);
+			if (service == null) {
+				throw new IllegalArgumentException(String.format("Unknown signature form : %s", signatureForm));
+			}
+			return service;
+		}
+
+		private DocumentSignatureService getASiCSignatureService(SignatureForm signatureForm) {
+			DocumentSignatureService service = asicSignatureServices.get(signatureForm);
+			if (service == null) {
+				throw new IllegalArgumentException(String.format("Not supported signature form for an ASiC container : %s", signatureForm));
+			}
+			return service;
+		}
+
+	}
+
 }
@@ -0,0 +1,29 @@
+package eu.europa.esig.dss.web.service;
+
+import eu.europa.esig.dss.spi.validation.CommonCertificateVerifier;
+import eu.europa.esig.dss.spi.x509.ListCertificateSource;
+
+/**
+ * {@code CertificateVerifier} reading its trusted sources from a {@code TrustedListsSourceHolder},
+ * so the trusted lists refreshed aside are taken into account without modifying the verifier
+ *
+ */
+public class SwappableTrustCertificateVerifier extends CommonCertificateVerifier {
+
+	private final TrustedListsSourceHolder trustedListsSourceHolder;
+
+	/**
+	 * Default constructor
+	 *
+	 * @param trustedListsSourceHolder {@link TrustedListsSourceHolder}
+	 */
+	public SwappableTrustCertificateVerifier(TrustedListsSourceHolder trustedListsSourceHolder) {
+		this.trustedListsSourceHolder = trustedListsSourceHolder;
+	}
+
+	@Override
+	public ListCertificateSource getTrustedCertSources() {
+		return trustedListsSourceHolder.getTrustedCertSources();
+	}
+
+}
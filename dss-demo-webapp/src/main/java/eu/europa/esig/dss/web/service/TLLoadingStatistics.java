@@ -0,0 +1,183 @@
+package eu.europa.esig.dss.web.service;
+
+import eu.europa.esig.dss.model.tsl.InfoRecord;
+import eu.europa.esig.dss.model.tsl.LOTLInfo;
+import eu.europa.esig.dss.model.tsl.TLInfo;
+import eu.europa.esig.dss.model.tsl.TLValidationJobSummary;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Keeps the duration and the outcome of the last download of each trusted list, and the number of trusted lists
+ * actually downloaded and processed again by the last refresh, displayed on the summary page
+ *
+ */
+@Component
+public class TLLoadingStatistics {
+
+	private final Map<String, TLLoading> loadings = new ConcurrentHashMap<>();
+
+	private final AtomicInteger downloadedCount = new AtomicInteger();
+
+	private final AtomicInteger notModifiedCount = new AtomicInteger();
+
+	private volatile TLRefresh lastRefresh;
+
+	/**
+	 * Records a download
+	 *
+	 * @param url {@link String} of the trusted list
+	 * @param durationMillis the duration of the download in milliseconds
+	 * @param success TRUE if the trusted list has been downloaded
+	 */
+	public void record(String url, long durationMillis, boolean success) {
+		loadings.put(url, new TLLoading(durationMillis, success, new Date()));
+	}
+
+	/**
+	 * Gets the last download of a trusted list
+	 *
+	 * @param url {@link String} of the trusted list
+	 * @return {@link TLLoading}, or NULL if the trusted list has not been downloaded yet
+	 */
+	public TLLoading getLastLoading(String url) {
+		return url != null ? loadings.get(url) : null;
+	}
+
+	/**
+	 * Starts counting the downloads of a refresh
+	 */
+	public void startRefresh() {
+		downloadedCount.set(0);
+		notModifiedCount.set(0);
+	}
+
+	/**
+	 * Records the result of an HTTP download
+	 *
+	 * @param downloaded TRUE if the content has been downloaded, FALSE if it was not modified
+	 */
+	public void recordHttpResult(boolean downloaded) {
+		if (downloaded) {
+			downloadedCount.incrementAndGet();
+		} else {
+			notModifiedCount.incrementAndGet();
+		}
+	}
+
+	/**
+	 * Ends a refresh : the trusted lists parsed again since its start are counted
+	 *
+	 * @param summary {@link TLValidationJobSummary} after the refresh
+	 * @param start {@link Date} the start of the refresh
+	 */
+	public void endRefresh(TLValidationJobSummary summary, Date start) {
+		List<TLInfo> tlInfos = new ArrayList<>(summary.getOtherTLInfos());
+		for (LOTLInfo lotlInfo : summary.getLOTLInfos()) {
+			tlInfos.add(lotlInfo);
+			tlInfos.addAll(lotlInfo.getTLInfos());
+		}
+		int reprocessed = 0;
+		for (TLInfo tlInfo : tlInfos) {
+			InfoRecord parsingCacheInfo = tlInfo.getParsingCacheInfo();
+			if (parsingCacheInfo != null && parsingCacheInfo.getLastStateTransitionTime() != null
+					&& !parsingCacheInfo.getLastStateTransitionTime().before(start)) {
+				reprocessed++;
+			}
+		}
+		lastRefresh = new TLRefresh(start, tlInfos.size(), downloadedCount.get(), notModifiedCount.get(), reprocessed);
+	}
+
+	/**
+	 * Gets the statistics of the last refresh
+	 *
+	 * @return {@link TLRefresh}, or NULL if no refresh is done yet
+	 */
+	public TLRefresh getLastRefresh() {
+		return lastRefresh;
+	}
+
+	/**
+	 * The numbers of trusted lists downloaded and processed by a refresh
+	 * (the ones unchanged according to their SHA-2 digest file are not requested at all)
+	 */
+	public static final class TLRefresh {
+
+		private final Date time;
+
+		private final int tlCount;
+
+		private final int downloadedCount;
+
+		private final int notModifiedCount;
+
+		private final int reprocessedCount;
+
+		private TLRefresh(Date time, int tlCount, int downloadedCount, int notModifiedCount, int reprocessedCount) {
+			this.time = time;
+			this.tlCount = tlCount;
+			this.downloadedCount = downloadedCount;
+			this.notModifiedCount = notModifiedCount;
+			this.reprocessedCount = reprocessedCount;
+		}
+
+		public Date getTime() {
+			return time;
+		}
+
+		public int getTlCount() {
+			return tlCount;
+		}
+
+		public int getDownloadedCount() {
+			return downloadedCount;
+		}
+
+		public int getNotModifiedCount() {
+			return notModifiedCount;
+		}
+
+		public int getReprocessedCount() {
+			return reprocessedCount;
+		}
+
+	}
+
+	/**
+	 * The duration and the outcome of a trusted list download
+	 */
+	public static final class TLLoading {
+
+		private final long durationMillis;
+
+		private final boolean success;
+
+		private final Date time;
+
+		private TLLoading(long durationMillis, boolean success, Date time) {
+			this.durationMillis = durationMillis;
+			this.success = success;
+			this.time = time;
+		}
+
+		public long getDurationMillis() {
+			return durationMillis;
+		}
+
+		public boolean isSuccess() {
+			return success;
+		}
+
+		public Date getTime() {
+			return time;
+		}
+
+	}
+
+}
@@ -0,0 +1,226 @@
+package eu.europa.esig.dss.web.service;
+
+import eu.europa.esig.dss.utils.Utils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputFilter;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Stores a snapshot of the synchronized trusted lists source (the trusted certificates with their services,
+ * histories and qualifications, and the summary of the trusted lists), in order to be available
+ * on startup without parsing and validating again all the cached trusted lists.
+ * The snapshot is authenticated with a HMAC, verified before the deserialization, and only the DSS classes
+ * and a few JDK classes can be read from it, within size limits.
+ *
+ */
+@Component
+public class TLSnapshotStore {
+
+	private static final Logger LOG = LoggerFactory.getLogger(TLSnapshotStore.class);
+
+	private static final String HMAC_ALGORITHM = "HmacSHA256";
+
+	private static final int HMAC_LENGTH = 32;
+
+	/** Maximum size of a snapshot file */
+	private static final long MAX_SIZE = 256L * 1024 * 1024;
+
+	private static final ObjectInputFilter FILTER = ObjectInputFilter.Config.createFilter(
+			"maxdepth=64;maxrefs=10000000;maxarray=1048576;maxbytes=" + MAX_SIZE + ";" +
+			"java.lang.*;java.util.*;java.util.concurrent.*;java.math.BigInteger;java.net.URI;java.security.cert.*;" +
+			"javax.security.auth.x500.X500Principal;eu.europa.esig.dss.**;!*");
+
+	@Value("${tl.snapshot.file:}")
+	private String snapshotFile;
+
+	@Value("${tl.snapshot.key.file:}")
+	private String keyFile;
+
+	@Value("${tl.snapshot.max.age:604800}")
+	private long maxAge;
+
+	/**
+	 * Checks if the snapshot is enabled
+	 *
+	 * @return TRUE if a snapshot file and its key file are configured
+	 */
+	public boolean isEnabled() {
+		return Utils.isStringNotEmpty(snapshotFile) && Utils.isStringNotEmpty(keyFile);
+	}
+
+	/**
+	 * Reads the snapshot
+	 *
+	 * @return {@link IndexedTrustedListsCertificateSource}, or NULL if there is no valid snapshot
+	 */
+	public IndexedTrustedListsCertificateSource read() {
+		if (!isEnabled()) {
+			return null;
+		}
+		File file = new File(snapshotFile);
+		if (!file.isFile() || !new File(keyFile).isFile()) {
+			return null;
+		}
+		if (maxAge > 0 && file.lastModified() + TimeUnit.SECONDS.toMillis(maxAge) < System.currentTimeMillis()) {
+			LOG.info("The trusted lists snapshot '{}' is too old and is ignored", file);
+			return null;
+		}
+		if (file.length() <= HMAC_LENGTH || file.length() > MAX_SIZE) {
+			LOG.warn("The trusted lists snapshot '{}' has an invalid size and is ignored", file);
+			return null;
+		}
+		try {
+			// the content is authenticated before being deserialized
+			byte[] content = Files.readAllBytes(file.toPath());
+			int length = content.length - HMAC_LENGTH;
+			Mac mac = getMac(loadKey());
+			mac.update(content, 0, length);
+			byte[] expected = new byte[HMAC_LENGTH];
+			System.arraycopy(content, length, expected, 0, HMAC_LENGTH);
+			if (!MessageDigest.isEqual(expected, mac.doFinal())) {
+				LOG.warn("The trusted lists snapshot '{}' is not authentic and is ignored", file);
+				return null;
+			}
+			try (ObjectInputStream ois = new ObjectInputStream(new ByteArrayInputStream(content, 0, length))) {
+				ois.setObjectInputFilter(FILTER);
+				IndexedTrustedListsCertificateSource trustedListsCertificateSource = (IndexedTrustedListsCertificateSource) ois.readObject();
+				LOG.info("Trusted lists snapshot loaded from '{}' ({} certificates)", file,
+						trustedListsCertificateSource.getNumberOfCertificates());
+				return trustedListsCertificateSource;
+			}
+		} catch (Exception e) {
+			LOG.warn("Unable to read the trusted lists snapshot '{}' : {}", file, e.getMessage());
+			return null;
+		}
+	}
+
+	/**
+	 * Writes the snapshot, replacing the previous one once entirely written.
+	 * The key is generated on the first write.
+	 *
+	 * @param trustedListsCertificateSource {@link IndexedTrustedListsCertificateSource} synchronized source
+	 */
+	public void write(IndexedTrustedListsCertificateSource trustedListsCertificateSource) {
+		if (!isEnabled()) {
+			return;
+		}
+		Path target = new File(snapshotFile).toPath();
+		Path temp = null;
+		try {
+			Mac mac = getMac(getOrCreateKey());
+			Path directory = target.toAbsolutePath().getParent();
+			Files.createDirectories(directory);
+			temp = Files.createTempFile(directory, "tl-snapshot-", ".tmp");
+			try (OutputStream os = new BufferedOutputStream(Files.newOutputStream(temp))) {
+				try (ObjectOutputStream oos = new ObjectOutputStream(new MacOutputStream(os, mac))) {
+					oos.writeObject(trustedListsCertificateSource);
+				}
+				os.write(mac.doFinal());
+			}
+			Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+			LOG.debug("Trusted lists snapshot written to '{}'", target);
+		} catch (IOException | GeneralSecurityException e) {
+			LOG.warn("Unable to write the trusted lists snapshot '{}' : {}", target, e.getMessage());
+			if (temp != null) {
+				try {
+					Files.deleteIfExists(temp);
+				} catch (IOException ex) {
+					LOG.warn("Unable to delete the temporary file '{}'", temp);
+				}
+			}
+		}
+	}
+
+	private Mac getMac(byte[] key) throws GeneralSecurityException {
+		Mac mac = Mac.getInstance(HMAC_ALGORITHM);
+		mac.init(new SecretKeySpec(key, HMAC_ALGORITHM));
+		return mac;
+	}
+
+	private byte[] loadKey() throws IOException {
+		byte[] key = Files.readAllBytes(new File(keyFile).toPath());
+		if (key.length < HMAC_LENGTH) {
+			throw new IOException("The key file shall contain at least " + HMAC_LENGTH + " bytes");
+		}
+		return key;
+	}
+
+	private byte[] getOrCreateKey() throws IOException {
+		Path keyPath = new File(keyFile).toPath();
+		if (Files.isRegularFile(keyPath)) {
+			return loadKey();
+		}
+		byte[] key = new byte[HMAC_LENGTH];
+		new SecureRandom().nextBytes(key);
+		Files.createDirectories(keyPath.toAbsolutePath().getParent());
+		try {
+			if (keyPath.getFileSystem().supportedFileAttributeViews().contains("posix")) {
+				// readable by the owner only
+				Files.createFile(keyPath, PosixFilePermissions.asFileAttribute(PosixFilePermissions.fromString("rw-------")));
+			} else {
+				Files.createFile(keyPath);
+			}
+		} catch (FileAlreadyExistsException e) {
+			// created meanwhile
+			return loadKey();
+		}
+		Files.write(keyPath, key);
+		LOG.info("Trusted lists snapshot key generated in '{}'", keyPath);
+		return key;
+	}
+
+	/**
+	 * Computes the HMAC of the written bytes
+	 */
+	private static final class MacOutputStream extends FilterOutputStream {
+
+		private final Mac mac;
+
+		private MacOutputStream(OutputStream out, Mac mac) {
+			super(out);
+			this.mac = mac;
+		}
+
+		@Override
+		public void write(int b) throws IOException {
+			mac.update((byte) b);
+			out.write(b);
+		}
+
+		@Override
+		public void write(byte[] b, int off, int len) throws IOException {
+			mac.update(b, off, len);
+			out.write(b, off, len);
+		}
+
+		@Override
+		public void close() throws IOException {
+			// the underlying stream is closed after the HMAC is written
+			flush();
+		}
+
+	}
+
+}
@@ -0,0 +1,118 @@
+package eu.europa.esig.dss.web.service;
+
+import eu.europa.esig.dss.model.tsl.LOTLInfo;
+import eu.europa.esig.dss.model.tsl.TLInfo;
+import eu.europa.esig.dss.model.tsl.TLValidationJobSummary;
+
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Index of the LOTLs and TLs of a {@code TLValidationJobSummary} by their XML id, built once per trusted lists
+ * generation. It also keeps the pages rendered from this generation, which are dropped with it on the next refresh.
+ *
+ */
+public class TLSummaryIndex {
+
+	private static final AtomicLong GENERATIONS = new AtomicLong();
+
+	private final TLValidationJobSummary summary;
+
+	private final Map<String, LOTLInfo> lotlInfos = new HashMap<>();
+
+	private final Map<String, TLInfo> tlInfos = new HashMap<>();
+
+	private final long generation;
+
+	private final Date lastModified;
+
+	private final Map<String, CachedPage> pages = new ConcurrentHashMap<>();
+
+	/**
+	 * Default constructor
+	 *
+	 * @param summary {@link TLValidationJobSummary} of the generation (can be null)
+	 */
+	public TLSummaryIndex(TLValidationJobSummary summary) {
+		this.summary = summary;
+		this.generation = GENERATIONS.incrementAndGet();
+		// the HTTP dates have a precision of one second
+		this.lastModified = new Date(System.currentTimeMillis() / 1000 * 1000);
+		if (summary != null) {
+			for (LOTLInfo lotlInfo : summary.getLOTLInfos()) {
+				lotlInfos.put(lotlInfo.getDSSId().asXmlId(), lotlInfo);
+				index(lotlInfo.getTLInfos());
+			}
+			index(summary.getOtherTLInfos());
+		}
+	}
+
+	private void index(List<TLInfo> infos) {
+		for (TLInfo tlInfo : infos) {
+			// the first occurrence is kept, as the previous linear lookup did
+			tlInfos.putIfAbsent(tlInfo.getDSSId().asXmlId(), tlInfo);
+		}
+	}
+
+	public TLValidationJobSummary getSummary() {
+		return summary;
+	}
+
+	public LOTLInfo getLOTLInfo(String id) {
+		return lotlInfos.get(id);
+	}
+
+	public TLInfo getTLInfo(String id) {
+		return tlInfos.get(id);
+	}
+
+	/**
+	 * Gets the entity tag of the pages rendered from this generation
+	 *
+	 * @return {@link String} weak ETag (the pages embed a per-request CSRF token)
+	 */
+	public String getETag() {
+		return "W/\"tl-" + generation + "\"";
+	}
+
+	public Date getLastModified() {
+		return lastModified;
+	}
+
+	public CachedPage getPage(String path) {
+		return pages.get(path);
+	}
+
+	public void putPage(String path, CachedPage page) {
+		pages.put(path, page);
+	}
+
+	/**
+	 * A rendered page
+	 */
+	public static final class CachedPage {
+
+		private final String contentType;
+
+		private final byte[] content;
+
+		public CachedPage(String contentType, byte[] content) {
+			this.contentType = contentType;
+			this.content = content;
+		}
+
+		public String getContentType() {
+			return contentType;
+		}
+
+		public byte[] getContent() {
+			return content;
+		}
+
+	}
+
+}
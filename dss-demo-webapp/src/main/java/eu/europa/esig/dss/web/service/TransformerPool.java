@@ -0,0 +1,81 @@
+package eu.europa.esig.dss.web.service;
+
+import eu.europa.esig.dss.model.DSSException;
+import eu.europa.esig.dss.xml.utils.DSSXmlErrorListener;
+
+import javax.xml.transform.Templates;
+import javax.xml.transform.Transformer;
+import javax.xml.transform.TransformerConfigurationException;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Thread-safe pool of {@link Transformer}s created from the same compiled {@link Templates}.
+ * A {@link Transformer} is not thread-safe and shall be used by a single thread at a time,
+ * but it can be reused after a reset instead of being created for every transformation.
+ *
+ */
+class TransformerPool {
+
+	/** The compiled stylesheet */
+	private final Templates templates;
+
+	/** Maximum number of idle transformers kept in the pool */
+	private final int maxIdle;
+
+	private final Queue<Transformer> idleTransformers = new ConcurrentLinkedQueue<>();
+
+	private final AtomicInteger idleCount = new AtomicInteger();
+
+	/**
+	 * Default constructor
+	 *
+	 * @param templates {@link Templates} the compiled stylesheet
+	 * @param maxIdle maximum number of idle transformers kept in the pool
+	 */
+	TransformerPool(Templates templates, int maxIdle) {
+		Objects.requireNonNull(templates, "Templates shall be defined!");
+		this.templates = templates;
+		this.maxIdle = maxIdle;
+	}
+
+	/**
+	 * Gets a transformer from the pool, or a new one when the pool is empty.
+	 * The returned transformer shall be given back with {@code release(transformer)}.
+	 *
+	 * @return {@link Transformer}
+	 */
+	Transformer borrow() {
+		Transformer transformer = idleTransformers.poll();
+		if (transformer != null) {
+			idleCount.decrementAndGet();
+			return transformer;
+		}
+		try {
+			transformer = templates.newTransformer();
+			transformer.setErrorListener(new DSSXmlErrorListener());
+			return transformer;
+		} catch (TransformerConfigurationException e) {
+			throw new DSSException(String.format("Unable to create a transformer : %s", e.getMessage()), e);
+		}
+	}
+
+	/**
+	 * Gives a transformer back to the pool. Its parameters and output properties are reset.
+	 *
+	 * @param transformer {@link Transformer} obtained with {@code borrow()}
+	 */
+	void release(Transformer transformer) {
+		if (idleCount.incrementAndGet() > maxIdle) {
+			idleCount.decrementAndGet();
+			return;
+		}
+		transformer.reset();
+		// reset() restores the state of a newly created transformer, without the error listener
+		transformer.setErrorListener(new DSSXmlErrorListener());
+		idleTransformers.offer(transformer);
+	}
+
+}
@@ -0,0 +1,89 @@
+package eu.europa.esig.dss.web.service;
+
+import eu.europa.esig.dss.enumerations.DigestAlgorithm;
+import eu.europa.esig.dss.model.Digest;
+import eu.europa.esig.dss.model.identifier.EntityIdentifier;
+import eu.europa.esig.dss.model.x509.CertificateToken;
+import eu.europa.esig.dss.model.x509.X500PrincipalHelper;
+import eu.europa.esig.dss.spi.DSSASN1Utils;
+import eu.europa.esig.dss.utils.Utils;
+
+import javax.security.auth.x500.X500Principal;
+import java.security.PublicKey;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Immutable lookup index over a set of trust anchors, by subject, SubjectKeyIdentifier, public key and
+ * certificate digest. The lookups done while building the certificate chains then do not iterate over
+ * all the trusted certificates. The digests are indexed on the first lookup with a given algorithm.
+ *
+ */
+public class TrustAnchorIndex {
+
+	private final List<CertificateToken> certificates;
+
+	private final Map<X500Principal, Set<CertificateToken>> bySubject;
+
+	private final Map<String, Set<CertificateToken>> bySki;
+
+	private final Map<EntityIdentifier, Set<CertificateToken>> byPublicKey;
+
+	private final Map<DigestAlgorithm, Map<String, Set<CertificateToken>>> byDigest = new ConcurrentHashMap<>();
+
+	/**
+	 * Builds the index
+	 *
+	 * @param certificates the trusted certificates, they shall not change afterwards
+	 */
+	public TrustAnchorIndex(Collection<CertificateToken> certificates) {
+		this.certificates = new ArrayList<>(certificates);
+		this.bySubject = index(c -> c.getSubject().getPrincipal());
+		this.bySki = index(c -> Utils.toBase64(DSSASN1Utils.computeSkiFromCert(c)));
+		this.byPublicKey = index(CertificateToken::getEntityKey);
+	}
+
+	private <K> Map<K, Set<CertificateToken>> index(Function<CertificateToken, K> keyFunction) {
+		Map<K, Set<CertificateToken>> map = new HashMap<>();
+		for (CertificateToken certificateToken : certificates) {
+			map.computeIfAbsent(keyFunction.apply(certificateToken), k -> new HashSet<>()).add(certificateToken);
+		}
+		return map;
+	}
+
+	public Set<CertificateToken> getBySubject(X500PrincipalHelper subject) {
+		return get(bySubject, subject.getPrincipal());
+	}
+
+	public Set<CertificateToken> getBySki(byte[] ski) {
+		return get(bySki, Utils.toBase64(ski));
+	}
+
+	public Set<CertificateToken> getByPublicKey(PublicKey publicKey) {
+		return get(byPublicKey, new EntityIdentifier(publicKey));
+	}
+
+	public Set<CertificateToken> getByCertificateDigest(Digest digest) {
+		Map<String, Set<CertificateToken>> digests = byDigest.computeIfAbsent(digest.getAlgorithm(),
+				a -> index(c -> Utils.toBase64(c.getDigest(a))));
+		return get(digests, Utils.toBase64(digest.getValue()));
+	}
+
+	public int getSize() {
+		return certificates.size();
+	}
+
+	private <K> Set<CertificateToken> get(Map<K, Set<CertificateToken>> map, K key) {
+		Set<CertificateToken> result = map.get(key);
+		// a copy is returned, the callers may complete the set
+		return result != null ? new HashSet<>(result) : new HashSet<>();
+	}
+
+}
@@ -0,0 +1,51 @@
+package eu.europa.esig.dss.web.service;
+
+import eu.europa.esig.dss.model.x509.CertificateToken;
+
+import java.io.Serializable;
+import java.util.Collection;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Answers the trust anchor lookups of an indexed certificate source with its {@code TrustAnchorIndex}, or with
+ * the lookup of the source itself while it is not indexed (not built yet, or modified since)
+ *
+ */
+final class TrustAnchorIndexLookup implements Serializable {
+
+	private static final long serialVersionUID = 2963015738840216752L;
+
+	private transient volatile TrustAnchorIndex index;
+
+	/**
+	 * Builds the index of the given certificates
+	 *
+	 * @param certificates the certificates of the source
+	 */
+	void build(Collection<CertificateToken> certificates) {
+		index = new TrustAnchorIndex(certificates);
+	}
+
+	/**
+	 * Drops the index, when the source is modified
+	 */
+	void invalidate() {
+		index = null;
+	}
+
+	/**
+	 * Looks up the certificates in the index if built, otherwise in the source
+	 *
+	 * @param indexedLookup the lookup in the index
+	 * @param sourceLookup the lookup in the source
+	 * @return the found certificates
+	 */
+	Set<CertificateToken> get(Function<TrustAnchorIndex, Set<CertificateToken>> indexedLookup,
+							  Supplier<Set<CertificateToken>> sourceLookup) {
+		TrustAnchorIndex currentIndex = index;
+		return currentIndex != null ? indexedLookup.apply(currentIndex) : sourceLookup.get();
+	}
+
+}
@@ -0,0 +1,89 @@
+package eu.europa.esig.dss.web.service;
+
+import eu.europa.esig.dss.spi.tsl.TrustedListsCertificateSource;
+import eu.europa.esig.dss.spi.x509.CertificateSource;
+import eu.europa.esig.dss.spi.x509.ListCertificateSource;
+
+/**
+ * Holds the current generation of the trusted lists certificate source.
+ * A refresh fills a new {@code TrustedListsCertificateSource} aside, which is then swapped in at once :
+ * the readers never block and never see a partially synchronized source. A validation keeps the generation
+ * obtained at its start, the previous generation is garbage collected once the running validations are done.
+ *
+ */
+public class TrustedListsSourceHolder {
+
+	private final CertificateSource[] otherTrustedSources;
+
+	private volatile Generation current;
+
+	/**
+	 * Default constructor
+	 *
+	 * @param otherTrustedSources the trusted sources used together with the trusted lists
+	 */
+	public TrustedListsSourceHolder(CertificateSource... otherTrustedSources) {
+		this.otherTrustedSources = otherTrustedSources;
+		this.current = new Generation(new IndexedTrustedListsCertificateSource(), otherTrustedSources);
+	}
+
+	/**
+	 * Gets the current trusted lists source
+	 *
+	 * @return {@link TrustedListsCertificateSource}
+	 */
+	public TrustedListsCertificateSource getTrustedListsCertificateSource() {
+		return current.trustedListsCertificateSource;
+	}
+
+	/**
+	 * Gets the index of the summary of the current trusted lists source
+	 *
+	 * @return {@link TLSummaryIndex}
+	 */
+	public TLSummaryIndex getSummaryIndex() {
+		return current.summaryIndex;
+	}
+
+	/**
+	 * Gets all the trusted sources of the current generation
+	 *
+	 * @return {@link ListCertificateSource}
+	 */
+	public ListCertificateSource getTrustedCertSources() {
+		return current.trustedCertSources;
+	}
+
+	/**
+	 * Indexes the given trusted lists source and replaces the current one with it.
+	 * The given source shall not be modified anymore.
+	 *
+	 * @param trustedListsCertificateSource {@link IndexedTrustedListsCertificateSource} entirely synchronized
+	 */
+	public void swap(IndexedTrustedListsCertificateSource trustedListsCertificateSource) {
+		trustedListsCertificateSource.buildIndex();
+		current = new Generation(trustedListsCertificateSource, otherTrustedSources);
+	}
+
+	private static final class Generation {
+
+		private final TrustedListsCertificateSource trustedListsCertificateSource;
+
+		private final ListCertificateSource trustedCertSources;
+
+		private final TLSummaryIndex summaryIndex;
+
+		private Generation(TrustedListsCertificateSource trustedListsCertificateSource,
+						   CertificateSource[] otherTrustedSources) {
+			this.trustedListsCertificateSource = trustedListsCertificateSource;
+			this.trustedCertSources = new ListCertificateSource();
+			trustedCertSources.add(trustedListsCertificateSource);
+			for (CertificateSource otherTrustedSource : otherTrustedSources) {
+				trustedCertSources.add(otherTrustedSource);
+			}
+			this.summaryIndex = new TLSummaryIndex(trustedListsCertificateSource.getSummary());
+		}
+
+	}
+
+}
@@ -0,0 +1,111 @@
+package eu.europa.esig.dss.web.service;
+
+import eu.europa.esig.dss.web.model.ValidationJobDTO;
+import eu.europa.esig.dss.web.model.ValidationJobStatus;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Date;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * A validation executed in the background by the {@link ValidationJobService}
+ *
+ * @param <R> the type of the validation result
+ */
+public class ValidationJob<R> {
+
+	private static final Logger LOG = LoggerFactory.getLogger(ValidationJob.class);
+
+	private final String id = UUID.randomUUID().toString();
+
+	private final Date submissionTime = new Date();
+
+	private final Class<R> resultType;
+
+	private final CompletableFuture<Void> done = new CompletableFuture<>();
+
+	private volatile ValidationJobStatus status = ValidationJobStatus.PENDING;
+
+	private volatile Date completionTime;
+
+	private volatile R result;
+
+	private volatile String error;
+
+	ValidationJob(Class<R> resultType) {
+		this.resultType = resultType;
+	}
+
+	void run(Callable<R> task) {
+		status = ValidationJobStatus.RUNNING;
+		try {
+			result = task.call();
+		} catch (Exception e) {
+			LOG.warn("The validation job '{}' failed : {}", id, e.getMessage(), e);
+			error = e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName();
+		} finally {
+			completionTime = new Date();
+			// written last, the result and the error are visible once the job is done
+			status = error == null ? ValidationJobStatus.COMPLETED : ValidationJobStatus.FAILED;
+			done.complete(null);
+		}
+	}
+
+	/**
+	 * Registers a callback executed at the end of the job, immediately if the job is already done.
+	 * It allows to wait for a job without holding a thread.
+	 *
+	 * @param callback {@link Runnable}
+	 */
+	public void whenDone(Runnable callback) {
+		done.thenRun(callback);
+	}
+
+	public String getId() {
+		return id;
+	}
+
+	public Date getSubmissionTime() {
+		return submissionTime;
+	}
+
+	Class<R> getResultType() {
+		return resultType;
+	}
+
+	public ValidationJobStatus getStatus() {
+		return status;
+	}
+
+	public Date getCompletionTime() {
+		return completionTime;
+	}
+
+	/**
+	 * Gets the result of the validation
+	 *
+	 * @return the result, NULL if the job is not completed
+	 */
+	public R getResult() {
+		return result;
+	}
+
+	public String getError() {
+		return error;
+	}
+
+	public ValidationJobDTO toDTO() {
+		ValidationJobDTO dto = new ValidationJobDTO();
+		dto.setId(id);
+		// read first, the other fields are then consistent with the status
+		dto.setStatus(status);
+		dto.setSubmissionTime(submissionTime);
+		dto.setCompletionTime(completionTime);
+		dto.setError(error);
+		return dto;
+	}
+
+}
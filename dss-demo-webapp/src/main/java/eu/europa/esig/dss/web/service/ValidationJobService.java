@@ -0,0 +1,162 @@
+package eu.europa.esig.dss.web.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import java.util.Comparator;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Executes the validations in the background, on a bounded executor.
+ * The clients get a job id and poll the job until it is done. The finished jobs (and their results) are kept
+ * for {@code validation.job.ttl} milliseconds, and at most {@code validation.job.max.count} jobs are stored.
+ *
+ */
+@Component
+public class ValidationJobService {
+
+	private static final Logger LOG = LoggerFactory.getLogger(ValidationJobService.class);
+
+	@Value("${validation.job.threads:4}")
+	private int threads;
+
+	@Value("${validation.job.queue.size:50}")
+	private int queueSize;
+
+	@Value("${validation.job.max.count:200}")
+	private int maxCount;
+
+	@Value("${validation.job.ttl:600000}")
+	private long ttl;
+
+	@Value("${validation.job.max.wait:30000}")
+	private long maxWait;
+
+	@Autowired
+	private MetricsService metricsService;
+
+	private final Map<String, ValidationJob<?>> jobs = new ConcurrentHashMap<>();
+
+	private ThreadPoolTaskExecutor executor;
+
+	@PostConstruct
+	public void init() {
+		executor = new ThreadPoolTaskExecutor();
+		executor.setCorePoolSize(threads);
+		executor.setMaxPoolSize(threads);
+		// jobs above the queue capacity are rejected (see GlobalExceptionHandler)
+		executor.setQueueCapacity(queueSize);
+		executor.setThreadNamePrefix("validation-job-");
+		executor.initialize();
+
+		metricsService.bind(this);
+	}
+
+	@PreDestroy
+	public void destroy() {
+		executor.shutdown();
+	}
+
+	/**
+	 * Submits a new validation job
+	 *
+	 * @param resultType the type of the validation result
+	 * @param task {@link Callable} executing the validation
+	 * @param <R> the type of the validation result
+	 * @return the submitted {@link ValidationJob}
+	 * @throws TaskRejectedException if too many jobs are in progress
+	 */
+	public <R> ValidationJob<R> submit(Class<R> resultType, Callable<R> task) {
+		if (jobs.size() >= maxCount) {
+			evictExpiredJobs();
+			if (jobs.size() >= maxCount && !evictOldestDoneJob()) {
+				throw new TaskRejectedException("Too many validation jobs in progress");
+			}
+		}
+
+		ValidationJob<R> job = new ValidationJob<>(resultType);
+		jobs.put(job.getId(), job);
+		try {
+			executor.execute(() -> job.run(task));
+		} catch (TaskRejectedException e) {
+			jobs.remove(job.getId());
+			throw e;
+		}
+		LOG.debug("Validation job '{}' submitted", job.getId());
+		return job;
+	}
+
+	/**
+	 * Gets a job
+	 *
+	 * @param id the job id
+	 * @param resultType the expected type of the validation result
+	 * @param <R> the type of the validation result
+	 * @return the {@link ValidationJob}, NULL if not found (unknown, expired or with another result type)
+	 */
+	@SuppressWarnings("unchecked")
+	public <R> ValidationJob<R> getJob(String id, Class<R> resultType) {
+		if (id == null) {
+			return null;
+		}
+		ValidationJob<?> job = jobs.get(id);
+		if (job == null || !resultType.equals(job.getResultType())) {
+			return null;
+		}
+		return (ValidationJob<R>) job;
+	}
+
+	/**
+	 * Gets the time to wait for the end of a job within a single poll
+	 *
+	 * @param requested the time requested by the client, in milliseconds
+	 * @return the requested time limited by {@code validation.job.max.wait}
+	 */
+	public long getWaitTime(long requested) {
+		return Math.max(0, Math.min(requested, maxWait));
+	}
+
+	/**
+	 * Removes a job and its result. A running validation is not interrupted.
+	 *
+	 * @param id the job id
+	 * @return TRUE if the job has been removed
+	 */
+	public boolean remove(String id) {
+		return id != null && jobs.remove(id) != null;
+	}
+
+	/**
+	 * Gets the number of stored jobs
+	 *
+	 * @return the number of jobs
+	 */
+	public int getJobsCount() {
+		return jobs.size();
+	}
+
+	@Scheduled(initialDelayString = "${validation.job.cleanup.delay:60000}", fixedDelayString = "${validation.job.cleanup.delay:60000}")
+	public void evictExpiredJobs() {
+		long limit = System.currentTimeMillis() - ttl;
+		jobs.values().removeIf(job -> job.getStatus().isDone() && job.getCompletionTime().getTime() < limit);
+	}
+
+	private boolean evictOldestDoneJob() {
+		Optional<ValidationJob<?>> oldest = jobs.values().stream()
+				.filter(job -> job.getStatus().isDone())
+				.min(Comparator.comparing(ValidationJob::getCompletionTime));
+		return oldest.isPresent() && jobs.remove(oldest.get().getId()) != null;
+	}
+
+}
@@ -0,0 +1,169 @@
+package eu.europa.esig.dss.web.service;
+
+import eu.europa.esig.dss.enumerations.DigestAlgorithm;
+import eu.europa.esig.dss.model.DSSDocument;
+import eu.europa.esig.dss.model.DSSException;
+import eu.europa.esig.dss.model.policy.ValidationPolicy;
+import eu.europa.esig.dss.policy.ValidationPolicyFacade;
+import eu.europa.esig.dss.spi.DSSUtils;
+import eu.europa.esig.dss.utils.Utils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.io.Resource;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Keeps unmarshalled validation policies in memory, in order to avoid the JAXB parsing
+ * of the policy file on every validation.
+ * The default policies are loaded once on creation. Custom (uploaded) policies are cached
+ * by their SHA-256 digest within an LRU cache of a limited size.
+ *
+ */
+public class ValidationPolicyRegistry {
+
+	private static final Logger LOG = LoggerFactory.getLogger(ValidationPolicyRegistry.class);
+
+	/** The default validation policy used for signature validation */
+	private final ValidationPolicy defaultValidationPolicy;
+
+	/** The default validation policy used for certificate validation */
+	private final ValidationPolicy defaultCertificateValidationPolicy;
+
+	/** Cache of custom validation policies, with the base64-encoded SHA-256 digest of the policy file as a key */
+	private final Map<String, ValidationPolicy> customPolicies;
+
+	/** Number of policy requests served from the registry */
+	private final AtomicLong hitCount = new AtomicLong();
+
+	/** Number of policy requests which required unmarshalling of a policy file */
+	private final AtomicLong missCount = new AtomicLong();
+
+	/**
+	 * Default constructor
+	 *
+	 * @param defaultPolicy {@link Resource} the default signature validation policy
+	 * @param defaultCertificatePolicy {@link Resource} the default certificate validation policy
+	 * @param maxCustomPolicies the maximum number of custom policies to keep in memory
+	 */
+	public ValidationPolicyRegistry(Resource defaultPolicy, Resource defaultCertificatePolicy, int maxCustomPolicies) {
+		Objects.requireNonNull(defaultPolicy, "Default validation policy shall be defined!");
+		Objects.requireNonNull(defaultCertificatePolicy, "Default certificate validation policy shall be defined!");
+		this.defaultValidationPolicy = load(defaultPolicy);
+		this.defaultCertificateValidationPolicy = load(defaultCertificatePolicy);
+		this.customPolicies = new LinkedHashMap<String, ValidationPolicy>(16, 0.75f, true) {
+
+			private static final long serialVersionUID = -3416224917355378165L;
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<String, ValidationPolicy> eldest) {
+				return size() > maxCustomPolicies;
+			}
+
+		};
+	}
+
+	/**
+	 * Gets the default validation policy for a signature validation
+	 *
+	 * @return {@link ValidationPolicy}
+	 */
+	public ValidationPolicy getDefaultValidationPolicy() {
+		hitCount.incrementAndGet();
+		return defaultValidationPolicy;
+	}
+
+	/**
+	 * Gets the default validation policy for a certificate validation
+	 *
+	 * @return {@link ValidationPolicy}
+	 */
+	public ValidationPolicy getDefaultCertificateValidationPolicy() {
+		hitCount.incrementAndGet();
+		return defaultCertificateValidationPolicy;
+	}
+
+	/**
+	 * Gets a validation policy for the given policy file.
+	 * The policy is unmarshalled only when the same file (by digest) has not been processed before.
+	 *
+	 * @param policyDocument {@link DSSDocument} the validation policy file
+	 * @return {@link ValidationPolicy}
+	 */
+	public ValidationPolicy getValidationPolicy(DSSDocument policyDocument) {
+		Objects.requireNonNull(policyDocument, "Policy document shall be provided!");
+		byte[] policyBinaries = DSSUtils.toByteArray(policyDocument);
+		String key = Utils.toBase64(DSSUtils.digest(DigestAlgorithm.SHA256, policyBinaries));
+
+		ValidationPolicy validationPolicy;
+		synchronized (customPolicies) {
+			validationPolicy = customPolicies.get(key);
+		}
+		if (validationPolicy != null) {
+			hitCount.incrementAndGet();
+			return validationPolicy;
+		}
+
+		missCount.incrementAndGet();
+		LOG.debug("Validation policy with digest '{}' is not cached. Unmarshalling...", key);
+		validationPolicy = unmarshall(policyBinaries);
+		synchronized (customPolicies) {
+			customPolicies.put(key, validationPolicy);
+		}
+		return validationPolicy;
+	}
+
+	/**
+	 * Gets the number of policy requests served without unmarshalling
+	 *
+	 * @return hit count
+	 */
+	public long getHitCount() {
+		return hitCount.get();
+	}
+
+	/**
+	 * Gets the number of policy requests which required unmarshalling of a policy file
+	 *
+	 * @return miss count
+	 */
+	public long getMissCount() {
+		return missCount.get();
+	}
+
+	/**
+	 * Gets the number of custom policies currently kept in memory
+	 *
+	 * @return number of cached custom policies
+	 */
+	public int getCustomPoliciesCount() {
+		synchronized (customPolicies) {
+			return customPolicies.size();
+		}
+	}
+
+	private ValidationPolicy load(Resource policyResource) {
+		try (InputStream is = policyResource.getInputStream()) {
+			ValidationPolicy validationPolicy = ValidationPolicyFacade.newFacade().getValidationPolicy(is);
+			LOG.info("Validation policy '{}' loaded", policyResource.getFilename());
+			return validationPolicy;
+		} catch (Exception e) {
+			throw new DSSException(String.format("Unable to load the validation policy '%s' : %s",
+					policyResource.getFilename(), e.getMessage()), e);
+		}
+	}
+
+	private ValidationPolicy unmarshall(byte[] policyBinaries) {
+		try (InputStream is = new ByteArrayInputStream(policyBinaries)) {
+			return ValidationPolicyFacade.newFacade().getValidationPolicy(is);
+		} catch (Exception e) {
+			throw new DSSException(String.format("Unable to load the provided validation policy : %s", e.getMessage()), e);
+		}
+	}
+
+}
@@ -2,21 +2,31 @@ package eu.europa.esig.dss.web.service;
 
 import eu.europa.esig.dss.detailedreport.DetailedReportXmlDefiner;
 import eu.europa.esig.dss.diagnostic.DiagnosticDataXmlDefiner;
+import eu.europa.esig.dss.model.DSSException;
 import eu.europa.esig.dss.simplecertificatereport.SimpleCertificateReportXmlDefiner;
 import eu.europa.esig.dss.simplereport.SimpleReportXmlDefiner;
-import eu.europa.esig.dss.xml.utils.DSSXmlErrorListener;
+import eu.europa.esig.dss.web.model.ReportType;
+import jakarta.annotation.PostConstruct;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import javax.xml.transform.OutputKeys;
+import javax.xml.transform.Result;
+import javax.xml.transform.Source;
 import javax.xml.transform.Transformer;
 import javax.xml.transform.stream.StreamResult;
 import javax.xml.transform.stream.StreamSource;
+import java.io.IOException;
 import java.io.StringReader;
 import java.io.StringWriter;
 import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
 @Component
 public class XSLTService {
@@ -26,55 +36,151 @@ public class XSLTService {
 	@Value("${tl.browser.root.url}")
 	private String rootUrlInTlBrowser;
 
+	@Value("${xslt.transformer.pool.size:16}")
+	private int transformerPoolSize;
+
+	private final Map<ReportType, TransformerPool> transformerPools = new EnumMap<>(ReportType.class);
+
+	private final RenderingMetrics renderingMetrics = new RenderingMetrics();
+
+	@Autowired
+	private RenderCache renderCache;
+
+	@Autowired
+	private MetricsService metricsService;
+
+	@PostConstruct
+	public void init() {
+		// Templates are compiled once by the definers, transformers are reused between the calls
+		transformerPools.put(ReportType.SIMPLE_REPORT,
+				new TransformerPool(SimpleReportXmlDefiner.getHtmlBootstrap4Templates(), transformerPoolSize));
+		transformerPools.put(ReportType.SIMPLE_CERTIFICATE_REPORT,
+				new TransformerPool(SimpleCertificateReportXmlDefiner.getHtmlBootstrap4Templates(), transformerPoolSize));
+		transformerPools.put(ReportType.DETAILED_REPORT,
+				new TransformerPool(DetailedReportXmlDefiner.getHtmlBootstrap4Templates(), transformerPoolSize));
+		transformerPools.put(ReportType.DIAGNOSTIC_DATA_SVG,
+				new TransformerPool(DiagnosticDataXmlDefiner.getSvgTemplates(), transformerPoolSize));
+
+		metricsService.bind(renderingMetrics, "xslt");
+	}
+
 	public String generateSimpleReport(String simpleReport) {
-		try (Writer writer = new StringWriter(); StringReader stringReader = new StringReader(simpleReport)) {
-			Transformer transformer = SimpleReportXmlDefiner.getHtmlBootstrap4Templates().newTransformer();
-			transformer.setErrorListener(new DSSXmlErrorListener());
-			transformer.setParameter("rootUrlInTlBrowser", rootUrlInTlBrowser);
-			transformer.transform(new StreamSource(stringReader), new StreamResult(writer));
-			return writer.toString();
-		} catch (Exception e) {
-			LOG.error("Error while generating simple report : " + e.getMessage(), e);
-			return null;
-		}
+		return generate(ReportType.SIMPLE_REPORT, simpleReport);
+	}
+
+	public void generateSimpleReport(Source simpleReport, Writer writer) {
+		transform(ReportType.SIMPLE_REPORT, simpleReport, new StreamResult(writer));
 	}
 
 	public String generateSimpleCertificateReport(String simpleCertificateReport) {
-		try (Writer writer = new StringWriter(); StringReader stringReader = new StringReader(simpleCertificateReport)) {
-			Transformer transformer = SimpleCertificateReportXmlDefiner.getHtmlBootstrap4Templates().newTransformer();
-			transformer.setErrorListener(new DSSXmlErrorListener());
-			transformer.setParameter("rootUrlInTlBrowser", rootUrlInTlBrowser);
-			transformer.transform(new StreamSource(stringReader), new StreamResult(writer));
-			return writer.toString();
+		return generate(ReportType.SIMPLE_CERTIFICATE_REPORT, simpleCertificateReport);
+	}
+
+	public void generateSimpleCertificateReport(Source simpleCertificateReport, Writer writer) {
+		transform(ReportType.SIMPLE_CERTIFICATE_REPORT, simpleCertificateReport, new StreamResult(writer));
+	}
+
+	public String generateDetailedReport(String detailedReport) {
+		return generate(ReportType.DETAILED_REPORT, detailedReport);
+	}
+
+	public void generateDetailedReport(Source detailedReport, Writer writer) {
+		transform(ReportType.DETAILED_REPORT, detailedReport, new StreamResult(writer));
+	}
+
+	public String generateSVG(String diagnosticDataXml) {
+		return generate(ReportType.DIAGNOSTIC_DATA_SVG, diagnosticDataXml);
+	}
+
+	public void generateSVG(Source diagnosticData, Writer writer) {
+		transform(ReportType.DIAGNOSTIC_DATA_SVG, diagnosticData, new StreamResult(writer));
+	}
+
+	/**
+	 * Writes the SVG to the writer, from the render cache when the same diagnostic data has already been rendered
+	 *
+	 * @param diagnosticDataXml {@link String} the diagnostic data XML
+	 * @param writer {@link Writer} to write the SVG to
+	 * @throws IOException if an error occurs on writing
+	 */
+	public void generateSVG(String diagnosticDataXml, Writer writer) throws IOException {
+		String key = getCacheKey(ReportType.DIAGNOSTIC_DATA_SVG, diagnosticDataXml);
+		byte[] cached = renderCache.get(key);
+		if (cached != null) {
+			writer.write(new String(cached, StandardCharsets.UTF_8));
+			return;
+		}
+		RenderCache.CapturingWriter capturingWriter = renderCache.capture(writer);
+		try (StringReader stringReader = new StringReader(diagnosticDataXml)) {
+			transform(ReportType.DIAGNOSTIC_DATA_SVG, new StreamSource(stringReader), new StreamResult(capturingWriter));
+		}
+		capturingWriter.flush();
+		String svg = capturingWriter.getCaptured();
+		if (svg != null) {
+			renderCache.put(key, svg.getBytes(StandardCharsets.UTF_8));
+		}
+	}
+
+	/**
+	 * Gets the rendering durations per report type
+	 *
+	 * @return {@link RenderingMetrics}
+	 */
+	public RenderingMetrics getRenderingMetrics() {
+		return renderingMetrics;
+	}
+
+	private String generate(ReportType reportType, String xml) {
+		String key = getCacheKey(reportType, xml);
+		byte[] cached = renderCache.get(key);
+		if (cached != null) {
+			return new String(cached, StandardCharsets.UTF_8);
+		}
+		try (Writer writer = new StringWriter(); StringReader stringReader = new StringReader(xml)) {
+			transform(reportType, new StreamSource(stringReader), new StreamResult(writer));
+			String result = writer.toString();
+			renderCache.put(key, result.getBytes(StandardCharsets.UTF_8));
+			return result;
 		} catch (Exception e) {
-			LOG.error("Error while generating simple certificate report : " + e.getMessage(), e);
+			LOG.error("Error while generating {} : {}", reportType, e.getMessage(), e);
 			return null;
 		}
 	}
 
-	public String generateDetailedReport(String detailedReport) {
-		try (Writer writer = new StringWriter(); StringReader stringReader = new StringReader(detailedReport)) {
-			Transformer transformer = DetailedReportXmlDefiner.getHtmlBootstrap4Templates().newTransformer();
-			transformer.setErrorListener(new DSSXmlErrorListener());
-			transformer.transform(new StreamSource(stringReader), new StreamResult(writer));
-			return writer.toString();
+	private String getCacheKey(ReportType reportType, String xml) {
+		String format = ReportType.DIAGNOSTIC_DATA_SVG == reportType ? "SVG" : "HTML";
+		return renderCache.getKey(format, reportType, xml, rootUrlInTlBrowser);
+	}
+
+	private void transform(ReportType reportType, Source source, Result result) {
+		TransformerPool transformerPool = transformerPools.get(reportType);
+		Transformer transformer = transformerPool.borrow();
+		long start = System.nanoTime();
+		try {
+			configure(reportType, transformer);
+			transformer.transform(source, result);
 		} catch (Exception e) {
-			LOG.error("Error while generating detailed report : " + e.getMessage(), e);
-			return null;
+			throw new DSSException(String.format("Unable to generate %s : %s", reportType, e.getMessage()), e);
+		} finally {
+			transformerPool.release(transformer);
+			long duration = System.nanoTime() - start;
+			renderingMetrics.record(reportType, duration);
+			LOG.debug("{} rendering duration : {}ms", reportType, TimeUnit.NANOSECONDS.toMillis(duration));
+		}
+	}
+
+	private void configure(ReportType reportType, Transformer transformer) {
+		switch (reportType) {
+			case SIMPLE_REPORT:
+			case SIMPLE_CERTIFICATE_REPORT:
+				transformer.setParameter("rootUrlInTlBrowser", rootUrlInTlBrowser);
+				break;
+			case DIAGNOSTIC_DATA_SVG:
+				transformer.setOutputProperty(OutputKeys.ENCODING, "ASCII"); // required to display unicode characters in HTML
+				break;
+			default:
+				break;
 		}
 	}
 
-    public String generateSVG(String diagnosticDataXml) {
-		try (Writer writer = new StringWriter(); StringReader stringReader = new StringReader(diagnosticDataXml)) {
-			Transformer transformer = DiagnosticDataXmlDefiner.getSvgTemplates().newTransformer();
-			transformer.setErrorListener(new DSSXmlErrorListener());
-			transformer.setOutputProperty(OutputKeys.ENCODING, "ASCII"); // required to display unicode characters in HTML
-			transformer.transform(new StreamSource(stringReader), new StreamResult(writer));
-            return writer.toString();
-        } catch (Exception e) {
-            LOG.error("Error while generating the SVG : " + e.getMessage(), e);
-            return null;
-        }
-    }
-
-}
\ No newline at end of file
+}
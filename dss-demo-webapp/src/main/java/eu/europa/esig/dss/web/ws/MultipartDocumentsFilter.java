@@ -0,0 +1,138 @@
+package eu.europa.esig.dss.web.ws;
+
+import eu.europa.esig.dss.model.DSSException;
+import jakarta.ws.rs.container.ContainerRequestContext;
+import jakarta.ws.rs.container.ContainerRequestFilter;
+import jakarta.ws.rs.container.PreMatching;
+import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.core.MediaType;
+import org.apache.cxf.jaxrs.ext.MessageContextImpl;
+import org.apache.cxf.jaxrs.ext.multipart.Attachment;
+import org.apache.cxf.jaxrs.ext.multipart.MultipartBody;
+import org.apache.cxf.jaxrs.utils.JAXRSUtils;
+import org.apache.cxf.jaxrs.utils.multipart.AttachmentUtils;
+import org.apache.cxf.message.Message;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Allows the REST services to receive their documents as binary parts instead of base64 encoded JSON values.
+ * A multipart/form-data (or multipart/related) request contains the JSON parameters of the service in a part named
+ * "parameters" (or the root part), and each document in a part named by the path of the document in the parameters
+ * (e.g. "toSignDocument", "toSignDocuments[1]", "parameters.detachedContents[0]", or "document" for a document
+ * returned directly). The parts bigger than the threshold are stored in temporary files.
+ * The request is then handled as a JSON request, the content of the parts being set by
+ * {@link MultipartDocumentsJsonProvider}. The response is returned the same way when the client accepts
+ * multipart/form-data.
+ *
+ */
+@PreMatching
+public class MultipartDocumentsFilter implements ContainerRequestFilter {
+
+	public static final String PARAMETERS_PART = "parameters";
+
+	/** The message property containing the document parts, by path */
+	static final String DOCUMENT_PARTS = MultipartDocumentsFilter.class.getName() + ".parts";
+
+	/** The message property containing the Accept header replaced by the filter */
+	static final String ORIGINAL_ACCEPT = MultipartDocumentsFilter.class.getName() + ".accept";
+
+	/** The exchange property set when the response is returned as multipart/form-data */
+	static final String MULTIPART_RESPONSE = MultipartDocumentsFilter.class.getName() + ".response";
+
+	private String attachmentDirectory;
+
+	private long attachmentMemoryThreshold;
+
+	private long attachmentMaxSize;
+
+	/**
+	 * Sets the directory of the parts stored in temporary files (the default temporary directory when NULL)
+	 *
+	 * @param attachmentDirectory {@link String}
+	 */
+	public void setAttachmentDirectory(String attachmentDirectory) {
+		this.attachmentDirectory = attachmentDirectory;
+	}
+
+	/**
+	 * Sets the size above which a part is stored in a temporary file
+	 *
+	 * @param attachmentMemoryThreshold in bytes
+	 */
+	public void setAttachmentMemoryThreshold(long attachmentMemoryThreshold) {
+		this.attachmentMemoryThreshold = attachmentMemoryThreshold;
+	}
+
+	/**
+	 * Sets the maximum size of a part
+	 *
+	 * @param attachmentMaxSize in bytes
+	 */
+	public void setAttachmentMaxSize(long attachmentMaxSize) {
+		this.attachmentMaxSize = attachmentMaxSize;
+	}
+
+	@Override
+	public void filter(ContainerRequestContext requestContext) throws IOException {
+		Message message = JAXRSUtils.getCurrentMessage();
+		if (acceptsMultipart(requestContext)) {
+			message.getExchange().put(MULTIPART_RESPONSE, Boolean.TRUE);
+			message.put(ORIGINAL_ACCEPT, requestContext.getHeaderString(HttpHeaders.ACCEPT));
+			requestContext.getHeaders().putSingle(HttpHeaders.ACCEPT, MediaType.APPLICATION_JSON);
+			message.put(Message.ACCEPT_CONTENT_TYPE, MediaType.APPLICATION_JSON);
+		}
+
+		MediaType mediaType = requestContext.getMediaType();
+		if (mediaType == null || !"multipart".equalsIgnoreCase(mediaType.getType())) {
+			return;
+		}
+		MultipartBody multipartBody = AttachmentUtils.getMultipartBody(new MessageContextImpl(message),
+				attachmentDirectory, String.valueOf(attachmentMemoryThreshold), String.valueOf(attachmentMaxSize));
+
+		Attachment parameters = null;
+		Map<String, Attachment> documentParts = new LinkedHashMap<>();
+		for (Attachment attachment : multipartBody.getAllAttachments()) {
+			String name = getPartName(attachment);
+			if (PARAMETERS_PART.equals(name)) {
+				parameters = attachment;
+			} else if (name != null) {
+				documentParts.put(name, attachment);
+			}
+		}
+		if (parameters == null && "related".equalsIgnoreCase(mediaType.getSubtype())) {
+			parameters = multipartBody.getRootAttachment();
+			documentParts.values().remove(parameters);
+		}
+		if (parameters == null) {
+			throw new DSSException(String.format("The multipart request shall contain a part named '%s'", PARAMETERS_PART));
+		}
+
+		message.put(DOCUMENT_PARTS, documentParts);
+		requestContext.setEntityStream(parameters.getDataHandler().getInputStream());
+		requestContext.getHeaders().remove(HttpHeaders.CONTENT_LENGTH);
+		requestContext.getHeaders().putSingle(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON);
+		message.put(Message.CONTENT_TYPE, MediaType.APPLICATION_JSON);
+	}
+
+	private boolean acceptsMultipart(ContainerRequestContext requestContext) {
+		List<MediaType> acceptableMediaTypes = requestContext.getAcceptableMediaTypes();
+		return !acceptableMediaTypes.isEmpty() && MediaType.MULTIPART_FORM_DATA_TYPE.isCompatible(acceptableMediaTypes.get(0))
+				&& !acceptableMediaTypes.get(0).isWildcardType();
+	}
+
+	private String getPartName(Attachment attachment) {
+		if (attachment.getContentDisposition() != null && attachment.getContentDisposition().getParameter("name") != null) {
+			return attachment.getContentDisposition().getParameter("name");
+		}
+		String contentId = attachment.getContentId();
+		if (contentId != null && contentId.startsWith("<") && contentId.endsWith(">")) {
+			contentId = contentId.substring(1, contentId.length() - 1);
+		}
+		return contentId;
+	}
+
+}
@@ -0,0 +1,231 @@
+package eu.europa.esig.dss.web.ws;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.BeanDescription;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.introspect.AnnotatedMember;
+import com.fasterxml.jackson.databind.introspect.BeanPropertyDefinition;
+import com.fasterxml.jackson.jakarta.rs.json.JacksonJsonProvider;
+import eu.europa.esig.dss.model.DSSException;
+import eu.europa.esig.dss.spi.DSSUtils;
+import eu.europa.esig.dss.ws.dto.RemoteDocument;
+import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.MultivaluedMap;
+import org.apache.cxf.jaxrs.ext.multipart.Attachment;
+import org.apache.cxf.jaxrs.utils.JAXRSUtils;
+import org.apache.cxf.message.Message;
+import org.apache.cxf.phase.PhaseInterceptorChain;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * {@code JacksonJsonProvider} setting the content of the documents received as binary parts
+ * (see {@link MultipartDocumentsFilter}), the big ones being copied to temporary files, and writing the documents of the response as binary parts
+ * when the client accepts multipart/form-data. The JSON output is indented only on demand.
+ *
+ */
+public class MultipartDocumentsJsonProvider extends JacksonJsonProvider {
+
+	/** The documents are only searched within the DTOs of the web services */
+	private static final String DTO_PACKAGE = "eu.europa.esig.dss.ws.";
+
+	/** The name of the part of a document returned or received directly (not within a DTO) */
+	public static final String DOCUMENT_PART = "document";
+
+	private static final int MAX_DEPTH = 8;
+
+	private static final String PRETTY = "pretty";
+
+	private static final byte[] CRLF = "\r\n".getBytes(StandardCharsets.US_ASCII);
+
+	private File attachmentDirectory;
+
+	private int attachmentMemoryThreshold;
+
+	/**
+	 * Sets the directory of the documents stored in temporary files (the default temporary directory when NULL)
+	 *
+	 * @param attachmentDirectory {@link File}
+	 */
+	public void setAttachmentDirectory(File attachmentDirectory) {
+		this.attachmentDirectory = attachmentDirectory;
+	}
+
+	/**
+	 * Sets the size above which the content of a document is stored in a temporary file (0 : always in memory)
+	 *
+	 * @param attachmentMemoryThreshold in bytes
+	 */
+	public void setAttachmentMemoryThreshold(int attachmentMemoryThreshold) {
+		this.attachmentMemoryThreshold = attachmentMemoryThreshold;
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public Object readFrom(Class<Object> type, Type genericType, Annotation[] annotations, MediaType mediaType,
+						   MultivaluedMap<String, String> httpHeaders, InputStream entityStream) throws IOException {
+		Object value = super.readFrom(type, genericType, annotations, mediaType, httpHeaders, entityStream);
+		Message message = PhaseInterceptorChain.getCurrentMessage();
+		Map<String, Attachment> documentParts = message != null ?
+				(Map<String, Attachment>) message.get(MultipartDocumentsFilter.DOCUMENT_PARTS) : null;
+		if (documentParts != null && !documentParts.isEmpty()) {
+			Map<String, RemoteDocument> documents = getDocuments(locateMapper(type, mediaType), value);
+			for (Map.Entry<String, Attachment> part : documentParts.entrySet()) {
+				RemoteDocument document = documents.get(part.getKey());
+				if (document == null) {
+					throw new DSSException(String.format("No document '%s' in the parameters", part.getKey()));
+				}
+				try (InputStream is = part.getValue().getDataHandler().getInputStream()) {
+					setContent(message, document, is);
+				}
+			}
+		}
+		return value;
+	}
+
+	/**
+	 * The content of a big part is copied to a temporary file, deleted once the response is sent,
+	 * instead of being read in memory
+	 */
+	private void setContent(Message message, RemoteDocument document, InputStream is) throws IOException {
+		if (attachmentMemoryThreshold > 0 && document instanceof SpooledRemoteDocument) {
+			RemoteDocumentDeserializer.spool(message, (SpooledRemoteDocument) document, attachmentMemoryThreshold,
+					attachmentDirectory, is::transferTo);
+		} else {
+			document.setBytes(DSSUtils.toByteArray(is));
+		}
+	}
+
+	@Override
+	public void writeTo(Object value, Class<?> type, Type genericType, Annotation[] annotations, MediaType mediaType,
+						MultivaluedMap<String, Object> httpHeaders, OutputStream entityStream) throws IOException {
+		Message message = PhaseInterceptorChain.getCurrentMessage();
+		boolean multipart = message != null && message.getExchange().get(MultipartDocumentsFilter.MULTIPART_RESPONSE) != null;
+		boolean prettyPrint = message != null && isPrettyPrintRequested(message.getExchange().getInMessage());
+		if (!multipart && !prettyPrint) {
+			super.writeTo(value, type, genericType, annotations, mediaType, httpHeaders, entityStream);
+			return;
+		}
+		ObjectMapper mapper = locateMapper(type, mediaType);
+		// the value is written by the streaming generator, straight to the response
+		ObjectWriter writer = mapper.writerFor(mapper.constructType(genericType != null ? genericType : type))
+				.without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+		if (prettyPrint) {
+			writer = writer.withDefaultPrettyPrinter();
+		}
+		if (!multipart) {
+			writer.writeValue(entityStream, value);
+			return;
+		}
+
+		Map<String, byte[]> contents = new LinkedHashMap<>();
+		for (Map.Entry<String, RemoteDocument> entry : getDocuments(mapper, value).entrySet()) {
+			RemoteDocument document = entry.getValue();
+			if (document.getBytes() != null) {
+				contents.put(entry.getKey(), document.getBytes());
+				document.setBytes(null);
+			}
+		}
+
+		String boundary = "dss-" + UUID.randomUUID();
+		httpHeaders.putSingle(HttpHeaders.CONTENT_TYPE, MediaType.MULTIPART_FORM_DATA + "; boundary=" + boundary);
+		writePartHeaders(entityStream, boundary, MultipartDocumentsFilter.PARAMETERS_PART, MediaType.APPLICATION_JSON);
+		writer.writeValue(entityStream, value);
+		entityStream.write(CRLF);
+		for (Map.Entry<String, byte[]> content : contents.entrySet()) {
+			writePartHeaders(entityStream, boundary, content.getKey(), MediaType.APPLICATION_OCTET_STREAM);
+			entityStream.write(content.getValue());
+			entityStream.write(CRLF);
+		}
+		entityStream.write(("--" + boundary + "--").getBytes(StandardCharsets.US_ASCII));
+		entityStream.write(CRLF);
+	}
+
+	private void writePartHeaders(OutputStream os, String boundary, String name, String contentType) throws IOException {
+		String headers = "--" + boundary + "\r\n" +
+				"Content-Disposition: form-data; name=\"" + name + "\"\r\n" +
+				"Content-Type: " + contentType + "\r\n\r\n";
+		os.write(headers.getBytes(StandardCharsets.US_ASCII));
+	}
+
+	/**
+	 * The output is compact, unless the client asks for an indented output with the query parameter "pretty"
+	 * or the parameter "pretty=true" of the accepted media type
+	 */
+	private boolean isPrettyPrintRequested(Message inMessage) {
+		if (inMessage == null) {
+			return false;
+		}
+		String query = (String) inMessage.get(Message.QUERY_STRING);
+		if (query != null) {
+			for (String parameter : query.split("&")) {
+				if (PRETTY.equals(parameter) || (PRETTY + "=true").equalsIgnoreCase(parameter)) {
+					return true;
+				}
+			}
+		}
+		Object accept = inMessage.get(MultipartDocumentsFilter.ORIGINAL_ACCEPT);
+		if (accept == null) {
+			accept = inMessage.get(Message.ACCEPT_CONTENT_TYPE);
+		}
+		if (accept != null) {
+			for (MediaType acceptedType : JAXRSUtils.parseMediaTypes(accept.toString())) {
+				if ("true".equalsIgnoreCase(acceptedType.getParameters().get(PRETTY))) {
+					return true;
+				}
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Gets the documents of a web service DTO, by their path (e.g. "toSignDocuments[1]")
+	 *
+	 * @param mapper {@link ObjectMapper} used to find the properties of the DTO
+	 * @param value the DTO
+	 * @return a map of {@link RemoteDocument}s by path
+	 */
+	static Map<String, RemoteDocument> getDocuments(ObjectMapper mapper, Object value) {
+		Map<String, RemoteDocument> documents = new LinkedHashMap<>();
+		collectDocuments(mapper, value, "", documents, 0);
+		return documents;
+	}
+
+	private static void collectDocuments(ObjectMapper mapper, Object value, String path,
+										 Map<String, RemoteDocument> documents, int depth) {
+		if (value == null || depth > MAX_DEPTH) {
+			return;
+		}
+		if (value instanceof RemoteDocument) {
+			documents.put(path.isEmpty() ? DOCUMENT_PART : path, (RemoteDocument) value);
+		} else if (value instanceof Collection) {
+			int index = 0;
+			for (Object item : (Collection<?>) value) {
+				collectDocuments(mapper, item, path + "[" + index++ + "]", documents, depth + 1);
+			}
+		} else if (value.getClass().getName().startsWith(DTO_PACKAGE)) {
+			BeanDescription description = mapper.getSerializationConfig().introspect(mapper.constructType(value.getClass()));
+			for (BeanPropertyDefinition property : description.findProperties()) {
+				AnnotatedMember accessor = property.getAccessor();
+				if (accessor != null) {
+					accessor.fixAccess(true);
+					String propertyPath = path.isEmpty() ? property.getName() : path + "." + property.getName();
+					collectDocuments(mapper, accessor.getValue(value), propertyPath, documents, depth + 1);
+				}
+			}
+		}
+	}
+
+}
@@ -0,0 +1,205 @@
+package eu.europa.esig.dss.web.ws;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+import eu.europa.esig.dss.enumerations.DigestAlgorithm;
+import eu.europa.esig.dss.ws.dto.RemoteDocument;
+import org.apache.commons.io.function.IOConsumer;
+import org.apache.commons.io.output.DeferredFileOutputStream;
+import org.apache.cxf.message.Message;
+import org.apache.cxf.phase.PhaseInterceptorChain;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads a {@code RemoteDocument} without building the base64 string of its content : the content is decoded
+ * while it is parsed, into a temporary file once bigger than the threshold. The temporary files are deleted
+ * once the response is sent (see {@link SpooledDocumentsCleanupFilter}).
+ * The content is only spooled to files for the requests received by the web services.
+ * The decoded content is limited to the maximum size, the request is rejected beyond.
+ *
+ */
+public class RemoteDocumentDeserializer extends StdDeserializer<RemoteDocument> {
+
+	private static final long serialVersionUID = 5093617266520186147L;
+
+	/** The exchange property containing the temporary files of the request */
+	static final String SPOOLED_FILES = RemoteDocumentDeserializer.class.getName() + ".files";
+
+	private final int threshold;
+
+	private final File directory;
+
+	private final long maxSize;
+
+	/**
+	 * Default constructor
+	 *
+	 * @param threshold the size in bytes above which the content is stored in a temporary file
+	 * @param directory {@link File} the directory of the temporary files (the default temporary directory when NULL)
+	 * @param maxSize the maximum size in bytes of a decoded content (0 : no limit)
+	 */
+	public RemoteDocumentDeserializer(int threshold, File directory, long maxSize) {
+		super(RemoteDocument.class);
+		this.threshold = threshold;
+		this.directory = directory;
+		this.maxSize = maxSize;
+	}
+
+	@Override
+	public RemoteDocument deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+		SpooledRemoteDocument document = new SpooledRemoteDocument();
+		JsonToken token = p.currentToken();
+		if (token == JsonToken.START_OBJECT) {
+			token = p.nextToken();
+		}
+		for (; token == JsonToken.FIELD_NAME; token = p.nextToken()) {
+			String fieldName = p.currentName();
+			token = p.nextToken();
+			if (token == JsonToken.VALUE_NULL) {
+				continue;
+			}
+			switch (fieldName) {
+				case "bytes":
+					readContent(p, ctxt, document);
+					break;
+				case "digestAlgorithm":
+					document.setDigestAlgorithm(ctxt.readValue(p, DigestAlgorithm.class));
+					break;
+				case "name":
+					document.setName(p.getValueAsString());
+					break;
+				default:
+					ctxt.handleUnknownProperty(p, this, RemoteDocument.class, fieldName);
+					break;
+			}
+		}
+		return document;
+	}
+
+	private void readContent(JsonParser p, DeserializationContext ctxt, SpooledRemoteDocument document) throws IOException {
+		Message message = PhaseInterceptorChain.getCurrentMessage();
+		if (message == null || threshold <= 0) {
+			if (maxSize <= 0) {
+				document.setBytes(p.getBinaryValue(ctxt.getBase64Variant()));
+			} else {
+				ByteArrayOutputStream baos = new ByteArrayOutputStream();
+				readBinaryValue(p, ctxt, baos);
+				document.setBytes(baos.toByteArray());
+			}
+			return;
+		}
+		spool(message, document, threshold, directory, os -> readBinaryValue(p, ctxt, os));
+	}
+
+	/**
+	 * Writes the content of a document, into a temporary file once bigger than the threshold. The temporary file
+	 * is deleted once the response is sent (see {@link SpooledDocumentsCleanupFilter}), or at once when the content
+	 * cannot be entirely written.
+	 *
+	 * @param message {@link Message} the current web service request
+	 * @param document {@link SpooledRemoteDocument} to set the content of
+	 * @param threshold the size in bytes above which the content is stored in a temporary file
+	 * @param directory {@link File} the directory of the temporary files (the default temporary directory when NULL)
+	 * @param contentWriter writes the content to the given stream
+	 * @throws IOException if the content cannot be written
+	 */
+	@SuppressWarnings("unchecked")
+	static void spool(Message message, SpooledRemoteDocument document, int threshold, File directory,
+					  IOConsumer<OutputStream> contentWriter) throws IOException {
+		DeferredFileOutputStream os = DeferredFileOutputStream.builder()
+				.setThreshold(threshold)
+				.setPrefix("dss-document-")
+				.setSuffix(".tmp")
+				.setDirectory(directory)
+				.get();
+		boolean completed = false;
+		try {
+			contentWriter.accept(os);
+			completed = true;
+		} finally {
+			os.close();
+			if (!os.isInMemory()) {
+				if (completed) {
+					List<File> files = (List<File>) message.getExchange().get(SPOOLED_FILES);
+					if (files == null) {
+						files = new ArrayList<>();
+						message.getExchange().put(SPOOLED_FILES, files);
+					}
+					files.add(os.getFile());
+				} else {
+					// an incomplete content is not kept until the response
+					Files.deleteIfExists(os.getFile().toPath());
+				}
+			}
+		}
+		if (os.isInMemory()) {
+			document.setBytes(os.getData());
+		} else {
+			document.setFile(os.getFile());
+		}
+	}
+
+	private void readBinaryValue(JsonParser p, DeserializationContext ctxt, OutputStream os) throws IOException {
+		if (maxSize <= 0) {
+			p.readBinaryValue(ctxt.getBase64Variant(), os);
+			return;
+		}
+		try {
+			p.readBinaryValue(ctxt.getBase64Variant(), new MaxSizeOutputStream(os, maxSize));
+		} catch (MaxSizeExceededException e) {
+			ctxt.reportInputMismatch(this, "The document content exceeds the maximum size of %s bytes", maxSize);
+		}
+	}
+
+	/**
+	 * Counts the written bytes, and fails once the maximum size is exceeded
+	 */
+	private static final class MaxSizeOutputStream extends FilterOutputStream {
+
+		private final long maxSize;
+
+		private long count;
+
+		private MaxSizeOutputStream(OutputStream out, long maxSize) {
+			super(out);
+			this.maxSize = maxSize;
+		}
+
+		@Override
+		public void write(int b) throws IOException {
+			checkSize(1);
+			out.write(b);
+		}
+
+		@Override
+		public void write(byte[] b, int off, int len) throws IOException {
+			checkSize(len);
+			out.write(b, off, len);
+		}
+
+		private void checkSize(int len) throws MaxSizeExceededException {
+			count += len;
+			if (count > maxSize) {
+				throw new MaxSizeExceededException();
+			}
+		}
+
+	}
+
+	private static final class MaxSizeExceededException extends IOException {
+
+		private static final long serialVersionUID = -4420175635307457619L;
+
+	}
+
+}
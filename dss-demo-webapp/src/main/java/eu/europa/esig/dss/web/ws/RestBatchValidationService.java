@@ -0,0 +1,250 @@
+package eu.europa.esig.dss.web.ws;
+
+import com.fasterxml.jackson.databind.ObjectWriter;
+import eu.europa.esig.dss.model.DSSDocument;
+import eu.europa.esig.dss.model.DSSException;
+import eu.europa.esig.dss.model.InMemoryDocument;
+import eu.europa.esig.dss.model.policy.ValidationPolicy;
+import eu.europa.esig.dss.web.model.BatchValidationResult;
+import eu.europa.esig.dss.web.service.BatchValidationService;
+import eu.europa.esig.dss.web.service.BatchValidationService.DocumentReadException;
+import eu.europa.esig.dss.web.service.ValidationPolicyRegistry;
+import jakarta.ws.rs.Consumes;
+import jakarta.ws.rs.POST;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.core.StreamingOutput;
+import org.apache.cxf.jaxrs.ext.multipart.Attachment;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.task.TaskRejectedException;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+/**
+ * REST service validating many documents within a single call.
+ * The documents are sent either as parts of a multipart/form-data request (an optional part named "policy"
+ * contains the validation policy to use), or as the entries of a ZIP archive.
+ * The simple reports are streamed back as newline delimited JSON (one line per document), as soon as they are available.
+ * A batch is rejected with the status 503 when the maximum number of batches is already being validated.
+ *
+ */
+@Path("/")
+public class RestBatchValidationService {
+
+	private static final Logger LOG = LoggerFactory.getLogger(RestBatchValidationService.class);
+
+	public static final String APPLICATION_NDJSON = "application/x-ndjson";
+
+	public static final String APPLICATION_ZIP = "application/zip";
+
+	private static final String POLICY_PART_NAME = "policy";
+
+	private BatchValidationService batchValidationService;
+
+	private ValidationPolicyRegistry validationPolicyRegistry;
+
+	private ObjectWriter objectWriter;
+
+	private long maxDocumentSize;
+
+	public void setBatchValidationService(BatchValidationService batchValidationService) {
+		this.batchValidationService = batchValidationService;
+	}
+
+	public void setValidationPolicyRegistry(ValidationPolicyRegistry validationPolicyRegistry) {
+		this.validationPolicyRegistry = validationPolicyRegistry;
+	}
+
+	/**
+	 * Sets the writer used for the results. It shall not indent the output (one result per line).
+	 *
+	 * @param objectWriter {@link ObjectWriter}
+	 */
+	public void setObjectWriter(ObjectWriter objectWriter) {
+		this.objectWriter = objectWriter;
+	}
+
+	/**
+	 * Sets the maximum size of a document sent as a part or extracted from a ZIP archive
+	 *
+	 * @param maxDocumentSize in bytes
+	 */
+	public void setMaxDocumentSize(long maxDocumentSize) {
+		this.maxDocumentSize = maxDocumentSize;
+	}
+
+	@POST
+	@Consumes(MediaType.MULTIPART_FORM_DATA)
+	@Produces(APPLICATION_NDJSON)
+	public Response validateDocuments(List<Attachment> attachments) {
+		ValidationPolicy validationPolicy = null;
+		List<Attachment> documentAttachments = new ArrayList<>();
+		for (Attachment attachment : attachments) {
+			if (POLICY_PART_NAME.equals(attachment.getContentDisposition().getParameter("name"))) {
+				validationPolicy = validationPolicyRegistry.getValidationPolicy(toDocument(attachment));
+			} else {
+				documentAttachments.add(attachment);
+			}
+		}
+		// the attachments are read one by one, when a validation slot is available
+		Iterator<DSSDocument> documents = documentAttachments.stream().map(this::toDocument).iterator();
+		return stream(documents, validationPolicy, null);
+	}
+
+	@POST
+	@Consumes(APPLICATION_ZIP)
+	@Produces(APPLICATION_NDJSON)
+	public Response validateZip(InputStream zipStream) {
+		File zipFile = null;
+		try {
+			// the archive is stored before the response is written, the request is then entirely consumed
+			zipFile = File.createTempFile("dss-batch-", ".zip");
+			Files.copy(zipStream, zipFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+			return stream(new ZipDocumentIterator(zipFile, maxDocumentSize), null, zipFile);
+		} catch (IOException e) {
+			if (zipFile != null && !zipFile.delete()) {
+				LOG.warn("Unable to delete the temporary file '{}'", zipFile);
+			}
+			throw new DSSException(String.format("Unable to read the ZIP archive : %s", e.getMessage()), e);
+		}
+	}
+
+	private Response stream(Iterator<DSSDocument> documents, ValidationPolicy validationPolicy, File tempFile) {
+		try {
+			// reserved before the response status is sent
+			batchValidationService.acquire();
+		} catch (TaskRejectedException e) {
+			close(documents, tempFile);
+			return Response.status(Response.Status.SERVICE_UNAVAILABLE).entity(e.getMessage()).build();
+		}
+		StreamingOutput output = os -> {
+			try {
+				int count = batchValidationService.validate(documents, validationPolicy, result -> writeLine(os, result));
+				LOG.info("Batch validation of {} documents done", count);
+			} catch (DSSException e) {
+				// the batch cannot be continued (e.g. invalid archive), the error is the last line
+				LOG.warn("Batch validation aborted : {}", e.getMessage());
+				writeLine(os, BatchValidationResult.failure(null, e.getMessage()));
+			} finally {
+				batchValidationService.release();
+				close(documents, tempFile);
+			}
+		};
+		return Response.ok(output, APPLICATION_NDJSON).build();
+	}
+
+	private void close(Iterator<DSSDocument> documents, File tempFile) {
+		try {
+			if (documents instanceof Closeable) {
+				((Closeable) documents).close();
+			}
+			if (tempFile != null) {
+				Files.deleteIfExists(tempFile.toPath());
+			}
+		} catch (IOException e) {
+			LOG.warn("Unable to release the batch resources : {}", e.getMessage());
+		}
+	}
+
+	private void writeLine(OutputStream os, BatchValidationResult result) throws IOException {
+		os.write(objectWriter.writeValueAsBytes(result));
+		os.write('\n');
+		os.flush();
+	}
+
+	private DSSDocument toDocument(Attachment attachment) {
+		String name = attachment.getContentDisposition().getFilename();
+		try (InputStream is = attachment.getDataHandler().getInputStream()) {
+			return new InMemoryDocument(read(is, name, maxDocumentSize), name);
+		} catch (IOException e) {
+			throw new DocumentReadException(name, String.format("Unable to read the part '%s' : %s",
+					attachment.getContentId(), e.getMessage()), e);
+		}
+	}
+
+	private static byte[] read(InputStream is, String name, long maxDocumentSize) throws IOException {
+		// the declared sizes cannot be trusted, the read bytes are counted
+		ByteArrayOutputStream baos = new ByteArrayOutputStream();
+		byte[] buffer = new byte[8192];
+		long total = 0;
+		int read;
+		while ((read = is.read(buffer)) != -1) {
+			total += read;
+			if (total > maxDocumentSize) {
+				throw new DocumentReadException(name, String.format("The document '%s' exceeds the maximum allowed size", name));
+			}
+			baos.write(buffer, 0, read);
+		}
+		return baos.toByteArray();
+	}
+
+	/**
+	 * Iterates over the files of a ZIP archive, reading them only on demand
+	 */
+	private static class ZipDocumentIterator implements Iterator<DSSDocument>, Closeable {
+
+		private final ZipFile zipFile;
+
+		private final Enumeration<? extends ZipEntry> entries;
+
+		private final long maxDocumentSize;
+
+		private ZipEntry next;
+
+		private ZipDocumentIterator(File file, long maxDocumentSize) throws IOException {
+			this.zipFile = new ZipFile(file);
+			this.entries = zipFile.entries();
+			this.maxDocumentSize = maxDocumentSize;
+		}
+
+		@Override
+		public boolean hasNext() {
+			while (next == null && entries.hasMoreElements()) {
+				ZipEntry entry = entries.nextElement();
+				if (!entry.isDirectory()) {
+					next = entry;
+				}
+			}
+			return next != null;
+		}
+
+		@Override
+		public DSSDocument next() {
+			if (!hasNext()) {
+				throw new NoSuchElementException();
+			}
+			ZipEntry entry = next;
+			next = null;
+			try (InputStream is = zipFile.getInputStream(entry)) {
+				return new InMemoryDocument(read(is, entry.getName(), maxDocumentSize), entry.getName());
+			} catch (IOException e) {
+				throw new DocumentReadException(entry.getName(), String.format("Unable to read the ZIP entry '%s' : %s",
+						entry.getName(), e.getMessage()), e);
+			}
+		}
+
+		@Override
+		public void close() throws IOException {
+			zipFile.close();
+		}
+
+	}
+
+}
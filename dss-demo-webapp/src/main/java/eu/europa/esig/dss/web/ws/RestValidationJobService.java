@@ -0,0 +1,122 @@
+package eu.europa.esig.dss.web.ws;
+
+import eu.europa.esig.dss.web.model.ValidationJobDTO;
+import eu.europa.esig.dss.web.model.ValidationJobStatus;
+import eu.europa.esig.dss.web.service.ValidationJob;
+import eu.europa.esig.dss.web.service.ValidationJobService;
+import eu.europa.esig.dss.ws.validation.common.RemoteDocumentValidationService;
+import eu.europa.esig.dss.ws.validation.dto.DataToValidateDTO;
+import eu.europa.esig.dss.ws.validation.dto.WSReportsDTO;
+import jakarta.ws.rs.Consumes;
+import jakarta.ws.rs.DELETE;
+import jakarta.ws.rs.DefaultValue;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.POST;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.PathParam;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.QueryParam;
+import jakarta.ws.rs.container.AsyncResponse;
+import jakarta.ws.rs.container.Suspended;
+import jakarta.ws.rs.core.Context;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.core.UriInfo;
+import org.springframework.core.task.TaskRejectedException;
+
+import java.io.File;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * REST service validating the documents asynchronously.
+ * The submission returns a job id, the clients then poll the job (optionally waiting for its end with the "wait"
+ * parameter) and get the reports once the job is completed.
+ *
+ */
+@Path("/")
+@Produces(MediaType.APPLICATION_JSON)
+public class RestValidationJobService {
+
+	private ValidationJobService validationJobService;
+
+	private RemoteDocumentValidationService validationService;
+
+	public void setValidationJobService(ValidationJobService validationJobService) {
+		this.validationJobService = validationJobService;
+	}
+
+	public void setValidationService(RemoteDocumentValidationService validationService) {
+		this.validationService = validationService;
+	}
+
+	@POST
+	@Consumes(MediaType.APPLICATION_JSON)
+	public Response submit(DataToValidateDTO dataToValidate, @Context UriInfo uriInfo) {
+		ValidationJob<WSReportsDTO> job;
+		// the temporary files of the big documents are used after the response
+		List<File> spooledFiles = SpooledDocumentsCleanupFilter.detachSpooledFiles();
+		try {
+			job = validationJobService.submit(WSReportsDTO.class, () -> {
+				try {
+					return validationService.validateDocument(dataToValidate);
+				} finally {
+					SpooledDocumentsCleanupFilter.delete(spooledFiles);
+				}
+			});
+		} catch (TaskRejectedException e) {
+			SpooledDocumentsCleanupFilter.delete(spooledFiles);
+			return Response.status(Response.Status.SERVICE_UNAVAILABLE).entity(e.getMessage()).build();
+		}
+		return Response.accepted(job.toDTO())
+				.location(uriInfo.getAbsolutePathBuilder().path(job.getId()).build())
+				.build();
+	}
+
+	@GET
+	@Path("{id}")
+	public void getJob(@PathParam("id") String id, @QueryParam("wait") @DefaultValue("0") long wait,
+					   @Suspended AsyncResponse asyncResponse) {
+		ValidationJob<WSReportsDTO> job = validationJobService.getJob(id, WSReportsDTO.class);
+		if (job == null) {
+			asyncResponse.resume(Response.status(Response.Status.NOT_FOUND).build());
+			return;
+		}
+		long waitTime = validationJobService.getWaitTime(wait);
+		if (waitTime == 0 || job.getStatus().isDone()) {
+			asyncResponse.resume(Response.ok(job.toDTO()).build());
+			return;
+		}
+		// long polling : the request thread is released, the response is sent at the end of the job or after the wait time
+		asyncResponse.setTimeoutHandler(response -> response.resume(Response.ok(job.toDTO()).build()));
+		asyncResponse.setTimeout(waitTime, TimeUnit.MILLISECONDS);
+		job.whenDone(() -> asyncResponse.resume(Response.ok(job.toDTO()).build()));
+	}
+
+	@GET
+	@Path("{id}/reports")
+	public Response getReports(@PathParam("id") String id) {
+		ValidationJob<WSReportsDTO> job = validationJobService.getJob(id, WSReportsDTO.class);
+		if (job == null) {
+			return Response.status(Response.Status.NOT_FOUND).build();
+		}
+		ValidationJobDTO jobDTO = job.toDTO();
+		if (ValidationJobStatus.COMPLETED == jobDTO.getStatus()) {
+			return Response.ok(job.getResult()).build();
+		} else if (ValidationJobStatus.FAILED == jobDTO.getStatus()) {
+			return Response.status(Response.Status.INTERNAL_SERVER_ERROR).entity(jobDTO.getError()).build();
+		}
+		// not yet available
+		return Response.status(Response.Status.CONFLICT).entity(jobDTO).build();
+	}
+
+	@DELETE
+	@Path("{id}")
+	public Response delete(@PathParam("id") String id) {
+		if (validationJobService.remove(id)) {
+			return Response.noContent().build();
+		}
+		return Response.status(Response.Status.NOT_FOUND).build();
+	}
+
+}
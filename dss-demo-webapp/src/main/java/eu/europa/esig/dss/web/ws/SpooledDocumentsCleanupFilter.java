@@ -0,0 +1,59 @@
+package eu.europa.esig.dss.web.ws;
+
+import jakarta.ws.rs.container.ContainerRequestContext;
+import jakarta.ws.rs.container.ContainerResponseContext;
+import jakarta.ws.rs.container.ContainerResponseFilter;
+import org.apache.cxf.jaxrs.utils.JAXRSUtils;
+import org.apache.cxf.message.Message;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Deletes the temporary files of the documents read by {@link RemoteDocumentDeserializer},
+ * once the request is processed
+ *
+ */
+public class SpooledDocumentsCleanupFilter implements ContainerResponseFilter {
+
+	private static final Logger LOG = LoggerFactory.getLogger(SpooledDocumentsCleanupFilter.class);
+
+	@Override
+	public void filter(ContainerRequestContext requestContext, ContainerResponseContext responseContext) {
+		delete(detachSpooledFiles());
+	}
+
+	/**
+	 * Removes the temporary files from the current request, in order to use them after the response
+	 * (the caller is then responsible for their deletion)
+	 *
+	 * @return the list of temporary {@link File}s
+	 */
+	@SuppressWarnings("unchecked")
+	public static List<File> detachSpooledFiles() {
+		Message message = JAXRSUtils.getCurrentMessage();
+		List<File> files = message != null ? (List<File>) message.getExchange().remove(RemoteDocumentDeserializer.SPOOLED_FILES) : null;
+		return files != null ? files : Collections.emptyList();
+	}
+
+	/**
+	 * Deletes the temporary files
+	 *
+	 * @param files the list of temporary {@link File}s
+	 */
+	public static void delete(List<File> files) {
+		for (File file : files) {
+			try {
+				Files.deleteIfExists(file.toPath());
+			} catch (IOException e) {
+				LOG.warn("Unable to delete the temporary file '{}' : {}", file, e.getMessage());
+			}
+		}
+	}
+
+}
@@ -0,0 +1,62 @@
+package eu.europa.esig.dss.web.ws;
+
+import eu.europa.esig.dss.model.DSSException;
+import eu.europa.esig.dss.ws.dto.RemoteDocument;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+
+/**
+ * {@code RemoteDocument} whose content has been decoded to a temporary file, when received in a big request.
+ * The content is read from the file only when the array is requested, once : the same array is then returned
+ * (the DSS services convert the documents of a request several times, e.g. for the digests and the validation).
+ *
+ */
+public class SpooledRemoteDocument extends RemoteDocument {
+
+	private static final long serialVersionUID = -2474517466403513096L;
+
+	private transient File file;
+
+	/**
+	 * Gets the file containing the content
+	 *
+	 * @return {@link File}, or NULL if the content is in memory
+	 */
+	public File getFile() {
+		return file;
+	}
+
+	/**
+	 * Sets the file containing the content
+	 *
+	 * @param file {@link File}
+	 */
+	public void setFile(File file) {
+		super.setBytes(null);
+		this.file = file;
+	}
+
+	@Override
+	public byte[] getBytes() {
+		byte[] bytes = super.getBytes();
+		if (bytes == null && file != null) {
+			try {
+				bytes = Files.readAllBytes(file.toPath());
+				// the file is kept, deleted with the other temporary files of the request
+				super.setBytes(bytes);
+			} catch (IOException e) {
+				throw new DSSException(String.format("Unable to read the document '%s' : %s", getName(), e.getMessage()), e);
+			}
+		}
+		return bytes;
+	}
+
+	@Override
+	public void setBytes(byte[] bytes) {
+		this.file = null;
+		super.setBytes(bytes);
+	}
+
+}
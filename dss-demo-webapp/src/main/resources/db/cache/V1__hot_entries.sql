@@ -0,0 +1,6 @@
+CREATE TABLE DSS_REVOCATION_HOT_ENTRIES (
+	SOURCE VARCHAR(10) NOT NULL,
+	POSITION INTEGER NOT NULL,
+	CERTIFICATE VARBINARY(65536) NOT NULL,
+	ISSUER VARBINARY(65536)
+);
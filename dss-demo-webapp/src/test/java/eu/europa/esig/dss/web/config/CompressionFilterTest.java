@@ -0,0 +1,129 @@
+package eu.europa.esig.dss.web.config;
+
+import eu.europa.esig.dss.spi.DSSUtils;
+import eu.europa.esig.dss.web.service.MetricsService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class CompressionFilterTest {
+
+	private MeterRegistry meterRegistry;
+
+	private CompressionFilter filter;
+
+	@BeforeEach
+	public void init() {
+		meterRegistry = new SimpleMeterRegistry();
+		filter = new CompressionFilter(new MetricsService(meterRegistry), 1024,
+				Arrays.asList(MediaType.APPLICATION_JSON, MediaType.APPLICATION_NDJSON, MediaType.TEXT_XML), 6, 3);
+	}
+
+	@Test
+	public void encodingTest() {
+		assertEquals("zstd", CompressionFilter.getEncoding("gzip, deflate, br, zstd"));
+		assertEquals("gzip", CompressionFilter.getEncoding("gzip, zstd;q=0.5"));
+		assertEquals("gzip", CompressionFilter.getEncoding("x-gzip"));
+		assertNull(CompressionFilter.getEncoding("gzip;q=0, identity"));
+		assertNull(CompressionFilter.getEncoding(null));
+	}
+
+	@Test
+	public void compressedTest() throws Exception {
+		byte[] content = json(10000);
+		MockHttpServletResponse response = filter(content, MediaType.APPLICATION_JSON_VALUE);
+
+		assertEquals("gzip", response.getHeader(HttpHeaders.CONTENT_ENCODING));
+		byte[] compressed = response.getContentAsByteArray();
+		assertTrue(compressed.length < content.length);
+		assertArrayEquals(content, DSSUtils.toByteArray(new GZIPInputStream(new ByteArrayInputStream(compressed))));
+
+		assertEquals(content.length, meterRegistry.get("dss.http.compression.bytes")
+				.tag("encoding", "gzip").tag("size", "original").counter().count());
+		assertEquals(content.length - compressed.length, meterRegistry.get("dss.http.compression.saved.bytes")
+				.tag("encoding", "gzip").counter().count());
+	}
+
+	@Test
+	public void smallResponseTest() throws Exception {
+		byte[] content = json(10);
+		MockHttpServletResponse response = filter(content, MediaType.APPLICATION_JSON_VALUE);
+
+		assertNull(response.getHeader(HttpHeaders.CONTENT_ENCODING));
+		assertArrayEquals(content, response.getContentAsByteArray());
+	}
+
+	@Test
+	public void flushedSmallResponseTest() throws Exception {
+		byte[] content = "0123456789".getBytes(StandardCharsets.UTF_8);
+		MockHttpServletResponse response = filter(content, MediaType.APPLICATION_JSON_VALUE, true);
+
+		// the flush does not start the compression, the length is still sent
+		assertNull(response.getHeader(HttpHeaders.CONTENT_ENCODING));
+		assertEquals(10, response.getContentLength());
+		assertArrayEquals(content, response.getContentAsByteArray());
+	}
+
+	@Test
+	public void flushedStreamedResponseTest() throws Exception {
+		byte[] content = "{\"index\":0}\n".getBytes(StandardCharsets.UTF_8);
+		MockHttpServletResponse response = filter(content, MediaType.APPLICATION_NDJSON_VALUE, true);
+
+		// sent as soon as flushed, with an unknown length
+		assertEquals("gzip", response.getHeader(HttpHeaders.CONTENT_ENCODING));
+		assertArrayEquals(content, DSSUtils.toByteArray(new GZIPInputStream(new ByteArrayInputStream(response.getContentAsByteArray()))));
+	}
+
+	@Test
+	public void notCompressibleTest() throws Exception {
+		byte[] content = json(10000);
+		MockHttpServletResponse response = filter(content, MediaType.IMAGE_PNG_VALUE);
+
+		assertNull(response.getHeader(HttpHeaders.CONTENT_ENCODING));
+		assertArrayEquals(content, response.getContentAsByteArray());
+	}
+
+	private MockHttpServletResponse filter(byte[] content, String contentType) throws Exception {
+		return filter(content, contentType, false);
+	}
+
+	private MockHttpServletResponse filter(byte[] content, String contentType, boolean flush) throws Exception {
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", "/services/rest/validation");
+		request.addHeader(HttpHeaders.ACCEPT_ENCODING, "gzip");
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		FilterChain chain = (req, resp) -> {
+			resp.setContentType(contentType);
+			resp.getOutputStream().write(content);
+			if (flush) {
+				resp.getOutputStream().flush();
+			}
+		};
+		filter.doFilter(request, response, chain);
+		return response;
+	}
+
+	private byte[] json(int count) {
+		StringBuilder sb = new StringBuilder("[");
+		for (int i = 0; i < count; i++) {
+			sb.append(i > 0 ? "," : "").append("{\"index\":").append(i).append('}');
+		}
+		return sb.append(']').toString().getBytes(StandardCharsets.UTF_8);
+	}
+
+}
@@ -0,0 +1,141 @@
+package eu.europa.esig.dss.web.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import eu.europa.esig.dss.enumerations.DigestAlgorithm;
+import eu.europa.esig.dss.model.SignatureValue;
+import eu.europa.esig.dss.model.ToBeSigned;
+import eu.europa.esig.dss.model.x509.CertificateToken;
+import eu.europa.esig.dss.token.DSSPrivateKeyEntry;
+import eu.europa.esig.dss.token.Pkcs12SignatureToken;
+import eu.europa.esig.dss.web.ws.AbstractIT;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.FileInputStream;
+import java.net.CookieManager;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.security.KeyStore.PasswordProtection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Signs a document through the web pages, the uploaded file being kept in the session between the signature steps
+ */
+public class SignatureControllerIT extends AbstractIT {
+
+	private static final Pattern CSRF_TOKEN = Pattern.compile("<meta name=\"_csrf\" content=\"([^\"]+)\"");
+
+	private static final Pattern CSRF_HEADER = Pattern.compile("<meta name=\"_csrf_header\" content=\"([^\"]+)\"");
+
+	private final ObjectMapper objectMapper = new ObjectMapper();
+
+	private HttpClient httpClient;
+
+	private String baseUrl;
+
+	@BeforeEach
+	public void init() {
+		// the session cookie is kept between the requests
+		httpClient = HttpClient.newBuilder().cookieHandler(new CookieManager()).build();
+		baseUrl = getBaseCxf().replaceFirst("/services$", "");
+	}
+
+	@Test
+	public void signDocumentBiggerThanStreamingThreshold() throws Exception {
+		// bigger than multipart.streamingThreshold : the document is read from the part in each step
+		byte[] content = new byte[2 * 1024 * 1024];
+		new Random(1).nextBytes(content);
+
+		HttpResponse<String> page = httpClient.send(HttpRequest.newBuilder(URI.create(baseUrl + "/sign-a-document")).GET().build(),
+				HttpResponse.BodyHandlers.ofString());
+		assertEquals(200, page.statusCode());
+		String csrfHeader = find(CSRF_HEADER, page.body());
+		String csrfToken = find(CSRF_TOKEN, page.body());
+
+		Map<String, String> fields = new LinkedHashMap<>();
+		fields.put("signatureForm", "CAdES");
+		fields.put("signaturePackaging", "ENVELOPING");
+		fields.put("signatureLevel", "CAdES_BASELINE_B");
+		fields.put("digestAlgorithm", "SHA256");
+		String boundary = UUID.randomUUID().toString();
+		HttpResponse<String> process = httpClient.send(HttpRequest.newBuilder(URI.create(baseUrl + "/sign-a-document"))
+				.header("Content-Type", "multipart/form-data; boundary=" + boundary)
+				.header(csrfHeader, csrfToken)
+				.POST(HttpRequest.BodyPublishers.ofByteArray(multipart(boundary, fields, "documentToSign", "big.bin", content)))
+				.build(), HttpResponse.BodyHandlers.ofString());
+		assertEquals(200, process.statusCode());
+		// the form is valid, the signature process page is returned
+		assertTrue(process.body().contains("get-data-to-sign"));
+
+		try (Pkcs12SignatureToken token = new Pkcs12SignatureToken(new FileInputStream("src/test/resources/user_a_rsa.p12"),
+				new PasswordProtection("password".toCharArray()))) {
+			DSSPrivateKeyEntry privateKey = token.getKeys().get(0);
+
+			// the following requests are sent once the upload request has ended
+			ObjectNode dataToSignParams = objectMapper.createObjectNode();
+			dataToSignParams.put("signingCertificate", privateKey.getCertificate().getEncoded());
+			for (CertificateToken certificateToken : privateKey.getCertificateChain()) {
+				dataToSignParams.withArray("certificateChain").add(certificateToken.getEncoded());
+			}
+			dataToSignParams.put("encryptionAlgorithm", privateKey.getEncryptionAlgorithm().name());
+			JsonNode dataToSignResponse = postJson("/sign-a-document/get-data-to-sign", dataToSignParams, csrfHeader, csrfToken);
+
+			ToBeSigned toBeSigned = new ToBeSigned(dataToSignResponse.get("dataToSign").binaryValue());
+			SignatureValue signatureValue = token.sign(toBeSigned, DigestAlgorithm.SHA256, privateKey);
+
+			ObjectNode signResponse = objectMapper.createObjectNode();
+			signResponse.put("signatureValue", signatureValue.getValue());
+			postJson("/sign-a-document/sign-document", signResponse, csrfHeader, csrfToken);
+		}
+
+		HttpResponse<byte[]> signedDocument = httpClient.send(HttpRequest.newBuilder(URI.create(baseUrl + "/sign-a-document/download"))
+				.GET().build(), HttpResponse.BodyHandlers.ofByteArray());
+		assertEquals(200, signedDocument.statusCode());
+		// the enveloping signature contains the whole document
+		assertTrue(signedDocument.body().length > content.length);
+	}
+
+	private JsonNode postJson(String path, JsonNode body, String csrfHeader, String csrfToken) throws Exception {
+		HttpResponse<byte[]> response = httpClient.send(HttpRequest.newBuilder(URI.create(baseUrl + path))
+				.header("Content-Type", "application/json")
+				.header(csrfHeader, csrfToken)
+				.POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body)))
+				.build(), HttpResponse.BodyHandlers.ofByteArray());
+		assertEquals(200, response.statusCode());
+		return objectMapper.readTree(response.body());
+	}
+
+	private byte[] multipart(String boundary, Map<String, String> fields, String fileField, String fileName, byte[] content) throws Exception {
+		ByteArrayOutputStream baos = new ByteArrayOutputStream();
+		for (Map.Entry<String, String> field : fields.entrySet()) {
+			baos.write(String.format("--%s\r\nContent-Disposition: form-data; name=\"%s\"\r\n\r\n%s\r\n",
+					boundary, field.getKey(), field.getValue()).getBytes(StandardCharsets.UTF_8));
+		}
+		baos.write(String.format("--%s\r\nContent-Disposition: form-data; name=\"%s\"; filename=\"%s\"\r\n" +
+				"Content-Type: application/octet-stream\r\n\r\n", boundary, fileField, fileName).getBytes(StandardCharsets.UTF_8));
+		baos.write(content);
+		baos.write(String.format("\r\n--%s--\r\n", boundary).getBytes(StandardCharsets.UTF_8));
+		return baos.toByteArray();
+	}
+
+	private String find(Pattern pattern, String page) {
+		Matcher matcher = pattern.matcher(page);
+		assertTrue(matcher.find(), "Pattern not found : " + pattern);
+		return matcher.group(1);
+	}
+
+}
@@ -0,0 +1,77 @@
+package eu.europa.esig.dss.web.service;
+
+import eu.europa.esig.dss.web.model.StoredReports;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+public class CompressedReportStoreTest {
+
+	@TempDir
+	File spillDirectory;
+
+	@Test
+	public void storeAndGetTest() {
+		CompressedReportStore store = new CompressedReportStore(1024 * 1024);
+
+		String reportId = store.store(new StoredReports("<simple/>", "", "<detailed/>", "<diag/>"));
+		assertNotNull(reportId);
+
+		StoredReports storedReports = store.get(reportId);
+		assertNotNull(storedReports);
+		assertEquals("<simple/>", storedReports.getSimpleReportXml());
+		assertEquals("", storedReports.getSimpleCertificateReportXml());
+		assertEquals("<detailed/>", storedReports.getDetailedReportXml());
+		assertEquals("<diag/>", storedReports.getDiagnosticDataXml());
+
+		assertNull(store.get("unknown"));
+		assertNull(store.get(null));
+
+		store.remove(reportId);
+		assertNull(store.get(reportId));
+		assertEquals(0, store.getMemoryBytes());
+	}
+
+	@Test
+	public void memoryEvictionTest() {
+		CompressedReportStore store = new CompressedReportStore(1);
+
+		String firstId = store.store(new StoredReports("<simple/>", null, "<detailed/>", "<diag/>"));
+		String secondId = store.store(new StoredReports("<simple2/>", null, "<detailed2/>", "<diag2/>"));
+		assertNotEquals(firstId, secondId);
+
+		// the last stored entry is kept even when exceeding the budget
+		assertNull(store.get(firstId));
+		assertNotNull(store.get(secondId));
+		assertNull(store.get(secondId).getSimpleCertificateReportXml());
+		assertEquals(1, store.getMemoryEntriesCount());
+	}
+
+	@Test
+	public void spillTest() {
+		CompressedReportStore store = new CompressedReportStore(1, spillDirectory, 1024 * 1024);
+
+		String firstId = store.store(new StoredReports("<simple/>", "", "<detailed/>", "<diag/>"));
+		String secondId = store.store(new StoredReports("<simple2/>", "", "<detailed2/>", "<diag2/>"));
+
+		assertEquals(1, store.getMemoryEntriesCount());
+		assertEquals(1, store.getSpilledEntriesCount());
+		assertEquals(1, spillDirectory.listFiles().length);
+
+		StoredReports spilled = store.get(firstId);
+		assertNotNull(spilled);
+		assertEquals("<detailed/>", spilled.getDetailedReportXml());
+		assertEquals("<detailed2/>", store.get(secondId).getDetailedReportXml());
+
+		store.close();
+		assertNull(store.get(firstId));
+		assertEquals(0, spillDirectory.listFiles().length);
+	}
+
+}
@@ -11,11 +11,22 @@ import jakarta.xml.bind.Unmarshaller;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
 
+import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.FileOutputStream;
 import java.io.StringWriter;
-
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 public class FOPServiceTest extends DssDemoApplicationTests {
 
@@ -107,4 +118,35 @@ public class FOPServiceTest extends DssDemoApplicationTests {
 		getFopService().generateDetailedReport(writer.toString(), fos);
 	}
 
+	@Test
+	public void generateDetailedReportConcurrently() throws Exception {
+		String detailedReport = new String(Files.readAllBytes(new File("src/test/resources/detailedReport.xml").toPath()), StandardCharsets.UTF_8);
+
+		ExecutorService executorService = Executors.newFixedThreadPool(4);
+		try {
+			List<Future<byte[]>> futures = new ArrayList<>();
+			for (int i = 0; i < 8; i++) {
+				futures.add(executorService.submit(() -> {
+					ByteArrayOutputStream baos = new ByteArrayOutputStream();
+					getFopService().generateDetailedReport(detailedReport, baos);
+					return baos.toByteArray();
+				}));
+			}
+			for (Future<byte[]> future : futures) {
+				String pdf = new String(future.get(), StandardCharsets.ISO_8859_1);
+				assertTrue(pdf.startsWith("%PDF"));
+			}
+		} finally {
+			executorService.shutdown();
+		}
+	}
+
+	@Test
+	public void invalidReportNotWrittenTest() {
+		ByteArrayOutputStream baos = new ByteArrayOutputStream();
+		// a failed rendering shall not give a truncated PDF
+		assertThrows(Exception.class, () -> getFopService().generateDetailedReport("<DetailedReport>", baos));
+		assertEquals(0, baos.size());
+	}
+
 }
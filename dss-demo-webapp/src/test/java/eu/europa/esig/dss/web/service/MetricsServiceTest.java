@@ -0,0 +1,142 @@
+package eu.europa.esig.dss.web.service;
+
+import eu.europa.esig.dss.enumerations.SignatureForm;
+import eu.europa.esig.dss.enumerations.SignatureLevel;
+import eu.europa.esig.dss.enumerations.ValidationLevel;
+import eu.europa.esig.dss.model.DSSException;
+import eu.europa.esig.dss.model.x509.CertificateToken;
+import eu.europa.esig.dss.spi.client.http.DataLoader;
+import eu.europa.esig.dss.spi.x509.revocation.RevocationSourceAlternateUrlsSupport;
+import eu.europa.esig.dss.spi.x509.revocation.ocsp.OCSPSource;
+import eu.europa.esig.dss.spi.x509.revocation.ocsp.OCSPToken;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class MetricsServiceTest {
+
+	private MeterRegistry meterRegistry;
+
+	private MetricsService metricsService;
+
+	@BeforeEach
+	public void init() {
+		meterRegistry = new SimpleMeterRegistry();
+		metricsService = new MetricsService(meterRegistry);
+	}
+
+	@Test
+	public void signingTest() {
+		metricsService.recordSigning(metricsService.start(), "signDocument", SignatureForm.XAdES,
+				SignatureLevel.XAdES_BASELINE_B, true);
+		metricsService.recordSigning(metricsService.start(), "signDocument", SignatureForm.XAdES,
+				SignatureLevel.XAdES_BASELINE_B, true);
+		metricsService.recordSigning(metricsService.start(), "getDataToSign", null, null, false);
+
+		assertEquals(2, meterRegistry.get("dss.signing").tag("operation", "signDocument")
+				.tag("form", "XAdES").tag("level", "XAdES_BASELINE_B").tag("outcome", "success").timer().count());
+		assertEquals(1, meterRegistry.get("dss.signing").tag("operation", "getDataToSign")
+				.tag("form", "none").tag("outcome", "failure").timer().count());
+	}
+
+	@Test
+	public void validationFailureTest() {
+		metricsService.recordValidation(metricsService.start(), ValidationLevel.BASIC_SIGNATURES, null);
+
+		assertEquals(1, meterRegistry.get("dss.validation").tag("level", "BASIC_SIGNATURES")
+				.tag("format", "none").tag("outcome", "failure").timer().count());
+	}
+
+	@Test
+	public void revocationFetchTest() {
+		DataLoader dataLoader = new MeteredDataLoader(new MockDataLoader(), metricsService, "crl");
+		dataLoader.get("http://crl.example.com/ok.crl");
+		assertThrows(DSSException.class, () -> dataLoader.get("http://crl.example.com/error.crl"));
+
+		assertEquals(1, meterRegistry.get("dss.revocation.fetch").tag("source", "crl").tag("outcome", "success").timer().count());
+		assertEquals(1, meterRegistry.get("dss.revocation.fetch").tag("source", "crl").tag("outcome", "failure").timer().count());
+	}
+
+	@Test
+	public void revocationLookupAlternateUrlsTest() {
+		MockOCSPSource cachedSource = new MockOCSPSource();
+		MeteredOCSPSource ocspSource = new MeteredOCSPSource(cachedSource, metricsService);
+		ocspSource.getRevocationToken(null, null);
+		ocspSource.getRevocationToken(null, null, Collections.singletonList("http://ocsp.example.com"));
+
+		// the alternative URLs are not lost by the wrapper
+		assertEquals(Collections.singletonList("http://ocsp.example.com"), cachedSource.alternativeUrls);
+		assertEquals(2, meterRegistry.get("dss.revocation.lookups").tag("source", "ocsp").counter().count());
+	}
+
+	@Test
+	public void renderCacheTest() {
+		RenderCache renderCache = new RenderCache(1024, 1024);
+		metricsService.bind(renderCache);
+
+		renderCache.put("a", new byte[10]);
+		renderCache.get("a");
+		renderCache.get("b");
+
+		assertEquals(1, meterRegistry.get("dss.cache.requests").tag("cache", "render").tag("result", "hit").functionCounter().count());
+		assertEquals(1, meterRegistry.get("dss.cache.requests").tag("cache", "render").tag("result", "miss").functionCounter().count());
+		assertEquals(10, meterRegistry.get("dss.cache.bytes").tag("cache", "render").gauge().value());
+	}
+
+	private static class MockOCSPSource implements OCSPSource, RevocationSourceAlternateUrlsSupport<OCSPToken> {
+
+		private static final long serialVersionUID = 1L;
+
+		private List<String> alternativeUrls;
+
+		@Override
+		public OCSPToken getRevocationToken(CertificateToken certificateToken, CertificateToken issuerCertificateToken) {
+			return null;
+		}
+
+		@Override
+		public OCSPToken getRevocationToken(CertificateToken certificateToken, CertificateToken issuerCertificateToken,
+											List<String> alternativeUrls) {
+			this.alternativeUrls = alternativeUrls;
+			return null;
+		}
+
+	}
+
+	private static class MockDataLoader implements DataLoader {
+
+		private static final long serialVersionUID = 1L;
+
+		@Override
+		public byte[] get(String url) {
+			if (url.contains("error")) {
+				throw new DSSException("Unable to download " + url);
+			}
+			return new byte[] { 1 };
+		}
+
+		@Override
+		public DataAndUrl get(List<String> urlStrings) {
+			return new DataAndUrl(urlStrings.get(0), get(urlStrings.get(0)));
+		}
+
+		@Override
+		public byte[] post(String url, byte[] content) {
+			return get(url);
+		}
+
+		@Override
+		public void setContentType(String contentType) {
+			// not used
+		}
+
+	}
+
+}
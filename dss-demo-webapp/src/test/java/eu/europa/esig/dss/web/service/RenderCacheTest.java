@@ -0,0 +1,70 @@
+package eu.europa.esig.dss.web.service;
+
+import eu.europa.esig.dss.web.model.ReportType;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+public class RenderCacheTest {
+
+	@Test
+	public void keyTest() {
+		RenderCache renderCache = new RenderCache(1024, 1024);
+		String key = renderCache.getKey("PDF", ReportType.SIMPLE_REPORT, "<xml/>", "root");
+		assertEquals(key, renderCache.getKey("PDF", ReportType.SIMPLE_REPORT, "<xml/>", "root"));
+		assertNotEquals(key, renderCache.getKey("HTML", ReportType.SIMPLE_REPORT, "<xml/>", "root"));
+		assertNotEquals(key, renderCache.getKey("PDF", ReportType.DETAILED_REPORT, "<xml/>", "root"));
+		assertNotEquals(key, renderCache.getKey("PDF", ReportType.SIMPLE_REPORT, "<xml2/>", "root"));
+		assertNotEquals(key, renderCache.getKey("PDF", ReportType.SIMPLE_REPORT, "<xml/>", "other"));
+	}
+
+	@Test
+	public void evictionTest() {
+		RenderCache renderCache = new RenderCache(10, 6);
+
+		renderCache.put("a", new byte[5]);
+		renderCache.put("b", new byte[5]);
+		assertEquals(2, renderCache.getEntriesCount());
+		assertEquals(10, renderCache.getBytes());
+
+		// "a" is the most recently used
+		assertArrayEquals(new byte[5], renderCache.get("a"));
+		renderCache.put("c", new byte[5]);
+		assertNull(renderCache.get("b"));
+		assertEquals(1, renderCache.getEvictionCount());
+
+		// bigger than the entry limit
+		renderCache.put("d", new byte[7]);
+		assertNull(renderCache.get("d"));
+
+		assertEquals(1, renderCache.getHitCount());
+		assertEquals(2, renderCache.getMissCount());
+	}
+
+	@Test
+	public void captureTest() throws Exception {
+		RenderCache renderCache = new RenderCache(1024, 8);
+
+		ByteArrayOutputStream baos = new ByteArrayOutputStream();
+		RenderCache.CapturingOutputStream capturingOutputStream = renderCache.capture(baos);
+		capturingOutputStream.write("12345".getBytes(StandardCharsets.UTF_8));
+		assertArrayEquals("12345".getBytes(StandardCharsets.UTF_8), capturingOutputStream.getCaptured());
+		capturingOutputStream.write("6789".getBytes(StandardCharsets.UTF_8));
+		assertNull(capturingOutputStream.getCaptured());
+		assertEquals("123456789", baos.toString(StandardCharsets.UTF_8));
+
+		StringWriter writer = new StringWriter();
+		RenderCache.CapturingWriter capturingWriter = renderCache.capture(writer);
+		capturingWriter.write("<svg/>");
+		assertEquals("<svg/>", capturingWriter.getCaptured());
+		assertEquals("<svg/>", writer.toString());
+	}
+
+}
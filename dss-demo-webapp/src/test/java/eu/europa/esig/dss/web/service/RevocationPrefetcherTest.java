@@ -0,0 +1,194 @@
+package eu.europa.esig.dss.web.service;
+
+import eu.europa.esig.dss.model.DSSException;
+import eu.europa.esig.dss.model.x509.CertificateToken;
+import eu.europa.esig.dss.spi.DSSUtils;
+import eu.europa.esig.dss.spi.x509.revocation.ocsp.OCSPToken;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+public class RevocationPrefetcherTest {
+
+	private static final long ONE_MINUTE = TimeUnit.MINUTES.toMillis(1);
+
+	private static final long ONE_HOUR = TimeUnit.HOURS.toMillis(1);
+
+	private final CertificateToken caCertificate = DSSUtils.loadCertificate(new File("src/test/resources/CA_CZ.cer"));
+
+	private final CertificateToken certificate = DSSUtils.loadCertificate(new File("src/test/resources/CZ.cer"));
+
+	private RevocationTokenCache<OCSPToken> tokenCache;
+
+	private MockTokenLoader tokenLoader;
+
+	private RevocationPrefetcher<OCSPToken> prefetcher;
+
+	private long now;
+
+	private OCSPToken token;
+
+	@BeforeEach
+	public void init() throws Exception {
+		tokenCache = new RevocationTokenCache<>(10, 100000, 0, 0);
+		tokenLoader = new MockTokenLoader();
+		prefetcher = new RevocationPrefetcher<>(tokenLoader, tokenCache, 10, 86400, 0.5, false);
+		// 1 then 2, 4, 8 minutes, limited to 5 minutes
+		prefetcher.setRecheckDelays(60, 300);
+
+		now = System.currentTimeMillis();
+		// the refresh time (half of the validity period) is reached
+		token = RevocationTokenCacheTest.ocspToken(certificate, caCertificate, new Date(now - ONE_HOUR), new Date(now + ONE_HOUR / 2));
+		prefetcher.record(certificate, caCertificate, null, token);
+	}
+
+	@Test
+	public void refreshTest() throws Exception {
+		OCSPToken newToken = RevocationTokenCacheTest.ocspToken(certificate, caCertificate, new Date(now), new Date(now + 2 * ONE_HOUR));
+		tokenLoader.token = newToken;
+
+		assertEquals(1, prefetcher.refresh(now));
+		assertEquals(1, tokenLoader.calls);
+		assertSame(newToken, tokenCache.get(certificate, caCertificate));
+
+		// the next refresh is at the half of the new validity period
+		assertEquals(0, prefetcher.refresh(now + ONE_MINUTE));
+		assertEquals(0, prefetcher.refresh(now + ONE_HOUR - ONE_MINUTE));
+		assertEquals(1, tokenLoader.calls);
+		prefetcher.refresh(now + ONE_HOUR);
+		assertEquals(2, tokenLoader.calls);
+	}
+
+	@Test
+	public void sameTokenBackoffTest() {
+		// the CA did not publish a newer response yet
+		tokenLoader.token = token;
+		assertBackoff();
+		assertEquals(0, prefetcher.getRefreshCount());
+
+		// a lookup of the same token does not reset the delay
+		prefetcher.record(certificate, caCertificate, null, token);
+		assertEquals(0, prefetcher.refresh(now + 16 * ONE_MINUTE));
+		assertEquals(5, tokenLoader.calls);
+	}
+
+	@Test
+	public void failureBackoffTest() {
+		tokenLoader.failure = true;
+		assertBackoff();
+		assertEquals(5, prefetcher.getFailureCount());
+	}
+
+	@Test
+	public void noTokenBackoffTest() {
+		tokenLoader.token = null;
+		assertBackoff();
+	}
+
+	@Test
+	public void alternativeUrlsTest() {
+		List<String> alternativeUrls = Collections.singletonList("http://ocsp.example.com");
+		prefetcher = new RevocationPrefetcher<>(tokenLoader, tokenCache, 10, 86400, 0.5, false);
+		prefetcher.record(certificate, caCertificate, alternativeUrls, token);
+		tokenLoader.token = token;
+
+		prefetcher.refresh(now);
+		assertEquals(1, tokenLoader.calls);
+		assertEquals(alternativeUrls, tokenLoader.alternativeUrls);
+	}
+
+	@Test
+	public void sharedResponderUrlTest() throws Exception {
+		// the certificates of a CA share the OCSP responder URL, but each one has its own response
+		prefetcher = new RevocationPrefetcher<>(tokenLoader, tokenCache, 10, 86400, 0.5, false);
+		recordWithSourceUrl("http://ocsp.example.com");
+		tokenLoader.token = token;
+
+		prefetcher.refresh(now);
+		assertEquals(2, tokenLoader.calls);
+		assertEquals(2, tokenLoader.forcedCalls);
+	}
+
+	@Test
+	public void sharedCrlUrlTest() throws Exception {
+		// the certificates of a CA share the CRL, downloaded once
+		prefetcher = new RevocationPrefetcher<>(tokenLoader, tokenCache, 10, 86400, 0.5, true);
+		recordWithSourceUrl("http://crl.example.com/ca.crl");
+		tokenLoader.token = token;
+
+		prefetcher.refresh(now);
+		assertEquals(2, tokenLoader.calls);
+		assertEquals(1, tokenLoader.forcedCalls);
+	}
+
+	private void recordWithSourceUrl(String sourceUrl) throws Exception {
+		for (CertificateToken certificateToken : Arrays.asList(certificate, caCertificate)) {
+			OCSPToken ocspToken = RevocationTokenCacheTest.ocspToken(certificateToken, caCertificate,
+					new Date(now - ONE_HOUR), new Date(now + ONE_HOUR / 2));
+			ocspToken.setSourceURL(sourceUrl);
+			prefetcher.record(certificateToken, caCertificate, null, ocspToken);
+		}
+	}
+
+	/**
+	 * Attempts at 0, 1, 3, 7 and 12 minutes (delays of 1, 2, 4 then 5 minutes)
+	 */
+	private void assertBackoff() {
+		prefetcher.refresh(now);
+		assertEquals(1, tokenLoader.calls);
+		prefetcher.refresh(now + ONE_MINUTE - 1);
+		assertEquals(1, tokenLoader.calls);
+		prefetcher.refresh(now + ONE_MINUTE);
+		assertEquals(2, tokenLoader.calls);
+		prefetcher.refresh(now + 2 * ONE_MINUTE);
+		assertEquals(2, tokenLoader.calls);
+		prefetcher.refresh(now + 3 * ONE_MINUTE);
+		assertEquals(3, tokenLoader.calls);
+		prefetcher.refresh(now + 6 * ONE_MINUTE);
+		assertEquals(3, tokenLoader.calls);
+		prefetcher.refresh(now + 7 * ONE_MINUTE);
+		assertEquals(4, tokenLoader.calls);
+		prefetcher.refresh(now + 11 * ONE_MINUTE);
+		assertEquals(4, tokenLoader.calls);
+		prefetcher.refresh(now + 12 * ONE_MINUTE);
+		assertEquals(5, tokenLoader.calls);
+	}
+
+	private static class MockTokenLoader implements RevocationPrefetcher.TokenLoader<OCSPToken> {
+
+		private OCSPToken token;
+
+		private boolean failure;
+
+		private List<String> alternativeUrls;
+
+		private int calls;
+
+		private int forcedCalls;
+
+		@Override
+		public OCSPToken load(CertificateToken certificateToken, CertificateToken issuerCertificateToken,
+							  List<String> alternativeUrls, boolean forceRefresh) {
+			calls++;
+			if (forceRefresh) {
+				forcedCalls++;
+			}
+			this.alternativeUrls = alternativeUrls;
+			if (failure) {
+				throw new DSSException("Unable to download the OCSP response");
+			}
+			return token;
+		}
+
+	}
+
+}
@@ -0,0 +1,141 @@
+package eu.europa.esig.dss.web.service;
+
+import eu.europa.esig.dss.model.x509.CertificateToken;
+import eu.europa.esig.dss.spi.DSSUtils;
+import eu.europa.esig.dss.spi.x509.revocation.ocsp.OCSPToken;
+import org.bouncycastle.asn1.x500.X500Name;
+import org.bouncycastle.cert.X509CertificateHolder;
+import org.bouncycastle.cert.ocsp.BasicOCSPResp;
+import org.bouncycastle.cert.ocsp.BasicOCSPRespBuilder;
+import org.bouncycastle.cert.ocsp.CertificateID;
+import org.bouncycastle.cert.ocsp.CertificateStatus;
+import org.bouncycastle.cert.ocsp.RespID;
+import org.bouncycastle.operator.jcajce.JcaContentSignerBuilder;
+import org.bouncycastle.operator.jcajce.JcaDigestCalculatorProviderBuilder;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class RevocationTokenCacheTest {
+
+	private static final long ONE_HOUR = TimeUnit.HOURS.toMillis(1);
+
+	private final CertificateToken caCertificate = DSSUtils.loadCertificate(new File("src/test/resources/CA_CZ.cer"));
+
+	private final CertificateToken certificate = DSSUtils.loadCertificate(new File("src/test/resources/CZ.cer"));
+
+	@Test
+	public void hitAndMissTest() throws Exception {
+		RevocationTokenCache<OCSPToken> cache = new RevocationTokenCache<>(10, 100000, 0, 0);
+		long now = System.currentTimeMillis();
+		OCSPToken token = ocspToken(certificate, caCertificate, new Date(now - ONE_HOUR), new Date(now + ONE_HOUR));
+
+		assertNull(cache.get(certificate, caCertificate));
+		cache.put(certificate, caCertificate, token);
+		assertSame(token, cache.get(certificate, caCertificate));
+		// the issuer is a part of the key
+		assertNull(cache.get(certificate, null));
+
+		assertEquals(1, cache.getHitCount());
+		assertEquals(2, cache.getMissCount());
+		assertEquals(1, cache.getEntriesCount());
+
+		cache.clear();
+		assertNull(cache.get(certificate, caCertificate));
+	}
+
+	@Test
+	public void expiredTokenNotCachedTest() throws Exception {
+		RevocationTokenCache<OCSPToken> cache = new RevocationTokenCache<>(10, 100000, 3600, 0);
+		long now = System.currentTimeMillis();
+
+		cache.put(certificate, caCertificate, ocspToken(certificate, caCertificate,
+				new Date(now - 2 * ONE_HOUR), new Date(now - ONE_HOUR)));
+		assertNull(cache.get(certificate, caCertificate));
+
+		// without nextUpdate, the default delay after thisUpdate is elapsed
+		cache.put(certificate, caCertificate, ocspToken(certificate, caCertificate, new Date(now - 2 * ONE_HOUR), null));
+		assertNull(cache.get(certificate, caCertificate));
+		assertEquals(0, cache.getEntriesCount());
+	}
+
+	@Test
+	public void expirationTimeTest() throws Exception {
+		long thisUpdate = System.currentTimeMillis() - ONE_HOUR;
+		OCSPToken withNextUpdate = ocspToken(certificate, caCertificate, new Date(thisUpdate), new Date(thisUpdate + 48 * ONE_HOUR));
+		OCSPToken withoutNextUpdate = ocspToken(certificate, caCertificate, new Date(thisUpdate), null);
+
+		RevocationTokenCache<OCSPToken> noDefault = new RevocationTokenCache<>(10, 100000, 0, 0);
+		assertEquals(thisUpdate + 48 * ONE_HOUR, noDefault.getExpirationTime(withNextUpdate));
+		// not cached without nextUpdate nor default delay
+		assertEquals(0, noDefault.getExpirationTime(withoutNextUpdate));
+		noDefault.put(certificate, caCertificate, withoutNextUpdate);
+		assertNull(noDefault.get(certificate, caCertificate));
+
+		RevocationTokenCache<OCSPToken> withDelays = new RevocationTokenCache<>(10, 100000, 7200, 86400);
+		// limited by the maximum delay
+		assertEquals(thisUpdate + 24 * ONE_HOUR, withDelays.getExpirationTime(withNextUpdate));
+		assertEquals(thisUpdate + 2 * ONE_HOUR, withDelays.getExpirationTime(withoutNextUpdate));
+	}
+
+	@Test
+	public void weightTest() throws Exception {
+		long now = System.currentTimeMillis();
+		OCSPToken token = ocspToken(certificate, caCertificate, new Date(now - ONE_HOUR), new Date(now + ONE_HOUR));
+		int size = token.getEncoded().length;
+
+		// a small token weighs maxBytes / maxEntries
+		RevocationTokenCache<OCSPToken> byEntries = new RevocationTokenCache<>(2, 2L * (size + 1000), 0, 0);
+		byEntries.put(certificate, caCertificate, token);
+		assertEquals(size + 1000, byEntries.getWeightedSize());
+
+		// otherwise the size of the encoded token
+		RevocationTokenCache<OCSPToken> bySize = new RevocationTokenCache<>(1000, 1000, 0, 0);
+		bySize.put(certificate, caCertificate, token);
+		assertEquals(size, bySize.getWeightedSize());
+	}
+
+	@Test
+	public void evictionTest() throws Exception {
+		long now = System.currentTimeMillis();
+		OCSPToken token = ocspToken(certificate, caCertificate, new Date(now - ONE_HOUR), new Date(now + ONE_HOUR));
+		int size = token.getEncoded().length;
+
+		// room for two small tokens
+		RevocationTokenCache<OCSPToken> cache = new RevocationTokenCache<>(2, 2L * (size + 1000), 0, 0);
+		cache.put(certificate, caCertificate, token);
+		cache.put(certificate, null, token);
+		cache.put(caCertificate, caCertificate, token);
+
+		assertTrue(cache.getWeightedSize() <= 2L * (size + 1000));
+		assertEquals(2, cache.getEntriesCount());
+		assertEquals(1, cache.getEvictionCount());
+	}
+
+	/**
+	 * Builds an OCSP token with the given validity, signed by a generated key
+	 */
+	static OCSPToken ocspToken(CertificateToken certificate, CertificateToken issuer, Date thisUpdate, Date nextUpdate) throws Exception {
+		KeyPairGenerator keyPairGenerator = KeyPairGenerator.getInstance("RSA");
+		keyPairGenerator.initialize(2048);
+		KeyPair keyPair = keyPairGenerator.generateKeyPair();
+
+		CertificateID certificateID = new CertificateID(new JcaDigestCalculatorProviderBuilder().build().get(CertificateID.HASH_SHA1),
+				new X509CertificateHolder(issuer.getEncoded()), certificate.getSerialNumber());
+		BasicOCSPRespBuilder builder = new BasicOCSPRespBuilder(new RespID(X500Name.getInstance(issuer.getSubject().getPrincipal().getEncoded())));
+		builder.addResponse(certificateID, CertificateStatus.GOOD, thisUpdate, nextUpdate);
+		BasicOCSPResp basicOCSPResp = builder.build(new JcaContentSignerBuilder("SHA256withRSA").build(keyPair.getPrivate()),
+				null, new Date());
+		return new OCSPToken(basicOCSPResp, basicOCSPResp.getResponses()[0], certificate, issuer);
+	}
+
+}
@@ -0,0 +1,118 @@
+package eu.europa.esig.dss.web.service;
+
+import eu.europa.esig.dss.model.x509.CertificateToken;
+import eu.europa.esig.dss.spi.DSSUtils;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.File;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class TLSnapshotStoreTest {
+
+	private final CertificateToken caCertificate = DSSUtils.loadCertificate(new File("src/test/resources/CA_CZ.cer"));
+
+	private final CertificateToken certificate = DSSUtils.loadCertificate(new File("src/test/resources/CZ.cer"));
+
+	@TempDir
+	Path directory;
+
+	private Path snapshotFile;
+
+	private Path keyFile;
+
+	private TLSnapshotStore store;
+
+	@BeforeEach
+	public void init() {
+		snapshotFile = directory.resolve("snapshot").resolve("tl-snapshot.ser");
+		keyFile = directory.resolve("key").resolve("tl-snapshot.key");
+		store = new TLSnapshotStore();
+		ReflectionTestUtils.setField(store, "snapshotFile", snapshotFile.toString());
+		ReflectionTestUtils.setField(store, "keyFile", keyFile.toString());
+		ReflectionTestUtils.setField(store, "maxAge", 604800L);
+	}
+
+	@Test
+	public void roundTripTest() {
+		assertTrue(store.isEnabled());
+		assertNull(store.read());
+
+		store.write(trustedListsSource());
+		assertTrue(Files.isRegularFile(snapshotFile));
+		assertTrue(Files.isRegularFile(keyFile));
+
+		IndexedTrustedListsCertificateSource snapshot = store.read();
+		assertNotNull(snapshot);
+		assertEquals(1, snapshot.getNumberOfCertificates());
+		snapshot.buildIndex();
+		assertEquals(Collections.singleton(caCertificate), snapshot.getBySubject(certificate.getIssuer()));
+
+		// written again with the same key
+		store.write(trustedListsSource());
+		assertNotNull(store.read());
+	}
+
+	@Test
+	public void tamperedSnapshotTest() throws Exception {
+		store.write(trustedListsSource());
+		byte[] content = Files.readAllBytes(snapshotFile);
+		content[content.length / 2] ^= 1;
+		Files.write(snapshotFile, content);
+
+		assertNull(store.read());
+	}
+
+	@Test
+	public void otherKeyTest() throws Exception {
+		store.write(trustedListsSource());
+		Files.delete(keyFile);
+		assertNull(store.read());
+
+		// with another key, the previous snapshot is not authentic anymore
+		Files.write(keyFile, new byte[32]);
+		assertNull(store.read());
+	}
+
+	@Test
+	public void unsignedSnapshotTest() throws Exception {
+		store.write(trustedListsSource());
+		// a plain serialized object, as written by the previous versions
+		try (OutputStream os = Files.newOutputStream(snapshotFile);
+			 ObjectOutputStream oos = new ObjectOutputStream(os)) {
+			oos.writeObject(new ArrayList<>(Collections.singletonList(trustedListsSource())));
+		}
+		assertNull(store.read());
+	}
+
+	@Test
+	public void disabledTest() {
+		ReflectionTestUtils.setField(store, "keyFile", "");
+		assertFalse(store.isEnabled());
+
+		store.write(trustedListsSource());
+		assertFalse(Files.exists(snapshotFile));
+		assertNull(store.read());
+	}
+
+	private IndexedTrustedListsCertificateSource trustedListsSource() {
+		IndexedTrustedListsCertificateSource trustedListsCertificateSource = new IndexedTrustedListsCertificateSource();
+		trustedListsCertificateSource.setTrustPropertiesByCertificates(
+				Collections.singletonMap(caCertificate, Collections.emptyList()));
+		return trustedListsCertificateSource;
+	}
+
+}
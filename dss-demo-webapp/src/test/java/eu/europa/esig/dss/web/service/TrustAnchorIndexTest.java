@@ -0,0 +1,48 @@
+package eu.europa.esig.dss.web.service;
+
+import eu.europa.esig.dss.enumerations.DigestAlgorithm;
+import eu.europa.esig.dss.model.Digest;
+import eu.europa.esig.dss.model.x509.CertificateToken;
+import eu.europa.esig.dss.spi.DSSASN1Utils;
+import eu.europa.esig.dss.spi.DSSUtils;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class TrustAnchorIndexTest {
+
+	private final CertificateToken caCertificate = DSSUtils.loadCertificate(new File("src/test/resources/CA_CZ.cer"));
+
+	private final CertificateToken certificate = DSSUtils.loadCertificate(new File("src/test/resources/CZ.cer"));
+
+	@Test
+	public void lookupTest() {
+		TrustAnchorIndex index = new TrustAnchorIndex(Arrays.asList(caCertificate, certificate));
+		assertEquals(2, index.getSize());
+
+		assertEquals(Collections.singleton(caCertificate), index.getBySubject(certificate.getIssuer()));
+		assertEquals(Collections.singleton(caCertificate), index.getBySki(DSSASN1Utils.computeSkiFromCert(caCertificate)));
+		assertEquals(Collections.singleton(caCertificate), index.getByPublicKey(caCertificate.getPublicKey()));
+		assertEquals(Collections.singleton(certificate), index.getByCertificateDigest(
+				new Digest(DigestAlgorithm.SHA256, certificate.getDigest(DigestAlgorithm.SHA256))));
+	}
+
+	@Test
+	public void indexedSourceTest() {
+		IndexedTrustedCertificateSource trustedCertificateSource = new IndexedTrustedCertificateSource();
+		trustedCertificateSource.addCertificate(caCertificate);
+		trustedCertificateSource.buildIndex();
+		assertEquals(Collections.singleton(caCertificate), trustedCertificateSource.getBySubject(certificate.getIssuer()));
+		assertTrue(trustedCertificateSource.getBySubject(certificate.getSubject()).isEmpty());
+
+		// the source modified after the index is built is searched without the index
+		trustedCertificateSource.addCertificate(certificate);
+		assertEquals(Collections.singleton(certificate), trustedCertificateSource.getBySubject(certificate.getSubject()));
+	}
+
+}
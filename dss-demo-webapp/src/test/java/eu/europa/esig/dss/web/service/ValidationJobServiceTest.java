@@ -0,0 +1,74 @@
+package eu.europa.esig.dss.web.service;
+
+import eu.europa.esig.dss.web.DssDemoApplicationTests;
+import eu.europa.esig.dss.web.model.ValidationJobStatus;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ValidationJobServiceTest extends DssDemoApplicationTests {
+
+	@Autowired
+	private ValidationJobService validationJobService;
+
+	@Test
+	public void completedJobTest() throws Exception {
+		CountDownLatch start = new CountDownLatch(1);
+		ValidationJob<String> job = validationJobService.submit(String.class, () -> {
+			start.await();
+			return "reports";
+		});
+		assertFalse(job.getStatus().isDone());
+		assertNull(job.getResult());
+
+		await(job, start);
+		assertEquals(ValidationJobStatus.COMPLETED, job.getStatus());
+		assertEquals("reports", job.getResult());
+		assertNotNull(job.getCompletionTime());
+
+		assertNotNull(validationJobService.getJob(job.getId(), String.class));
+		// another result type
+		assertNull(validationJobService.getJob(job.getId(), Integer.class));
+
+		assertTrue(validationJobService.remove(job.getId()));
+		assertNull(validationJobService.getJob(job.getId(), String.class));
+	}
+
+	@Test
+	public void failedJobTest() throws Exception {
+		CountDownLatch start = new CountDownLatch(1);
+		ValidationJob<String> job = validationJobService.submit(String.class, () -> {
+			start.await();
+			throw new IllegalStateException("Unsupported document");
+		});
+
+		await(job, start);
+		assertEquals(ValidationJobStatus.FAILED, job.getStatus());
+		assertNull(job.getResult());
+		assertEquals("Unsupported document", job.toDTO().getError());
+		assertTrue(validationJobService.remove(job.getId()));
+	}
+
+	@Test
+	public void waitTimeTest() {
+		assertEquals(0, validationJobService.getWaitTime(-1));
+		assertEquals(1000, validationJobService.getWaitTime(1000));
+		assertEquals(30000, validationJobService.getWaitTime(Long.MAX_VALUE));
+	}
+
+	private void await(ValidationJob<?> job, CountDownLatch start) throws InterruptedException {
+		CountDownLatch done = new CountDownLatch(1);
+		job.whenDone(done::countDown);
+		start.countDown();
+		assertTrue(done.await(10, TimeUnit.SECONDS));
+	}
+
+}
@@ -0,0 +1,49 @@
+package eu.europa.esig.dss.web.service;
+
+import eu.europa.esig.dss.model.FileDocument;
+import eu.europa.esig.dss.model.policy.ValidationPolicy;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+public class ValidationPolicyRegistryTest {
+
+	@Test
+	public void defaultPoliciesTest() {
+		ValidationPolicyRegistry registry = new ValidationPolicyRegistry(new ClassPathResource("policy/constraint.xml"),
+				new ClassPathResource("policy/certificate-constraint.xml"), 2);
+
+		ValidationPolicy defaultPolicy = registry.getDefaultValidationPolicy();
+		assertNotNull(defaultPolicy);
+		assertSame(defaultPolicy, registry.getDefaultValidationPolicy());
+
+		ValidationPolicy certificatePolicy = registry.getDefaultCertificateValidationPolicy();
+		assertNotNull(certificatePolicy);
+		assertNotSame(defaultPolicy, certificatePolicy);
+
+		assertEquals(3, registry.getHitCount());
+		assertEquals(0, registry.getMissCount());
+	}
+
+	@Test
+	public void customPolicyTest() {
+		ValidationPolicyRegistry registry = new ValidationPolicyRegistry(new ClassPathResource("policy/constraint.xml"),
+				new ClassPathResource("policy/certificate-constraint.xml"), 2);
+
+		ValidationPolicy customPolicy = registry.getValidationPolicy(new FileDocument("src/test/resources/constraint.xml"));
+		assertNotNull(customPolicy);
+		assertEquals(0, registry.getHitCount());
+		assertEquals(1, registry.getMissCount());
+
+		// same content, new document instance
+		assertSame(customPolicy, registry.getValidationPolicy(new FileDocument("src/test/resources/constraint.xml")));
+		assertEquals(1, registry.getHitCount());
+		assertEquals(1, registry.getMissCount());
+		assertEquals(1, registry.getCustomPoliciesCount());
+	}
+
+}
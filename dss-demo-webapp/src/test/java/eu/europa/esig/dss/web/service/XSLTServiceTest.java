@@ -5,6 +5,7 @@ import eu.europa.esig.dss.detailedreport.jaxb.XmlDetailedReport;
 import eu.europa.esig.dss.simplereport.jaxb.XmlSimpleReport;
 import eu.europa.esig.dss.utils.Utils;
 import eu.europa.esig.dss.web.DssDemoApplicationTests;
+import eu.europa.esig.dss.web.model.ReportType;
 import jakarta.xml.bind.JAXBContext;
 import jakarta.xml.bind.JAXBElement;
 import jakarta.xml.bind.Marshaller;
@@ -13,9 +14,11 @@ import org.junit.jupiter.api.Test;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import javax.xml.transform.stream.StreamSource;
 import java.io.File;
 import java.io.StringWriter;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
@@ -109,4 +112,20 @@ public class XSLTServiceTest extends DssDemoApplicationTests {
 		LOG.debug("Detailed report html : " + htmlDetailedReport);
 	}
 
+	@Test
+	public void generateDetailedReportToWriter() {
+		long count = getXsltService().getRenderingMetrics().getCount(ReportType.DETAILED_REPORT);
+
+		StringWriter writer = new StringWriter();
+		getXsltService().generateDetailedReport(new StreamSource(new File("src/test/resources/detailedReport.xml")), writer);
+		assertTrue(Utils.isStringNotEmpty(writer.toString()));
+
+		// the pooled transformer is reused
+		StringWriter secondWriter = new StringWriter();
+		getXsltService().generateDetailedReport(new StreamSource(new File("src/test/resources/detailedReport.xml")), secondWriter);
+		assertEquals(writer.toString(), secondWriter.toString());
+
+		assertEquals(count + 2, getXsltService().getRenderingMetrics().getCount(ReportType.DETAILED_REPORT));
+	}
+
 }
@@ -0,0 +1,85 @@
+package eu.europa.esig.dss.web.ws;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import eu.europa.esig.dss.web.config.CXFConfig;
+import eu.europa.esig.dss.ws.signature.dto.SignOneDocumentDTO;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.MultivaluedHashMap;
+import org.apache.cxf.jaxrs.ext.multipart.Attachment;
+import org.apache.cxf.jaxrs.ext.multipart.ContentDisposition;
+import org.apache.cxf.phase.PhaseInterceptorChain;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.lang.annotation.Annotation;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+public class MultipartDocumentsJsonProviderTest {
+
+	private static final String PARAMETERS = "{\"toSignDocument\":{\"name\":\"doc.bin\"}}";
+
+	private final ObjectMapper objectMapper = new CXFConfig().objectMapper();
+
+	@TempDir
+	File directory;
+
+	@Test
+	public void bigPartTest() throws Exception {
+		byte[] content = new byte[100];
+		new Random(1).nextBytes(content);
+
+		RemoteDocumentDeserializerTest.runInMessage(() -> {
+			SpooledRemoteDocument document = (SpooledRemoteDocument) readWithPart(content, 16).getToSignDocument();
+			// the part is copied to a temporary file, not read in memory
+			File file = document.getFile();
+			assertNotNull(file);
+			assertEquals(directory, file.getParentFile());
+			assertArrayEquals(content, document.getBytes());
+
+			// deleted once the response is sent
+			new SpooledDocumentsCleanupFilter().filter(null, null);
+			assertFalse(file.exists());
+		});
+	}
+
+	@Test
+	public void smallPartTest() throws Exception {
+		byte[] content = "Hello world".getBytes(StandardCharsets.UTF_8);
+
+		RemoteDocumentDeserializerTest.runInMessage(() -> {
+			SpooledRemoteDocument document = (SpooledRemoteDocument) readWithPart(content, 1024).getToSignDocument();
+			assertNull(document.getFile());
+			assertArrayEquals(content, document.getBytes());
+			assertEquals(0, directory.listFiles().length);
+		});
+	}
+
+	@SuppressWarnings("unchecked")
+	private SignOneDocumentDTO readWithPart(byte[] content, int threshold) throws IOException {
+		MultipartDocumentsJsonProvider provider = new MultipartDocumentsJsonProvider();
+		provider.setMapper(objectMapper);
+		provider.setAttachmentDirectory(directory);
+		provider.setAttachmentMemoryThreshold(threshold);
+
+		Attachment part = new Attachment("toSignDocument", new ByteArrayInputStream(content),
+				new ContentDisposition("form-data; name=\"toSignDocument\""));
+		PhaseInterceptorChain.getCurrentMessage().put(MultipartDocumentsFilter.DOCUMENT_PARTS,
+				Collections.singletonMap("toSignDocument", part));
+
+		Class<Object> type = (Class<Object>) (Class<?>) SignOneDocumentDTO.class;
+		return (SignOneDocumentDTO) provider.readFrom(type, type, new Annotation[0], MediaType.APPLICATION_JSON_TYPE,
+				new MultivaluedHashMap<>(), new ByteArrayInputStream(PARAMETERS.getBytes(StandardCharsets.UTF_8)));
+	}
+
+}
@@ -0,0 +1,144 @@
+package eu.europa.esig.dss.web.ws;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.exc.MismatchedInputException;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import eu.europa.esig.dss.enumerations.DigestAlgorithm;
+import eu.europa.esig.dss.web.config.CXFConfig;
+import eu.europa.esig.dss.ws.dto.RemoteDocument;
+import eu.europa.esig.dss.ws.signature.dto.SignOneDocumentDTO;
+import eu.europa.esig.dss.ws.signature.dto.parameters.RemoteSignatureParameters;
+import org.apache.cxf.bus.managers.PhaseManagerImpl;
+import org.apache.cxf.message.Exchange;
+import org.apache.cxf.message.ExchangeImpl;
+import org.apache.cxf.message.Message;
+import org.apache.cxf.message.MessageImpl;
+import org.apache.cxf.phase.AbstractPhaseInterceptor;
+import org.apache.cxf.phase.Phase;
+import org.apache.cxf.phase.PhaseInterceptorChain;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class RemoteDocumentDeserializerTest {
+
+	private final ObjectMapper objectMapper = new CXFConfig().objectMapper();
+
+	@TempDir
+	File directory;
+
+	@Test
+	public void test() throws Exception {
+		RemoteDocument remoteDocument = new RemoteDocument("Hello world".getBytes(StandardCharsets.UTF_8), "hello.txt");
+		remoteDocument.setDigestAlgorithm(DigestAlgorithm.SHA256);
+		SignOneDocumentDTO signOneDocumentDTO = new SignOneDocumentDTO(remoteDocument, new RemoteSignatureParameters(), null);
+
+		SignOneDocumentDTO result = objectMapper.readValue(objectMapper.writeValueAsBytes(signOneDocumentDTO), SignOneDocumentDTO.class);
+
+		RemoteDocument toSignDocument = result.getToSignDocument();
+		assertEquals("hello.txt", toSignDocument.getName());
+		assertEquals(DigestAlgorithm.SHA256, toSignDocument.getDigestAlgorithm());
+		assertArrayEquals("Hello world".getBytes(StandardCharsets.UTF_8), toSignDocument.getBytes());
+	}
+
+	@Test
+	public void nullContentTest() throws Exception {
+		RemoteDocument result = objectMapper.readValue("{\"bytes\":null,\"name\":\"empty.txt\"}", RemoteDocument.class);
+		assertNull(result.getBytes());
+		assertEquals("empty.txt", result.getName());
+	}
+
+	@Test
+	public void spooledContentTest() throws Exception {
+		byte[] content = new byte[100];
+		new Random(1).nextBytes(content);
+		ObjectMapper spoolingMapper = spoolingMapper(16, 1024);
+
+		runInMessage(() -> {
+			SpooledRemoteDocument document = (SpooledRemoteDocument) spoolingMapper.readValue(json(content), RemoteDocument.class);
+			File file = document.getFile();
+			assertNotNull(file);
+			assertEquals(directory, file.getParentFile());
+			assertArrayEquals(content, document.getBytes());
+			// read only once
+			assertSame(document.getBytes(), document.getBytes());
+
+			// deleted once the response is sent
+			new SpooledDocumentsCleanupFilter().filter(null, null);
+			assertFalse(file.exists());
+		});
+	}
+
+	@Test
+	public void maxSizeTest() throws Exception {
+		byte[] content = new byte[2048];
+		ObjectMapper spoolingMapper = spoolingMapper(16, 1024);
+
+		runInMessage(() -> {
+			assertThrows(MismatchedInputException.class, () -> spoolingMapper.readValue(json(content), RemoteDocument.class));
+			// the partially written file is deleted at once
+			assertEquals(0, directory.listFiles().length);
+		});
+		// also without spooling
+		assertThrows(MismatchedInputException.class, () -> spoolingMapper.readValue(json(content), RemoteDocument.class));
+	}
+
+	private ObjectMapper spoolingMapper(int threshold, long maxSize) {
+		SimpleModule module = new SimpleModule();
+		module.addDeserializer(RemoteDocument.class, new RemoteDocumentDeserializer(threshold, directory, maxSize));
+		return new ObjectMapper().registerModule(module);
+	}
+
+	private String json(byte[] content) {
+		return "{\"bytes\":\"" + Base64.getEncoder().encodeToString(content) + "\",\"name\":\"doc.bin\"}";
+	}
+
+	/**
+	 * Runs the test within a CXF interceptor chain, as the current message of a web service request
+	 */
+	static void runInMessage(MessageTest test) throws Exception {
+		Throwable[] failure = new Throwable[1];
+		PhaseInterceptorChain chain = new PhaseInterceptorChain(new PhaseManagerImpl().getInPhases());
+		chain.add(new AbstractPhaseInterceptor<Message>(Phase.UNMARSHAL) {
+			@Override
+			public void handleMessage(Message message) {
+				try {
+					test.run();
+				} catch (Throwable e) {
+					failure[0] = e;
+				}
+			}
+		});
+		Message message = new MessageImpl();
+		Exchange exchange = new ExchangeImpl();
+		exchange.setInMessage(message);
+		message.setExchange(exchange);
+		assertTrue(chain.doIntercept(message));
+		if (failure[0] instanceof Exception) {
+			throw (Exception) failure[0];
+		} else if (failure[0] != null) {
+			throw (Error) failure[0];
+		}
+	}
+
+	interface MessageTest {
+
+		void run() throws IOException;
+
+	}
+
+}
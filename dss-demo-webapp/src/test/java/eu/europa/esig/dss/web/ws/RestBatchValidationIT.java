@@ -0,0 +1,95 @@
+package eu.europa.esig.dss.web.ws;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import eu.europa.esig.dss.web.config.CXFConfig;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+import org.apache.cxf.jaxrs.client.WebClient;
+import org.apache.cxf.jaxrs.ext.multipart.Attachment;
+import org.apache.cxf.jaxrs.ext.multipart.ContentDisposition;
+import org.apache.cxf.jaxrs.ext.multipart.MultipartBody;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.FileInputStream;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class RestBatchValidationIT extends AbstractRestIT {
+
+	private final ObjectMapper objectMapper = new CXFConfig().objectMapper();
+
+	@Test
+	public void testMultipart() throws Exception {
+		try (InputStream xades = new FileInputStream("src/test/resources/XAdESLTA.xml");
+			 InputStream pdf = new FileInputStream("src/test/resources/sample.pdf")) {
+			List<Attachment> attachments = Arrays.asList(
+					new Attachment("document", xades, new ContentDisposition("form-data; name=\"document\"; filename=\"XAdESLTA.xml\"")),
+					new Attachment("document", pdf, new ContentDisposition("form-data; name=\"document\"; filename=\"sample.pdf\"")));
+
+			Response response = createClient().type(MediaType.MULTIPART_FORM_DATA).post(new MultipartBody(attachments));
+
+			List<JsonNode> results = readLines(response);
+			assertEquals(2, results.size());
+			for (JsonNode result : results) {
+				assertTrue(result.hasNonNull("documentName"));
+				assertTrue(result.hasNonNull("simpleReport"));
+			}
+		}
+	}
+
+	@Test
+	public void testZip() throws Exception {
+		ByteArrayOutputStream baos = new ByteArrayOutputStream();
+		try (ZipOutputStream zos = new ZipOutputStream(baos)) {
+			zos.putNextEntry(new ZipEntry("XAdESLTA.xml"));
+			zos.write(Files.readAllBytes(Paths.get("src/test/resources/XAdESLTA.xml")));
+			zos.closeEntry();
+			zos.putNextEntry(new ZipEntry("unsigned.txt"));
+			zos.write("Hello".getBytes());
+			zos.closeEntry();
+		}
+
+		Response response = createClient().type(RestBatchValidationService.APPLICATION_ZIP).post(baos.toByteArray());
+
+		List<JsonNode> results = readLines(response);
+		assertEquals(2, results.size());
+		for (JsonNode result : results) {
+			if ("XAdESLTA.xml".equals(result.get("documentName").textValue())) {
+				assertTrue(result.hasNonNull("simpleReport"));
+			} else {
+				// not a signed document
+				assertFalse(result.hasNonNull("simpleReport"));
+				assertTrue(result.hasNonNull("error"));
+			}
+		}
+	}
+
+	private WebClient createClient() {
+		return WebClient.create(getBaseCxf() + CXFConfig.REST_VALIDATION_BATCH)
+				.accept(RestBatchValidationService.APPLICATION_NDJSON);
+	}
+
+	private List<JsonNode> readLines(Response response) throws Exception {
+		assertEquals(200, response.getStatus());
+		List<JsonNode> results = new ArrayList<>();
+		for (String line : response.readEntity(String.class).split("\n")) {
+			if (!line.isEmpty()) {
+				results.add(objectMapper.readTree(line));
+			}
+		}
+		return results;
+	}
+
+}
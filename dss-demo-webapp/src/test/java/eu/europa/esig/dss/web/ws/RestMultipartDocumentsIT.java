@@ -0,0 +1,96 @@
+package eu.europa.esig.dss.web.ws;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import eu.europa.esig.dss.enumerations.DigestAlgorithm;
+import eu.europa.esig.dss.enumerations.TimestampContainerForm;
+import eu.europa.esig.dss.spi.DSSUtils;
+import eu.europa.esig.dss.web.config.CXFConfig;
+import eu.europa.esig.dss.ws.dto.RemoteDocument;
+import eu.europa.esig.dss.ws.signature.dto.TimestampOneDocumentDTO;
+import eu.europa.esig.dss.ws.signature.dto.parameters.RemoteTimestampParameters;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+import org.apache.cxf.jaxrs.client.WebClient;
+import org.apache.cxf.jaxrs.ext.multipart.Attachment;
+import org.apache.cxf.jaxrs.ext.multipart.ContentDisposition;
+import org.apache.cxf.jaxrs.ext.multipart.MultipartBody;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.FileInputStream;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class RestMultipartDocumentsIT extends AbstractRestIT {
+
+	private final ObjectMapper objectMapper = new CXFConfig().objectMapper();
+
+	@Test
+	public void testTimestampDocument() throws Exception {
+		// the document is sent without its content in the parameters
+		TimestampOneDocumentDTO timestampOneDocumentDTO = new TimestampOneDocumentDTO(new RemoteDocument(null, "sample.pdf"),
+				new RemoteTimestampParameters(TimestampContainerForm.PDF, DigestAlgorithm.SHA512));
+
+		try (InputStream pdf = new FileInputStream("src/test/resources/sample.pdf")) {
+			List<Attachment> attachments = Arrays.asList(
+					new Attachment("parameters", new ByteArrayInputStream(objectMapper.writeValueAsBytes(timestampOneDocumentDTO)),
+							new ContentDisposition("form-data; name=\"parameters\"")),
+					new Attachment("toTimestampDocument", pdf,
+							new ContentDisposition("form-data; name=\"toTimestampDocument\"; filename=\"sample.pdf\"")));
+
+			Response response = WebClient.create(getBaseCxf() + CXFConfig.REST_SIGNATURE_ONE_DOCUMENT)
+					.path("timestampDocument")
+					.type(MediaType.MULTIPART_FORM_DATA)
+					.accept(MediaType.MULTIPART_FORM_DATA)
+					.post(new MultipartBody(attachments));
+			assertEquals(200, response.getStatus());
+
+			MultipartBody multipartBody = response.readEntity(MultipartBody.class);
+			RemoteDocument timestampedDocument = objectMapper.readValue(
+					multipartBody.getAttachment("parameters").getDataHandler().getInputStream(), RemoteDocument.class);
+			assertNull(timestampedDocument.getBytes());
+
+			Attachment document = multipartBody.getAttachment(MultipartDocumentsJsonProvider.DOCUMENT_PART);
+			assertNotNull(document);
+			byte[] bytes = DSSUtils.toByteArray(document.getDataHandler().getInputStream());
+			assertEquals("%PDF", new String(bytes, 0, 4));
+		}
+	}
+
+	@Test
+	public void testBigDocument() throws Exception {
+		// bigger than rest.attachment.memory.threshold, the part is copied to a temporary file by the server
+		byte[] content = new byte[2 * 1024 * 1024];
+		new Random(1).nextBytes(content);
+		TimestampOneDocumentDTO timestampOneDocumentDTO = new TimestampOneDocumentDTO(new RemoteDocument(null, "big.bin"),
+				new RemoteTimestampParameters(TimestampContainerForm.ASiC_E, DigestAlgorithm.SHA256));
+
+		List<Attachment> attachments = Arrays.asList(
+				new Attachment("parameters", new ByteArrayInputStream(objectMapper.writeValueAsBytes(timestampOneDocumentDTO)),
+						new ContentDisposition("form-data; name=\"parameters\"")),
+				new Attachment("toTimestampDocument", new ByteArrayInputStream(content),
+						new ContentDisposition("form-data; name=\"toTimestampDocument\"; filename=\"big.bin\"")));
+
+		Response response = WebClient.create(getBaseCxf() + CXFConfig.REST_SIGNATURE_ONE_DOCUMENT)
+				.path("timestampDocument")
+				.type(MediaType.MULTIPART_FORM_DATA)
+				.accept(MediaType.MULTIPART_FORM_DATA)
+				.post(new MultipartBody(attachments));
+		assertEquals(200, response.getStatus());
+
+		MultipartBody multipartBody = response.readEntity(MultipartBody.class);
+		Attachment document = multipartBody.getAttachment(MultipartDocumentsJsonProvider.DOCUMENT_PART);
+		assertNotNull(document);
+		// the container includes the whole timestamped document
+		byte[] bytes = DSSUtils.toByteArray(document.getDataHandler().getInputStream());
+		assertTrue(bytes.length > content.length);
+	}
+
+}
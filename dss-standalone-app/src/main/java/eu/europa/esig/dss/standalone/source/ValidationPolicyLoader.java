@@ -0,0 +1,33 @@
+package eu.europa.esig.dss.standalone.source;
+
+import eu.europa.esig.dss.model.policy.ValidationPolicy;
+import eu.europa.esig.dss.policy.ValidationPolicyFacade;
+import eu.europa.esig.dss.standalone.exception.ApplicationException;
+import eu.europa.esig.dss.utils.Utils;
+
+import java.io.InputStream;
+
+public class ValidationPolicyLoader {
+
+    private static ValidationPolicy defaultValidationPolicy;
+
+    public static synchronized ValidationPolicy getDefaultValidationPolicy() {
+        if (defaultValidationPolicy == null) {
+            defaultValidationPolicy = loadDefaultValidationPolicy();
+        }
+        return defaultValidationPolicy;
+    }
+
+    private static ValidationPolicy loadDefaultValidationPolicy() {
+        String policyPath = PropertyReader.getProperty("default.validation.policy");
+        if (Utils.isStringEmpty(policyPath)) {
+            throw new IllegalArgumentException("default.validation.policy is not defined!");
+        }
+        try (InputStream is = ValidationPolicyLoader.class.getClassLoader().getResourceAsStream(policyPath)) {
+            return ValidationPolicyFacade.newFacade().getValidationPolicy(is);
+        } catch (Exception e) {
+            throw new ApplicationException("Unable to load validation policy", e);
+        }
+    }
+
+}
@@ -2,7 +2,6 @@ package eu.europa.esig.dss.standalone.task;
 
 import eu.europa.esig.dss.model.DSSDocument;
 import eu.europa.esig.dss.model.FileDocument;
-import eu.europa.esig.dss.model.InMemoryDocument;
 import eu.europa.esig.dss.model.identifier.OriginalIdentifierProvider;
 import eu.europa.esig.dss.spi.DSSUtils;
 import eu.europa.esig.dss.spi.policy.SignaturePolicyProvider;
@@ -14,7 +13,7 @@ import eu.europa.esig.dss.standalone.exception.ApplicationException;
 import eu.europa.esig.dss.standalone.model.ValidationModel;
 import eu.europa.esig.dss.standalone.source.CertificateVerifierBuilder;
 import eu.europa.esig.dss.standalone.source.DataLoaderConfigLoader;
-import eu.europa.esig.dss.standalone.source.PropertyReader;
+import eu.europa.esig.dss.standalone.source.ValidationPolicyLoader;
 import eu.europa.esig.dss.utils.Utils;
 import eu.europa.esig.dss.validation.DocumentValidator;
 import eu.europa.esig.dss.validation.SignedDocumentValidator;
@@ -25,7 +24,6 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.File;
-import java.io.InputStream;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -90,35 +88,19 @@ public class ValidationTask extends Task<Reports> {
             signaturePolicyProvider.setDataLoader(DataLoaderConfigLoader.getDataLoader());
             documentValidator.setSignaturePolicyProvider(signaturePolicyProvider);
 
-            DSSDocument validationPolicy = null;
             if (model.getValidationPolicy() != null) {
-                validationPolicy = new FileDocument(model.getValidationPolicy());
+                return documentValidator.validateDocument(new FileDocument(model.getValidationPolicy()));
             } else {
-                validationPolicy = loadDefaultValidationPolicy();
+                // the default policy is unmarshalled only once and reused between validations
+                return documentValidator.validateDocument(ValidationPolicyLoader.getDefaultValidationPolicy());
             }
 
-            return documentValidator.validateDocument(validationPolicy);
-
         } catch (Exception e) {
             throwException("Unable to validate the document", e);
             return null;
         }
     }
 
-    private DSSDocument loadDefaultValidationPolicy() {
-        String policyPath = PropertyReader.getProperty("default.validation.policy");
-        if (Utils.isStringEmpty(policyPath)) {
-            throw new IllegalArgumentException("default.validation.policy is not defined!");
-        }
-        try (InputStream is = getClass().getClassLoader().getResourceAsStream(policyPath)) {
-            return new InMemoryDocument(is);
-
-        } catch (Exception e) {
-            throwException("Unable to load validation policy", e);
-            return null;
-        }
-    }
-
     private void throwException(String message, Exception e) {
         String exceptionMessage = message + (e != null ? " : " + e.getMessage() : "");
         updateMessage(exceptionMessage);